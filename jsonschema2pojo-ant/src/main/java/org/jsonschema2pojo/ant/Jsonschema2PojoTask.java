@@ -196,6 +196,41 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
     private boolean includeGeneratedAnnotation = true;
 
     private boolean useJakartaValidation = false;
+
+    private int parallelism = 1;
+
+    private boolean incremental = false;
+
+    private File remoteSchemaCacheDirectory;
+
+    private long remoteSchemaCacheMaxSize = 52428800L;
+
+    private boolean offline = false;
+
+    private boolean lazyAdditionalProperties = false;
+
+    private String additionalPropertiesMapType = "java.util.LinkedHashMap";
+
+    private boolean lazyCollections = false;
+
+    private boolean cacheHashCode = false;
+
+    private boolean immutable = false;
+
+    private boolean generateJacksonSerializers = false;
+
+    private boolean generateGsonTypeAdapters = false;
+
+    private boolean generateMoshiAdapters = false;
+
+    private boolean useEnumCollections = false;
+
+    private boolean usePrimitiveArrays = false;
+
+    private boolean useNarrowIntegers = false;
+
+    private boolean includeValidateMethod = false;
+
     /**
      * Execute this task (it's expected that all relevant setters will have been
      * called by Ant to provide task configuration <em>before</em> this method
@@ -977,6 +1012,159 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
         this.useJakartaValidation = useJakartaValidation;
     }
 
+    /**
+     * Sets the 'parallelism' property of this class
+     *
+     * @param parallelism the number of worker threads used to generate types when there is more than one source file
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the 'incremental' property of this class
+     *
+     * @param incremental whether to regenerate only the types for source files that have changed since the last run
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Sets the 'remoteSchemaCacheDirectory' property of this class
+     *
+     * @param remoteSchemaCacheDirectory a directory in which copies of schemas read over http/https are cached
+     */
+    public void setRemoteSchemaCacheDirectory(File remoteSchemaCacheDirectory) {
+        this.remoteSchemaCacheDirectory = remoteSchemaCacheDirectory;
+    }
+
+    /**
+     * Sets the 'remoteSchemaCacheMaxSize' property of this class
+     *
+     * @param remoteSchemaCacheMaxSize the maximum size, in bytes, of the remote schema cache
+     */
+    public void setRemoteSchemaCacheMaxSize(long remoteSchemaCacheMaxSize) {
+        this.remoteSchemaCacheMaxSize = remoteSchemaCacheMaxSize;
+    }
+
+    /**
+     * Sets the 'offline' property of this class
+     *
+     * @param offline whether to read schemas that would be fetched over http/https only from the remote schema cache
+     */
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    /**
+     * Sets the 'lazyAdditionalProperties' property of this class
+     *
+     * @param lazyAdditionalProperties whether the additional properties map should only be allocated when the first additional property is set
+     */
+    public void setLazyAdditionalProperties(boolean lazyAdditionalProperties) {
+        this.lazyAdditionalProperties = lazyAdditionalProperties;
+    }
+
+    /**
+     * Sets the 'additionalPropertiesMapType' property of this class
+     *
+     * @param additionalPropertiesMapType the fully qualified name of the Map implementation used to hold additional properties
+     */
+    public void setAdditionalPropertiesMapType(String additionalPropertiesMapType) {
+        this.additionalPropertiesMapType = additionalPropertiesMapType;
+    }
+
+    /**
+     * Sets the 'lazyCollections' property of this class
+     *
+     * @param lazyCollections whether collection properties should be left unallocated until they are set
+     */
+    public void setLazyCollections(boolean lazyCollections) {
+        this.lazyCollections = lazyCollections;
+    }
+
+    /**
+     * Sets the 'cacheHashCode' property of this class
+     *
+     * @param cacheHashCode whether generated types should compute their hash code once and cache it
+     */
+    public void setCacheHashCode(boolean cacheHashCode) {
+        this.cacheHashCode = cacheHashCode;
+    }
+
+    /**
+     * Sets the 'immutable' property of this class
+     *
+     * @param immutable whether generated types should be immutable, with final fields assigned by a canonical constructor
+     */
+    public void setImmutable(boolean immutable) {
+        this.immutable = immutable;
+    }
+
+    /**
+     * Sets the 'generateJacksonSerializers' property of this class
+     *
+     * @param generateJacksonSerializers whether a Jackson serializer and deserializer should be generated for each type, along with a module that registers them
+     */
+    public void setGenerateJacksonSerializers(boolean generateJacksonSerializers) {
+        this.generateJacksonSerializers = generateJacksonSerializers;
+    }
+
+    /**
+     * Sets the 'generateGsonTypeAdapters' property of this class
+     *
+     * @param generateGsonTypeAdapters whether a Gson type adapter should be generated for each type and enum, along with a type adapter factory that creates them
+     */
+    public void setGenerateGsonTypeAdapters(boolean generateGsonTypeAdapters) {
+        this.generateGsonTypeAdapters = generateGsonTypeAdapters;
+    }
+
+    /**
+     * Sets the 'generateMoshiAdapters' property of this class
+     *
+     * @param generateMoshiAdapters whether a Moshi JSON adapter should be generated for each type and enum, along with a JSON adapter factory that creates them
+     */
+    public void setGenerateMoshiAdapters(boolean generateMoshiAdapters) {
+        this.generateMoshiAdapters = generateMoshiAdapters;
+    }
+
+    /**
+     * Sets the 'useEnumCollections' property of this class
+     *
+     * @param useEnumCollections whether to use EnumSet for arrays with unique items that are enums, and EnumMap for existing Java types that are maps keyed by an enum
+     */
+    public void setUseEnumCollections(boolean useEnumCollections) {
+        this.useEnumCollections = useEnumCollections;
+    }
+
+    /**
+     * Sets the 'usePrimitiveArrays' property of this class
+     *
+     * @param usePrimitiveArrays whether to use primitive arrays (e.g. long[]) rather than lists of wrapper types for arrays whose items are integers, numbers or booleans
+     */
+    public void setUsePrimitiveArrays(boolean usePrimitiveArrays) {
+        this.usePrimitiveArrays = usePrimitiveArrays;
+    }
+
+    /**
+     * Sets the 'useNarrowIntegers' property of this class
+     *
+     * @param useNarrowIntegers whether to choose the smallest integral type (byte, short, int or long) that can hold every value allowed by the minimum and maximum of an integer
+     */
+    public void setUseNarrowIntegers(boolean useNarrowIntegers) {
+        this.useNarrowIntegers = useNarrowIntegers;
+    }
+
+    /**
+     * Sets the 'includeValidateMethod' property of this class
+     *
+     * @param includeValidateMethod whether to add a validate() method to each generated type that checks its schema constraints without reflection
+     */
+    public void setIncludeValidateMethod(boolean includeValidateMethod) {
+        this.includeValidateMethod = includeValidateMethod;
+    }
+
     public void setFormatTypeMapping(Map<String, String> formatTypeMapping) {
         this.formatTypeMapping = formatTypeMapping;
     }
@@ -1338,4 +1526,89 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
     public boolean isUseJakartaValidation() {
         return useJakartaValidation;
     }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    @Override
+    public File getRemoteSchemaCacheDirectory() {
+        return remoteSchemaCacheDirectory;
+    }
+
+    @Override
+    public long getRemoteSchemaCacheMaxSize() {
+        return remoteSchemaCacheMaxSize;
+    }
+
+    @Override
+    public boolean isOffline() {
+        return offline;
+    }
+
+    @Override
+    public boolean isLazyAdditionalProperties() {
+        return lazyAdditionalProperties;
+    }
+
+    @Override
+    public String getAdditionalPropertiesMapType() {
+        return additionalPropertiesMapType;
+    }
+
+    @Override
+    public boolean isLazyCollections() {
+        return lazyCollections;
+    }
+
+    @Override
+    public boolean isCacheHashCode() {
+        return cacheHashCode;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean isGenerateJacksonSerializers() {
+        return generateJacksonSerializers;
+    }
+
+    @Override
+    public boolean isGenerateGsonTypeAdapters() {
+        return generateGsonTypeAdapters;
+    }
+
+    @Override
+    public boolean isGenerateMoshiAdapters() {
+        return generateMoshiAdapters;
+    }
+
+    @Override
+    public boolean isUseEnumCollections() {
+        return useEnumCollections;
+    }
+
+    @Override
+    public boolean isUsePrimitiveArrays() {
+        return usePrimitiveArrays;
+    }
+
+    @Override
+    public boolean isUseNarrowIntegers() {
+        return useNarrowIntegers;
+    }
+
+    @Override
+    public boolean isIncludeValidateMethod() {
+        return includeValidateMethod;
+    }
 }
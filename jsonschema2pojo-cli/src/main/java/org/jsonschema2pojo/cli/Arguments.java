@@ -251,6 +251,57 @@ public class Arguments implements GenerationConfig {
     @Parameter(names = { "--useJakartaValidation" }, description = "Whether to use annotations from jakarta.validation package instead of javax.validation package when adding JSR-303/349 annotations to generated Java types")
     private boolean useJakartaValidation = false;
 
+    @Parameter(names = { "--parallelism" }, description = "The number of worker threads used to generate types when there is more than one source file (output is identical to a sequential run).")
+    private int parallelism = 1;
+
+    @Parameter(names = { "--incremental" }, description = "Whether to regenerate only the types for source files that have changed (or reach a changed document) since the last run, using a manifest kept in the target directory.")
+    private boolean incremental = false;
+
+    @Parameter(names = { "--remote-schema-cache" }, description = "A directory in which copies of schemas read over http/https are cached (and revalidated using ETag/Last-Modified).")
+    private File remoteSchemaCacheDirectory;
+
+    @Parameter(names = { "--remote-schema-cache-max-size" }, description = "The maximum size, in bytes, of the remote schema cache. When the cache grows beyond this size, the least recently used schemas are evicted.")
+    private long remoteSchemaCacheMaxSize = 52428800L;
+
+    @Parameter(names = { "--offline" }, description = "Whether to read schemas that would be fetched over http/https only from the remote schema cache.")
+    private boolean offline = false;
+
+    @Parameter(names = { "--lazy-additional-properties" }, description = "Whether the additional properties map should only be allocated when the first additional property is set.")
+    private boolean lazyAdditionalProperties = false;
+
+    @Parameter(names = { "--additional-properties-map-type" }, description = "The fully qualified name of the Map implementation used to hold additional properties (default: java.util.LinkedHashMap).")
+    private String additionalPropertiesMapType = "java.util.LinkedHashMap";
+
+    @Parameter(names = { "--lazy-collections" }, description = "Whether collection properties should be left unallocated until they are set, with getters returning a shared, immutable, empty collection in the meantime.")
+    private boolean lazyCollections = false;
+
+    @Parameter(names = { "--cache-hashcode" }, description = "Whether generated types should compute their hash code once and cache it (immutable types only).")
+    private boolean cacheHashCode = false;
+
+    @Parameter(names = { "--immutable" }, description = "Whether generated types should be immutable, with final fields assigned by a canonical constructor (setters, builders and additional properties are not generated).")
+    private boolean immutable = false;
+
+    @Parameter(names = { "--generate-jackson-serializers" }, description = "Whether a Jackson serializer and deserializer should be generated for each type, along with a module (GeneratedSerializersModule) that registers them.")
+    private boolean generateJacksonSerializers = false;
+
+    @Parameter(names = { "--generate-gson-type-adapters" }, description = "Whether a Gson type adapter should be generated for each type and enum, along with a type adapter factory (GeneratedTypeAdapterFactory) that creates them.")
+    private boolean generateGsonTypeAdapters = false;
+
+    @Parameter(names = { "--generate-moshi-adapters" }, description = "Whether a Moshi JSON adapter should be generated for each type and enum, along with a JSON adapter factory (GeneratedJsonAdapterFactory) that creates them.")
+    private boolean generateMoshiAdapters = false;
+
+    @Parameter(names = { "--use-enum-collections" }, description = "Whether to use EnumSet for arrays with unique items that are enums, and EnumMap for existing Java types that are maps keyed by an enum.")
+    private boolean useEnumCollections = false;
+
+    @Parameter(names = { "--use-primitive-arrays" }, description = "Whether to use primitive arrays (e.g. long[]) rather than lists of wrapper types for arrays whose items are integers, numbers or booleans.")
+    private boolean usePrimitiveArrays = false;
+
+    @Parameter(names = { "--use-narrow-integers" }, description = "Whether to choose the smallest integral type (byte, short, int or long) that can hold every value allowed by the minimum and maximum of an integer.")
+    private boolean useNarrowIntegers = false;
+
+    @Parameter(names = { "--include-validate-method" }, description = "Whether to add a validate() method to each generated type that checks its schema constraints without reflection.")
+    private boolean includeValidateMethod = false;
+
     @Parameter(names = { "-v", "--version"}, description = "Print version information", help = true)
     private boolean printVersion = false;
 
@@ -624,4 +675,89 @@ public class Arguments implements GenerationConfig {
     public boolean isUseJakartaValidation() {
         return useJakartaValidation;
     }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    @Override
+    public File getRemoteSchemaCacheDirectory() {
+        return remoteSchemaCacheDirectory;
+    }
+
+    @Override
+    public long getRemoteSchemaCacheMaxSize() {
+        return remoteSchemaCacheMaxSize;
+    }
+
+    @Override
+    public boolean isOffline() {
+        return offline;
+    }
+
+    @Override
+    public boolean isLazyAdditionalProperties() {
+        return lazyAdditionalProperties;
+    }
+
+    @Override
+    public String getAdditionalPropertiesMapType() {
+        return additionalPropertiesMapType;
+    }
+
+    @Override
+    public boolean isLazyCollections() {
+        return lazyCollections;
+    }
+
+    @Override
+    public boolean isCacheHashCode() {
+        return cacheHashCode;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean isGenerateJacksonSerializers() {
+        return generateJacksonSerializers;
+    }
+
+    @Override
+    public boolean isGenerateGsonTypeAdapters() {
+        return generateGsonTypeAdapters;
+    }
+
+    @Override
+    public boolean isGenerateMoshiAdapters() {
+        return generateMoshiAdapters;
+    }
+
+    @Override
+    public boolean isUseEnumCollections() {
+        return useEnumCollections;
+    }
+
+    @Override
+    public boolean isUsePrimitiveArrays() {
+        return usePrimitiveArrays;
+    }
+
+    @Override
+    public boolean isUseNarrowIntegers() {
+        return useNarrowIntegers;
+    }
+
+    @Override
+    public boolean isIncludeValidateMethod() {
+        return includeValidateMethod;
+    }
 }
@@ -21,6 +21,7 @@ import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JEnumConstant;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
 
 /**
  * A default implementation of the Annotator interface that makes it easier to
@@ -75,6 +76,14 @@ public abstract class AbstractAnnotator implements Annotator {
     public void anySetter(JMethod setter, JDefinedClass clazz) {
     }
 
+    @Override
+    public void creatorConstructor(JMethod constructor, JDefinedClass clazz) {
+    }
+
+    @Override
+    public void creatorParameter(JVar param, JDefinedClass clazz, String propertyName) {
+    }
+
     @Override
     public void enumCreatorMethod(JDefinedClass _enum, JMethod creatorMethod) {
     }
@@ -21,6 +21,7 @@ import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JEnumConstant;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
 
 /**
  * Adds annotations to generated types for compatibility with a JSON
@@ -123,6 +124,34 @@ public interface Annotator {
      */
     void anyGetter(JMethod getter, JDefinedClass clazz);
 
+    /**
+     * Add the necessary annotation to mark a constructor as the creator that
+     * should be used to construct instances of a generated (immutable) type
+     * during deserialization.
+     *
+     * @param constructor
+     *            the constructor that takes every JSON property of the type
+     * @param clazz
+     *            a generated pojo class, that needs serialization annotations
+     */
+    default void creatorConstructor(JMethod constructor, JDefinedClass clazz) {
+    }
+
+    /**
+     * Add the necessary annotation to mark a creator constructor parameter as
+     * the value of a JSON property.
+     *
+     * @param param
+     *            the constructor parameter that receives the value of the
+     *            given JSON property
+     * @param clazz
+     *            a generated pojo class, that needs serialization annotations
+     * @param propertyName
+     *            the name of the JSON property that this parameter receives
+     */
+    default void creatorParameter(JVar param, JDefinedClass clazz, String propertyName) {
+    }
+
     /**
      * Add the necessary annotation to mark a Java method as the setter for
      * additional JSON property values that do not match any of the other
@@ -0,0 +1,318 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static java.util.Arrays.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A content resolver that keeps a copy of every document read over http/https
+ * in a local cache directory.
+ * <p>
+ * A cached copy is revalidated with the server (using <code>ETag</code> and
+ * <code>Last-Modified</code> through a conditional request) each time it is
+ * needed, and is only downloaded again if it has changed. If the server can't
+ * be reached, the cached copy is used. In offline mode, documents are only
+ * ever read from the cache.
+ * <p>
+ * The cache is bounded in size: when it grows beyond the maximum size, the
+ * least recently used documents are evicted. Documents read using any other
+ * protocol are not cached.
+ */
+public class CachingContentResolver extends ContentResolver {
+
+    /**
+     * The default maximum size of the cache (50 MiB).
+     */
+    public static final long DEFAULT_MAX_CACHE_SIZE = 50L * 1024 * 1024;
+
+    /**
+     * The default connect and read timeout, in milliseconds.
+     */
+    public static final int DEFAULT_TIMEOUT = 30000;
+
+    private static final Set<String> HTTP_SCHEMES = new HashSet<>(asList("http", "https"));
+
+    private static final String CONTENT_SUFFIX = ".content";
+    private static final String METADATA_SUFFIX = ".properties";
+
+    private final File cacheDirectory;
+    private final long maxCacheSize;
+    private final boolean offline;
+    private final int timeout;
+    private final RuleLogger logger;
+
+    /**
+     * @param jsonFactory
+     *            the factory used to parse documents, or <code>null</code> for
+     *            JSON
+     * @param cacheDirectory
+     *            the directory that should hold cached documents, or
+     *            <code>null</code> if documents should not be cached
+     * @param maxCacheSize
+     *            the number of bytes the cache may hold before the least
+     *            recently used documents are evicted
+     * @param offline
+     *            whether documents should only be read from the cache (and
+     *            never downloaded)
+     * @param logger
+     *            a logger for cache activity
+     */
+    public CachingContentResolver(JsonFactory jsonFactory, File cacheDirectory, long maxCacheSize, boolean offline, RuleLogger logger) {
+        this(jsonFactory, cacheDirectory, maxCacheSize, offline, DEFAULT_TIMEOUT, logger);
+    }
+
+    /**
+     * @param jsonFactory
+     *            the factory used to parse documents, or <code>null</code> for
+     *            JSON
+     * @param cacheDirectory
+     *            the directory that should hold cached documents, or
+     *            <code>null</code> if documents should not be cached
+     * @param maxCacheSize
+     *            the number of bytes the cache may hold before the least
+     *            recently used documents are evicted
+     * @param offline
+     *            whether documents should only be read from the cache (and
+     *            never downloaded)
+     * @param timeout
+     *            the connect and read timeout, in milliseconds, for downloads
+     * @param logger
+     *            a logger for cache activity
+     */
+    public CachingContentResolver(JsonFactory jsonFactory, File cacheDirectory, long maxCacheSize, boolean offline, int timeout, RuleLogger logger) {
+        super(jsonFactory);
+        this.cacheDirectory = cacheDirectory;
+        this.maxCacheSize = maxCacheSize;
+        this.offline = offline;
+        this.timeout = timeout;
+        this.logger = logger;
+    }
+
+    @Override
+    public JsonNode resolve(URI uri) {
+        if (!HTTP_SCHEMES.contains(uri.getScheme())) {
+            return super.resolve(uri);
+        }
+        return parse(fetch(uri), uri);
+    }
+
+    private byte[] fetch(URI uri) {
+        Entry cached = read(uri);
+
+        if (offline) {
+            if (cached == null) {
+                throw new IllegalArgumentException("Working offline and there is no cached copy of: " + uri);
+            }
+            logger.debug("Working offline, using cached copy of: " + uri);
+            touch(cached);
+            return cached.content;
+        }
+
+        try {
+            URLConnection connection = uri.toURL().openConnection();
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            if (cached != null && cached.etag != null) {
+                connection.setRequestProperty("If-None-Match", cached.etag);
+            }
+            if (cached != null && cached.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", cached.lastModified);
+            }
+
+            if (cached != null && ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                logger.debug("Cached copy is up to date: " + uri);
+                touch(cached);
+                return cached.content;
+            }
+
+            byte[] content;
+            try (InputStream in = connection.getInputStream()) {
+                content = IOUtils.toByteArray(in);
+            }
+            write(uri, content, connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"));
+            return content;
+        } catch (IOException e) {
+            if (cached != null) {
+                logger.warn("Unable to revalidate " + uri + ", using cached copy", e);
+                touch(cached);
+                return cached.content;
+            }
+            throw new IllegalArgumentException("Unrecognised URI, can't resolve this: " + uri, e);
+        }
+    }
+
+    private Entry read(URI uri) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+
+        File contentFile = new File(cacheDirectory, keyOf(uri) + CONTENT_SUFFIX);
+        File metadataFile = new File(cacheDirectory, keyOf(uri) + METADATA_SUFFIX);
+        if (!contentFile.isFile() || !metadataFile.isFile()) {
+            return null;
+        }
+
+        try (InputStream in = Files.newInputStream(metadataFile.toPath())) {
+            Properties metadata = new Properties();
+            metadata.load(in);
+            if (!uri.toString().equals(metadata.getProperty("uri"))) {
+                return null;
+            }
+            return new Entry(contentFile, FileUtils.readFileToByteArray(contentFile), metadata.getProperty("etag"), metadata.getProperty("lastModified"));
+        } catch (IOException e) {
+            logger.debug("Ignoring unreadable cache entry for: " + uri);
+            return null;
+        }
+    }
+
+    private void write(URI uri, byte[] content, String etag, String lastModified) {
+        if (cacheDirectory == null) {
+            return;
+        }
+
+        Properties metadata = new Properties();
+        metadata.setProperty("uri", uri.toString());
+        if (etag != null) {
+            metadata.setProperty("etag", etag);
+        }
+        if (lastModified != null) {
+            metadata.setProperty("lastModified", lastModified);
+        }
+
+        try {
+            Files.createDirectories(cacheDirectory.toPath());
+
+            File contentFile = new File(cacheDirectory, keyOf(uri) + CONTENT_SUFFIX);
+            File metadataFile = new File(cacheDirectory, keyOf(uri) + METADATA_SUFFIX);
+
+            File tempFile = File.createTempFile("content", ".tmp", cacheDirectory);
+            FileUtils.writeByteArrayToFile(tempFile, content);
+            moveInto(tempFile, contentFile);
+
+            tempFile = File.createTempFile("metadata", ".tmp", cacheDirectory);
+            try (OutputStream out = Files.newOutputStream(tempFile.toPath())) {
+                metadata.store(out, null);
+            }
+            moveInto(tempFile, metadataFile);
+
+            evict(contentFile);
+        } catch (IOException e) {
+            logger.warn("Unable to cache " + uri, e);
+        }
+    }
+
+    private static void moveInto(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Marks a cached document as used, so that it is the last to be evicted.
+     */
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+    private static void touch(Entry entry) {
+        entry.contentFile.setLastModified(System.currentTimeMillis());
+    }
+
+    /**
+     * Deletes the least recently used documents until the cache is no larger
+     * than its maximum size.
+     */
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+    private void evict(File retainedContentFile) {
+        File[] contentFiles = cacheDirectory.listFiles((dir, name) -> name.endsWith(CONTENT_SUFFIX));
+        if (contentFiles == null) {
+            return;
+        }
+
+        long size = 0;
+        for (File contentFile : contentFiles) {
+            size += contentFile.length() + metadataFileOf(contentFile).length();
+        }
+
+        sort(contentFiles, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < contentFiles.length && size > maxCacheSize; i++) {
+            if (!contentFiles[i].equals(retainedContentFile)) {
+                size -= contentFiles[i].length() + metadataFileOf(contentFiles[i]).length();
+                logger.debug("Evicting cached document: " + contentFiles[i].getName());
+                metadataFileOf(contentFiles[i]).delete();
+                contentFiles[i].delete();
+            }
+        }
+    }
+
+    private static File metadataFileOf(File contentFile) {
+        String name = contentFile.getName();
+        return new File(contentFile.getParentFile(), name.substring(0, name.length() - CONTENT_SUFFIX.length()) + METADATA_SUFFIX);
+    }
+
+    private static String keyOf(URI uri) {
+        try {
+            StringBuilder key = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(uri.toString().getBytes(StandardCharsets.UTF_8))) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+
+        private final File contentFile;
+        private final byte[] content;
+        private final String etag;
+        private final String lastModified;
+
+        Entry(File contentFile, byte[] content, String etag, String lastModified) {
+            this.contentFile = contentFile;
+            this.content = content;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+    }
+
+}
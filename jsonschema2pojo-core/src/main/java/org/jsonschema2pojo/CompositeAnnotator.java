@@ -21,6 +21,7 @@ import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JEnumConstant;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
 
 /**
  * An annotator (implementing the composite pattern) that can be used to compose
@@ -99,6 +100,20 @@ public class CompositeAnnotator implements Annotator {
         }
     }
 
+    @Override
+    public void creatorConstructor(JMethod constructor, JDefinedClass clazz) {
+        for (Annotator annotator : annotators) {
+            annotator.creatorConstructor(constructor, clazz);
+        }
+    }
+
+    @Override
+    public void creatorParameter(JVar param, JDefinedClass clazz, String propertyName) {
+        for (Annotator annotator : annotators) {
+            annotator.creatorParameter(param, clazz, propertyName);
+        }
+    }
+
     @Override
     public void enumCreatorMethod(JDefinedClass _enum, JMethod creatorMethod) {
         for (Annotator annotator : annotators) {
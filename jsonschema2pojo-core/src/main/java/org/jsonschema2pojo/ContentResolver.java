@@ -82,6 +82,26 @@ public class ContentResolver {
 
     }
 
+    /**
+     * Parse the given document content as JSON (or the format understood by
+     * the JSON factory given to this resolver).
+     *
+     * @param content
+     *            the raw content of the document
+     * @param uri
+     *            the URI the content was read from
+     * @return the JSON tree represented by the given content
+     */
+    protected JsonNode parse(byte[] content, URI uri) {
+        try {
+            return objectMapper.readTree(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Error parsing document: " + uri, e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unrecognised URI, can't resolve this: " + uri, e);
+        }
+    }
+
     private JsonNode resolveFromClasspath(URI uri) {
 
         String path = removeStart(removeStart(uri.toString(), uri.getScheme() + ":"), "/");
@@ -22,6 +22,7 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.jsonschema2pojo.rules.RuleFactory;
@@ -495,4 +496,140 @@ public class DefaultGenerationConfig implements GenerationConfig {
     public boolean isUseJakartaValidation() {
         return false;
     }
+
+    /**
+     * @return <code>1</code>
+     */
+    @Override
+    public int getParallelism() {
+        return 1;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isIncremental() {
+        return false;
+    }
+
+    /**
+     * @return <code>null</code>
+     */
+    @Override
+    public File getRemoteSchemaCacheDirectory() {
+        return null;
+    }
+
+    /**
+     * @return <code>52428800</code> (50 MiB)
+     */
+    @Override
+    public long getRemoteSchemaCacheMaxSize() {
+        return CachingContentResolver.DEFAULT_MAX_CACHE_SIZE;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isOffline() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isLazyAdditionalProperties() {
+        return false;
+    }
+
+    /**
+     * @return <code>java.util.LinkedHashMap</code>
+     */
+    @Override
+    public String getAdditionalPropertiesMapType() {
+        return LinkedHashMap.class.getName();
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isLazyCollections() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isCacheHashCode() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isImmutable() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isGenerateJacksonSerializers() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isGenerateGsonTypeAdapters() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isGenerateMoshiAdapters() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isUseEnumCollections() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isUsePrimitiveArrays() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isUseNarrowIntegers() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isIncludeValidateMethod() {
+        return false;
+    }
 }
@@ -18,6 +18,7 @@ package org.jsonschema2pojo;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
@@ -39,7 +40,16 @@ public class FileCodeWriterWithEncoding extends com.sun.codemodel.writer.FileCod
 
     @Override
     public Writer openSource(JPackage pkg, String fileName) throws IOException {
-        final Writer bw = new OutputStreamWriter(openBinary(pkg, fileName), encoding);
+        return createSourceWriter(openBinary(pkg, fileName), encoding);
+    }
+
+    /**
+     * Wraps the given stream in a writer that encodes generated source using
+     * the given encoding, escaping any characters that the encoding can't
+     * represent.
+     */
+    static Writer createSourceWriter(OutputStream out, String encoding) throws IOException {
+        final Writer bw = new OutputStreamWriter(out, encoding);
 
         return new UnicodeEscapeWriter(bw) {
             private final CharsetEncoder encoder = Charset.forName(encoding).newEncoder();
@@ -16,45 +16,174 @@
 
 package org.jsonschema2pojo;
 
-import static java.util.Arrays.*;
 import static org.apache.commons.lang3.StringUtils.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+/**
+ * Resolves fragment paths (JSON Pointers) within a document.
+ * <p>
+ * Each distinct path is split and decoded only once, and every node reached
+ * (including those reached on the way to the node requested) is remembered
+ * for the document it was found in. Resolving a path therefore walks only
+ * from the deepest node already resolved for one of its prefixes, so
+ * resolving <code>#/properties/a/properties/b</code> after
+ * <code>#/properties/a</code> costs a single step. Documents are assumed not
+ * to change once they have been read.
+ * <p>
+ * This class is safe for use by multiple threads.
+ */
 public class FragmentResolver {
 
+    private final ConcurrentMap<String, ConcurrentMap<String, Pointer>> pointers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Document, ConcurrentMap<Prefix, JsonNode>> resolved = new ConcurrentHashMap<>();
+
     public JsonNode resolve(JsonNode tree, String path, String refFragmentPathDelimiters) {
 
-        return resolve(tree, new ArrayList<>(asList(split(path, refFragmentPathDelimiters))));
+        Pointer pointer = pointers.computeIfAbsent(refFragmentPathDelimiters, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(path, k -> new Pointer(split(k, refFragmentPathDelimiters)));
+
+        ConcurrentMap<Prefix, JsonNode> nodes = resolved.computeIfAbsent(new Document(tree), k -> new ConcurrentHashMap<>());
+
+        return resolve(tree, pointer, pointer.size(), nodes);
+
+    }
 
+    /**
+     * Forgets the nodes resolved so far (e.g. when the documents they were
+     * found in are no longer needed).
+     */
+    public void clearCache() {
+        resolved.clear();
     }
 
-    private JsonNode resolve(JsonNode tree, List<String> path) {
+    private JsonNode resolve(JsonNode tree, Pointer pointer, int length, ConcurrentMap<Prefix, JsonNode> nodes) {
 
-        if (path.isEmpty()) {
+        if (length == 0) {
             return tree;
+        }
+
+        Prefix prefix = new Prefix(pointer, length);
+        JsonNode node = nodes.get(prefix);
+        if (node != null) {
+            return node;
+        }
+
+        JsonNode parent = resolve(tree, pointer, length - 1, nodes);
+        String part = pointer.tokens[length - 1];
+
+        if (parent == null) {
+            throw new IllegalArgumentException("Path not present: " + part);
+        }
+
+        if (parent.isArray()) {
+            try {
+                node = parent.get(Integer.parseInt(part));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a valid array index: " + part);
+            }
+        } else if (parent.has(part)) {
+            node = parent.get(part);
         } else {
-            String part = path.remove(0);
-
-            if (tree.isArray()) {
-                try {
-                    int index = Integer.parseInt(part);
-                    return resolve(tree.get(index), path);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Not a valid array index: " + part);
-                }
+            throw new IllegalArgumentException("Path not present: " + part);
+        }
+
+        if (node != null) {
+            nodes.putIfAbsent(prefix, node);
+        }
+        return node;
+
+    }
+
+    /**
+     * A path, split into decoded reference tokens, along with the hash of
+     * each of its prefixes.
+     */
+    private static final class Pointer {
+
+        private final String[] tokens;
+        private final int[] hashes;
+
+        Pointer(String[] parts) {
+            this.tokens = new String[parts.length];
+            this.hashes = new int[parts.length + 1];
+            for (int i = 0; i < parts.length; i++) {
+                tokens[i] = JsonPointerUtils.decodeReferenceToken(parts[i]);
+                hashes[i + 1] = 31 * hashes[i] + tokens[i].hashCode();
             }
+        }
 
-            String decodedPart = JsonPointerUtils.decodeReferenceToken(part);
-            if (tree.has(decodedPart)) {
-                return resolve(tree.get(decodedPart), path);
-            } else {
-                throw new IllegalArgumentException("Path not present: " + decodedPart);
+        int size() {
+            return tokens.length;
+        }
+
+    }
+
+    /**
+     * The first <code>length</code> tokens of a pointer.
+     */
+    private static final class Prefix {
+
+        private final Pointer pointer;
+        private final int length;
+
+        Prefix(Pointer pointer, int length) {
+            this.pointer = pointer;
+            this.length = length;
+        }
+
+        @Override
+        public int hashCode() {
+            return pointer.hashes[length];
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
             }
+            if (!(other instanceof Prefix)) {
+                return false;
+            }
+            Prefix that = (Prefix) other;
+            if (length != that.length || hashCode() != that.hashCode()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!pointer.tokens[i].equals(that.pointer.tokens[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Identifies a document by identity (rather than by content, which would
+     * be expensive to compare).
+     */
+    private static final class Document {
+
+        private final JsonNode root;
+
+        Document(JsonNode root) {
+            this.root = root;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(root);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Document && ((Document) other).root == root;
         }
 
     }
+
 }
@@ -280,7 +280,9 @@ public interface GenerationConfig {
    *         previously. <strong>Be warned</strong>, when activated this
    *         option will cause jsonschema2pojo to <strong>indiscriminately
    *         delete the entire contents of the target directory (all files and
-   *         folders)</strong> before it begins generating sources.
+   *         folders)</strong> before it begins generating sources. Generated
+   *         files whose content hasn't changed are the exception: these are
+   *         kept in place, with their last-modified time preserved.
    */
   boolean isRemoveOldOutput();
 
@@ -635,4 +637,223 @@ public interface GenerationConfig {
    */
   boolean isUseJakartaValidation();
 
+  /**
+   * Gets the 'parallelism' configuration option.
+   *
+   * @return The number of worker threads used to generate types when there is
+   *         more than one source file. Source files are split between the
+   *         workers and their results are merged into a single output that
+   *         is identical to the output of a sequential run. Values less than
+   *         2 generate all types on the calling thread.
+   */
+  int getParallelism();
+
+  /**
+   * Gets the 'incremental' configuration option.
+   *
+   * @return Whether to regenerate only the types for source files that have
+   *         changed since the last run. A manifest of the sources, the
+   *         documents they reach (e.g. through $ref) and the files they
+   *         produce is kept in the target directory, and files that are no
+   *         longer produced by any source are deleted. When changes could
+   *         affect the unchanged types (e.g. their names) all types are
+   *         regenerated.
+   */
+  boolean isIncremental();
+
+  /**
+   * Gets the 'remoteSchemaCacheDirectory' configuration option.
+   *
+   * @return The directory in which copies of schemas read over http/https are
+   *         cached. A cached copy is revalidated with the server (using
+   *         ETag/Last-Modified) each time it is needed and is only downloaded
+   *         again if it has changed; if the server can't be reached, the
+   *         cached copy is used. <code>null</code> if remote schemas should
+   *         not be cached.
+   */
+  File getRemoteSchemaCacheDirectory();
+
+  /**
+   * Gets the 'remoteSchemaCacheMaxSize' configuration option.
+   *
+   * @return The maximum size, in bytes, of the remote schema cache. When the
+   *         cache grows beyond this size, the least recently used schemas are
+   *         evicted.
+   */
+  long getRemoteSchemaCacheMaxSize();
+
+  /**
+   * Gets the 'offline' configuration option.
+   *
+   * @return Whether schemas that would be read over http/https should only be
+   *         read from the remote schema cache. Generation fails if a remote
+   *         schema has not been cached.
+   */
+  boolean isOffline();
+
+  /**
+   * Gets the 'lazyAdditionalProperties' configuration option.
+   *
+   * @return Whether the additional properties map of generated types should
+   *         only be allocated when the first additional property is set.
+   *         Until then, <code>getAdditionalProperties()</code> returns a
+   *         shared, immutable, empty map.
+   */
+  boolean isLazyAdditionalProperties();
+
+  /**
+   * Gets the 'additionalPropertiesMapType' configuration option.
+   *
+   * @return The fully qualified name of the {@link java.util.Map}
+   *         implementation used to hold additional properties (e.g.
+   *         <code>java.util.HashMap</code>). The class must have a public
+   *         no-argument constructor. This can be overridden for a single
+   *         schema using the <code>javaAdditionalPropertiesMapType</code>
+   *         extension.
+   */
+  String getAdditionalPropertiesMapType();
+
+  /**
+   * Gets the 'lazyCollections' configuration option.
+   *
+   * @return Whether collection properties should be left unallocated until
+   *         they are set, with getters returning a shared, immutable, empty
+   *         collection in the meantime. Schema default values are assigned
+   *         from a shared, immutable constant. Only has an effect when
+   *         initializeCollections is enabled.
+   */
+  boolean isLazyCollections();
+
+  /**
+   * Gets the 'cacheHashCode' configuration option.
+   *
+   * @return Whether generated types should compute their hash code once and
+   *         cache it, with <code>equals</code> comparing cached hash codes
+   *         before comparing properties. Only immutable types (see
+   *         {@link #isImmutable()}) cache their hash code, and only when
+   *         none of their properties is an array or a collection other than
+   *         a list, set or map (which the constructor copies into an
+   *         unmodifiable collection). This can be overridden for a single
+   *         schema using the <code>cacheHashCode</code> extension. Only has
+   *         an effect when includeHashcodeAndEquals is enabled.
+   */
+  boolean isCacheHashCode();
+
+  /**
+   * Gets the 'immutable' configuration option.
+   *
+   * @return Whether generated types should be immutable: final classes with
+   *         final fields, assigned by a canonical constructor that takes
+   *         every property (including those of the supertype). Setters,
+   *         builders and additional properties are not generated, and schema
+   *         default values are applied by the constructor when an argument
+   *         is <code>null</code>. The constructor is annotated so that it can
+   *         be used for deserialization.
+   */
+  boolean isImmutable();
+
+  /**
+   * Gets the 'generateJacksonSerializers' configuration option.
+   *
+   * @return Whether a Jackson serializer and deserializer should be generated
+   *         for each type (as nested classes), along with a Jackson module
+   *         named <code>GeneratedSerializersModule</code> (in the target
+   *         package) that registers them. These write and read properties
+   *         directly, rather than through Jackson's reflective bean
+   *         serializers. Types that need Jackson features these classes
+   *         don't support (e.g. polymorphic type information, views or
+   *         custom formats) are left to Jackson's bean serializers. Only has
+   *         an effect when the annotation style is Jackson 2.
+   */
+  boolean isGenerateJacksonSerializers();
+
+  /**
+   * Gets the 'generateGsonTypeAdapters' configuration option.
+   *
+   * @return Whether a Gson type adapter should be generated for each type and
+   *         enum (as a nested class), along with a type adapter factory named
+   *         <code>GeneratedTypeAdapterFactory</code> (in the target package)
+   *         that creates them. These write and read properties directly,
+   *         rather than through Gson's reflective type adapters. Types that
+   *         need Gson features the adapters don't support are left to Gson's
+   *         reflective type adapters. Only has an effect when the annotation
+   *         style is Gson.
+   */
+  boolean isGenerateGsonTypeAdapters();
+
+  /**
+   * Gets the 'generateMoshiAdapters' configuration option.
+   *
+   * @return Whether a Moshi JSON adapter should be generated for each type and
+   *         enum (as a nested class), along with a JSON adapter factory named
+   *         <code>GeneratedJsonAdapterFactory</code> (in the target package)
+   *         that creates them. These match property names using
+   *         <code>JsonReader.Options</code> and write and read properties
+   *         directly, rather than through Moshi's reflective adapters. Types
+   *         that need Moshi features the adapters don't support are left to
+   *         Moshi's reflective adapters. Only has an effect when the
+   *         annotation style is Moshi 1.
+   */
+  boolean isGenerateMoshiAdapters();
+
+  /**
+   * Gets the 'useEnumCollections' configuration option.
+   *
+   * @return Whether to use {@link java.util.EnumSet} (rather than
+   *         {@link java.util.Set}) fields for arrays with unique items that
+   *         are enums, and {@link java.util.EnumMap} (rather than
+   *         {@link java.util.Map}) fields for existing Java types that are maps
+   *         keyed by an enum. Getters, setters, builder methods and
+   *         constructors keep using {@link java.util.Set} and
+   *         {@link java.util.Map}, and copy the collections they're given.
+   *         Only applies to the Jackson and Gson annotation styles (and
+   *         {@link AnnotationStyle#NONE}), since Moshi and JSON-B can't
+   *         deserialize these types.
+   */
+  boolean isUseEnumCollections();
+
+  /**
+   * Gets the 'usePrimitiveArrays' configuration option.
+   *
+   * @return Whether to use primitive arrays (e.g. <code>long[]</code>,
+   *         <code>double[]</code>, <code>boolean[]</code>) rather than lists
+   *         of wrapper types for arrays whose items are integers, numbers or
+   *         booleans. Arrays with unique items, and items that have no
+   *         primitive type (e.g. {@link java.math.BigDecimal}), are
+   *         unchanged. Can be overridden for a single array with the
+   *         <code>javaPrimitiveArray</code> schema extension.
+   */
+  boolean isUsePrimitiveArrays();
+
+
+  /**
+   * Gets the 'useNarrowIntegers' configuration option.
+   *
+   * @return Whether to choose the smallest integral type (<code>byte</code>,
+   *         <code>short</code>, <code>int</code> or <code>long</code>) that
+   *         can hold every value allowed by the <code>minimum</code>,
+   *         <code>maximum</code>, <code>exclusiveMinimum</code> and
+   *         <code>exclusiveMaximum</code> of an integer. A number with an
+   *         integral <code>multipleOf</code> is narrowed in the same way.
+   *         When either bound is absent the usual integer and number types
+   *         are used. Primitive arrays of such items are never
+   *         <code>byte[]</code> (which Jackson and JSON-B treat as Base64
+   *         text), but <code>short[]</code>.
+   */
+  boolean isUseNarrowIntegers();
+
+
+  /**
+   * Gets the 'includeValidateMethod' configuration option.
+   *
+   * @return Whether to add a <code>validate()</code> method to each generated
+   *         type that checks "required", "pattern", "minLength"/"maxLength",
+   *         "minItems"/"maxItems" and "minimum"/"maximum" (including the
+   *         exclusive forms) without reflection, and validates any generated
+   *         types it holds. Patterns are compiled once, into static
+   *         constants. This is independent of
+   *         {@link #isIncludeJsr303Annotations()}.
+   */
+  boolean isIncludeValidateMethod();
+
 }
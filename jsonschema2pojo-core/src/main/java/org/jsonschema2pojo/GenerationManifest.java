@@ -0,0 +1,426 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static java.util.Arrays.*;
+import static org.apache.commons.lang3.StringUtils.*;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.commons.io.IOUtils;
+import org.jsonschema2pojo.rules.Registration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A record, kept in the target directory, of the sources that types were last
+ * generated from. For each source the manifest holds a hash of its content,
+ * a hash of every document reached from it (e.g. through a $ref), the files
+ * that it produced and the types it registered with registry classes. This allows a later run to find the sources that need to
+ * be regenerated, and the files that are no longer produced by any source.
+ */
+class GenerationManifest {
+
+    static final String FILE_NAME = ".jsonschema2pojo-manifest.json";
+
+    private static final int VERSION = 2;
+
+    private static final Set<String> CLASSPATH_SCHEMES = new HashSet<>(asList("classpath", "resource", "java"));
+
+    /**
+     * Configuration options that don't change the content of the generated
+     * types.
+     */
+    private static final Set<String> IGNORED_OPTIONS = new HashSet<>(asList(
+            "getSource", "getTargetDirectory", "getFileFilter", "isRemoveOldOutput", "getParallelism", "isIncremental",
+            "getRemoteSchemaCacheDirectory", "getRemoteSchemaCacheMaxSize", "isOffline"));
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String configuration;
+    private final Map<String, Entry> entries = new TreeMap<>();
+    private Map<String, String> owners;
+
+    private GenerationManifest(String configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Creates a manifest describing the sources seen by the given tracker.
+     *
+     * @param config
+     *            the configuration used to generate types
+     * @param tracker
+     *            a tracker that has seen every source
+     * @param hashes
+     *            the current content hashes
+     */
+    static GenerationManifest create(GenerationConfig config, GenerationTracker tracker, ContentHashes hashes) {
+        GenerationManifest manifest = new GenerationManifest(fingerprint(config));
+        manifest.putAll(tracker, hashes);
+        return manifest;
+    }
+
+    /**
+     * Reads the manifest left in the target directory by a previous run.
+     *
+     * @param config
+     *            the configuration for the current run
+     * @return the previous manifest, or <code>null</code> if there is no
+     *         manifest, it can't be read or it was written for a different
+     *         configuration
+     */
+    static GenerationManifest read(GenerationConfig config) {
+        File file = new File(config.getTargetDirectory(), FILE_NAME);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try {
+            JsonNode content = OBJECT_MAPPER.readTree(file);
+            if (content.path("version").asInt() != VERSION || !fingerprint(config).equals(content.path("configuration").asText())) {
+                return null;
+            }
+
+            GenerationManifest manifest = new GenerationManifest(content.path("configuration").asText());
+            for (Iterator<Map.Entry<String, JsonNode>> sources = content.path("sources").fields(); sources.hasNext();) {
+                Map.Entry<String, JsonNode> source = sources.next();
+                Entry entry = new Entry(source.getValue().path("hash").asText());
+                for (Iterator<Map.Entry<String, JsonNode>> references = source.getValue().path("references").fields(); references.hasNext();) {
+                    Map.Entry<String, JsonNode> reference = references.next();
+                    entry.references.put(reference.getKey(), reference.getValue().asText());
+                }
+                for (JsonNode output : source.getValue().path("outputs")) {
+                    entry.outputs.add(output.asText());
+                }
+                for (JsonNode registration : source.getValue().path("registrations")) {
+                    entry.registrations.add(new Registration(registration.path("registry").asText(), registration.path("type").asText(),
+                            registration.path("enum").asBoolean()));
+                }
+                manifest.entries.put(source.getKey(), entry);
+            }
+            return manifest;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes this manifest to the target directory, replacing any previous
+     * manifest.
+     */
+    void write(File targetDirectory) throws IOException {
+        ObjectNode content = OBJECT_MAPPER.createObjectNode();
+        content.put("version", VERSION);
+        content.put("configuration", configuration);
+
+        ObjectNode sources = content.putObject("sources");
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            ObjectNode source = sources.putObject(entry.getKey());
+            source.put("hash", entry.getValue().hash);
+            ObjectNode references = source.putObject("references");
+            for (Map.Entry<String, String> reference : entry.getValue().references.entrySet()) {
+                references.put(reference.getKey(), reference.getValue());
+            }
+            for (String output : entry.getValue().outputs) {
+                source.withArray("outputs").add(output);
+            }
+            for (Registration registration : entry.getValue().registrations) {
+                ObjectNode registrationNode = source.withArray("registrations").addObject();
+                registrationNode.put("registry", registration.getRegistryName());
+                registrationNode.put("type", registration.getTypeName());
+                registrationNode.put("enum", registration.isEnumType());
+            }
+        }
+
+        OBJECT_MAPPER.writeValue(new File(targetDirectory, FILE_NAME), content);
+    }
+
+    /**
+     * Finds the sources whose types may have changed since this manifest was
+     * written, because the source itself or any document reached from it has
+     * changed (or the source is new).
+     *
+     * @return the stale sources, or <code>null</code> if any source recorded
+     *         in this manifest no longer exists (in which case the names of
+     *         the remaining types may change and everything must be
+     *         regenerated)
+     */
+    List<Jsonschema2Pojo.Source> findStaleSources(List<Jsonschema2Pojo.Source> sources, ContentHashes hashes) {
+        Set<String> ids = new HashSet<>();
+        List<Jsonschema2Pojo.Source> stale = new ArrayList<>();
+
+        for (Jsonschema2Pojo.Source source : sources) {
+            ids.add(idOf(source));
+            Entry entry = entries.get(idOf(source));
+            if (entry == null || isChanged(entry.hash, hashes.get(toURI(source)))) {
+                stale.add(source);
+                continue;
+            }
+            for (Map.Entry<String, String> reference : entry.references.entrySet()) {
+                if (isChanged(reference.getValue(), hashes.get(URI.create(reference.getKey())))) {
+                    stale.add(source);
+                    break;
+                }
+            }
+        }
+
+        return ids.containsAll(entries.keySet()) ? stale : null;
+    }
+
+    private static boolean isChanged(String previousHash, String currentHash) {
+        // content that can't be read is never assumed to be unchanged
+        return currentHash.isEmpty() || !currentHash.equals(previousHash);
+    }
+
+    /**
+     * @return the id of the source that first produced the file at the given
+     *         path, or <code>null</code> if no source produced it
+     */
+    String findOwner(String path) {
+        return owners().get(path);
+    }
+
+    private Map<String, String> owners() {
+        if (owners == null) {
+            owners = new HashMap<>();
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                for (String output : entry.getValue().outputs) {
+                    owners.put(output, entry.getKey());
+                }
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * @return the paths of the files produced by the source with the given id
+     */
+    Set<String> getOutputs(String sourceId) {
+        Entry entry = entries.get(sourceId);
+        return entry == null ? new TreeSet<>() : entry.outputs;
+    }
+
+    /**
+     * @return the types registered with registry classes by the source with
+     *         the given id, in the order they were registered
+     */
+    List<Registration> getRegistrations(String sourceId) {
+        Entry entry = entries.get(sourceId);
+        return entry == null ? new ArrayList<>() : entry.registrations;
+    }
+
+    /**
+     * @return the ids of the documents reached from the source with the given
+     *         id (not including the source itself)
+     */
+    Set<String> getReferences(String sourceId) {
+        Entry entry = entries.get(sourceId);
+        return entry == null ? new TreeSet<>() : new TreeSet<>(entry.references.keySet());
+    }
+
+    /**
+     * @return <code>true</code> if any source, other than those with the
+     *         given ids, is or reached any of the given documents
+     */
+    boolean isReachedByOtherSources(Set<String> documents, Set<String> excludedIds) {
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (!excludedIds.contains(entry.getKey())
+                    && (documents.contains(entry.getKey()) || !Collections.disjoint(documents, entry.getValue().references.keySet()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the paths of all files produced by any source, including the
+     *         registry classes
+     */
+    Set<String> getOutputs() {
+        Set<String> outputs = new TreeSet<>();
+        for (Entry entry : entries.values()) {
+            outputs.addAll(entry.outputs);
+            outputs.addAll(GenerationTracker.getRegistryPaths(entry.registrations));
+        }
+        return outputs;
+    }
+
+    /**
+     * Replaces the entries for all sources seen by the given tracker. Files
+     * already owned by another source stay with their current owner.
+     */
+    void putAll(GenerationTracker tracker, ContentHashes hashes) {
+        for (Jsonschema2Pojo.Source source : tracker.getSources()) {
+            entries.remove(idOf(source));
+        }
+        owners = null;
+
+        for (Jsonschema2Pojo.Source source : tracker.getSources()) {
+            Entry entry = new Entry(hashes.get(toURI(source)));
+            for (URI reference : tracker.getReferences(source)) {
+                if (!reference.equals(toURI(source))) {
+                    entry.references.put(reference.toString(), hashes.get(reference));
+                }
+            }
+            for (String output : tracker.getOutputs(source)) {
+                if (owners().putIfAbsent(output, idOf(source)) == null) {
+                    entry.outputs.add(output);
+                }
+            }
+            entry.registrations.addAll(tracker.getRegistrations(source));
+            entries.put(idOf(source), entry);
+        }
+    }
+
+    static String idOf(Jsonschema2Pojo.Source source) {
+        return source.url.toString();
+    }
+
+    private static URI toURI(Jsonschema2Pojo.Source source) {
+        try {
+            return source.url.toURI().normalize();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid source: " + source.url, e);
+        }
+    }
+
+    /**
+     * Describes every option that could change the generated types, so that
+     * output from a run with different options is never reused.
+     */
+    private static String fingerprint(GenerationConfig config) {
+        StringBuilder description = new StringBuilder();
+
+        Method[] methods = GenerationConfig.class.getMethods();
+        sort(methods, Comparator.comparing(Method::getName));
+
+        for (Method method : methods) {
+            if (method.getParameterCount() == 0 && !IGNORED_OPTIONS.contains(method.getName())) {
+                try {
+                    description.append(method.getName()).append('=').append(describe(method.invoke(config))).append('\n');
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    description.append(method.getName()).append("=?\n");
+                }
+            }
+        }
+
+        Package pkg = GenerationManifest.class.getPackage();
+        description.append("version=").append(pkg == null ? null : pkg.getImplementationVersion());
+
+        return sha256(description.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        } else if (value instanceof char[]) {
+            return new String((char[]) value);
+        } else if (value instanceof Object[]) {
+            return deepToString((Object[]) value);
+        } else if (value instanceof Map) {
+            return new TreeMap<>((Map<?, ?>) value).toString();
+        } else if (value instanceof FileFilter) {
+            return value.getClass().getName();
+        } else {
+            return String.valueOf(value);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Hashes of the current content of documents, each read at most once.
+     */
+    static class ContentHashes {
+
+        private final Map<URI, String> hashes = new HashMap<>();
+
+        /**
+         * @return a hash of the content found at the given URI, or an empty
+         *         string if the content can't be read
+         */
+        String get(URI uri) {
+            return hashes.computeIfAbsent(uri.normalize(), ContentHashes::read);
+        }
+
+        private static String read(URI uri) {
+            try (InputStream content = open(uri)) {
+                return content == null ? "" : sha256(IOUtils.toByteArray(content));
+            } catch (IOException | IllegalArgumentException e) {
+                return "";
+            }
+        }
+
+        private static InputStream open(URI uri) throws IOException {
+            if (CLASSPATH_SCHEMES.contains(uri.getScheme())) {
+                String path = removeStart(removeStart(uri.toString(), uri.getScheme() + ":"), "/");
+                return Thread.currentThread().getContextClassLoader().getResourceAsStream(path);
+            }
+            return uri.toURL().openStream();
+        }
+
+    }
+
+    private static class Entry {
+
+        private final String hash;
+        private final Map<String, String> references = new TreeMap<>();
+        private final Set<String> outputs = new TreeSet<>();
+        private final List<Registration> registrations = new ArrayList<>();
+
+        Entry(String hash) {
+            this.hash = hash;
+        }
+
+    }
+
+}
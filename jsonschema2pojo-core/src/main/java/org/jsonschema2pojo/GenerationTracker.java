@@ -0,0 +1,175 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jsonschema2pojo.rules.Registration;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Records, for each source, the documents that were reached while generating
+ * types from it and the files that it caused to be generated.
+ * <p>
+ * A file is attributed to the first source that produced it. Files for types
+ * that are shared between sources (e.g. through a $ref) therefore belong to
+ * the source that happened to reach them first.
+ * <p>
+ * Registry classes (which list the serialization code generated for every
+ * type) aren't attributed to any source. Instead, the types each source
+ * registered are recorded, so that the registries can be generated from the
+ * registrations of all sources.
+ */
+class GenerationTracker {
+
+    private final Map<Jsonschema2Pojo.Source, Set<URI>> references = new LinkedHashMap<>();
+    private final Map<Jsonschema2Pojo.Source, Set<String>> outputs = new LinkedHashMap<>();
+    private final Map<Jsonschema2Pojo.Source, List<Registration>> registrations = new LinkedHashMap<>();
+    private final Set<String> claimed = new HashSet<>();
+
+    /**
+     * Generates types from the given source, recording the documents reached,
+     * the new files produced and the new registrations made.
+     */
+    void generate(SchemaMapper mapper, JCodeModel codeModel, Jsonschema2Pojo.Source source) {
+        SchemaStore schemaStore = mapper.getRuleFactory().getSchemaStore();
+        schemaStore.clearReachedDocuments();
+
+        Set<Registration> registered = mapper.getRuleFactory().getRegistrations(codeModel);
+        int previouslyRegistered = registered.size();
+
+        Jsonschema2Pojo.generate(mapper, codeModel, source);
+
+        List<Registration> registeredBySource = new ArrayList<>(registered).subList(previouslyRegistered, registered.size());
+        Set<String> registries = getRegistryPaths(registered);
+
+        Set<String> produced = new TreeSet<>();
+        for (Iterator<JPackage> packages = codeModel.packages(); packages.hasNext();) {
+            for (Iterator<JDefinedClass> classes = packages.next().classes(); classes.hasNext();) {
+                JDefinedClass definedClass = classes.next();
+                String path = pathOf(definedClass);
+                if (!definedClass.isHidden() && !registries.contains(path) && claimed.add(path)) {
+                    produced.add(path);
+                }
+            }
+        }
+
+        references.put(source, schemaStore.getReachedDocuments());
+        outputs.put(source, produced);
+        registrations.put(source, new ArrayList<>(registeredBySource));
+    }
+
+    /**
+     * Adds everything recorded by another tracker, which must have seen
+     * sources that come after those seen by this tracker.
+     */
+    void addAll(GenerationTracker other) {
+        for (Map.Entry<Jsonschema2Pojo.Source, Set<String>> entry : other.outputs.entrySet()) {
+            Set<String> produced = new TreeSet<>();
+            for (String path : entry.getValue()) {
+                if (claimed.add(path)) {
+                    produced.add(path);
+                }
+            }
+            references.put(entry.getKey(), other.references.get(entry.getKey()));
+            outputs.put(entry.getKey(), produced);
+            registrations.put(entry.getKey(), other.registrations.get(entry.getKey()));
+        }
+    }
+
+    Set<Jsonschema2Pojo.Source> getSources() {
+        return outputs.keySet();
+    }
+
+    /**
+     * @return the ids of the documents reached while generating from the given
+     *         source
+     */
+    Set<URI> getReferences(Jsonschema2Pojo.Source source) {
+        return references.get(source);
+    }
+
+    /**
+     * @return the paths (relative to the target directory) of the files first
+     *         produced by the given source
+     */
+    Set<String> getOutputs(Jsonschema2Pojo.Source source) {
+        return outputs.get(source);
+    }
+
+    /**
+     * @return the types registered with registry classes while generating
+     *         from the given source (not including those already registered
+     *         by an earlier source), in the order they were registered
+     */
+    List<Registration> getRegistrations(Jsonschema2Pojo.Source source) {
+        return registrations.get(source);
+    }
+
+    /**
+     * @return the paths (relative to the target directory) of the registry
+     *         classes holding the given registrations
+     */
+    static Set<String> getRegistryPaths(Collection<Registration> registrations) {
+        Set<String> paths = new TreeSet<>();
+        for (Registration registration : registrations) {
+            paths.add(registration.getRegistryName().replace('.', '/') + ".java");
+        }
+        return paths;
+    }
+
+    /**
+     * Finds the documents that define the types held in the given store.
+     *
+     * @return the ids of the documents containing schemas that define each
+     *         type, keyed by the path of the file the type is generated in
+     */
+    static Map<String, Set<String>> findDefinitions(SchemaStore schemaStore) {
+        Map<String, Set<String>> definitions = new HashMap<>();
+        for (Schema schema : schemaStore.schemas.values()) {
+            if (schema.getId() != null && schema.getId().isAbsolute()
+                    && schema.getJavaType() instanceof JDefinedClass && !schema.getContent().has("$ref")) {
+                JDefinedClass definedClass = (JDefinedClass) schema.getJavaType();
+                while (definedClass.outer() instanceof JDefinedClass) {
+                    definedClass = (JDefinedClass) definedClass.outer();
+                }
+                definitions.computeIfAbsent(pathOf(definedClass), k -> new TreeSet<>()).add(schemaStore.removeFragment(schema.getId()).toString());
+            }
+        }
+        return definitions;
+    }
+
+    private static String pathOf(JDefinedClass definedClass) {
+        JPackage pkg = definedClass._package();
+        String fileName = definedClass.name() + ".java";
+        return pkg.isUnnamed() ? fileName : pkg.name().replace('.', '/') + "/" + fileName;
+    }
+
+}
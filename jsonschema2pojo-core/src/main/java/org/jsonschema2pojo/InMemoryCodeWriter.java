@@ -0,0 +1,125 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+
+/**
+ * A writer that captures generated files in memory (keyed by their path
+ * relative to the target directory) so that they can be inspected, compared
+ * or merged before being written out with another {@link CodeWriter}.
+ */
+public class InMemoryCodeWriter extends CodeWriter {
+
+    private final Map<String, Artifact> artifacts = new TreeMap<>();
+
+    public InMemoryCodeWriter(String encoding) {
+        this.encoding = encoding;
+    }
+
+    @Override
+    public OutputStream openBinary(JPackage pkg, String fileName) {
+        Artifact artifact = new Artifact(pkg, fileName);
+        artifacts.put(pathOf(pkg, fileName), artifact);
+        return artifact.content;
+    }
+
+    @Override
+    public Writer openSource(JPackage pkg, String fileName) throws IOException {
+        return FileCodeWriterWithEncoding.createSourceWriter(openBinary(pkg, fileName), encoding);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * @return the paths (relative to the target directory, using '/' as a
+     *         separator) of all captured files, in sorted order
+     */
+    public Set<String> getPaths() {
+        return artifacts.keySet();
+    }
+
+    /**
+     * @param path
+     *            a path returned by {@link #getPaths()}
+     * @return the bytes written to the given path, or <code>null</code> if
+     *         nothing has been written there
+     */
+    public byte[] getContent(String path) {
+        Artifact artifact = artifacts.get(path);
+        return artifact == null ? null : artifact.content.toByteArray();
+    }
+
+    /**
+     * Copies the file at the given path from another in-memory writer into
+     * this one, replacing any file previously captured at that path.
+     *
+     * @param other
+     *            the writer holding the file
+     * @param path
+     *            a path returned by <code>other.getPaths()</code>
+     */
+    public void copyFrom(InMemoryCodeWriter other, String path) throws IOException {
+        Artifact artifact = other.artifacts.get(path);
+        openBinary(artifact.pkg, artifact.fileName).write(artifact.content.toByteArray());
+    }
+
+    /**
+     * Writes every captured file, in path order, using the given writer. The
+     * given writer is closed once all files have been written.
+     *
+     * @param writer
+     *            the writer that should receive the captured files
+     */
+    public void writeTo(CodeWriter writer) throws IOException {
+        for (Artifact artifact : artifacts.values()) {
+            try (OutputStream out = writer.openBinary(artifact.pkg, artifact.fileName)) {
+                artifact.content.writeTo(out);
+            }
+        }
+        writer.close();
+    }
+
+    private static String pathOf(JPackage pkg, String fileName) {
+        return pkg.isUnnamed() ? fileName : pkg.name().replace('.', '/') + "/" + fileName;
+    }
+
+    private static class Artifact {
+
+        private final JPackage pkg;
+        private final String fileName;
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        Artifact(JPackage pkg, String fileName) {
+            this.pkg = pkg;
+            this.fileName = fileName;
+        }
+
+    }
+
+}
@@ -45,6 +45,7 @@ import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JEnumConstant;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
 
 /**
  * Annotates generated Java types using the Jackson 2.x mapping annotations.
@@ -135,6 +136,16 @@ public class Jackson2Annotator extends AbstractTypeInfoAwareAnnotator {
         setter.annotate(JsonAnySetter.class);
     }
 
+    @Override
+    public void creatorConstructor(JMethod constructor, JDefinedClass clazz) {
+        constructor.annotate(JsonCreator.class);
+    }
+
+    @Override
+    public void creatorParameter(JVar param, JDefinedClass clazz, String propertyName) {
+        param.annotate(JsonProperty.class).param("value", propertyName);
+    }
+
     @Override
     public void enumCreatorMethod(JDefinedClass _enum, JMethod creatorMethod) {
         creatorMethod.annotate(JsonCreator.class);
@@ -23,9 +23,11 @@ import com.sun.codemodel.JAnnotationArrayMember;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
 
 import org.jsonschema2pojo.rules.FormatRule;
 
+import javax.json.bind.annotation.JsonbCreator;
 import javax.json.bind.annotation.JsonbDateFormat;
 import javax.json.bind.annotation.JsonbProperty;
 import javax.json.bind.annotation.JsonbPropertyOrder;
@@ -67,6 +69,16 @@ public class Jsonb1Annotator extends AbstractAnnotator {
         setter.annotate(JsonbProperty.class).param("value", propertyName);
     }
 
+    @Override
+    public void creatorConstructor(JMethod constructor, JDefinedClass clazz) {
+        constructor.annotate(JsonbCreator.class);
+    }
+
+    @Override
+    public void creatorParameter(JVar param, JDefinedClass clazz, String propertyName) {
+        param.annotate(JsonbProperty.class).param("value", propertyName);
+    }
+
     @Override
     public boolean isAdditionalPropertiesSupported() {
         return true;
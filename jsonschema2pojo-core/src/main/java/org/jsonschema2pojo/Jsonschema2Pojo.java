@@ -16,26 +16,39 @@
 
 package org.jsonschema2pojo;
 
+import static java.util.Collections.*;
 import static org.apache.commons.lang3.StringUtils.*;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.rules.Registration;
 import org.jsonschema2pojo.rules.RuleFactory;
 import org.jsonschema2pojo.util.NameHelper;
 import org.jsonschema2pojo.util.URLUtil;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.sun.codemodel.CodeWriter;
 import com.sun.codemodel.JCodeModel;
@@ -56,46 +69,212 @@ public class Jsonschema2Pojo {
      *             if the application is unable to read data from the source
      */
     public static void generate(GenerationConfig config, RuleLogger logger) throws IOException {
-        Annotator annotator = getAnnotator(config);
-        RuleFactory ruleFactory = createRuleFactory(config);
+        List<Source> sources = findSources(config);
 
-        ruleFactory.setAnnotator(annotator);
-        ruleFactory.setGenerationConfig(config);
-        ruleFactory.setLogger(logger);
-        ruleFactory.setSchemaStore(new SchemaStore(createContentResolver(config), logger));
+        GenerationManifest manifest = null;
+        GenerationManifest.ContentHashes hashes = new GenerationManifest.ContentHashes();
+        if (config.isIncremental()) {
+            manifest = GenerationManifest.read(config);
+            if (manifest != null && generateIncrementally(config, logger, sources, manifest, hashes)) {
+                return;
+            }
+        }
 
-        SchemaMapper mapper = new SchemaMapper(ruleFactory, createSchemaGenerator(config));
+        GenerationTracker tracker = config.isIncremental() ? new GenerationTracker() : null;
+        // outputs of the last generation that aren't generated again are deleted by the writer
+        Set<String> previousOutputs = manifest != null ? manifest.getOutputs() : emptySet();
+        generate(config, logger, sources, tracker, previousOutputs);
 
-        JCodeModel codeModel = new JCodeModel();
+        if (tracker != null) {
+            GenerationManifest.create(config, tracker, hashes).write(config.getTargetDirectory());
+        }
+    }
 
-        if (config.isRemoveOldOutput()) {
-            removeOldOutput(config.getTargetDirectory());
+    private static void generate(GenerationConfig config, RuleLogger logger, List<Source> sources, GenerationTracker tracker,
+            Set<String> previousOutputs) throws IOException {
+        if (config.getParallelism() > 1 && sources.size() > 1) {
+            InMemoryCodeWriter output = new ParallelGenerator(config, logger, () -> createSchemaMapper(config, logger)).generate(sources, tracker);
+            if (output != null) {
+                output.writeTo(createTargetWriter(config, logger, config.isRemoveOldOutput(), previousOutputs));
+                return;
+            }
+            logger.info("Parallel generation produced conflicting types, generating sequentially instead");
         }
 
-        for (Iterator<URL> sources = config.getSource(); sources.hasNext();) {
-            URL source = sources.next();
+        SchemaMapper mapper = createSchemaMapper(config, logger);
+        JCodeModel codeModel = new JCodeModel();
 
-            if (URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE && URLUtil.getFileFromURL(source).isDirectory()) {
-                generateRecursive(config, mapper, codeModel, defaultString(config.getTargetPackage()), Arrays.asList(URLUtil.getFileFromURL(source).listFiles(config.getFileFilter())));
+        for (Source source : sources) {
+            if (tracker != null) {
+                tracker.generate(mapper, codeModel, source);
             } else {
-                mapper.generate(codeModel, getNodeName(source, config), defaultString(config.getTargetPackage()), source);
+                generate(mapper, codeModel, source);
             }
         }
 
+        logStatistics(logger, mapper.getRuleFactory().getSchemaStore());
+
+        CodeWriter writer = createTargetWriter(config, logger, config.isRemoveOldOutput(), previousOutputs);
+        codeModel.build(writer, writer);
+    }
+
+    static void logStatistics(RuleLogger logger, SchemaStore schemaStore) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Schema store: %d documents read in %d ms, %d cache hits",
+                    schemaStore.getMissCount(), schemaStore.getLoadTime(TimeUnit.MILLISECONDS), schemaStore.getHitCount()));
+        }
+    }
+
+    /**
+     * Regenerates only the types for sources that have changed (or reach a
+     * document that has changed) since the given manifest was written.
+     *
+     * @return <code>true</code> if the target directory is now up to date, or
+     *         <code>false</code> if the changes can't be applied without
+     *         regenerating all types (e.g. because a type name would change)
+     */
+    private static boolean generateIncrementally(GenerationConfig config, RuleLogger logger, List<Source> sources, GenerationManifest manifest,
+            GenerationManifest.ContentHashes hashes) throws IOException {
+
+        List<Source> staleSources = manifest.findStaleSources(sources, hashes);
+        if (staleSources == null) {
+            logger.info("Sources have been removed since types were last generated, regenerating all types");
+            return false;
+        }
+        if (staleSources.isEmpty()) {
+            logger.info("Generated types are up to date");
+            return true;
+        }
+
+        Set<String> staleIds = new HashSet<>();
+        for (Source source : staleSources) {
+            staleIds.add(GenerationManifest.idOf(source));
+        }
+
+        SchemaMapper mapper = createSchemaMapper(config, logger);
+        JCodeModel codeModel = new JCodeModel();
+        GenerationTracker tracker = new GenerationTracker();
+        for (Source source : staleSources) {
+            tracker.generate(mapper, codeModel, source);
+        }
+
+        InMemoryCodeWriter generated = new InMemoryCodeWriter(config.getOutputEncoding());
+        codeModel.build(generated, generated);
+
+        Map<String, Set<String>> definitions = GenerationTracker.findDefinitions(mapper.getRuleFactory().getSchemaStore());
+
+        // registries list the types of every source, so they are generated again from the registrations of all sources
+        Set<Registration> previousRegistrations = new LinkedHashSet<>();
+        Set<Registration> registrations = new LinkedHashSet<>();
+        for (Source source : sources) {
+            String id = GenerationManifest.idOf(source);
+            previousRegistrations.addAll(manifest.getRegistrations(id));
+            registrations.addAll(staleIds.contains(id) ? tracker.getRegistrations(source) : manifest.getRegistrations(id));
+        }
+        Set<String> registries = GenerationTracker.getRegistryPaths(registrations);
+
+        InMemoryCodeWriter output = new InMemoryCodeWriter(config.getOutputEncoding());
+        for (String path : generated.getPaths()) {
+            if (registries.contains(path)) {
+                continue;
+            }
+            String owner = manifest.findOwner(path);
+            if (owner == null && manifest.isReachedByOtherSources(definitions.getOrDefault(path, emptySet()), staleIds)) {
+                // an unchanged source also reaches this type, and may have given it a different name
+                logger.info("Type in " + path + " is also used by unchanged sources, regenerating all types");
+                return false;
+            } else if (owner == null || staleIds.contains(owner)) {
+                output.copyFrom(generated, path);
+            } else if (!Arrays.equals(generated.getContent(path), readOutput(config.getTargetDirectory(), path))) {
+                logger.info("Type in " + path + " has changed but belongs to an unchanged source, regenerating all types");
+                return false;
+            }
+        }
+
+        Set<String> orphans = new TreeSet<>();
+        for (Source source : staleSources) {
+            String id = GenerationManifest.idOf(source);
+            Set<String> removed = new TreeSet<>(manifest.getOutputs(id));
+            removed.removeAll(generated.getPaths());
+            if (removed.isEmpty()) {
+                continue;
+            }
+
+            // a type that is no longer generated was defined in a changed document, or one that
+            // is no longer reached, and unchanged sources may still need it only in the latter case
+            Set<String> unreached = manifest.getReferences(id);
+            for (URI reference : tracker.getReferences(source)) {
+                unreached.remove(reference.toString());
+            }
+            if (manifest.isReachedByOtherSources(unreached, staleIds)) {
+                logger.info("Types generated from " + id + " may still be used by unchanged sources, regenerating all types");
+                return false;
+            }
+            orphans.addAll(removed);
+        }
+
+        generateRegistries(mapper, registrations, output);
+        orphans.addAll(GenerationTracker.getRegistryPaths(previousRegistrations));
+        orphans.removeAll(registries);
+
+        output.writeTo(createTargetWriter(config, logger, false, orphans));
+
+        manifest.putAll(tracker, hashes);
+        manifest.write(config.getTargetDirectory());
+
+        logger.info("Regenerated types for " + staleSources.size() + " of " + sources.size() + " sources");
+        return true;
+    }
+
+    /**
+     * Generates the registry classes holding the given registrations (made
+     * while generating types in other code models), replacing any registry
+     * classes already captured by the given writer.
+     */
+    static void generateRegistries(SchemaMapper mapper, Collection<Registration> registrations, InMemoryCodeWriter output) throws IOException {
+        JCodeModel codeModel = new JCodeModel();
+        mapper.getRuleFactory().generateRegistries(codeModel, registrations);
+        codeModel.build(output, output);
+    }
+
+    static void generate(SchemaMapper mapper, JCodeModel codeModel, Source source) {
+        if (source.clearCache) {
+            // any cached schemas will have ids that are fragments, relative to the previous document (and shouldn't be reused)
+            mapper.getRuleFactory().getSchemaStore().clearCache();
+        }
+        mapper.generate(codeModel, source.nodeName, source.packageName, source.url);
+    }
+
+    private static SchemaMapper createSchemaMapper(GenerationConfig config, RuleLogger logger) {
+        Annotator annotator = getAnnotator(config);
+        RuleFactory ruleFactory = createRuleFactory(config);
+
+        ruleFactory.setAnnotator(annotator);
+        ruleFactory.setGenerationConfig(config);
+        ruleFactory.setCacheRules(true);
+        ruleFactory.setLogger(logger);
+        ruleFactory.setSchemaStore(new SchemaStore(createContentResolver(config, logger), logger));
+
+        return new SchemaMapper(ruleFactory, createSchemaGenerator(config));
+    }
+
+    private static CodeWriter createTargetWriter(GenerationConfig config, RuleLogger logger, boolean deleteStaleFiles,
+            Set<String> obsoleteOutputs) throws IOException {
         if (config.getTargetDirectory().exists() || config.getTargetDirectory().mkdirs()) {
-            CodeWriter sourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding());
-            CodeWriter resourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding());
-            codeModel.build(sourcesWriter, resourcesWriter);
+            SkipUnchangedCodeWriter writer = new SkipUnchangedCodeWriter(config.getTargetDirectory(), config.getOutputEncoding(), logger, deleteStaleFiles);
+            writer.deleteOnClose(obsoleteOutputs);
+            return writer;
         } else {
             throw new GenerationException("Could not create or access target directory " + config.getTargetDirectory().getAbsolutePath());
         }
     }
     
-    private static ContentResolver createContentResolver(GenerationConfig config) {
-        if (config.getSourceType() == SourceType.YAMLSCHEMA || config.getSourceType() == SourceType.YAML) {
-            return new ContentResolver(new YAMLFactory());
+    private static ContentResolver createContentResolver(GenerationConfig config, RuleLogger logger) {
+        JsonFactory jsonFactory = config.getSourceType() == SourceType.YAMLSCHEMA || config.getSourceType() == SourceType.YAML ? new YAMLFactory() : null;
+        if (config.getRemoteSchemaCacheDirectory() != null || config.isOffline()) {
+            return new CachingContentResolver(jsonFactory, config.getRemoteSchemaCacheDirectory(), config.getRemoteSchemaCacheMaxSize(), config.isOffline(), logger);
         } else {
-            return new ContentResolver();
+            return new ContentResolver(jsonFactory);
         }
     }
 
@@ -123,19 +302,32 @@ public class Jsonschema2Pojo {
         }
     }
 
-    private static void generateRecursive(GenerationConfig config, SchemaMapper mapper, JCodeModel codeModel, String packageName, List<File> schemaFiles) throws IOException {
+    private static List<Source> findSources(GenerationConfig config) throws IOException {
+        List<Source> sources = new ArrayList<>();
+
+        for (Iterator<URL> urls = config.getSource(); urls.hasNext();) {
+            URL source = urls.next();
+
+            if (URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE && URLUtil.getFileFromURL(source).isDirectory()) {
+                findSourcesRecursive(config, defaultString(config.getTargetPackage()), Arrays.asList(URLUtil.getFileFromURL(source).listFiles(config.getFileFilter())), sources);
+            } else {
+                sources.add(new Source(source, getNodeName(source, config), defaultString(config.getTargetPackage()), false));
+            }
+        }
+
+        return sources;
+    }
+
+    private static void findSourcesRecursive(GenerationConfig config, String packageName, List<File> schemaFiles, List<Source> sources) throws IOException {
 
         Collections.sort(schemaFiles, config.getSourceSortOrder().getComparator());
 
         for (File child : schemaFiles) {
             if (child.isFile()) {
-                if (config.getSourceType() == SourceType.JSON || config.getSourceType() == SourceType.YAML) {
-                    // any cached schemas will have ids that are fragments, relative to the previous document (and shouldn't be reused)
-                    mapper.getRuleFactory().getSchemaStore().clearCache();
-                }
-                mapper.generate(codeModel, getNodeName(child.toURI().toURL(), config), defaultString(packageName), child.toURI().toURL());
+                boolean clearCache = config.getSourceType() == SourceType.JSON || config.getSourceType() == SourceType.YAML;
+                sources.add(new Source(child.toURI().toURL(), getNodeName(child.toURI().toURL(), config), defaultString(packageName), clearCache));
             } else {
-                generateRecursive(config, mapper, codeModel, childQualifiedName(packageName, child.getName()), Arrays.asList(child.listFiles(config.getFileFilter())));
+                findSourcesRecursive(config, childQualifiedName(packageName, child.getName()), Arrays.asList(child.listFiles(config.getFileFilter())), sources);
             }
         }
     }
@@ -145,22 +337,12 @@ public class Jsonschema2Pojo {
         return isEmpty(parentQualifiedName) ? safeChildName : parentQualifiedName + "." + safeChildName;
     }
 
-    private static void removeOldOutput(File targetDirectory) {
-        if (targetDirectory.exists()) {
-            for (File f : targetDirectory.listFiles()) {
-                delete(f);
-            }
-        }
-    }
-
-    @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
-    private static void delete(File f) {
-        if (f.isDirectory()) {
-            for (File child : f.listFiles()) {
-                delete(child);
-            }
+    private static byte[] readOutput(File targetDirectory, String path) {
+        try {
+            return FileUtils.readFileToByteArray(new File(targetDirectory, path));
+        } catch (IOException e) {
+            return null;
         }
-        f.delete();
     }
 
     private static Annotator getAnnotator(GenerationConfig config) {
@@ -168,6 +350,31 @@ public class Jsonschema2Pojo {
         return factory.getAnnotator(factory.getAnnotator(config.getAnnotationStyle()), factory.getAnnotator(config.getCustomAnnotator()));
     }
 
+    /**
+     * A single source document, along with the class name and package that
+     * should be used for the types generated from it.
+     */
+    static class Source {
+
+        final URL url;
+        final String nodeName;
+        final String packageName;
+
+        /**
+         * Whether any cached schemas should be discarded before this source is
+         * read.
+         */
+        final boolean clearCache;
+
+        Source(URL url, String nodeName, String packageName, boolean clearCache) {
+            this.url = url;
+            this.nodeName = nodeName;
+            this.packageName = packageName;
+            this.clearCache = clearCache;
+        }
+
+    }
+
     public static String getNodeName(URL file, GenerationConfig config) {
         return getNodeName(file.toString(), config);
     }
@@ -0,0 +1,244 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.rules.Registration;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+/**
+ * Generates types for independent source files on several worker threads.
+ * <p>
+ * Each worker has its own {@link SchemaMapper}, {@link SchemaStore} and
+ * {@link JCodeModel} and works through a contiguous slice of the sources, so
+ * it sees them in the same relative order as a sequential run would. Types
+ * reached from more than one slice (e.g. through a shared $ref) are generated
+ * by each worker that needs them and must come out byte-identical. Registry
+ * classes (which list the serialization code generated for every type) are
+ * the exception: each worker's registry only lists the types it generated, so
+ * they are generated again from the registrations made by all workers.
+ * <p>
+ * If two workers give the same class name to different schemas (or the same
+ * schema different class names) then a sequential run would have chosen
+ * different names, so no result is returned and the caller is expected to
+ * generate sequentially instead.
+ */
+class ParallelGenerator {
+
+    private final GenerationConfig config;
+    private final RuleLogger logger;
+    private final Supplier<SchemaMapper> mapperFactory;
+
+    ParallelGenerator(GenerationConfig config, RuleLogger logger, Supplier<SchemaMapper> mapperFactory) {
+        this.config = config;
+        this.logger = logger;
+        this.mapperFactory = mapperFactory;
+    }
+
+    /**
+     * Generates types for the given sources.
+     *
+     * @param sources
+     *            the sources to generate from, in the order a sequential run
+     *            would visit them
+     * @param tracker
+     *            a tracker that should record what each source reached and
+     *            produced (if the workers don't conflict), or
+     *            <code>null</code> if nothing needs to be recorded
+     * @return the merged output of all workers, or <code>null</code> if the
+     *         workers produced conflicting types
+     */
+    InMemoryCodeWriter generate(List<Jsonschema2Pojo.Source> sources, GenerationTracker tracker) throws IOException {
+
+        int workers = Math.min(config.getParallelism(), sources.size());
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<WorkerResult>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                List<Jsonschema2Pojo.Source> slice = sources.subList(i * sources.size() / workers, (i + 1) * sources.size() / workers);
+                futures.add(executor.submit(() -> generate(slice, tracker != null, contextClassLoader)));
+            }
+
+            List<WorkerResult> results = new ArrayList<>(workers);
+            for (Future<WorkerResult> future : futures) {
+                results.add(await(future));
+            }
+
+            InMemoryCodeWriter merged = merge(results);
+            if (merged != null && tracker != null) {
+                for (WorkerResult result : results) {
+                    tracker.addAll(result.tracker);
+                }
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private WorkerResult generate(List<Jsonschema2Pojo.Source> slice, boolean track, ClassLoader contextClassLoader) throws IOException {
+        Thread.currentThread().setContextClassLoader(contextClassLoader);
+
+        SchemaMapper mapper = mapperFactory.get();
+        JCodeModel codeModel = new JCodeModel();
+        WorkerResult result = new WorkerResult(new InMemoryCodeWriter(config.getOutputEncoding()), track ? new GenerationTracker() : null);
+
+        for (int i = 0; i < slice.size(); i++) {
+            Jsonschema2Pojo.Source source = slice.get(i);
+            if (result.tracker != null) {
+                result.tracker.generate(mapper, codeModel, source);
+            } else {
+                Jsonschema2Pojo.generate(mapper, codeModel, source);
+            }
+
+            if (i == slice.size() - 1 || slice.get(i + 1).clearCache) {
+                result.recordOwners(source, mapper.getRuleFactory().getSchemaStore());
+            }
+        }
+
+        Jsonschema2Pojo.logStatistics(logger, mapper.getRuleFactory().getSchemaStore());
+
+        codeModel.build(result.output, result.output);
+        result.registrations.addAll(mapper.getRuleFactory().getRegistrations(codeModel));
+        return result;
+    }
+
+    private InMemoryCodeWriter merge(List<WorkerResult> results) throws IOException {
+        InMemoryCodeWriter merged = new InMemoryCodeWriter(config.getOutputEncoding());
+        Map<String, String> ownersByClassName = new HashMap<>();
+        Map<String, String> classNamesByOwner = new HashMap<>();
+
+        // as in a sequential run, types are listed in the order they were first registered
+        Set<Registration> registrations = new LinkedHashSet<>();
+        for (WorkerResult result : results) {
+            registrations.addAll(result.registrations);
+        }
+        Set<String> registries = GenerationTracker.getRegistryPaths(registrations);
+
+        for (WorkerResult result : results) {
+            for (Map.Entry<String, String> owner : result.owners.entrySet()) {
+                String previousOwner = ownersByClassName.putIfAbsent(owner.getKey(), owner.getValue());
+                String previousClassName = classNamesByOwner.putIfAbsent(owner.getValue(), owner.getKey());
+
+                if ((previousOwner != null && !previousOwner.equals(owner.getValue()))
+                        || (previousClassName != null && !previousClassName.equals(owner.getKey()))) {
+                    logger.debug("Type " + owner.getKey() + " was generated for different schemas by different workers");
+                    return null;
+                }
+            }
+
+            for (String path : result.output.getPaths()) {
+                if (registries.contains(path)) {
+                    continue;
+                }
+                byte[] existing = merged.getContent(path);
+                if (existing == null) {
+                    merged.copyFrom(result.output, path);
+                } else if (!Arrays.equals(existing, result.output.getContent(path))) {
+                    logger.debug("File " + path + " was generated with different content by different workers");
+                    return null;
+                }
+            }
+        }
+
+        Jsonschema2Pojo.generateRegistries(mapperFactory.get(), registrations, merged);
+        return merged;
+    }
+
+    private static WorkerResult await(Future<WorkerResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenerationException("Interrupted while waiting for types to be generated", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new GenerationException(cause);
+        }
+    }
+
+    private static class WorkerResult {
+
+        private final InMemoryCodeWriter output;
+        private final GenerationTracker tracker;
+
+        /**
+         * The id of the schema that defined each top-level class, keyed by the
+         * fully qualified class name.
+         */
+        private final Map<String, String> owners = new HashMap<>();
+
+        private final List<Registration> registrations = new ArrayList<>();
+
+        WorkerResult(InMemoryCodeWriter output, GenerationTracker tracker) {
+            this.output = output;
+            this.tracker = tracker;
+        }
+
+        void recordOwners(Jsonschema2Pojo.Source source, SchemaStore schemaStore) {
+            for (Schema schema : schemaStore.schemas.values()) {
+                if (schema.getId() != null && schema.getJavaType() instanceof JDefinedClass && !schema.getContent().has("$ref")) {
+                    String className = outermost((JDefinedClass) schema.getJavaType()).fullName();
+                    String owner = ownerId(source, schema.getId());
+
+                    owners.merge(className, owner, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+                }
+            }
+        }
+
+        private static JDefinedClass outermost(JDefinedClass definedClass) {
+            JDefinedClass outermost = definedClass;
+            while (outermost.outer() instanceof JDefinedClass) {
+                outermost = (JDefinedClass) outermost.outer();
+            }
+            return outermost;
+        }
+
+        private static String ownerId(Jsonschema2Pojo.Source source, URI id) {
+            // ids of schemas read from plain json/yaml are fragments, relative to the source document
+            return id.isAbsolute() ? id.toString() : source.url + id.toString();
+        }
+
+    }
+
+}
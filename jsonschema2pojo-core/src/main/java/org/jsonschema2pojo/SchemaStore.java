@@ -20,14 +20,40 @@ import static org.apache.commons.lang3.StringUtils.*;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+/**
+ * Creates and caches the schemas read while generating types.
+ * <p>
+ * A store is safe for use by multiple threads. Each document is read and
+ * parsed at most once: when several threads need a document that isn't yet
+ * cached, one of them reads it and the others wait for the result.
+ */
 public class SchemaStore {
 
-    protected final Map<URI, Schema> schemas = new HashMap<>();
+    protected final Map<URI, Schema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Documents currently being read, so that concurrent requests for the
+     * same document can wait for a single read.
+     */
+    private final ConcurrentMap<URI, CompletableFuture<Schema>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadTime = new LongAdder();
+
+    private final Set<URI> reachedDocuments = new LinkedHashSet<>();
 
     protected final FragmentResolver fragmentResolver = new FragmentResolver();
     protected final ContentResolver contentResolver;
@@ -54,27 +80,89 @@ public class SchemaStore {
      *                                  that should act as path delimiters when resolving $ref fragments.
      * @return a schema object containing the contents of the given path
      */
-    public synchronized Schema create(URI id, String refFragmentPathDelimiters) {
+    public Schema create(URI id, String refFragmentPathDelimiters) {
 
         URI normalizedId = id.normalize();
+        URI baseId = removeFragment(id).normalize();
 
-        if (!schemas.containsKey(normalizedId)) {
+        if (baseId.isAbsolute()) {
+            synchronized (reachedDocuments) {
+                reachedDocuments.add(baseId);
+            }
+        }
+
+        Schema schema = schemas.get(normalizedId);
+        if (schema != null) {
+            hits.increment();
+            return schema;
+        }
+
+        final Schema baseSchema = getOrLoad(baseId);
+        if (!normalizedId.toString().contains("#")) {
+            return baseSchema;
+        }
 
-            URI baseId = removeFragment(id).normalize();
-            if (!schemas.containsKey(baseId)) {
+        return schemas.computeIfAbsent(normalizedId, k -> {
+            JsonNode childContent = fragmentResolver.resolve(baseSchema.getContent(), '#' + id.getFragment(), refFragmentPathDelimiters);
+            return new Schema(normalizedId, childContent, baseSchema);
+        });
+    }
+
+    private Schema getOrLoad(URI baseId) {
+        Schema schema = schemas.get(baseId);
+        if (schema != null) {
+            hits.increment();
+            return schema;
+        }
+
+        CompletableFuture<Schema> load = new CompletableFuture<>();
+        CompletableFuture<Schema> existingLoad = loading.putIfAbsent(baseId, load);
+        if (existingLoad != null) {
+            hits.increment();
+            return await(existingLoad);
+        }
+
+        try {
+            // another thread may have finished loading between the lookup above and claiming the load
+            schema = schemas.get(baseId);
+            if (schema == null) {
+                misses.increment();
                 logger.debug("Reading schema: " + baseId);
-                final JsonNode baseContent = contentResolver.resolve(baseId);
-                schemas.put(baseId, new Schema(baseId, baseContent, null));
-            }
 
-            final Schema baseSchema = schemas.get(baseId);
-            if (normalizedId.toString().contains("#")) {
-                JsonNode childContent = fragmentResolver.resolve(baseSchema.getContent(), '#' + id.getFragment(), refFragmentPathDelimiters);
-                schemas.put(normalizedId, new Schema(normalizedId, childContent, baseSchema));
+                long start = System.nanoTime();
+                try {
+                    schema = new Schema(baseId, contentResolver.resolve(baseId), null);
+                } finally {
+                    loadTime.add(System.nanoTime() - start);
+                }
+
+                Schema existing = schemas.putIfAbsent(baseId, schema);
+                schema = existing == null ? schema : existing;
+            } else {
+                hits.increment();
             }
+            load.complete(schema);
+            return schema;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(baseId, load);
         }
+    }
 
-        return schemas.get(normalizedId);
+    private static Schema await(CompletableFuture<Schema> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            // rethrow the failure seen by the thread that read the document
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
     }
 
     protected URI removeFragment(URI id) {
@@ -132,13 +220,9 @@ public class SchemaStore {
         if (selfReferenceWithoutParentFile(parent, path) || substringBefore(stringId, "#").isEmpty()) {
             JsonNode parentContent = parent.getGrandParent().getContent();
 
-            if (schemas.containsKey(id)) {
-                return schemas.get(id);
-            } else {
-                Schema schema = new Schema(id, fragmentResolver.resolve(parentContent, path, refFragmentPathDelimiters), parent.getGrandParent());
-                schemas.put(id, schema);
-                return schema;
-            }
+            final String fragmentPath = path;
+            return schemas.computeIfAbsent(id,
+                    k -> new Schema(k, fragmentResolver.resolve(parentContent, fragmentPath, refFragmentPathDelimiters), parent.getGrandParent()));
         }
 
         return create(id, refFragmentPathDelimiters);
@@ -149,8 +233,58 @@ public class SchemaStore {
         return parent != null && (parent.getId() == null || parent.getId().toString().startsWith("#/")) && path.startsWith("#");
     }
 
-    public synchronized void clearCache() {
+    public void clearCache() {
         schemas.clear();
+        fragmentResolver.clearCache();
+    }
+
+    /**
+     * @return the number of times a document was found in the cache (or was
+     *         being read by another thread) rather than read
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of times a document had to be read and parsed
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @param unit
+     *            the unit the result should be given in
+     * @return the total time spent reading and parsing documents
+     */
+    public long getLoadTime(TimeUnit unit) {
+        return unit.convert(loadTime.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the ids of all documents (schema ids without a fragment) that have
+     * been reached through {@link #create(URI, String)} since this store was
+     * created or {@link #clearReachedDocuments()} was last called. Documents
+     * are included whether they were read or found in the cache.
+     *
+     * @return the ids of the reached documents, in the order they were first
+     *         reached
+     */
+    public Set<URI> getReachedDocuments() {
+        synchronized (reachedDocuments) {
+            return new LinkedHashSet<>(reachedDocuments);
+        }
+    }
+
+    /**
+     * Forgets the documents reached so far, see
+     * {@link #getReachedDocuments()}.
+     */
+    public void clearReachedDocuments() {
+        synchronized (reachedDocuments) {
+            reachedDocuments.clear();
+        }
     }
 
 }
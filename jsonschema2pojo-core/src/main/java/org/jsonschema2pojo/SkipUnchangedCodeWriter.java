@@ -0,0 +1,204 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.io.FileUtils;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+
+/**
+ * A writer that renders each file in memory and only writes it to the target
+ * directory if its content differs from the file already there. Unchanged
+ * files are left untouched (keeping their last-modified time) so that
+ * compilers, IDEs and build tools don't see them as modified.
+ * <p>
+ * When the writer is closed, a summary of the files written, unchanged and
+ * deleted is logged. Files that were produced by an earlier generation but
+ * not this one (see {@link #deleteOnClose(Collection)}) are deleted at that
+ * point and, if requested, so is any other file in the target directory that
+ * wasn't produced through this writer (along with any directories left
+ * empty).
+ */
+public class SkipUnchangedCodeWriter extends CodeWriter {
+
+    private final File targetDirectory;
+    private final RuleLogger logger;
+    private final boolean deleteStaleFiles;
+
+    private final Set<File> generatedFiles = new HashSet<>();
+    private final Set<String> obsoletePaths = new TreeSet<>();
+    private int written;
+    private int unchanged;
+    private boolean closed;
+
+    /**
+     * @param targetDirectory
+     *            the (existing) directory that files should be written to
+     * @param encoding
+     *            the character encoding used for generated source files
+     * @param logger
+     *            the logger that should receive a summary of the files
+     *            written
+     * @param deleteStaleFiles
+     *            whether files in the target directory that aren't produced
+     *            through this writer should be deleted when it is closed
+     */
+    public SkipUnchangedCodeWriter(File targetDirectory, String encoding, RuleLogger logger, boolean deleteStaleFiles) throws IOException {
+        if (!targetDirectory.isDirectory()) {
+            throw new IOException(targetDirectory + ": non-existent directory");
+        }
+        this.targetDirectory = targetDirectory;
+        this.encoding = encoding;
+        this.logger = logger;
+        this.deleteStaleFiles = deleteStaleFiles;
+    }
+
+    @Override
+    public OutputStream openBinary(JPackage pkg, String fileName) {
+        File file = pkg.isUnnamed() ? new File(targetDirectory, fileName) : new File(new File(targetDirectory, pkg.name().replace('.', File.separatorChar)), fileName);
+
+        return new ByteArrayOutputStream() {
+            private boolean saved;
+
+            @Override
+            public void close() throws IOException {
+                if (!saved) {
+                    saved = true;
+                    save(file, toByteArray());
+                }
+            }
+        };
+    }
+
+    @Override
+    public Writer openSource(JPackage pkg, String fileName) throws IOException {
+        return FileCodeWriterWithEncoding.createSourceWriter(openBinary(pkg, fileName), encoding);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        int deleted = deleteObsoleteFiles();
+        if (deleteStaleFiles) {
+            deleted += deleteStaleFiles(targetDirectory);
+        }
+
+        logger.info(String.format("Generated %d files in %s: %d written, %d unchanged, %d deleted",
+                written + unchanged, targetDirectory, written, unchanged, deleted));
+    }
+
+    /**
+     * Marks files to be deleted when this writer is closed, unless they have
+     * been written through it by then. The files deleted are included in the
+     * summary that is logged.
+     *
+     * @param paths
+     *            the paths of the files, relative to the target directory
+     *            (e.g. the outputs an earlier generation recorded in its
+     *            manifest)
+     */
+    public void deleteOnClose(Collection<String> paths) {
+        obsoletePaths.addAll(paths);
+    }
+
+    /**
+     * @return the number of files that were written because their content
+     *         had changed (or they didn't exist)
+     */
+    public int getWrittenCount() {
+        return written;
+    }
+
+    /**
+     * @return the number of files that were left untouched because their
+     *         content hadn't changed
+     */
+    public int getUnchangedCount() {
+        return unchanged;
+    }
+
+    private void save(File file, byte[] content) throws IOException {
+        generatedFiles.add(file.getAbsoluteFile());
+
+        if (file.isFile() && file.length() == content.length
+                && MessageDigest.isEqual(sha256(FileUtils.readFileToByteArray(file)), sha256(content))) {
+            unchanged++;
+        } else {
+            FileUtils.writeByteArrayToFile(file, content);
+            written++;
+        }
+    }
+
+    private int deleteObsoleteFiles() {
+        int deleted = 0;
+        for (String path : obsoletePaths) {
+            File file = new File(targetDirectory, path);
+            if (!generatedFiles.contains(file.getAbsoluteFile()) && file.isFile() && file.delete()) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE")
+    private int deleteStaleFiles(File directory) {
+        int deleted = 0;
+
+        File[] children = directory.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    deleted += deleteStaleFiles(child);
+                    String[] remaining = child.list();
+                    if (remaining != null && remaining.length == 0) {
+                        child.delete();
+                    }
+                } else if (!generatedFiles.contains(child.getAbsoluteFile()) && child.delete()) {
+                    deleted++;
+                }
+            }
+        }
+
+        return deleted;
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
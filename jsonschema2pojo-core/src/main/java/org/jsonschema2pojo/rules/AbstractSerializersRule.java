@@ -0,0 +1,353 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import static org.apache.commons.lang3.StringUtils.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.util.AnnotationHelper;
+import org.jsonschema2pojo.util.NameHelper;
+import org.jsonschema2pojo.util.ReflectionHelper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JAnnotationUse;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+
+/**
+ * Common support for rules that add serialization code for a particular
+ * library to generated types: finding the properties of a type (including
+ * those it inherits from generated supertypes), deciding how each can be read
+ * and written, and creating the class that registers the generated code with
+ * the library.
+ */
+abstract class AbstractSerializersRule implements Rule<JDefinedClass, JDefinedClass> {
+
+    protected final RuleFactory ruleFactory;
+    protected final ReflectionHelper reflectionHelper;
+
+    private final String registryName;
+    private final List<String> adapterNames;
+
+    /**
+     * @param registryName
+     *            the simple name of the registry class
+     * @param adapterNames
+     *            the names of the classes, nested in each type, that are
+     *            registered for it
+     */
+    protected AbstractSerializersRule(RuleFactory ruleFactory, ReflectionHelper reflectionHelper, String registryName, String... adapterNames) {
+        this.ruleFactory = ruleFactory;
+        this.reflectionHelper = reflectionHelper;
+        this.registryName = registryName;
+        this.adapterNames = Arrays.asList(adapterNames);
+    }
+
+    /**
+     * @return the properties of the type (followed by those of its
+     *         supertypes), or <code>null</code> if a supertype isn't a
+     *         generated type
+     */
+    protected List<Property> getProperties(JsonNode node, JDefinedClass jclass, Schema schema) {
+        List<Property> properties = new ArrayList<>();
+        NameHelper nameHelper = ruleFactory.getNameHelper();
+
+        while (true) {
+            if (node.has("properties")) {
+                for (Iterator<Map.Entry<String, JsonNode>> fields = node.get("properties").fields(); fields.hasNext(); ) {
+                    Map.Entry<String, JsonNode> property = fields.next();
+                    JFieldVar field = jclass.fields().get(nameHelper.getPropertyName(property.getKey(), property.getValue()));
+                    if (field != null) {
+                        properties.add(new Property(property.getKey(), property.getValue(), field, jclass));
+                    }
+                }
+            }
+
+            Schema superSchema = reflectionHelper.getSuperSchema(node, schema, true);
+            if (superSchema == null) {
+                return jclass._extends().fullName().equals(Object.class.getName()) ? properties : null;
+            }
+            if (!(superSchema.getJavaType() instanceof JDefinedClass)) {
+                return null;
+            }
+
+            node = superSchema.getContent();
+            schema = superSchema;
+            jclass = (JDefinedClass) superSchema.getJavaType();
+        }
+    }
+
+    /**
+     * @return whether the type and its properties only carry annotations of
+     *         the given library that the generated code honours, and every
+     *         property can be read, and written (or passed to the given
+     *         constructor, when there is one)
+     */
+    protected boolean isSupported(JDefinedClass jclass, List<Property> properties, JMethod constructor, String annotationPackage,
+            Set<String> supportedClassAnnotations, Set<String> supportedFieldAnnotations) {
+        for (JClass type = jclass; type instanceof JDefinedClass; type = type._extends()) {
+            if (!isSupported(((JDefinedClass) type).annotations(), annotationPackage, supportedClassAnnotations)) {
+                return false;
+            }
+        }
+
+        Set<String> constructorParams = new HashSet<>();
+        if (constructor != null) {
+            for (JVar param : constructor.params()) {
+                constructorParams.add(param.name());
+            }
+        }
+
+        for (Property property : properties) {
+            if (!isSupported(property.field.annotations(), annotationPackage, supportedFieldAnnotations) || !isReadable(jclass, property)) {
+                return false;
+            }
+            if (constructor == null ? !isWritable(jclass, property) : !constructorParams.remove(property.field.name())) {
+                return false;
+            }
+        }
+
+        return constructorParams.isEmpty();
+    }
+
+    private static boolean isSupported(Collection<JAnnotationUse> annotations, String annotationPackage, Set<String> supportedAnnotations) {
+        for (JAnnotationUse annotation : annotations) {
+            String annotationName = annotation.getAnnotationClass().fullName();
+            if (annotationName.startsWith(annotationPackage) && !supportedAnnotations.contains(annotationName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected static JFieldVar getAdditionalPropertiesField(JDefinedClass jclass) {
+        for (JClass type = jclass; type instanceof JDefinedClass; type = type._extends()) {
+            JFieldVar field = ((JDefinedClass) type).fields().get("additionalProperties");
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    protected static JMethod getCanonicalConstructor(JDefinedClass jclass) {
+        JMethod canonicalConstructor = null;
+        for (Iterator<JMethod> constructors = jclass.constructors(); constructors.hasNext(); ) {
+            JMethod constructor = constructors.next();
+            if (canonicalConstructor == null || constructor.params().size() > canonicalConstructor.params().size()) {
+                canonicalConstructor = constructor;
+            }
+        }
+        return canonicalConstructor;
+    }
+
+    private boolean isReadable(JDefinedClass jclass, Property property) {
+        return isFieldAccessible(jclass, property) || getGetter(property) != null;
+    }
+
+    private boolean isWritable(JDefinedClass jclass, Property property) {
+        return isFieldWritable(jclass, property) || getSetter(property) != null;
+    }
+
+    /**
+     * Fields of the type itself are accessible to classes nested in it, fields
+     * of its supertypes only when they are public.
+     */
+    private static boolean isFieldAccessible(JDefinedClass jclass, Property property) {
+        return property.owner == jclass || (property.field.mods().getValue() & JMod.PUBLIC) != 0;
+    }
+
+    private static boolean isFieldWritable(JDefinedClass jclass, Property property) {
+        return isFieldAccessible(jclass, property) && (property.field.mods().getValue() & JMod.FINAL) == 0;
+    }
+
+    private JMethod getGetter(Property property) {
+        String getterName = ruleFactory.getNameHelper().getGetterName(property.jsonName, property.field.type(), property.node);
+        JMethod getter = findMethod(property.owner, getterName);
+        return getter != null && getter.type().fullName().equals(EnumCollections.toPropertyType(property.field.type()).fullName()) ? getter : null;
+    }
+
+    private JMethod getSetter(Property property) {
+        String setterName = ruleFactory.getNameHelper().getSetterName(property.jsonName, property.node);
+        return findMethod(property.owner, setterName, EnumCollections.toPropertyType(property.field.type()));
+    }
+
+    private static JMethod findMethod(JDefinedClass jclass, String name, JType... paramTypes) {
+        for (JMethod method : jclass.methods()) {
+            if (method.name().equals(name) && method.params().size() == paramTypes.length) {
+                boolean matches = true;
+                for (int i = 0; i < paramTypes.length; i++) {
+                    matches &= method.params().get(i).type().fullName().equals(paramTypes[i].fullName());
+                }
+                if (matches) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return an expression reading the property of the given instance, from
+     *         its field where that is accessible and through its getter
+     *         otherwise
+     */
+    protected JExpression read(JDefinedClass jclass, JExpression instance, Property property) {
+        if (isFieldAccessible(jclass, property)) {
+            return instance.ref(property.field);
+        }
+        JMethod getter = getGetter(property);
+        // the getter of an EnumSet or EnumMap field returns it as a Set or Map
+        return getter.type().fullName().equals(property.field.type().fullName()) ? instance.invoke(getter) : JExpr.cast(property.field.type(), instance.invoke(getter));
+    }
+
+    /**
+     * Adds a statement writing the property of the given instance, to its
+     * field where that is writable and through its setter otherwise.
+     */
+    protected void write(JBlock block, JDefinedClass jclass, JExpression instance, Property property, JExpression value) {
+        if (isFieldWritable(jclass, property)) {
+            block.assign(instance.ref(property.field), value);
+        } else {
+            block.invoke(instance, getSetter(property)).arg(value);
+        }
+    }
+
+    /**
+     * Registers the given classes, generated for a type, with the registry
+     * class and records the registration so that the registry can be
+     * generated again from the registrations made for all sources.
+     */
+    protected void register(JDefinedClass jclass, JDefinedClass... adapters) {
+        JDefinedClass registry = getRegistryClass(jclass.owner());
+        addRegistration(registry, jclass, Arrays.asList(adapters));
+        ruleFactory.getRegistrations(jclass.owner()).add(new Registration(registry, jclass));
+    }
+
+    /**
+     * @return whether the registration was made with the registry class of
+     *         this rule
+     */
+    boolean isRegistry(Registration registration) {
+        return registration.getRegistryName().equals(getRegistryClassName());
+    }
+
+    /**
+     * Adds a registration (that may have been made in another code model) to
+     * the registry class in the given code model.
+     */
+    void register(JCodeModel owner, Registration registration) {
+        JDefinedClass type = registration.getType(owner);
+        List<JDefinedClass> adapters = new ArrayList<>();
+        for (String adapterName : adapterNames) {
+            adapters.add(Registration.getNestedClass(type, adapterName, ClassType.CLASS));
+        }
+        addRegistration(getRegistryClass(owner), type, adapters);
+    }
+
+    /**
+     * @return the class in the target package that registers generated code
+     *         with the library, created if it doesn't exist yet
+     */
+    protected abstract JDefinedClass getRegistryClass(JCodeModel owner);
+
+    /**
+     * Adds code registering the given classes, generated for a type (in the
+     * order of the adapter names given to the constructor), to the registry
+     * class.
+     */
+    protected abstract void addRegistration(JDefinedClass registry, JDefinedClass jclass, List<JDefinedClass> adapters);
+
+    /**
+     * @return the registry class of this rule in the given code model,
+     *         created (and passed to the given initializer) if it doesn't
+     *         exist yet
+     */
+    protected JDefinedClass getRegistryClass(JCodeModel owner, String javadoc, Consumer<JDefinedClass> initializer) {
+        GenerationConfig config = ruleFactory.getGenerationConfig();
+        String className = getRegistryClassName();
+
+        JDefinedClass registry = owner._getClass(className);
+        if (registry != null) {
+            return registry;
+        }
+
+        try {
+            registry = owner._class(className);
+        } catch (JClassAlreadyExistsException e) {
+            return e.getExistingClass();
+        }
+
+        registry.javadoc().add(javadoc);
+        if (config.isIncludeGeneratedAnnotation()) {
+            AnnotationHelper.addGeneratedAnnotation(config, registry);
+        }
+        initializer.accept(registry);
+        return registry;
+    }
+
+    private String getRegistryClassName() {
+        String targetPackage = ruleFactory.getGenerationConfig().getTargetPackage();
+        return isEmpty(targetPackage) ? registryName : targetPackage + "." + registryName;
+    }
+
+    protected static String uniqueName(String name, Set<String> usedNames) {
+        while (!usedNames.add(name)) {
+            name = name + "_";
+        }
+        return name;
+    }
+
+    protected static class Property {
+
+        protected final String jsonName;
+        protected final JsonNode node;
+        protected final JFieldVar field;
+        protected final JDefinedClass owner;
+
+        Property(String jsonName, JsonNode node, JFieldVar field, JDefinedClass owner) {
+            this.jsonName = jsonName;
+            this.node = node;
+            this.field = field;
+            this.owner = owner;
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package org.jsonschema2pojo.rules;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -73,6 +74,12 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
      * additionalProperties schema provided. If the schema does not specify the
      * javaType property, the name of the newly generated type will be derived
      * from the nodeName and the suffix 'Property'.
+     * <p>
+     * The map is an instance of the configured additionalPropertiesMapType, or
+     * of the type named by the <code>javaAdditionalPropertiesMapType</code>
+     * extension of the parent schema. If lazyAdditionalProperties is enabled,
+     * the map is only created when the first additional property is set, and
+     * until then the getter returns an empty, immutable map.
      *
      * @param nodeName
      *            the name of the schema node for which the additionalProperties
@@ -97,6 +104,11 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
             return jclass;
         }
 
+        if (ruleFactory.getGenerationConfig().isImmutable()) {
+            // immutable types have no way to collect additional properties
+            return jclass;
+        }
+
         if (!ruleFactory.getAnnotator().isAdditionalPropertiesSupported()) {
             // schema allows additional properties, but serializer library can't support them
             return jclass;
@@ -117,40 +129,57 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
             propertyType = jclass.owner().ref(Object.class);
         }
 
-        JFieldVar field = addAdditionalPropertiesField(jclass, propertyType);
+        JClass propertiesMapImplType = getMapImplType(jclass, parent, propertyType);
+
+        JFieldVar field = addAdditionalPropertiesField(jclass, propertyType, propertiesMapImplType);
 
         addGetter(jclass, field);
 
-        addSetter(jclass, propertyType, field);
+        JMethod setter = addSetter(jclass, propertyType, field, propertiesMapImplType);
 
         if (ruleFactory.getGenerationConfig().isIncludeJsr303Annotations()) {
             ruleFactory.getValidRule().apply(nodeName, node, parent, field, schema);
         }
 
         if (ruleFactory.getGenerationConfig().isGenerateBuilders()) {
-            addBuilder(jclass, propertyType, field);
+            addBuilder(jclass, propertyType, field, setter);
         }
 
         return jclass;
     }
 
-    private JFieldVar addAdditionalPropertiesField(JDefinedClass jclass, JType propertyType) {
+    private JClass getMapImplType(JDefinedClass jclass, JsonNode parent, JType propertyType) {
+        String mapImplTypeName = ruleFactory.getGenerationConfig().getAdditionalPropertiesMapType();
+        if (parent != null && parent.has("javaAdditionalPropertiesMapType")) {
+            mapImplTypeName = parent.get("javaAdditionalPropertiesMapType").asText();
+        }
+        if (mapImplTypeName == null || mapImplTypeName.isEmpty()) {
+            mapImplTypeName = LinkedHashMap.class.getName();
+        }
+
+        JClass propertiesMapImplType = ruleFactory.getTypeResolutionCache().resolveType(jclass._package(), mapImplTypeName);
+        if (!propertiesMapImplType.isParameterized()) {
+            propertiesMapImplType = propertiesMapImplType.narrow(jclass.owner().ref(String.class), propertyType.boxify());
+        }
+        return propertiesMapImplType;
+    }
+
+    private JFieldVar addAdditionalPropertiesField(JDefinedClass jclass, JType propertyType, JClass propertiesMapImplType) {
         JClass propertiesMapType = jclass.owner().ref(Map.class);
         propertiesMapType = propertiesMapType.narrow(jclass.owner().ref(String.class), propertyType.boxify());
 
-        JClass propertiesMapImplType = jclass.owner().ref(LinkedHashMap.class);
-        propertiesMapImplType = propertiesMapImplType.narrow(jclass.owner().ref(String.class), propertyType.boxify());
-
         JFieldVar field = jclass.field(JMod.PRIVATE, propertiesMapType, "additionalProperties");
 
         ruleFactory.getAnnotator().additionalPropertiesField(field, jclass, "additionalProperties");
 
-        field.init(JExpr._new(propertiesMapImplType));
+        if (!ruleFactory.getGenerationConfig().isLazyAdditionalProperties()) {
+            field.init(JExpr._new(propertiesMapImplType));
+        }
 
         return field;
     }
 
-    private void addSetter(JDefinedClass jclass, JType propertyType, JFieldVar field) {
+    private JMethod addSetter(JDefinedClass jclass, JType propertyType, JFieldVar field, JClass propertiesMapImplType) {
         JMethod setter = jclass.method(JMod.PUBLIC, void.class, "setAdditionalProperty");
 
         ruleFactory.getAnnotator().anySetter(setter, jclass);
@@ -158,9 +187,16 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
         JVar nameParam = setter.param(String.class, "name");
         JVar valueParam = setter.param(propertyType, "value");
 
+        if (ruleFactory.getGenerationConfig().isLazyAdditionalProperties()) {
+            setter.body()._if(JExpr._this().ref(field).eq(JExpr._null()))._then()
+                    .assign(JExpr._this().ref(field), JExpr._new(propertiesMapImplType));
+        }
+
         JInvocation mapInvocation = setter.body().invoke(JExpr._this().ref(field), "put");
         mapInvocation.arg(nameParam);
         mapInvocation.arg(valueParam);
+
+        return setter;
     }
 
     private JMethod addGetter(JDefinedClass jclass, JFieldVar field) {
@@ -168,30 +204,40 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
 
         ruleFactory.getAnnotator().anyGetter(getter, jclass);
 
+        if (ruleFactory.getGenerationConfig().isLazyAdditionalProperties()) {
+            getter.body()._if(JExpr._this().ref(field).eq(JExpr._null()))._then()
+                    ._return(jclass.owner().ref(Collections.class).staticInvoke("emptyMap"));
+        }
+
         getter.body()._return(JExpr._this().ref(field));
         return getter;
     }
 
-    private JMethod addBuilder(JDefinedClass jclass, JType propertyType, JFieldVar field) {
+    private JMethod addBuilder(JDefinedClass jclass, JType propertyType, JFieldVar field, JMethod setter) {
 
         JMethod result = null;
         if(ruleFactory.getGenerationConfig().isUseInnerClassBuilders()) {
-            result = addInnerBuilder(jclass, propertyType, field);
+            result = addInnerBuilder(jclass, propertyType, field, setter);
         } else {
-            result = addLegacyBuilder(jclass, propertyType, field);
+            result = addLegacyBuilder(jclass, propertyType, field, setter);
         }
 
         return result;
     }
 
-    private JMethod addLegacyBuilder(JDefinedClass jclass, JType propertyType, JFieldVar field) {
+    private JMethod addLegacyBuilder(JDefinedClass jclass, JType propertyType, JFieldVar field, JMethod setter) {
         JMethod builder = jclass.method(JMod.PUBLIC, jclass, "withAdditionalProperty");
 
         JVar nameParam = builder.param(String.class, "name");
         JVar valueParam = builder.param(propertyType, "value");
 
         JBlock body = builder.body();
-        JInvocation mapInvocation = body.invoke(JExpr._this().ref(field), "put");
+        JInvocation mapInvocation;
+        if (ruleFactory.getGenerationConfig().isLazyAdditionalProperties()) {
+            mapInvocation = body.invoke(JExpr._this(), setter);
+        } else {
+            mapInvocation = body.invoke(JExpr._this().ref(field), "put");
+        }
         mapInvocation.arg(nameParam);
         mapInvocation.arg(valueParam);
         body._return(JExpr._this());
@@ -199,7 +245,7 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
         return builder;
     }
 
-    private JMethod addInnerBuilder(JDefinedClass jclass, JType propertyType, JFieldVar field) {
+    private JMethod addInnerBuilder(JDefinedClass jclass, JType propertyType, JFieldVar field, JMethod setter) {
         Optional<JDefinedClass> builderClass = StreamSupport
                 .stream(Spliterators.spliteratorUnknownSize(jclass.classes(), Spliterator.ORDERED), false)
                 .filter(definedClass -> definedClass.name().equals(getBuilderClassName(jclass)))
@@ -211,7 +257,12 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
         JVar valueParam = builder.param(propertyType, "value");
 
         JBlock body = builder.body();
-        JInvocation mapInvocation = body.invoke(JExpr.ref(JExpr.cast(jclass, JExpr._this().ref("instance")), field), "put");
+        JInvocation mapInvocation;
+        if (ruleFactory.getGenerationConfig().isLazyAdditionalProperties()) {
+            mapInvocation = body.invoke(JExpr.cast(jclass, JExpr._this().ref("instance")), setter);
+        } else {
+            mapInvocation = body.invoke(JExpr.ref(JExpr.cast(jclass, JExpr._this().ref("instance")), field), "put");
+        }
         mapInvocation.arg(nameParam);
         mapInvocation.arg(valueParam);
         body._return(JExpr._this());
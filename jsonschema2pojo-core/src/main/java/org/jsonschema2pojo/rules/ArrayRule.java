@@ -20,7 +20,6 @@ import java.util.List;
 import java.util.Set;
 
 import org.jsonschema2pojo.Schema;
-import org.jsonschema2pojo.util.Inflector;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.codemodel.JClass;
@@ -50,7 +49,19 @@ public class ArrayRule implements Rule<JPackage, JClass> {
      * Java collections in the generated POJO. If the array is marked as having
      * "uniqueItems" then the resulting Java type is {@link Set}, if not, then
      * the resulting Java type is {@link List}. The schema given by "items" will
-     * decide the generic type of the collection.</p>
+     * decide the generic type of the collection. When the items are enums and
+     * the 'useEnumCollections' option is set, an {@link java.util.EnumSet} is
+     * used in place of a {@link Set}.</p>
+     *
+     * <p>When the items have a primitive type (integers, numbers and booleans)
+     * and the 'usePrimitiveArrays' option or the "javaPrimitiveArray"
+     * extension is set, an array with non-unique items is mapped to a
+     * primitive array instead, e.g.
+     * <pre>
+     *  "samples" : {"type":"array", "javaPrimitiveArray":true, "items":{type:"number"}}
+     *  ==&gt;
+     *  {@code double[] getSamples(); }
+     * </pre>
      *
      * <p>If the "items" property requires newly generated types, then the type
      * name will be the singular version of the nodeName (unless overridden by
@@ -70,7 +81,8 @@ public class ArrayRule implements Rule<JPackage, JClass> {
      * @param jpackage
      *            the package into which newly generated types should be added
      * @return the Java type associated with this array rule, either {@link Set}
-     *         or {@link List}, narrowed by the "items" type
+     *         or {@link List}, narrowed by the "items" type, or a primitive
+     *         array
      */
     @Override
     public JClass apply(String nodeName, JsonNode node, JsonNode parent, JPackage jpackage, Schema schema) {
@@ -98,8 +110,10 @@ public class ArrayRule implements Rule<JPackage, JClass> {
         }
 
         JClass arrayType;
-        if (uniqueItems) {
-            arrayType = jpackage.owner().ref(Set.class).narrow(itemType);
+        if (!uniqueItems && itemType.unboxify().isPrimitive() && isPrimitiveArray(node)) {
+            arrayType = getPrimitiveArrayItemType(itemType.unboxify()).array();
+        } else if (uniqueItems) {
+            arrayType = EnumCollections.toEnumSet(jpackage.owner().ref(Set.class).narrow(itemType), ruleFactory);
         } else {
             arrayType = jpackage.owner().ref(List.class).narrow(itemType);
         }
@@ -111,8 +125,24 @@ public class ArrayRule implements Rule<JPackage, JClass> {
         return arrayType;
     }
 
+    /**
+     * Jackson and JSON-B read and write a <code>byte[]</code> as a Base64
+     * string rather than an array of numbers, so items that are bytes (e.g.
+     * after 'useNarrowIntegers') are held in a <code>short[]</code> instead.
+     */
+    private static JType getPrimitiveArrayItemType(JType itemType) {
+        return itemType.fullName().equals(byte.class.getName()) ? itemType.owner().SHORT : itemType;
+    }
+
+    private boolean isPrimitiveArray(JsonNode node) {
+        if (node.has("javaPrimitiveArray")) {
+            return node.get("javaPrimitiveArray").asBoolean();
+        }
+        return ruleFactory.getGenerationConfig().isUsePrimitiveArrays();
+    }
+
     private String makeSingular(String nodeName) {
-        return Inflector.getInstance().singularize(nodeName);
+        return ruleFactory.getNameHelper().singularize(nodeName);
     }
 
 }
@@ -18,10 +18,13 @@ package org.jsonschema2pojo.rules;
 
 import java.beans.ConstructorProperties;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -43,10 +46,13 @@ import com.sun.codemodel.JClass;
 import com.sun.codemodel.JConditional;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JMod;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JType;
 import com.sun.codemodel.JVar;
 
 import static java.util.stream.Collectors.toSet;
@@ -65,7 +71,9 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
   public JDefinedClass apply(String nodeName, JsonNode node, JsonNode parent, JDefinedClass instanceClass, Schema currentSchema) {
     GenerationConfig generationConfig = ruleFactory.getGenerationConfig();
 
-    if (generationConfig.isConstructorsRequiredPropertiesOnly()) {
+    if (generationConfig.isImmutable()) {
+      handleImmutableConfiguration(node, instanceClass, currentSchema);
+    } else if (generationConfig.isConstructorsRequiredPropertiesOnly()) {
       handleLegacyConfiguration(node, instanceClass, currentSchema);
     } else {
       handleMultiChoiceConstructorConfiguration(node, instanceClass, currentSchema);
@@ -91,6 +99,77 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     }
   }
 
+  private void handleImmutableConfiguration(JsonNode node, JDefinedClass instanceClass, Schema currentSchema) {
+    // Immutable types have a single, canonical constructor taking every property (including those of the
+    // superType), since there is no other way to assign their final fields
+    Map<String, String> classProperties = getConstructorProperties(node, false);
+    Map<String, String> combinedSuperProperties = getSuperTypeConstructorPropertiesRecursive(node, currentSchema, false);
+
+    JMethod canonicalConstructor = generateFieldsConstructor(instanceClass, classProperties, combinedSuperProperties,
+        getDefaultValues(node, instanceClass, currentSchema));
+
+    Map<String, String> jsonPropertyNames = getJsonPropertyNamesRecursive(node, currentSchema);
+    ruleFactory.getAnnotator().creatorConstructor(canonicalConstructor, instanceClass);
+    for (JVar param : canonicalConstructor.params()) {
+      ruleFactory.getAnnotator().creatorParameter(param, instanceClass, jsonPropertyNames.get(param.name()));
+    }
+  }
+
+  /**
+   * Retrieve the default value of each property declared by node, to be assigned by the constructor in place of a
+   * <code>null</code> argument.
+   */
+  private Map<String, JExpression> getDefaultValues(JsonNode node, JDefinedClass instanceClass, Schema currentSchema) {
+    Map<String, JExpression> rtn = new HashMap<>();
+    Rule<JFieldVar, JFieldVar> defaultRule = ruleFactory.getDefaultRule();
+
+    if (!node.has("properties") || !(defaultRule instanceof DefaultRule)) {
+      return rtn;
+    }
+
+    NameHelper nameHelper = ruleFactory.getNameHelper();
+    for (Iterator<Entry<String, JsonNode>> properties = node.get("properties").fields(); properties.hasNext(); ) {
+      Map.Entry<String, JsonNode> property = properties.next();
+
+      String propertyName = nameHelper.getPropertyName(property.getKey(), property.getValue());
+      JFieldVar field = instanceClass.fields().get(propertyName);
+      JsonNode defaultNode = property.getValue().get("default");
+      if (field == null || field.type().isPrimitive() || (defaultNode != null && defaultNode.isNull())) {
+        continue;
+      }
+
+      JExpression defaultValue = ((DefaultRule) defaultRule).getDefaultExpression(defaultNode, property.getValue(), field, currentSchema);
+      if (defaultValue != null && getFrozenCopyType(field.type()) != null) {
+        defaultValue = unmodifiableDefault(field.type(), defaultNode, defaultValue);
+      }
+      if (defaultValue != null) {
+        rtn.put(propertyName, defaultValue);
+      }
+    }
+    return rtn;
+  }
+
+  /**
+   * Recursive, maps the Java name of each property of this schema (and its super schemas) to its JSON name
+   */
+  private Map<String, String> getJsonPropertyNamesRecursive(JsonNode node, Schema schema) {
+    Map<String, String> rtn = new HashMap<>();
+
+    Schema superTypeSchema = reflectionHelper.getSuperSchema(node, schema, true);
+    if (superTypeSchema != null) {
+      rtn.putAll(getJsonPropertyNamesRecursive(superTypeSchema.getContent(), superTypeSchema));
+    }
+
+    if (node.has("properties")) {
+      NameHelper nameHelper = ruleFactory.getNameHelper();
+      for (Iterator<Entry<String, JsonNode>> properties = node.get("properties").fields(); properties.hasNext(); ) {
+        Map.Entry<String, JsonNode> property = properties.next();
+        rtn.put(nameHelper.getPropertyName(property.getKey(), property.getValue()), property.getKey());
+      }
+    }
+    return rtn;
+  }
+
   private void handleMultiChoiceConstructorConfiguration(JsonNode node, JDefinedClass instanceClass, Schema currentSchema) {
     // Use this flag to keep track of whether or not we'll actually need to generate any constructors
     boolean requiresConstructors = false;
@@ -149,7 +228,7 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     GenerationConfig generationConfig = ruleFactory.getGenerationConfig();
 
     // Generate the constructor with the properties which were located
-    JMethod instanceConstructor = generateFieldsConstructor(instanceClass, classProperties, combinedSuperProperties);
+    JMethod instanceConstructor = generateFieldsConstructor(instanceClass, classProperties, combinedSuperProperties, Collections.emptyMap());
 
     // If we're using InnerClassBuilder implementations then we also need to generate those
     if (generationConfig.isGenerateBuilders() && generationConfig.isUseInnerClassBuilders()) {
@@ -366,7 +445,8 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     return copyConstructorResult;
   }
 
-  private JMethod generateFieldsConstructor(JDefinedClass jclass, Map<String, String> classProperties, Map<String, String> combinedSuperProperties) {
+  private JMethod generateFieldsConstructor(JDefinedClass jclass, Map<String, String> classProperties, Map<String, String> combinedSuperProperties,
+      Map<String, JExpression> defaultValues) {
     // add the public constructor with property parameters
     JMethod fieldsConstructor = jclass.constructor(JMod.PUBLIC);
 
@@ -401,9 +481,16 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
         constructorPropertiesAnnotation.param(field.name());
       }
 
-      JVar param = fieldsConstructor.param(field.type(), field.name());
-      constructorBody.assign(JExpr._this()
-          .ref(field), param);
+      JVar param = fieldsConstructor.param(EnumCollections.toPropertyType(field.type()), field.name());
+      JExpression defaultValue = defaultValues.get(property);
+      if (generationConfig.isImmutable() && getFrozenCopyType(field.type()) != null) {
+        // copy collections into unmodifiable ones, so that an immutable type really can't change after construction
+        JConditional isNull = constructorBody._if(param.eq(JExpr._null()));
+        isNull._then().assign(JExpr._this().ref(field), defaultValue == null ? JExpr._null() : defaultValue);
+        isNull._else().assign(JExpr._this().ref(field), unmodifiableCopy(field.type(), param));
+      } else {
+        constructorBody.assign(JExpr._this().ref(field), EnumCollections.toFieldValue(field.type(), param, defaultValue));
+      }
       classFieldParams.put(property, param);
     }
 
@@ -420,7 +507,7 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
       JVar param = classFieldParams.get(property);
 
       if (param == null) {
-        param = fieldsConstructor.param(field.type(), field.name());
+        param = fieldsConstructor.param(EnumCollections.toPropertyType(field.type()), field.name());
       }
 
       if (StringUtils.isNotEmpty(entry.getValue())) {
@@ -446,4 +533,72 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     noargsConstructor.javadoc()
         .add("No args constructor for use in serialization");
   }
+
+  /**
+   * Whether a property of the given type can't change once the canonical constructor of an immutable type has assigned
+   * it. Lists, sets and maps (including their default values) are assigned as unmodifiable collections, but arrays and
+   * other collection types stay mutable.
+   */
+  static boolean isFrozen(JType type) {
+    if (type.isPrimitive()) {
+      return true;
+    } else if (type.isArray()) {
+      return false;
+    } else if (getFrozenCopyType(type) != null) {
+      return true;
+    }
+    try {
+      Class<?> typeClass = Class.forName(type.erasure().fullName());
+      return !Collection.class.isAssignableFrom(typeClass) && !Map.class.isAssignableFrom(typeClass);
+    } catch (ClassNotFoundException e) {
+      return true;
+    }
+  }
+
+  /**
+   * @return the type a property of the given type is copied into before being made unmodifiable, or <code>null</code>
+   *         if the type isn't a list, set or map
+   */
+  private static Class<?> getFrozenCopyType(JType type) {
+    String typeName = type.erasure().fullName();
+    if (typeName.equals(List.class.getName())) {
+      return ArrayList.class;
+    } else if (typeName.equals(Set.class.getName())) {
+      return LinkedHashSet.class;
+    } else if (typeName.equals(Map.class.getName())) {
+      return LinkedHashMap.class;
+    } else {
+      return null;
+    }
+  }
+
+  private JExpression unmodifiableCopy(JType type, JExpression value) {
+    JExpression copy = EnumCollections.copyOf((JClass) type, value, ruleFactory);
+    if (copy == null) {
+      JClass copyType = type.owner().ref(getFrozenCopyType(type));
+      if (!((JClass) type).getTypeParameters().isEmpty()) {
+        copyType = copyType.narrow(((JClass) type).getTypeParameters());
+      }
+      copy = JExpr._new(copyType).arg(value);
+    }
+    return type.owner().ref(Collections.class).staticInvoke("unmodifiable" + ((JClass) type.erasure()).name()).arg(copy);
+  }
+
+  /**
+   * @return the default value of a list, set or map property as an unmodifiable collection: a shared empty collection
+   *         when the schema has no default values, or else an unmodifiable view of the new collection created by the
+   *         given default value expression (unless that already refers to the unmodifiable constant holding the default
+   *         values)
+   */
+  private static JExpression unmodifiableDefault(JType type, JsonNode defaultNode, JExpression defaultValue) {
+    String collectionName = ((JClass) type.erasure()).name();
+    if (defaultNode == null || defaultNode.size() == 0) {
+      return type.owner().ref(Collections.class).staticInvoke("empty" + collectionName);
+    } else if (defaultValue instanceof JFieldVar) {
+      return defaultValue;
+    } else {
+      return type.owner().ref(Collections.class).staticInvoke("unmodifiable" + collectionName).arg(defaultValue);
+    }
+  }
+
 }
@@ -24,9 +24,12 @@ import java.net.URI;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
 import org.joda.time.DateTime;
@@ -38,12 +41,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JArray;
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMod;
 import com.sun.codemodel.JType;
 
 /**
@@ -54,6 +59,8 @@ import com.sun.codemodel.JType;
  */
 public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
 
+    private static final int DEFAULT_LIST_CAPACITY = 10;
+
     private final RuleFactory ruleFactory;
 
     public DefaultRule(RuleFactory ruleFactory) {
@@ -67,8 +74,19 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
      * field (so when instances of the generated POJO are created, its fields
      * will then contain their default values).
      * <p>
-     * Collections (Lists and Sets) are initialized to an empty collection, even
-     * when no default value is present in the schema (node is null).
+     * Collections (Lists and Sets) and primitive arrays are initialized to an
+     * empty collection or array, even when no default value is present in the
+     * schema (node is null). Empty
+     * collections are presized when the property has a small minItems (or
+     * maxItems) bound. Default values for collections are held in a static,
+     * immutable constant that is copied into each new instance (or, when
+     * lazyCollections is enabled, shared by each new instance; in this case
+     * collections without a default value are not initialized).
+     * <p>
+     * When generating immutable types, fields are not initialized here: the
+     * canonical constructor applies default values instead (see
+     * {@link #getDefaultExpression(JsonNode, JsonNode, JFieldVar, Schema)}),
+     * sharing the constant that holds the default values of a collection.
      *
      * @param nodeName
      *            the name of the property which has (or may have) a default
@@ -83,24 +101,57 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
     @Override
     public JFieldVar apply(String nodeName, JsonNode node, JsonNode parent, JFieldVar field, Schema currentSchema) {
 
+        if (ruleFactory.getGenerationConfig().isImmutable()) {
+            return field;
+        }
+
+        JExpression defaultValue = getDefaultExpression(node, parent, field, currentSchema);
+        if (defaultValue != null) {
+            field.init(defaultValue);
+        }
+
+        return field;
+    }
+
+    /**
+     * Creates an expression for the initial value of a field.
+     *
+     * @param node
+     *            the default node (may be null if no default node was present
+     *            for this property)
+     * @param parent
+     *            the node describing this property
+     * @param field
+     *            the Java field that has added to a generated type to represent
+     *            this property
+     * @param currentSchema
+     *            the schema of the type that declares the field
+     * @return an expression that creates the initial value of the field, or
+     *         <code>null</code> if the field should not be initialized
+     */
+    JExpression getDefaultExpression(JsonNode node, JsonNode parent, JFieldVar field, Schema currentSchema) {
+
         boolean defaultPresent = node != null && isNotEmpty(node.asText());
 
         String fieldType = field.type().fullName();
 
         if (defaultPresent && !field.type().isPrimitive() && node.isNull()) {
-            field.init(JExpr._null());
+            return JExpr._null();
         } else if (fieldType.startsWith(List.class.getName())) {
-            field.init(getDefaultList(field.type(), node));
+            return getDefaultList(field, node, parent, currentSchema);
         } else if (fieldType.startsWith(Set.class.getName())) {
-            field.init(getDefaultSet(field.type(), node));
+            return getDefaultSet(field, node, parent, currentSchema);
+        } else if (fieldType.startsWith(EnumSet.class.getName())) {
+            return getDefaultEnumSet(field, node);
+        } else if (field.type().isArray() && parent != null && parent.path("type").asText().equals("array")) {
+            return getDefaultArray(field, node, currentSchema);
         } else if (fieldType.startsWith(String.class.getName()) && node != null ) {
-            field.init(getDefaultValue(field.type(), node));
+            return getDefaultValue(field.type(), node);
         } else if (defaultPresent) {
-            field.init(getDefaultValue(field.type(), node));
-
+            return getDefaultValue(field.type(), node);
         }
 
-        return field;
+        return null;
     }
 
     static JExpression getDefaultValue(JType fieldType, JsonNode node) {
@@ -115,7 +166,7 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
             return JExpr.lit(value);
 
         } else if (fieldType.fullName().equals(int.class.getName())) {
-            return JExpr.lit(Integer.parseInt(value));
+            return JExpr.lit(new BigDecimal(value).intValueExact());
 
         } else if (fieldType.fullName().equals(BigInteger.class.getName())) {
             return JExpr._new(fieldType).arg(JExpr.lit(value));
@@ -144,7 +195,10 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
             return stringParseableTypeInstance;
 
         } else if (fieldType.fullName().equals(long.class.getName())) {
-            return JExpr.lit(Long.parseLong(value));
+            return JExpr.lit(new BigDecimal(value).longValueExact());
+
+        } else if (fieldType.fullName().equals(short.class.getName()) || fieldType.fullName().equals(byte.class.getName())) {
+            return JExpr.cast(fieldType, JExpr.lit(new BigDecimal(value).intValueExact()));
 
         } else if (fieldType.fullName().equals(float.class.getName())) {
             return JExpr.lit(Float.parseFloat(value));
@@ -169,19 +223,25 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
      * <ol>
      * <li>Creating a new {@link ArrayList} with the correct generic type
      * <li>Using {@link Arrays#asList(Object...)} to initialize the list with
-     * the correct default values
+     * the correct default values (held in a static constant of the generated
+     * type, where possible)
      * </ol>
      *
-     * @param fieldType
-     *            the java type that applies for this field ({@link List} with
-     *            some generic type argument)
+     * @param field
+     *            the field for this property ({@link List} with some generic
+     *            type argument)
      * @param node
      *            the node containing default values for this list
+     * @param propertyNode
+     *            the node describing this property
+     * @param currentSchema
+     *            the schema of the type that declares the field
      * @return an expression that creates a default value that can be assigned
      *         to this field
      */
-    private JExpression getDefaultList(JType fieldType, JsonNode node) {
+    private JExpression getDefaultList(JFieldVar field, JsonNode node, JsonNode propertyNode, Schema currentSchema) {
 
+        JType fieldType = field.type();
         JClass listGenericType = ((JClass) fieldType).getTypeParameters().get(0);
 
         JClass listImplClass = fieldType.owner().ref(ArrayList.class);
@@ -194,9 +254,23 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
             for (JsonNode defaultValue : node) {
                 invokeAsList.arg(getDefaultValue(listGenericType, defaultValue));
             }
-            newListImpl.arg(invokeAsList);
-        } else if (!ruleFactory.getGenerationConfig().isInitializeCollections()) {
+
+            JFieldVar defaultValues = addDefaultValuesConstant(field, currentSchema,
+                    fieldType.owner().ref(Collections.class).staticInvoke("unmodifiableList").arg(invokeAsList));
+            if (defaultValues == null) {
+                newListImpl.arg(invokeAsList);
+            } else if (isSharedDefaultValues()) {
+                return defaultValues;
+            } else {
+                newListImpl.arg(defaultValues);
+            }
+        } else if (!ruleFactory.getGenerationConfig().isInitializeCollections() || isLazyCollections()) {
             return null;
+        } else {
+            int initialCapacity = getInitialCapacity(propertyNode);
+            if (initialCapacity >= 0) {
+                newListImpl.arg(JExpr.lit(initialCapacity));
+            }
         }
 
         return newListImpl;
@@ -208,19 +282,25 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
      * <ol>
      * <li>Creating a new {@link LinkedHashSet} with the correct generic type
      * <li>Using {@link Arrays#asList(Object...)} to initialize the set with the
-     * correct default values
+     * correct default values (held in a static constant of the generated type,
+     * where possible)
      * </ol>
      *
-     * @param fieldType
-     *            the java type that applies for this field ({@link Set} with
-     *            some generic type argument)
+     * @param field
+     *            the field for this property ({@link Set} with some generic
+     *            type argument)
      * @param node
      *            the node containing default values for this set
+     * @param propertyNode
+     *            the node describing this property
+     * @param currentSchema
+     *            the schema of the type that declares the field
      * @return an expression that creates a default value that can be assigned
      *         to this field
      */
-    private JExpression getDefaultSet(JType fieldType, JsonNode node) {
+    private JExpression getDefaultSet(JFieldVar field, JsonNode node, JsonNode propertyNode, Schema currentSchema) {
 
+        JType fieldType = field.type();
         JClass setGenericType = ((JClass) fieldType).getTypeParameters().get(0);
 
         JClass setImplClass = fieldType.owner().ref(LinkedHashSet.class);
@@ -233,15 +313,186 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
             for (JsonNode defaultValue : node) {
                 invokeAsList.arg(getDefaultValue(setGenericType, defaultValue));
             }
-            newSetImpl.arg(invokeAsList);
-        } else if (!ruleFactory.getGenerationConfig().isInitializeCollections()) {
+
+            JFieldVar defaultValues = addDefaultValuesConstant(field, currentSchema,
+                    fieldType.owner().ref(Collections.class).staticInvoke("unmodifiableSet").arg(JExpr._new(setImplClass).arg(invokeAsList)));
+            if (defaultValues == null) {
+                newSetImpl.arg(invokeAsList);
+            } else if (isSharedDefaultValues()) {
+                return defaultValues;
+            } else {
+                newSetImpl.arg(defaultValues);
+            }
+        } else if (!ruleFactory.getGenerationConfig().isInitializeCollections() || isLazyCollections()) {
             return null;
+        } else {
+            int initialCapacity = getInitialCapacity(propertyNode);
+            if (initialCapacity >= 0) {
+                // enough buckets to hold the expected number of items at the default load factor
+                newSetImpl.arg(JExpr.lit(initialCapacity * 4 / 3 + 1));
+            }
         }
 
         return newSetImpl;
 
     }
 
+    /**
+     * Creates a default value for an {@link EnumSet} field, either:
+     * <ul>
+     * <li>Creating an {@link EnumSet} of the default values, or</li>
+     * <li>Creating an empty {@link EnumSet} for the enum (if
+     * initializeCollections is true)</li>
+     * </ul>
+     * <p>
+     * An {@link EnumSet} is a single small object, so it's created eagerly
+     * even when lazyCollections is set.
+     */
+    private JExpression getDefaultEnumSet(JFieldVar field, JsonNode node) {
+
+        JType fieldType = field.type();
+        JClass enumType = ((JClass) fieldType).getTypeParameters().get(0);
+        JClass enumSetClass = fieldType.owner().ref(EnumSet.class);
+
+        if (node instanceof ArrayNode && node.size() > 0) {
+            JInvocation invokeOf = enumSetClass.staticInvoke("of");
+            for (JsonNode defaultValue : node) {
+                invokeOf.arg(getDefaultValue(enumType, defaultValue));
+            }
+            return invokeOf;
+        } else if (!ruleFactory.getGenerationConfig().isInitializeCollections()) {
+            return null;
+        } else {
+            return enumSetClass.staticInvoke("noneOf").arg(JExpr.dotclass(enumType));
+        }
+
+    }
+
+    /**
+     * Creates a default value for an array field, either:
+     * <ul>
+     * <li>Creating an array of the default values, or</li>
+     * <li>Referring to a shared, empty array (if initializeCollections is
+     * true)</li>
+     * </ul>
+     */
+    private JExpression getDefaultArray(JFieldVar field, JsonNode node, Schema currentSchema) {
+
+        JType componentType = field.type().elementType();
+
+        if (node instanceof ArrayNode && node.size() > 0) {
+            JArray newArray = JExpr.newArray(componentType);
+            for (JsonNode defaultValue : node) {
+                newArray.add(getDefaultValue(componentType, defaultValue));
+            }
+            return newArray;
+        } else if (!ruleFactory.getGenerationConfig().isInitializeCollections()) {
+            return null;
+        } else {
+            // an empty array can't be changed, so every instance can share one
+            JFieldVar emptyArray = addEmptyArrayConstant(field, currentSchema);
+            return emptyArray != null ? emptyArray : JExpr.newArray(componentType, 0);
+        }
+
+    }
+
+    private boolean isLazyCollections() {
+        return ruleFactory.getGenerationConfig().isLazyCollections() && ruleFactory.getGenerationConfig().isInitializeCollections();
+    }
+
+    /**
+     * Whether the constant holding the default values of a collection can be
+     * assigned as it is, rather than copied: lazy collections share it until
+     * they are set, and immutable types can't change it.
+     */
+    private boolean isSharedDefaultValues() {
+        return isLazyCollections() || ruleFactory.getGenerationConfig().isImmutable();
+    }
+
+    /**
+     * Adds a private static constant holding the default values of a
+     * collection property to the type that declares the field, so that they
+     * are only created once.
+     *
+     * @return the new constant, or <code>null</code> if the type that declares
+     *         the field can't be found
+     */
+    private JFieldVar addDefaultValuesConstant(JFieldVar field, Schema currentSchema, JExpression defaultValues) {
+        JDefinedClass jclass = getDeclaringClass(field, currentSchema);
+        if (jclass == null) {
+            return null;
+        }
+
+        String constantName = "DEFAULT_" + field.name().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+        while (jclass.fields().containsKey(constantName)) {
+            constantName = constantName + "_";
+        }
+
+        return jclass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, field.type(), constantName, defaultValues);
+    }
+
+    /**
+     * Finds or adds a private static constant holding an empty array of the
+     * type of the given field, shared by every array field of that type in the
+     * type that declares the field.
+     *
+     * @return the constant, or <code>null</code> if the type that declares the
+     *         field can't be found
+     */
+    private JFieldVar addEmptyArrayConstant(JFieldVar field, Schema currentSchema) {
+        JDefinedClass jclass = getDeclaringClass(field, currentSchema);
+        if (jclass == null) {
+            return null;
+        }
+
+        JType componentType = field.type().elementType();
+        String constantName = "EMPTY_" + componentType.name().toUpperCase(Locale.ROOT) + "_ARRAY";
+        for (JFieldVar existing = jclass.fields().get(constantName); existing != null; existing = jclass.fields().get(constantName)) {
+            if (existing.type().fullName().equals(field.type().fullName()) && (existing.mods().getValue() & JMod.STATIC) != 0) {
+                return existing;
+            }
+            constantName = constantName + "_";
+        }
+
+        return jclass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, field.type(), constantName, JExpr.newArray(componentType, 0));
+    }
+
+    /**
+     * @return the generated type that declares the given field, or
+     *         <code>null</code> if it can't be found
+     */
+    private static JDefinedClass getDeclaringClass(JFieldVar field, Schema currentSchema) {
+        if (currentSchema == null || !(currentSchema.getJavaType() instanceof JDefinedClass)) {
+            return null;
+        }
+
+        JDefinedClass jclass = (JDefinedClass) currentSchema.getJavaType();
+        return jclass.fields().get(field.name()) == field ? jclass : null;
+    }
+
+    /**
+     * @return the number of items a new, empty collection for this property
+     *         should have room for, or <code>-1</code> if the property is
+     *         unbounded. A collection is sized for its minItems, or else its
+     *         maxItems, when that is smaller than the default capacity of a
+     *         list (a large minItems would allocate for every instance, even
+     *         before any item is added).
+     */
+    private static int getInitialCapacity(JsonNode propertyNode) {
+        if (propertyNode == null) {
+            return -1;
+        }
+        if (propertyNode.path("minItems").isIntegralNumber() && propertyNode.get("minItems").asInt() > 0
+                && propertyNode.get("minItems").asInt() < DEFAULT_LIST_CAPACITY) {
+            return propertyNode.get("minItems").asInt();
+        }
+        if (propertyNode.path("maxItems").isIntegralNumber() && propertyNode.get("maxItems").asInt() >= 0
+                && propertyNode.get("maxItems").asInt() < DEFAULT_LIST_CAPACITY) {
+            return propertyNode.get("maxItems").asInt();
+        }
+        return -1;
+    }
+
     /**
      * @see EnumRule
      */
@@ -20,6 +20,7 @@ import static com.sun.codemodel.JExpr.*;
 import static com.sun.codemodel.JMod.*;
 
 import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.util.JavaVersion;
 import org.jsonschema2pojo.util.Models;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -68,6 +69,9 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
      * methods first attempt to call the appropriate getter or setter for the property.  If the named property is not defined,
      * then the additional properties map is used.
      * <p>
+     * When the target version is 1.7 or later, the property name is matched using a <code>switch</code> on the name,
+     * otherwise it is compared with each declared property name in turn.
+     * <p>
      * If builders are being generated, then a method for building properties by name will be added.  This method first
      * attempts to call the builder for the property.  If no property with the supplied name is defined, then the additional
      * properties map is used.
@@ -99,15 +103,25 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         }
 
         boolean isIncludeGetters = ruleFactory.getGenerationConfig().isIncludeGetters();
-        boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters();
-        boolean isGenerateBuilders = ruleFactory.getGenerationConfig().isGenerateBuilders();
+        boolean isImmutable = ruleFactory.getGenerationConfig().isImmutable();
+        boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters() && !isImmutable;
+        boolean isGenerateBuilders = ruleFactory.getGenerationConfig().isGenerateBuilders() && !isImmutable;
 
         if (isIncludeGetters || isIncludeSetters || isGenerateBuilders) {
-            if (isIncludeSetters) {
-                addInternalSetMethodJava6(jclass, node);
-            }
-            if (isIncludeGetters) {
-                addInternalGetMethodJava6(jclass, node);
+            if (JavaVersion.is7OrLater(ruleFactory.getGenerationConfig().getTargetVersion())) {
+                if (isIncludeSetters) {
+                    addInternalSetMethodJava7(jclass, node);
+                }
+                if (isIncludeGetters) {
+                    addInternalGetMethodJava7(jclass, node);
+                }
+            } else {
+                if (isIncludeSetters) {
+                    addInternalSetMethodJava6(jclass, node);
+                }
+                if (isIncludeGetters) {
+                    addInternalGetMethodJava6(jclass, node);
+                }
             }
         }
 
@@ -174,7 +188,7 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
                 String propertyName = property.getKey();
                 JsonNode node = property.getValue();
                 String fieldName = ruleFactory.getNameHelper().getPropertyName(propertyName, node);
-                JType propertyType = jclass.fields().get(fieldName).type();
+                JType propertyType = EnumCollections.toPropertyType(jclass.fields().get(fieldName).type());
 
                 JExpression condition = lit(propertyName).invoke("equals").arg(nameParam);
                 if (propertyConditional == null) {
@@ -201,6 +215,38 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         return method;
     }
 
+    private JMethod addInternalGetMethodJava7(JDefinedClass jclass, JsonNode propertiesNode) {
+        JMethod method = jclass.method(PROTECTED, jclass.owner()._ref(Object.class), DEFINED_GETTER_NAME);
+        JVar nameParam = method.param(String.class, "name");
+        JVar notFoundParam = method.param(jclass.owner()._ref(Object.class), "notFoundValue");
+        JBlock body = method.body();
+
+        if (propertiesNode != null && propertiesNode.size() > 0) {
+            JSwitch propertySwitch = body._if(nameParam.ne(_null()))._then()._switch(nameParam);
+            for (Iterator<Map.Entry<String, JsonNode>> properties = propertiesNode.fields(); properties.hasNext();) {
+                Map.Entry<String, JsonNode> property = properties.next();
+                String propertyName = property.getKey();
+                JsonNode node = property.getValue();
+                String fieldName = ruleFactory.getNameHelper().getPropertyName(propertyName, node);
+                JType propertyType = EnumCollections.toPropertyType(jclass.fields().get(fieldName).type());
+
+                addGetPropertyCase(jclass, propertySwitch, propertyName, propertyType, node);
+            }
+        }
+
+        JClass extendsType = jclass._extends();
+        if (extendsType != null && extendsType instanceof JDefinedClass) {
+            JDefinedClass parentClass = (JDefinedClass) extendsType;
+            JMethod parentMethod = parentClass.getMethod(DEFINED_GETTER_NAME,
+                    new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
+            body._return(_super().invoke(parentMethod).arg(nameParam).arg(notFoundParam));
+        } else {
+            body._return(notFoundParam);
+        }
+
+        return method;
+    }
+
     private void addGetPropertyCase(JDefinedClass jclass, JSwitch propertySwitch, String propertyName, JType propertyType, JsonNode node) {
         JMethod propertyGetter = jclass.getMethod(getGetterName(propertyName, propertyType, node), new JType[] {});
         propertySwitch._case(lit(propertyName)).body()
@@ -223,8 +269,8 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         JMethod getAdditionalProperties = jclass.getMethod("getAdditionalProperties", new JType[] {});
         if (getAdditionalProperties != null) {
             JType additionalPropertiesType = ((JClass) (getAdditionalProperties.type())).getTypeParameters().get(1);
-            notFound.add(invoke(getAdditionalProperties).invoke("put").arg(nameParam)
-                    .arg(cast(additionalPropertiesType, valueParam)));
+            notFound.add(putAdditionalPropertyInvocation(jclass, getAdditionalProperties)
+                    .arg(nameParam).arg(cast(additionalPropertiesType, valueParam)));
         }
         // else throw exception.
         else {
@@ -250,8 +296,8 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         JMethod getAdditionalProperties = jclass.getMethod("getAdditionalProperties", new JType[] {});
         if (getAdditionalProperties != null) {
             JType additionalPropertiesType = ((JClass) (getAdditionalProperties.type())).getTypeParameters().get(1);
-            notFound.add(invoke(getAdditionalProperties).invoke("put").arg(nameParam)
-                    .arg(cast(additionalPropertiesType, valueParam)));
+            notFound.add(putAdditionalPropertyInvocation(jclass, getAdditionalProperties)
+                    .arg(nameParam).arg(cast(additionalPropertiesType, valueParam)));
         }
         // else throw exception.
         else {
@@ -274,7 +320,7 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
                 String propertyName = property.getKey();
                 JsonNode node = property.getValue();
                 String fieldName = ruleFactory.getNameHelper().getPropertyName(propertyName, node);
-                JType propertyType = jclass.fields().get(fieldName).type();
+                JType propertyType = EnumCollections.toPropertyType(jclass.fields().get(fieldName).type());
                 JExpression condition = lit(propertyName).invoke("equals").arg(nameParam);
                 propertyConditional = propertyConditional == null ? propertyConditional = body._if(condition)
                         : propertyConditional._elseif(condition);
@@ -298,6 +344,49 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         return method;
     }
 
+    private JMethod addInternalSetMethodJava7(JDefinedClass jclass, JsonNode propertiesNode) {
+        JMethod method = jclass.method(PROTECTED, jclass.owner().BOOLEAN, DEFINED_SETTER_NAME);
+        JVar nameParam = method.param(String.class, "name");
+        JVar valueParam = method.param(Object.class, "value");
+        JBlock body = method.body();
+
+        if (propertiesNode != null && propertiesNode.size() > 0) {
+            JSwitch propertySwitch = body._if(nameParam.ne(_null()))._then()._switch(nameParam);
+            for (Iterator<Map.Entry<String, JsonNode>> properties = propertiesNode.fields(); properties.hasNext();) {
+                Map.Entry<String, JsonNode> property = properties.next();
+                String propertyName = property.getKey();
+                JsonNode node = property.getValue();
+                String fieldName = ruleFactory.getNameHelper().getPropertyName(propertyName, node);
+                JType propertyType = EnumCollections.toPropertyType(jclass.fields().get(fieldName).type());
+
+                addSetPropertyCase(jclass, propertySwitch, propertyName, propertyType, valueParam, node);
+            }
+        }
+
+        JClass extendsType = jclass._extends();
+        if (extendsType != null && extendsType instanceof JDefinedClass) {
+            JDefinedClass parentClass = (JDefinedClass) extendsType;
+            JMethod parentMethod = parentClass.getMethod(DEFINED_SETTER_NAME,
+                    new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
+            body._return(_super().invoke(parentMethod).arg(nameParam).arg(valueParam));
+        } else {
+            body._return(FALSE);
+        }
+        return method;
+    }
+
+    private JInvocation putAdditionalPropertyInvocation(JDefinedClass jclass, JMethod getAdditionalProperties) {
+        // a lazily allocated map is read-only until the first property is set, so go through the setter
+        if (ruleFactory.getGenerationConfig().isLazyAdditionalProperties()) {
+            for (JMethod method : jclass.methods()) {
+                if (method.name().equals("setAdditionalProperty") && method.params().size() == 2) {
+                    return invoke(method);
+                }
+            }
+        }
+        return invoke(getAdditionalProperties).invoke("put");
+    }
+
     private JMethod getInternalSetMethod(JDefinedClass jclass) {
         return jclass.getMethod(DEFINED_SETTER_NAME,
                 new JType[] { jclass.owner().ref(String.class), jclass.owner().ref(Object.class) });
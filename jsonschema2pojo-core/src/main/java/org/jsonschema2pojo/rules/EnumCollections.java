@@ -0,0 +1,228 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.AnnotationStyle;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JType;
+
+/**
+ * Helper for replacing sets and maps of enums with {@link EnumSet} and
+ * {@link EnumMap} when the 'useEnumCollections' option is set.
+ * <p>
+ * Only the fields change type: getters, setters, builder methods and
+ * constructors keep using {@link Set} and {@link Map} (see
+ * {@link #toPropertyType(JType)}), and copy the collections they're given into
+ * an {@link EnumSet} or {@link EnumMap} (see
+ * {@link #toFieldValue(JType, JExpression, JExpression)}). The fields are only
+ * replaced for the annotation styles whose libraries can create these
+ * collections when deserializing (Jackson and Gson), or when no annotation
+ * style is used.
+ * <p>
+ * Immutable types keep {@link Set} and {@link Map} fields, since these hold
+ * unmodifiable views, and copy the collections they're given into an
+ * {@link EnumSet} or {@link EnumMap} instead (see
+ * {@link #copyOf(JClass, JExpression, RuleFactory)}).
+ */
+public final class EnumCollections {
+
+    private EnumCollections() {
+    }
+
+    /**
+     * Replaces a set of enums with an {@link EnumSet}.
+     *
+     * @param setType
+     *            a narrowed {@link Set} type
+     * @param ruleFactory
+     *            the rule factory holding the current generation config
+     * @return an {@link EnumSet} of the same enum, or the given type if it
+     *         isn't a set of enums or the option isn't set
+     */
+    public static JClass toEnumSet(JClass setType, RuleFactory ruleFactory) {
+        List<JClass> typeParameters = setType.getTypeParameters();
+        if (isEnabled(ruleFactory) && setType.erasure().fullName().equals(Set.class.getName())
+                && typeParameters.size() == 1 && isEnum(typeParameters.get(0), ruleFactory)
+                && isSupportedAnnotationStyle(setType, ruleFactory)) {
+            return setType.owner().ref(EnumSet.class).narrow(typeParameters);
+        }
+        return setType;
+    }
+
+    /**
+     * Replaces a map keyed by an enum with an {@link EnumMap}.
+     *
+     * @param mapType
+     *            a narrowed {@link Map} type
+     * @param ruleFactory
+     *            the rule factory holding the current generation config
+     * @return an {@link EnumMap} with the same key and value types, or the
+     *         given type if it isn't a map keyed by an enum or the option
+     *         isn't set
+     */
+    public static JClass toEnumMap(JClass mapType, RuleFactory ruleFactory) {
+        List<JClass> typeParameters = mapType.getTypeParameters();
+        if (isEnabled(ruleFactory) && mapType.erasure().fullName().equals(Map.class.getName())
+                && typeParameters.size() == 2 && isEnum(typeParameters.get(0), ruleFactory)
+                && isSupportedAnnotationStyle(mapType, ruleFactory)) {
+            return mapType.owner().ref(EnumMap.class).narrow(typeParameters);
+        }
+        return mapType;
+    }
+
+    /**
+     * Copies a set of enums into a new {@link EnumSet}, or a map keyed by an
+     * enum into a new {@link EnumMap}.
+     *
+     * @param type
+     *            a narrowed {@link Set} or {@link Map} type
+     * @param value
+     *            the (non-null) collection to copy
+     * @param ruleFactory
+     *            the rule factory holding the current generation config
+     * @return an expression creating the copy, or <code>null</code> if the
+     *         type isn't a set or map of enums or the option isn't set
+     */
+    public static JExpression copyOf(JClass type, JExpression value, RuleFactory ruleFactory) {
+        List<JClass> typeParameters = type.getTypeParameters();
+        if (!isUseEnumCollections(ruleFactory) || typeParameters.isEmpty() || !isEnum(typeParameters.get(0), ruleFactory)) {
+            return null;
+        }
+
+        if (type.erasure().fullName().equals(Set.class.getName()) && typeParameters.size() == 1) {
+            return copy(type.owner().ref(EnumSet.class).narrow(typeParameters), value);
+        } else if (type.erasure().fullName().equals(Map.class.getName()) && typeParameters.size() == 2) {
+            return copy(type.owner().ref(EnumMap.class).narrow(typeParameters), value);
+        }
+        return null;
+    }
+
+    /**
+     * Gives the type that getters, setters, builder methods and constructors
+     * use for a field.
+     *
+     * @param fieldType
+     *            the type of a field
+     * @return {@link Set} or {@link Map} for an {@link EnumSet} or
+     *         {@link EnumMap} field, the given type otherwise
+     */
+    public static JType toPropertyType(JType fieldType) {
+        if (!isEnumCollection(fieldType)) {
+            return fieldType;
+        }
+        Class<?> propertyClass = fieldType.erasure().fullName().equals(EnumSet.class.getName()) ? Set.class : Map.class;
+        return fieldType.owner().ref(propertyClass).narrow(((JClass) fieldType).getTypeParameters());
+    }
+
+    /**
+     * Converts a value of the property type (see {@link #toPropertyType(JType)})
+     * to a value that can be assigned to the field.
+     *
+     * @param fieldType
+     *            the type of the field
+     * @param value
+     *            the value to assign
+     * @param valueIfNull
+     *            the value to assign instead when the value is
+     *            <code>null</code>, or <code>null</code> to assign
+     *            <code>null</code>
+     * @return the value (or else the value if null), copied into a new
+     *         {@link EnumSet} or {@link EnumMap} for such fields
+     */
+    public static JExpression toFieldValue(JType fieldType, JExpression value, JExpression valueIfNull) {
+        if (isEnumCollection(fieldType)) {
+            return JOp.cond(value.eq(JExpr._null()), valueIfNull == null ? JExpr._null() : valueIfNull, copy((JClass) fieldType, value));
+        }
+        return valueIfNull == null ? value : JOp.cond(value.eq(JExpr._null()), valueIfNull, value);
+    }
+
+    private static boolean isEnumCollection(JType type) {
+        String typeName = type.erasure().fullName();
+        return type instanceof JClass && !((JClass) type).getTypeParameters().isEmpty()
+                && (typeName.equals(EnumSet.class.getName()) || typeName.equals(EnumMap.class.getName()));
+    }
+
+    /**
+     * @return an expression copying the given (non-null) collection into a new
+     *         collection of the given {@link EnumSet} or {@link EnumMap} type
+     */
+    private static JExpression copy(JClass enumCollectionType, JExpression value) {
+        JExpression isEmpty = value.invoke("isEmpty");
+        JClass enumType = enumCollectionType.getTypeParameters().get(0);
+        if (enumCollectionType.erasure().fullName().equals(EnumSet.class.getName())) {
+            // copyOf can't find the enum of an empty collection that isn't already an EnumSet
+            JClass enumSetClass = enumCollectionType.owner().ref(EnumSet.class);
+            return JOp.cond(isEmpty, enumSetClass.staticInvoke("noneOf").arg(enumType.dotclass()),
+                    enumSetClass.staticInvoke("copyOf").arg(value));
+        }
+        return JOp.cond(isEmpty, JExpr._new(enumCollectionType).arg(enumType.dotclass()),
+                JExpr._new(enumCollectionType).arg(value));
+    }
+
+    private static boolean isEnabled(RuleFactory ruleFactory) {
+        return isUseEnumCollections(ruleFactory) && !ruleFactory.getGenerationConfig().isImmutable();
+    }
+
+    /**
+     * Moshi and JSON-B have no adapters for {@link EnumSet} and
+     * {@link EnumMap}, so fields of these types would break deserialization.
+     */
+    private static boolean isSupportedAnnotationStyle(JClass type, RuleFactory ruleFactory) {
+        AnnotationStyle annotationStyle = ruleFactory.getGenerationConfig().getAnnotationStyle();
+        switch (annotationStyle) {
+            case JACKSON:
+            case JACKSON2:
+            case GSON:
+            case NONE:
+                return true;
+            default:
+                ruleFactory.getLogger().warn("useEnumCollections is not supported with annotation style " + annotationStyle
+                        + ", using " + type.fullName());
+                return false;
+        }
+    }
+
+    private static boolean isUseEnumCollections(RuleFactory ruleFactory) {
+        return ruleFactory.getGenerationConfig() != null && ruleFactory.getGenerationConfig().isUseEnumCollections();
+    }
+
+    /**
+     * @return <code>true</code> when the type is a generated enum, or an
+     *         existing enum that can be loaded
+     */
+    private static boolean isEnum(JClass type, RuleFactory ruleFactory) {
+        JDefinedClass definedClass = type instanceof JDefinedClass ? (JDefinedClass) type : type.owner()._getClass(type.fullName());
+        if (definedClass != null) {
+            return definedClass.getClassType() == ClassType.ENUM;
+        }
+        Class<?> existingClass = ruleFactory.getTypeResolutionCache().loadClass(type.fullName(), Thread.currentThread().getContextClassLoader());
+        return existingClass != null && existingClass.isEnum();
+    }
+
+}
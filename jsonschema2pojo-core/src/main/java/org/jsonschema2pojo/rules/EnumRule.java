@@ -19,12 +19,15 @@ package org.jsonschema2pojo.rules;
 import static java.util.Arrays.*;
 import static org.apache.commons.lang3.StringUtils.*;
 import static org.jsonschema2pojo.rules.PrimitiveTypes.*;
-import static org.jsonschema2pojo.util.TypeUtil.*;
 
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -37,10 +40,12 @@ import org.jsonschema2pojo.model.EnumDefinition;
 import org.jsonschema2pojo.model.EnumDefinitionExtensionType;
 import org.jsonschema2pojo.model.EnumValueDefinition;
 import org.jsonschema2pojo.util.AnnotationHelper;
+import org.jsonschema2pojo.util.JavaVersion;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JArray;
 import com.sun.codemodel.JBlock;
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JClassAlreadyExistsException;
@@ -52,9 +57,12 @@ import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JForLoop;
 import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JSwitch;
 import com.sun.codemodel.JType;
 import com.sun.codemodel.JVar;
 
@@ -69,6 +77,8 @@ public class EnumRule implements Rule<JClassContainer, JType> {
 
     private static final String VALUE_FIELD_NAME = "value";
 
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
     private final RuleFactory ruleFactory;
 
     protected EnumRule(RuleFactory ruleFactory) {
@@ -166,6 +176,14 @@ public class EnumRule implements Rule<JClassContainer, JType> {
 
         applyCustomizations(enumDefinition, _enum);
 
+        if (ruleFactory.getGenerationConfig() != null && ruleFactory.getGenerationConfig().isGenerateGsonTypeAdapters()) {
+            ruleFactory.getGsonTypeAdaptersRule().apply(nodeName, node, parent, _enum, schema);
+        }
+
+        if (ruleFactory.getGenerationConfig() != null && ruleFactory.getGenerationConfig().isGenerateMoshiAdapters()) {
+            ruleFactory.getMoshiAdaptersRule().apply(nodeName, node, parent, _enum, schema);
+        }
+
         return _enum;
     }
 
@@ -262,7 +280,7 @@ public class EnumRule implements Rule<JClassContainer, JType> {
     protected EnumDefinition buildEnumDefinitionWithNoExtensions(String nodeName, JsonNode parentNode, JsonNode enums, JType backingType) {
         ArrayList<EnumValueDefinition> enumValues = new ArrayList<>();
 
-        Collection<String> existingConstantNames = new ArrayList<>();
+        Collection<String> existingConstantNames = new HashSet<>();
 
         for (int i = 0; i < enums.size(); i++) {
             JsonNode value = enums.path(i);
@@ -283,7 +301,7 @@ public class EnumRule implements Rule<JClassContainer, JType> {
 
         ArrayList<EnumValueDefinition> enumValues = new ArrayList<>();
 
-        Collection<String> existingConstantNames = new ArrayList<>();
+        Collection<String> existingConstantNames = new HashSet<>();
 
         for (int i = 0; i < enums.size(); i++) {
             JsonNode value = enums.path(i);
@@ -303,7 +321,7 @@ public class EnumRule implements Rule<JClassContainer, JType> {
     protected EnumDefinition buildEnumDefinitionWithJavaEnumsExtension(String nodeName, JsonNode enumNode, JsonNode enums, JsonNode javaEnums, JType type) {
         ArrayList<EnumValueDefinition> enumValues = new ArrayList<>();
 
-        Collection<String> existingConstantNames = new ArrayList<>();
+        Collection<String> existingConstantNames = new HashSet<>();
 
         for (int i = 0; i < enums.size(); i++) {
             JsonNode value = enums.path(i);
@@ -343,14 +361,13 @@ public class EnumRule implements Rule<JClassContainer, JType> {
                     fqn = container.getPackage().name() + "." + fqn;
                 }
 
-                try {
-                    Class<?> existingClass = Thread.currentThread().getContextClassLoader().loadClass(fqn);
+                Class<?> existingClass = ruleFactory.getTypeResolutionCache().loadClass(fqn, Thread.currentThread().getContextClassLoader());
+                if (existingClass != null) {
                     throw new ClassAlreadyExistsException(container.owner().ref(existingClass));
-                } catch (ClassNotFoundException e) {
-                    JDefinedClass enumClass = container.owner()._class(fqn, ClassType.ENUM);
-                    ruleFactory.getLogger().debug("Adding " + enumClass.fullName());
-                    return enumClass;
                 }
+                JDefinedClass enumClass = container.owner()._class(fqn, ClassType.ENUM);
+                ruleFactory.getLogger().debug("Adding " + enumClass.fullName());
+                return enumClass;
             } else {
                 try {
                     JDefinedClass enumClass = container._class(JMod.PUBLIC, getEnumName(nodeName, node, container), ClassType.ENUM);
@@ -381,30 +398,181 @@ public class EnumRule implements Rule<JClassContainer, JType> {
     protected void addFactoryMethod(EnumDefinition enumDefinition, JDefinedClass _enum) {
 
         JType backingType = enumDefinition.getBackingType();
-        JFieldVar quickLookupMap = addQuickLookupMap(enumDefinition, _enum);
+        JMethod lookup = addLookupMethod(enumDefinition, _enum);
+        JType lookupType = lookup.listParamTypes()[0];
 
         JMethod fromValue = _enum.method(JMod.PUBLIC | JMod.STATIC, _enum, "fromValue");
         JVar valueParam = fromValue.param(backingType, "value");
 
-        JBlock body = fromValue.body();
+        if (lookupType.fullName().equals(backingType.fullName())) {
+            addLookupOrThrow(_enum, fromValue.body(), lookup, valueParam);
+        } else {
+            // boxed values are unboxed once and found without boxing by an overload
+            JMethod fromPrimitiveValue = _enum.method(JMod.PUBLIC | JMod.STATIC, _enum, "fromValue");
+            JVar primitiveValueParam = fromPrimitiveValue.param(lookupType, "value");
+            addLookupOrThrow(_enum, fromPrimitiveValue.body(), lookup, primitiveValueParam);
+
+            JBlock body = fromValue.body();
+            body._if(valueParam.eq(JExpr._null()))._then()._throw(illegalArgumentException(_enum, valueParam));
+            body._return(JExpr.invoke(fromPrimitiveValue).arg(valueParam.invoke(lookupType.name() + "Value")));
+        }
+
+        ruleFactory.getAnnotator().enumCreatorMethod(_enum, fromValue);
+    }
+
+    private void addLookupOrThrow(JDefinedClass _enum, JBlock body, JMethod lookup, JVar valueParam) {
         JVar constant = body.decl(_enum, "constant");
-        constant.init(quickLookupMap.invoke("get").arg(valueParam));
+        constant.init(JExpr.invoke(lookup).arg(valueParam));
 
         JConditional _if = body._if(constant.eq(JExpr._null()));
+        _if._then()._throw(illegalArgumentException(_enum, valueParam));
+        _if._else()._return(constant);
+    }
 
+    private JInvocation illegalArgumentException(JDefinedClass _enum, JVar valueParam) {
         JInvocation illegalArgumentException = JExpr._new(_enum.owner().ref(IllegalArgumentException.class));
         JExpression expr = valueParam;
 
         // if string no need to add ""
-        if(!isString(backingType)){
+        if(!isString(valueParam.type())){
             expr = expr.plus(JExpr.lit(""));
         }
 
-        illegalArgumentException.arg(expr);
-        _if._then()._throw(illegalArgumentException);
-        _if._else()._return(constant);
+        return illegalArgumentException.arg(expr);
+    }
 
-        ruleFactory.getAnnotator().enumCreatorMethod(_enum, fromValue);
+    /**
+     * Adds a private static <code>lookup</code> method that returns the
+     * constant for a value, or <code>null</code> if there is none.
+     * <p>
+     * String values are found with a <code>switch</code> (when the target
+     * version supports it). Integer values are found without boxing: when
+     * they're dense, by their offset in an array of the constants, otherwise
+     * in an open-addressing table keyed by the primitive value. Values of any
+     * other type are found in the map added by
+     * {@link #addQuickLookupMap(EnumDefinition, JDefinedClass)}.
+     *
+     * @param enumDefinition the enum definition.
+     * @param _enum          the generated class model
+     * @return the lookup method
+     */
+    protected JMethod addLookupMethod(EnumDefinition enumDefinition, JDefinedClass _enum) {
+
+        JType backingType = enumDefinition.getBackingType();
+        JMethod lookup = _enum.method(JMod.PRIVATE | JMod.STATIC, _enum, "lookup");
+
+        if (isString(backingType) && isStringSwitchSupported()) {
+            Map<String, String> constantNames = new LinkedHashMap<>();
+            for (EnumValueDefinition enumValueDefinition : enumDefinition.values()) {
+                constantNames.put(enumValueDefinition.getValue(), enumValueDefinition.getName());
+            }
+            addStringLookup(_enum, lookup.param(backingType, "value"), lookup.body(), constantNames);
+            return lookup;
+        }
+
+        Map<Integer, String> constantNames = isInteger(backingType) ? getIntegerConstantNames(enumDefinition) : null;
+        if (constantNames != null && !constantNames.isEmpty()) {
+            int min = Collections.min(constantNames.keySet());
+            int max = Collections.max(constantNames.keySet());
+            JVar valueParam = lookup.param(_enum.owner().INT, "value");
+            if ((long) max - min < 2L * constantNames.size()) {
+                addArrayLookup(_enum, valueParam, lookup.body(), constantNames, min, max);
+            } else {
+                addHashLookup(_enum, valueParam, lookup.body(), constantNames);
+            }
+            return lookup;
+        }
+
+        JFieldVar quickLookupMap = addQuickLookupMap(enumDefinition, _enum);
+        lookup.body()._return(quickLookupMap.invoke("get").arg(lookup.param(backingType, "value")));
+        return lookup;
+    }
+
+    private void addStringLookup(JDefinedClass _enum, JVar valueParam, JBlock body, Map<String, String> constantNames) {
+        JSwitch _switch = body._if(valueParam.ne(JExpr._null()))._then()._switch(valueParam);
+        for (Map.Entry<String, String> constantName : constantNames.entrySet()) {
+            _switch._case(JExpr.lit(constantName.getKey())).body()._return(_enum.enumConstant(constantName.getValue()));
+        }
+        body._return(JExpr._null());
+    }
+
+    private void addArrayLookup(JDefinedClass _enum, JVar valueParam, JBlock body, Map<Integer, String> constantNames, int min, int max) {
+        JArray constants = JExpr.newArray(_enum);
+        for (long value = min; value <= max; value++) {
+            String constantName = constantNames.get((int) value);
+            constants.add(constantName == null ? JExpr._null() : _enum.enumConstant(constantName));
+        }
+        JFieldVar constantsField = _enum.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, _enum.array(), "CONSTANTS", constants);
+
+        JExpression index;
+        if (min >= 0) {
+            index = min == 0 ? valueParam : valueParam.minus(JExpr.lit(min));
+        } else if (min > Integer.MIN_VALUE) {
+            index = valueParam.plus(JExpr.lit(-min));
+        } else {
+            index = valueParam.minus(_enum.owner().ref(Integer.class).staticRef("MIN_VALUE"));
+        }
+        body._if(valueParam.gte(JExpr.lit(min)).cand(valueParam.lte(JExpr.lit(max))))._then()._return(constantsField.component(index));
+        body._return(JExpr._null());
+    }
+
+    private void addHashLookup(JDefinedClass _enum, JVar valueParam, JBlock body, Map<Integer, String> constantNames) {
+        // a power of two at least twice the size, so that probes are short and always reach an empty slot
+        int bits = 32 - Integer.numberOfLeadingZeros(2 * constantNames.size() - 1);
+        int size = 1 << bits;
+
+        int[] slotValues = new int[size];
+        String[] slotNames = new String[size];
+        for (Map.Entry<Integer, String> constantName : constantNames.entrySet()) {
+            int slot = hash(constantName.getKey(), bits);
+            while (slotNames[slot] != null) {
+                slot = (slot + 1) & (size - 1);
+            }
+            slotValues[slot] = constantName.getKey();
+            slotNames[slot] = constantName.getValue();
+        }
+
+        JArray values = JExpr.newArray(_enum.owner().INT);
+        JArray constants = JExpr.newArray(_enum);
+        for (int slot = 0; slot < size; slot++) {
+            values.add(JExpr.lit(slotValues[slot]));
+            constants.add(slotNames[slot] == null ? JExpr._null() : _enum.enumConstant(slotNames[slot]));
+        }
+        JFieldVar valuesField = _enum.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, _enum.owner().INT.array(), "CONSTANT_VALUES", values);
+        JFieldVar constantsField = _enum.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, _enum.array(), "CONSTANTS", constants);
+
+        JForLoop forLoop = body._for();
+        JVar slot = forLoop.init(_enum.owner().INT, "slot", valueParam.mul(JExpr.direct(String.format("0x%X", HASH_MULTIPLIER))).shrz(JExpr.lit(32 - bits)));
+        JExpression constant = constantsField.component(slot);
+        JExpression value = valuesField.component(slot);
+        forLoop.test(constant.ne(JExpr._null()));
+        forLoop.update(slot.assign(slot.plus(JExpr.lit(1)).band(JExpr.lit(size - 1))));
+        forLoop.body()._if(value.eq(valueParam))._then()._return(constant);
+        body._return(JExpr._null());
+    }
+
+    private static int hash(int value, int bits) {
+        return (value * HASH_MULTIPLIER) >>> (32 - bits);
+    }
+
+    private Map<Integer, String> getIntegerConstantNames(EnumDefinition enumDefinition) {
+        Map<Integer, String> constantNames = new LinkedHashMap<>();
+        for (EnumValueDefinition enumValueDefinition : enumDefinition.values()) {
+            try {
+                constantNames.put(Integer.parseInt(enumValueDefinition.getValue()), enumValueDefinition.getName());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return constantNames;
+    }
+
+    private boolean isInteger(JType type) {
+        return type.fullName().equals(Integer.class.getName()) || type.fullName().equals("int");
+    }
+
+    private boolean isStringSwitchSupported() {
+        return ruleFactory.getGenerationConfig() == null || JavaVersion.is7OrLater(ruleFactory.getGenerationConfig().getTargetVersion());
     }
 
     protected void addFieldAccessors(JDefinedClass _enum, JFieldVar valueField) {
@@ -457,11 +625,53 @@ public class EnumRule implements Rule<JClassContainer, JType> {
         String className = ruleFactory.getNameHelper().replaceIllegalCharacters(capitalize(fieldName));
         String normalizedName = ruleFactory.getNameHelper().normalizeName(className);
 
-        Collection<String> existingClassNames = new ArrayList<>();
-        for (Iterator<JDefinedClass> classes = container.classes(); classes.hasNext();) {
-            existingClassNames.add(classes.next().name());
-        }
-        return makeUnique(normalizedName, existingClassNames);
+        return makeUnique(normalizedName, getExistingClassNames(container));
+    }
+
+    /**
+     * A view of the names of the classes in the given container that looks up
+     * names in the container (rather than copying them).
+     */
+    private static Collection<String> getExistingClassNames(JClassContainer container) {
+        return new AbstractCollection<String>() {
+            @Override
+            public boolean contains(Object name) {
+                if (container instanceof JPackage) {
+                    return ((JPackage) container)._getClass((String) name) != null;
+                }
+                for (Iterator<JDefinedClass> classes = container.classes(); classes.hasNext();) {
+                    if (classes.next().name().equals(name)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public Iterator<String> iterator() {
+                Iterator<JDefinedClass> classes = container.classes();
+                return new Iterator<String>() {
+                    @Override
+                    public boolean hasNext() {
+                        return classes.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        return classes.next().name();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (Iterator<JDefinedClass> classes = container.classes(); classes.hasNext(); classes.next()) {
+                    size++;
+                }
+                return size;
+            }
+        };
     }
 
     protected String makeUnique(final String name, Collection<String> existingNames) {
@@ -502,7 +712,7 @@ public class EnumRule implements Rule<JClassContainer, JType> {
 
     protected void addInterfaces(JDefinedClass jclass, JsonNode javaInterfaces) {
         for (JsonNode i : javaInterfaces) {
-            jclass._implements(resolveType(jclass._package(), i.asText()));
+            jclass._implements(ruleFactory.getTypeResolutionCache().resolveType(jclass._package(), i.asText()));
         }
     }
 
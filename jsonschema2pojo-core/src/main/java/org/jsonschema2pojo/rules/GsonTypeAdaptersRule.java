@@ -0,0 +1,438 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.AnnotationStyle;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.util.JavaVersion;
+import org.jsonschema2pojo.util.ReflectionHelper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JTypeVar;
+import com.sun.codemodel.JVar;
+import com.sun.codemodel.JWhileLoop;
+
+/**
+ * Adds a Gson type adapter to a generated type, and registers it with a type
+ * adapter factory that is generated alongside the types.
+ * <p>
+ * The type adapter is a nested class of the type, so it can read and write its
+ * fields directly (properties inherited from a supertype are read and written
+ * through their getters and setters). Strings, numbers and booleans are
+ * written straight to the {@link JsonWriter} and, when the next token matches,
+ * read straight from the {@link JsonReader}; any other value is handed to the
+ * type adapter Gson provides for it. The adapter of an enum maps between JSON
+ * values and constants using the lookup map the enum already holds.
+ * <p>
+ * Types that need Gson features the adapter doesn't support (e.g. versioning
+ * or a custom {@link com.google.gson.annotations.JsonAdapter}) are left to
+ * Gson's reflective type adapters.
+ */
+public class GsonTypeAdaptersRule extends AbstractSerializersRule {
+
+    static final String FACTORY_CLASS_NAME = "GeneratedTypeAdapterFactory";
+
+    private static final String ADAPTER_CLASS_NAME = "GsonTypeAdapter";
+
+    private static final Set<String> SUPPORTED_FIELD_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            SerializedName.class.getName(), Expose.class.getName()));
+
+    GsonTypeAdaptersRule(RuleFactory ruleFactory, ReflectionHelper reflectionHelper) {
+        super(ruleFactory, reflectionHelper, FACTORY_CLASS_NAME, ADAPTER_CLASS_NAME);
+    }
+
+    @Override
+    public JDefinedClass apply(String nodeName, JsonNode node, JsonNode parent, JDefinedClass jclass, Schema currentSchema) {
+        if (ruleFactory.getGenerationConfig().getAnnotationStyle() != AnnotationStyle.GSON) {
+            return jclass;
+        }
+
+        if (jclass.getClassType() == ClassType.ENUM) {
+            addEnumAdapter(jclass);
+            return jclass;
+        }
+
+        List<Property> properties = getProperties(node, jclass, currentSchema);
+        JMethod constructor = ruleFactory.getGenerationConfig().isImmutable() ? getCanonicalConstructor(jclass) : null;
+        if (properties == null || !isSupported(jclass, properties, constructor, "com.google.gson.", Collections.<String>emptySet(), SUPPORTED_FIELD_ANNOTATIONS)) {
+            ruleFactory.getLogger().debug("Using Gson's reflective type adapter for " + jclass.fullName());
+            return jclass;
+        }
+
+        JDefinedClass adapter;
+        try {
+            adapter = jclass._class(JMod.PUBLIC | JMod.STATIC, ADAPTER_CLASS_NAME);
+        } catch (JClassAlreadyExistsException e) {
+            return jclass;
+        }
+
+        JCodeModel owner = jclass.owner();
+        adapter._extends(owner.ref(TypeAdapter.class).narrow(jclass));
+
+        JMethod adapterConstructor = adapter.constructor(JMod.PUBLIC);
+        JVar gson = adapterConstructor.param(Gson.class, "gson");
+
+        // values that aren't read and written directly go through the adapter Gson has for their type
+        Map<Property, JFieldVar> delegates = new LinkedHashMap<>();
+        Set<String> usedNames = new HashSet<>();
+        for (Property property : properties) {
+            JClass type = property.field.type().boxify();
+            String name = uniqueName(property.field.name() + "Adapter", usedNames);
+            JFieldVar delegate = adapter.field(JMod.PRIVATE | JMod.FINAL, owner.ref(TypeAdapter.class).narrow(type), name);
+            adapterConstructor.body().assign(JExpr._this().ref(delegate), gson.invoke("getAdapter").arg(getTypeExpression(owner, type)));
+            delegates.put(property, delegate);
+        }
+
+        JFieldVar gsonField = null;
+        for (Property property : properties) {
+            if (isPolymorphic(property.field.type())) {
+                gsonField = adapter.field(JMod.PRIVATE | JMod.FINAL, Gson.class, uniqueName("gson", usedNames));
+                adapterConstructor.body().assign(JExpr._this().ref(gsonField), gson);
+                break;
+            }
+        }
+
+        addWrite(jclass, adapter, properties, delegates, gsonField);
+        addRead(jclass, adapter, properties, delegates, constructor);
+        register(jclass, adapter);
+
+        return jclass;
+    }
+
+    /**
+     * Adds an adapter to an enum that has a {@link String} value, writing the
+     * value of each constant and finding the constant for a value with the
+     * enum's lookup method. Enums that aren't shaped like this are left to
+     * Gson's enum type adapter.
+     */
+    private void addEnumAdapter(JDefinedClass _enum) {
+        JFieldVar valueField = _enum.fields().get("value");
+        if (valueField == null || !valueField.type().fullName().equals(String.class.getName())) {
+            return;
+        }
+        JMethod lookup = getLookupMethod(_enum, valueField.type());
+        if (lookup == null) {
+            return;
+        }
+
+        JDefinedClass adapter;
+        try {
+            adapter = _enum._class(JMod.PUBLIC | JMod.STATIC, ADAPTER_CLASS_NAME);
+        } catch (JClassAlreadyExistsException e) {
+            return;
+        }
+
+        JCodeModel owner = _enum.owner();
+        JClass jsonToken = owner.ref(JsonToken.class);
+        adapter._extends(owner.ref(TypeAdapter.class).narrow(_enum));
+
+        JMethod write = adapter.method(JMod.PUBLIC, void.class, "write");
+        write.annotate(Override.class);
+        write._throws(IOException.class);
+        JVar out = write.param(JsonWriter.class, "out");
+        JVar constant = write.param(_enum, "constant");
+        write.body().invoke(out, "value").arg(JOp.cond(constant.eq(JExpr._null()), JExpr._null(), constant.ref(valueField)));
+
+        JMethod read = adapter.method(JMod.PUBLIC, _enum, "read");
+        read.annotate(Override.class);
+        read._throws(IOException.class);
+        JVar in = read.param(JsonReader.class, "in");
+        JBlock isNull = read.body()._if(in.invoke("peek").eq(jsonToken.staticRef("NULL")))._then();
+        isNull.invoke(in, "nextNull");
+        isNull._return(JExpr._null());
+        read.body()._return(_enum.staticInvoke(lookup).arg(in.invoke("nextString")));
+
+        register(_enum, adapter);
+    }
+
+    private JMethod getLookupMethod(JDefinedClass _enum, JType valueType) {
+        for (JMethod method : _enum.methods()) {
+            if (method.name().equals("lookup") && method.params().size() == 1 && method.params().get(0).type().fullName().equals(valueType.fullName())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private void addWrite(JDefinedClass jclass, JDefinedClass adapter, List<Property> properties, Map<Property, JFieldVar> delegates, JFieldVar gson) {
+        JMethod write = adapter.method(JMod.PUBLIC, void.class, "write");
+        write.annotate(Override.class);
+        write._throws(IOException.class);
+        JVar out = write.param(JsonWriter.class, "out");
+        JVar value = write.param(jclass, "value");
+
+        JBlock body = write.body();
+        JBlock isNull = body._if(value.eq(JExpr._null()))._then();
+        isNull.invoke(out, "nullValue");
+        isNull._return();
+
+        body.invoke(out, "beginObject");
+        for (Property property : properties) {
+            JExpression propertyValue = read(jclass, value, property);
+            JType type = property.field.type();
+
+            // the name is dropped by the writer when the value is null and nulls aren't serialized
+            body.invoke(out, "name").arg(property.jsonName);
+            if (isDirect(type)) {
+                body.invoke(out, "value").arg(propertyValue);
+            } else if (isPolymorphic(type)) {
+                // like Gson, write an instance of a subtype using the subtype's adapter
+                JConditional isSubtype = body._if(propertyValue.ne(JExpr._null()).cand(propertyValue.invoke("getClass").ne(JExpr.dotclass((JClass) type))));
+                isSubtype._then().invoke(gson, "toJson").arg(propertyValue).arg(propertyValue.invoke("getClass")).arg(out);
+                isSubtype._else().invoke(delegates.get(property), "write").arg(out).arg(propertyValue);
+            } else {
+                body.invoke(delegates.get(property), "write").arg(out).arg(propertyValue);
+            }
+        }
+        body.invoke(out, "endObject");
+    }
+
+    private void addRead(JDefinedClass jclass, JDefinedClass adapter, List<Property> properties, Map<Property, JFieldVar> delegates,
+            JMethod canonicalConstructor) {
+        JCodeModel owner = jclass.owner();
+        JClass jsonToken = owner.ref(JsonToken.class);
+
+        JMethod read = adapter.method(JMod.PUBLIC, jclass, "read");
+        read.annotate(Override.class);
+        read._throws(IOException.class);
+        JVar in = read.param(JsonReader.class, "in");
+
+        JBlock body = read.body();
+        JBlock isNull = body._if(in.invoke("peek").eq(jsonToken.staticRef("NULL")))._then();
+        isNull.invoke(in, "nextNull");
+        isNull._return(JExpr._null());
+
+        // mutable types are populated as properties are read, immutable types are constructed once all have been read
+        JVar instance = null;
+        Map<Property, JVar> values = new LinkedHashMap<>();
+        Set<String> usedNames = new HashSet<>(Arrays.asList(in.name(), "instance", "name"));
+        if (canonicalConstructor == null) {
+            instance = body.decl(jclass, "instance", JExpr._new(jclass));
+        } else {
+            for (Property property : properties) {
+                JType type = property.field.type();
+                JExpression initialValue = type.isPrimitive() ? (type == owner.BOOLEAN ? JExpr.FALSE : JExpr.lit(0)) : JExpr._null();
+                values.put(property, body.decl(type, uniqueName(property.field.name(), usedNames), initialValue));
+            }
+        }
+
+        body.invoke(in, "beginObject");
+        JWhileLoop loop = body._while(in.invoke("hasNext"));
+        JBlock loopBody = loop.body();
+        JVar name = loopBody.decl(owner.ref(String.class), "name", in.invoke("nextName"));
+
+        boolean useSwitch = JavaVersion.is7OrLater(ruleFactory.getGenerationConfig().getTargetVersion());
+        JSwitch propertySwitch = useSwitch ? loopBody._switch(name) : null;
+        JConditional propertyIf = null;
+
+        for (Property property : properties) {
+            JBlock caseBody;
+            if (useSwitch) {
+                caseBody = propertySwitch._case(JExpr.lit(property.jsonName)).body();
+            } else {
+                JExpression isProperty = JExpr.lit(property.jsonName).invoke("equals").arg(name);
+                propertyIf = propertyIf == null ? loopBody._if(isProperty) : propertyIf._elseif(isProperty);
+                caseBody = propertyIf._then();
+            }
+
+            JType type = property.field.type();
+            JFieldVar delegate = delegates.get(property);
+            if (type.isPrimitive()) {
+                // like Gson, a null leaves a primitive unchanged
+                JConditional isDirectlyReadable = caseBody._if(in.invoke("peek").eq(jsonToken.staticRef(getToken(type))));
+                assign(isDirectlyReadable._then(), jclass, instance, values, property, readDirectly(type, in));
+                JBlock otherwise = isDirectlyReadable._else();
+                JVar value = otherwise.decl(type.boxify(), uniqueName(property.field.name(), usedNames), delegate.invoke("read").arg(in));
+                assign(otherwise._if(value.ne(JExpr._null()))._then(), jclass, instance, values, property, value);
+            } else if (isDirect(type)) {
+                JExpression value = JOp.cond(in.invoke("peek").eq(jsonToken.staticRef(getToken(type))),
+                        type.fullName().equals(String.class.getName()) ? readDirectly(type, in) : ((JClass) type).staticInvoke("valueOf").arg(readDirectly(type, in)),
+                        delegate.invoke("read").arg(in));
+                assign(caseBody, jclass, instance, values, property, value);
+            } else {
+                assign(caseBody, jclass, instance, values, property, delegate.invoke("read").arg(in));
+            }
+            if (useSwitch) {
+                caseBody._break();
+            }
+        }
+
+        // like Gson, unknown properties are skipped
+        JBlock defaultBody = useSwitch ? propertySwitch._default().body() : propertyIf == null ? loopBody : propertyIf._else();
+        defaultBody.invoke(in, "skipValue");
+        if (useSwitch) {
+            defaultBody._break();
+        }
+        body.invoke(in, "endObject");
+
+        if (instance == null) {
+            JInvocation newInstance = JExpr._new(jclass);
+            for (JVar param : canonicalConstructor.params()) {
+                for (Map.Entry<Property, JVar> value : values.entrySet()) {
+                    if (value.getKey().field.name().equals(param.name())) {
+                        newInstance.arg(value.getValue());
+                    }
+                }
+            }
+            body._return(newInstance);
+        } else {
+            body._return(instance);
+        }
+    }
+
+    private void assign(JBlock block, JDefinedClass jclass, JVar instance, Map<Property, JVar> values, Property property, JExpression value) {
+        if (instance == null) {
+            block.assign(values.get(property), value);
+        } else {
+            write(block, jclass, instance, property, value);
+        }
+    }
+
+    /**
+     * @return whether values of the given type are written directly to the
+     *         writer, and read directly from the reader when the next token
+     *         matches
+     */
+    private static boolean isDirect(JType type) {
+        return getToken(type) != null;
+    }
+
+    private static String getToken(JType type) {
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                return "STRING";
+            case "boolean":
+                return "BOOLEAN";
+            case "int":
+            case "long":
+            case "double":
+                return "NUMBER";
+            default:
+                return null;
+        }
+    }
+
+    private static JExpression readDirectly(JType type, JVar in) {
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                return in.invoke("nextString");
+            case "boolean":
+                return in.invoke("nextBoolean");
+            case "int":
+                return in.invoke("nextInt");
+            case "long":
+                return in.invoke("nextLong");
+            default:
+                return in.invoke("nextDouble");
+        }
+    }
+
+    /**
+     * @return whether a value of the given type may be an instance of a
+     *         generated subtype, which Gson would write with the subtype's
+     *         adapter
+     */
+    private static boolean isPolymorphic(JType type) {
+        return type instanceof JDefinedClass && ((JDefinedClass) type).getClassType() == ClassType.CLASS
+                && (((JDefinedClass) type).mods().getValue() & JMod.FINAL) == 0;
+    }
+
+    /**
+     * @return a class literal for the given type or, for a generic type, a
+     *         type token
+     */
+    private static JExpression getTypeExpression(JCodeModel owner, JClass type) {
+        if (type.getTypeParameters().isEmpty()) {
+            return JExpr.dotclass(type);
+        }
+        return JExpr._new(owner.anonymousClass(owner.ref(TypeToken.class).narrow(type)));
+    }
+
+    @Override
+    protected void addRegistration(JDefinedClass factory, JDefinedClass jclass, List<JDefinedClass> adapters) {
+        JMethod create = null;
+        for (JMethod method : factory.methods()) {
+            if (method.name().equals("create")) {
+                create = method;
+            }
+        }
+        JBlock body = create.body();
+        JVar rawType = (JVar) body.getContents().get(0);
+
+        // keep the trailing 'return null' last
+        body.pos(body.getContents().size() - 1);
+        JInvocation newAdapter = JExpr._new(adapters.get(0));
+        if (jclass.getClassType() != ClassType.ENUM) {
+            newAdapter.arg(create.params().get(0));
+        }
+        body._if(rawType.eq(JExpr.dotclass(jclass)))._then()._return(JExpr.cast(create.type(), newAdapter));
+        body.pos(body.getContents().size());
+    }
+
+    @Override
+    protected JDefinedClass getRegistryClass(JCodeModel owner) {
+        return getRegistryClass(owner, "Creates the Gson type adapters generated for each type.", factory -> {
+            factory._implements(TypeAdapterFactory.class);
+
+            JMethod create = factory.method(JMod.PUBLIC, owner.VOID, "create");
+            JTypeVar t = create.generify("T");
+            create.type(owner.ref(TypeAdapter.class).narrow(t));
+            create.annotate(Override.class);
+            create.annotate(SuppressWarnings.class).param("value", "unchecked");
+            create.param(Gson.class, "gson");
+            JVar type = create.param(owner.ref(TypeToken.class).narrow(t), "type");
+
+            create.body().decl(owner.ref(Class.class).narrow(owner.wildcard()), "rawType", type.invoke("getRawType"));
+            create.body()._return(JExpr._null());
+        });
+    }
+
+}
@@ -0,0 +1,441 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.AnnotationStyle;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.InclusionLevel;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.util.JavaVersion;
+import org.jsonschema2pojo.util.ReflectionHelper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JForLoop;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+
+/**
+ * Adds a Jackson serializer and deserializer to a generated type, and
+ * registers them with a Jackson module that is generated alongside the types.
+ * <p>
+ * The serializer and deserializer are nested classes of the type, so they can
+ * read and write its fields directly (properties inherited from a supertype
+ * are read and written through their getters and setters). The serializer
+ * writes property names from pre-encoded constants, and writes strings,
+ * numbers and booleans straight to the generator. The deserializer switches
+ * on property names (or compares them in turn, for targets earlier than Java
+ * 7) and reads strings, numbers and booleans straight from the parser. Any
+ * other value is handed back to Jackson.
+ * <p>
+ * Types that need Jackson features these classes don't support (e.g.
+ * polymorphic type information, views or custom formats) are left to
+ * Jackson's bean serializers and deserializers.
+ */
+public class JacksonSerializersRule extends AbstractSerializersRule {
+
+    static final String MODULE_CLASS_NAME = "GeneratedSerializersModule";
+
+    private static final String SERIALIZER_CLASS_NAME = "JacksonSerializer";
+    private static final String DESERIALIZER_CLASS_NAME = "JacksonDeserializer";
+
+    private static final Set<String> SUPPORTED_CLASS_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            JsonInclude.class.getName(), JsonPropertyOrder.class.getName()));
+
+    private static final Set<String> SUPPORTED_FIELD_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            JsonProperty.class.getName(), JsonPropertyDescription.class.getName(), JsonDeserialize.class.getName()));
+
+    JacksonSerializersRule(RuleFactory ruleFactory, ReflectionHelper reflectionHelper) {
+        super(ruleFactory, reflectionHelper, MODULE_CLASS_NAME, SERIALIZER_CLASS_NAME, DESERIALIZER_CLASS_NAME);
+    }
+
+    @Override
+    public JDefinedClass apply(String nodeName, JsonNode node, JsonNode parent, JDefinedClass jclass, Schema currentSchema) {
+        GenerationConfig config = ruleFactory.getGenerationConfig();
+        if (config.getAnnotationStyle() != AnnotationStyle.JACKSON && config.getAnnotationStyle() != AnnotationStyle.JACKSON2) {
+            return jclass;
+        }
+
+        List<Property> properties = getProperties(node, jclass, currentSchema);
+        JMethod constructor = config.isImmutable() ? getCanonicalConstructor(jclass) : null;
+        if (properties == null || !isSupported(jclass, properties, constructor)) {
+            ruleFactory.getLogger().debug("Using Jackson's bean serializer and deserializer for " + jclass.fullName());
+            return jclass;
+        }
+
+        JDefinedClass serializer;
+        JDefinedClass deserializer;
+        try {
+            serializer = jclass._class(JMod.PUBLIC | JMod.STATIC, SERIALIZER_CLASS_NAME);
+            deserializer = jclass._class(JMod.PUBLIC | JMod.STATIC, DESERIALIZER_CLASS_NAME);
+        } catch (JClassAlreadyExistsException e) {
+            return jclass;
+        }
+
+        JFieldVar additionalProperties = getAdditionalPropertiesField(jclass);
+
+        addSerializer(jclass, serializer, properties, additionalProperties);
+        addDeserializer(jclass, deserializer, properties, additionalProperties, constructor);
+        register(jclass, serializer, deserializer);
+
+        return jclass;
+    }
+
+    private boolean isSupported(JDefinedClass jclass, List<Property> properties, JMethod constructor) {
+        InclusionLevel inclusionLevel = ruleFactory.getGenerationConfig().getInclusionLevel();
+        if (inclusionLevel == InclusionLevel.NON_DEFAULT || inclusionLevel == InclusionLevel.USE_DEFAULTS) {
+            return false;
+        }
+        return isSupported(jclass, properties, constructor, "com.fasterxml.jackson.", SUPPORTED_CLASS_ANNOTATIONS, SUPPORTED_FIELD_ANNOTATIONS);
+    }
+
+    private void addSerializer(JDefinedClass jclass, JDefinedClass serializer, List<Property> properties, JFieldVar additionalProperties) {
+        JCodeModel owner = jclass.owner();
+        serializer._extends(owner.ref(StdSerializer.class).narrow(jclass));
+
+        JMethod constructor = serializer.constructor(JMod.PUBLIC);
+        constructor.body().invoke("super").arg(JExpr.dotclass(jclass));
+
+        JMethod serialize = serializer.method(JMod.PUBLIC, void.class, "serialize");
+        serialize.annotate(Override.class);
+        serialize._throws(IOException.class);
+        JVar instance = serialize.param(jclass, "instance");
+        JVar generator = serialize.param(JsonGenerator.class, "generator");
+        JVar provider = serialize.param(SerializerProvider.class, "provider");
+
+        InclusionLevel inclusionLevel = ruleFactory.getGenerationConfig().getInclusionLevel();
+
+        JBlock body = serialize.body();
+        body.invoke(generator, "writeStartObject");
+
+        for (Property property : properties) {
+            JFieldVar name = serializer.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, SerializedString.class,
+                    ruleFactory.getNameHelper().getConstantName(serializer, property.field.name()), JExpr._new(owner.ref(SerializedString.class)).arg(property.jsonName));
+
+            JExpression value = read(jclass, instance, property);
+            JType type = property.field.type();
+
+            if (type.isPrimitive()) {
+                body.invoke(generator, "writeFieldName").arg(name);
+                writeValue(body, value, type, generator, provider);
+            } else if (inclusionLevel == InclusionLevel.ALWAYS) {
+                body.invoke(generator, "writeFieldName").arg(name);
+                JConditional isNull = body._if(value.eq(JExpr._null()));
+                isNull._then().invoke(generator, "writeNull");
+                writeValue(isNull._else(), value, type, generator, provider);
+            } else {
+                JExpression included = value.ne(JExpr._null());
+                if (inclusionLevel == InclusionLevel.NON_EMPTY && isCollectionOrString(type)) {
+                    included = included.cand(value.invoke("isEmpty").not());
+                }
+                JBlock then = body._if(included)._then();
+                then.invoke(generator, "writeFieldName").arg(name);
+                writeValue(then, value, type, generator, provider);
+            }
+        }
+
+        if (additionalProperties != null) {
+            JClass valueType = ((JClass) additionalProperties.type()).getTypeParameters().get(1);
+            JForEach forEach = body.forEach(owner.ref(Map.Entry.class).narrow(owner.ref(String.class), valueType), "additionalProperty",
+                    instance.invoke("getAdditionalProperties").invoke("entrySet"));
+            forEach.body().invoke(generator, "writeFieldName").arg(forEach.var().invoke("getKey"));
+            forEach.body().invoke(provider, "defaultSerializeValue").arg(forEach.var().invoke("getValue")).arg(generator);
+        }
+
+        body.invoke(generator, "writeEndObject");
+    }
+
+    private static void writeValue(JBlock block, JExpression value, JType type, JVar generator, JVar provider) {
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                block.invoke(generator, "writeString").arg(value);
+                break;
+            case "boolean":
+                block.invoke(generator, "writeBoolean").arg(value);
+                break;
+            case "byte":
+            case "short":
+            case "int":
+            case "long":
+            case "float":
+            case "double":
+            case "java.math.BigInteger":
+            case "java.math.BigDecimal":
+                block.invoke(generator, "writeNumber").arg(value);
+                break;
+            default:
+                block.invoke(provider, "defaultSerializeValue").arg(value).arg(generator);
+                break;
+        }
+    }
+
+    private static boolean isCollectionOrString(JType type) {
+        String typeName = type.erasure().fullName();
+        return typeName.equals(String.class.getName()) || typeName.equals(List.class.getName())
+                || typeName.equals(Set.class.getName()) || typeName.equals(Map.class.getName());
+    }
+
+    private void addDeserializer(JDefinedClass jclass, JDefinedClass deserializer, List<Property> properties, JFieldVar additionalProperties,
+            JMethod canonicalConstructor) {
+        JCodeModel owner = jclass.owner();
+        JClass jsonToken = owner.ref(JsonToken.class);
+        deserializer._extends(owner.ref(StdDeserializer.class).narrow(jclass));
+
+        JMethod constructor = deserializer.constructor(JMod.PUBLIC);
+        constructor.body().invoke("super").arg(JExpr.dotclass(jclass));
+
+        JMethod deserialize = deserializer.method(JMod.PUBLIC, jclass, "deserialize");
+        deserialize.annotate(Override.class);
+        deserialize._throws(IOException.class);
+        JVar parser = deserialize.param(JsonParser.class, "parser");
+        JVar context = deserialize.param(DeserializationContext.class, "context");
+
+        JBlock body = deserialize.body();
+        JVar token = body.decl(jsonToken, "token", parser.invoke("currentToken"));
+        JConditional isStartObject = body._if(token.eq(jsonToken.staticRef("START_OBJECT")));
+        isStartObject._then().assign(token, parser.invoke("nextToken"));
+        isStartObject._elseif(token.ne(jsonToken.staticRef("FIELD_NAME")).cand(token.ne(jsonToken.staticRef("END_OBJECT"))))._then()
+                ._return(JExpr.cast(jclass, context.invoke("handleUnexpectedToken").arg(JExpr.dotclass(jclass)).arg(parser)));
+
+        // mutable types are populated as properties are read, immutable types are constructed once all have been read
+        JVar instance = null;
+        Map<Property, JVar> values = new LinkedHashMap<>();
+        if (canonicalConstructor == null) {
+            instance = body.decl(jclass, "instance", JExpr._new(jclass));
+        } else {
+            Set<String> usedNames = new HashSet<>(Arrays.asList(parser.name(), context.name(), token.name(), "fieldName"));
+            for (Property property : properties) {
+                JType type = property.field.type();
+                JExpression initialValue = type.isPrimitive() ? (type == owner.BOOLEAN ? JExpr.FALSE : JExpr.lit(0)) : JExpr._null();
+                values.put(property, body.decl(type, uniqueName(property.field.name(), usedNames), initialValue));
+            }
+        }
+
+        JForLoop loop = body._for();
+        loop.test(token.eq(jsonToken.staticRef("FIELD_NAME")));
+        loop.update(token.assign(parser.invoke("nextToken")));
+        JBlock loopBody = loop.body();
+        JVar fieldName = loopBody.decl(owner.ref(String.class), "fieldName", parser.invoke("currentName"));
+        loopBody.invoke(parser, "nextToken");
+
+        boolean useSwitch = JavaVersion.is7OrLater(ruleFactory.getGenerationConfig().getTargetVersion());
+        JSwitch propertySwitch = useSwitch ? loopBody._switch(fieldName) : null;
+        JConditional propertyIf = null;
+
+        for (Property property : properties) {
+            JBlock caseBody;
+            if (useSwitch) {
+                caseBody = propertySwitch._case(JExpr.lit(property.jsonName)).body();
+            } else {
+                JExpression isProperty = JExpr.lit(property.jsonName).invoke("equals").arg(fieldName);
+                propertyIf = propertyIf == null ? loopBody._if(isProperty) : propertyIf._elseif(isProperty);
+                caseBody = propertyIf._then();
+            }
+
+            JExpression value = readValue(deserializer, property.field.name(), property.field.type(), parser, context);
+            if (instance == null) {
+                caseBody.assign(values.get(property), value);
+            } else {
+                write(caseBody, jclass, instance, property, value);
+            }
+            if (useSwitch) {
+                caseBody._break();
+            }
+        }
+
+        JBlock defaultBody = useSwitch ? propertySwitch._default().body() : propertyIf == null ? loopBody : propertyIf._else();
+        if (additionalProperties != null && instance != null) {
+            JClass valueType = ((JClass) additionalProperties.type()).getTypeParameters().get(1);
+            defaultBody.invoke(instance, "setAdditionalProperty").arg(fieldName)
+                    .arg(readValue(deserializer, "additionalProperty", valueType, parser, context));
+        } else {
+            defaultBody.invoke("handleUnknownProperty").arg(parser).arg(context)
+                    .arg(instance == null ? JExpr.dotclass(jclass) : instance).arg(fieldName);
+        }
+        if (useSwitch) {
+            defaultBody._break();
+        }
+
+        if (instance == null) {
+            JInvocation newInstance = JExpr._new(jclass);
+            for (JVar param : canonicalConstructor.params()) {
+                for (Map.Entry<Property, JVar> value : values.entrySet()) {
+                    if (value.getKey().field.name().equals(param.name())) {
+                        newInstance.arg(value.getValue());
+                    }
+                }
+            }
+            body._return(newInstance);
+        } else {
+            body._return(instance);
+        }
+    }
+
+    /**
+     * @return an expression that reads a value of the given type from the
+     *         current token, directly from the parser when the token is a
+     *         string, number or boolean matching the type, and using Jackson
+     *         otherwise
+     */
+    private JExpression readValue(JDefinedClass deserializer, String name, JType type, JVar parser, JVar context) {
+        JCodeModel owner = deserializer.owner();
+        JClass jsonToken = owner.ref(JsonToken.class);
+        JExpression token = parser.invoke("currentToken");
+
+        JExpression isDirectlyReadable = null;
+        JExpression directValue = null;
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                isDirectlyReadable = token.eq(jsonToken.staticRef("VALUE_STRING"));
+                directValue = parser.invoke("getText");
+                break;
+            case "boolean":
+                isDirectlyReadable = token.invoke("isBoolean");
+                directValue = parser.invoke("getBooleanValue");
+                break;
+            case "byte":
+                isDirectlyReadable = token.eq(jsonToken.staticRef("VALUE_NUMBER_INT"));
+                directValue = parser.invoke("getByteValue");
+                break;
+            case "short":
+                isDirectlyReadable = token.eq(jsonToken.staticRef("VALUE_NUMBER_INT"));
+                directValue = parser.invoke("getShortValue");
+                break;
+            case "int":
+                isDirectlyReadable = token.eq(jsonToken.staticRef("VALUE_NUMBER_INT"));
+                directValue = parser.invoke("getIntValue");
+                break;
+            case "long":
+                isDirectlyReadable = token.eq(jsonToken.staticRef("VALUE_NUMBER_INT"));
+                directValue = parser.invoke("getLongValue");
+                break;
+            case "java.math.BigInteger":
+                isDirectlyReadable = token.eq(jsonToken.staticRef("VALUE_NUMBER_INT"));
+                directValue = parser.invoke("getBigIntegerValue");
+                break;
+            case "float":
+                isDirectlyReadable = token.invoke("isNumeric");
+                directValue = parser.invoke("getFloatValue");
+                break;
+            case "double":
+                isDirectlyReadable = token.invoke("isNumeric");
+                directValue = parser.invoke("getDoubleValue");
+                break;
+            case "java.math.BigDecimal":
+                isDirectlyReadable = token.invoke("isNumeric");
+                directValue = parser.invoke("getDecimalValue");
+                break;
+            default:
+                break;
+        }
+
+        JExpression typeExpression = getTypeExpression(deserializer, name, type);
+        JExpression value = context.invoke("readValue").arg(parser).arg(typeExpression);
+        if (typeExpression instanceof JFieldVar) {
+            // the value of a generic type can't be inferred from a Jackson type
+            value = JExpr.cast(type, value);
+        }
+        if (directValue != null) {
+            value = JOp.cond(isDirectlyReadable, directValue, value);
+        }
+        if (!type.isPrimitive()) {
+            value = JOp.cond(token.eq(jsonToken.staticRef("VALUE_NULL")), JExpr._null(), value);
+        }
+        return value;
+    }
+
+    /**
+     * @return a class literal for the given type or, for a generic type, a
+     *         constant holding its Jackson type
+     */
+    private JExpression getTypeExpression(JDefinedClass deserializer, String name, JType type) {
+        if (type.isPrimitive()) {
+            return type.boxify().staticRef("TYPE");
+        }
+
+        JClass jclass = (JClass) type;
+        if (jclass.getTypeParameters().isEmpty()) {
+            return JExpr.dotclass(jclass);
+        }
+
+        JCodeModel owner = deserializer.owner();
+        if (jclass.erasure().equals(owner.ref(Set.class))) {
+            // matches the @JsonDeserialize(as = LinkedHashSet.class) added to set properties
+            jclass = owner.ref(LinkedHashSet.class).narrow(jclass.getTypeParameters());
+        }
+
+        JDefinedClass typeReference = owner.anonymousClass(owner.ref(TypeReference.class).narrow(jclass));
+        JInvocation javaType = owner.ref(TypeFactory.class).staticInvoke("defaultInstance").invoke("constructType").arg(JExpr._new(typeReference));
+        return deserializer.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, JavaType.class, ruleFactory.getNameHelper().getConstantName(deserializer, name + "Type"), javaType);
+    }
+
+    @Override
+    protected void addRegistration(JDefinedClass module, JDefinedClass jclass, List<JDefinedClass> adapters) {
+        JBlock body = module.getConstructor(new JType[0]).body();
+        body.invoke("addSerializer").arg(JExpr.dotclass(jclass)).arg(JExpr._new(adapters.get(0)));
+        body.invoke("addDeserializer").arg(JExpr.dotclass(jclass)).arg(JExpr._new(adapters.get(1)));
+    }
+
+    @Override
+    protected JDefinedClass getRegistryClass(JCodeModel owner) {
+        return getRegistryClass(owner, "Registers the Jackson serializers and deserializers generated for each type.", module -> {
+            module._extends(SimpleModule.class);
+            module.constructor(JMod.PUBLIC).body().invoke("super").arg(JExpr.lit(MODULE_CLASS_NAME));
+        });
+    }
+
+}
@@ -63,6 +63,9 @@ public class MinItemsMaxItemsRule implements Rule<JFieldVar, JFieldVar> {
     }
 
     private boolean isApplicableType(JFieldVar field) {
+        if (field.type().isArray()) {
+            return true;
+        }
         try {
             String typeName = field.type().boxify().fullName();
             // For collections, the full name will be something like 'java.util.List<String>' and we
@@ -76,8 +79,7 @@ public class MinItemsMaxItemsRule implements Rule<JFieldVar, JFieldVar> {
             return String.class.isAssignableFrom(fieldClass)
                     || Collection.class.isAssignableFrom(fieldClass)
                     || Map.class.isAssignableFrom(fieldClass)
-                    || Array.class.isAssignableFrom(fieldClass)
-                    || field.type().isArray();
+                    || Array.class.isAssignableFrom(fieldClass);
         } catch (ClassNotFoundException ignore) {
             return false;
         }
@@ -0,0 +1,446 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jsonschema2pojo.AnnotationStyle;
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.util.ReflectionHelper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForLoop;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+import com.sun.codemodel.JWhileLoop;
+
+/**
+ * Adds a Moshi JSON adapter to a generated type, and registers it with a JSON
+ * adapter factory that is generated alongside the types.
+ * <p>
+ * The adapter is a nested class of the type, so it can read and write its
+ * fields directly (properties inherited from a supertype are read and written
+ * through their getters and setters). Property names are matched using
+ * <code>JsonReader.Options</code>, so a name that is expected is selected
+ * without being decoded. Strings, numbers and booleans are written straight to
+ * the <code>JsonWriter</code> and, when the next token matches, read straight
+ * from the <code>JsonReader</code>; any other value is handed to the adapter
+ * Moshi provides for it. Like Moshi's reflective adapter, properties are
+ * written in order of their names. The adapter of an enum selects constants
+ * using options built from the values of the enum's constants.
+ * <p>
+ * Types that need Moshi features the adapter doesn't support (e.g. a custom
+ * qualifier annotation) are left to Moshi's reflective adapters.
+ */
+public class MoshiAdaptersRule extends AbstractSerializersRule {
+
+    static final String FACTORY_CLASS_NAME = "GeneratedJsonAdapterFactory";
+
+    private static final String ADAPTER_CLASS_NAME = "MoshiJsonAdapter";
+
+    private static final String MOSHI_PACKAGE = "com.squareup.moshi.";
+
+    private static final Set<String> SUPPORTED_FIELD_ANNOTATIONS = Collections.singleton(MOSHI_PACKAGE + "Json");
+
+    private final Map<JCodeModel, Map<String, JClass>> moshiClasses = Collections.synchronizedMap(new WeakHashMap<>());
+
+    MoshiAdaptersRule(RuleFactory ruleFactory, ReflectionHelper reflectionHelper) {
+        super(ruleFactory, reflectionHelper, FACTORY_CLASS_NAME, ADAPTER_CLASS_NAME);
+    }
+
+    @Override
+    public JDefinedClass apply(String nodeName, JsonNode node, JsonNode parent, JDefinedClass jclass, Schema currentSchema) {
+        if (ruleFactory.getGenerationConfig().getAnnotationStyle() != AnnotationStyle.MOSHI1) {
+            return jclass;
+        }
+
+        if (jclass.getClassType() == ClassType.ENUM) {
+            addEnumAdapter(jclass);
+            return jclass;
+        }
+
+        List<Property> properties = getProperties(node, jclass, currentSchema);
+        JMethod constructor = ruleFactory.getGenerationConfig().isImmutable() ? getCanonicalConstructor(jclass) : null;
+        if (properties == null || !isSupported(jclass, properties, constructor, MOSHI_PACKAGE, Collections.<String>emptySet(), SUPPORTED_FIELD_ANNOTATIONS)) {
+            ruleFactory.getLogger().debug("Using Moshi's reflective adapter for " + jclass.fullName());
+            return jclass;
+        }
+
+        JCodeModel owner = jclass.owner();
+        Map<Property, JExpression> types = new LinkedHashMap<>();
+        for (Property property : properties) {
+            if (!property.field.type().isPrimitive()) {
+                JExpression type = getTypeExpression(owner, (JClass) property.field.type());
+                if (type == null) {
+                    ruleFactory.getLogger().debug("Using Moshi's reflective adapter for " + jclass.fullName());
+                    return jclass;
+                }
+                types.put(property, type);
+            }
+        }
+
+        JDefinedClass adapter;
+        try {
+            adapter = jclass._class(JMod.PUBLIC | JMod.STATIC, ADAPTER_CLASS_NAME);
+        } catch (JClassAlreadyExistsException e) {
+            return jclass;
+        }
+
+        adapter._extends(moshiClass(owner, "JsonAdapter").narrow(jclass));
+
+        JInvocation options = moshiClass(owner, "JsonReader.Options").staticInvoke("of");
+        for (Property property : properties) {
+            options.arg(JExpr.lit(property.jsonName));
+        }
+        JFieldVar optionsField = adapter.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, moshiClass(owner, "JsonReader.Options"), "OPTIONS", options);
+
+        JMethod adapterConstructor = adapter.constructor(JMod.PUBLIC);
+        JVar moshi = adapterConstructor.param(moshiClass(owner, "Moshi"), "moshi");
+
+        // values that aren't read and written directly go through the adapter Moshi has for their type
+        Map<Property, JFieldVar> delegates = new LinkedHashMap<>();
+        Set<String> usedNames = new HashSet<>();
+        for (Map.Entry<Property, JExpression> type : types.entrySet()) {
+            Property property = type.getKey();
+            JClass adapterType = moshiClass(owner, "JsonAdapter").narrow(property.field.type().boxify());
+            JFieldVar delegate = adapter.field(JMod.PRIVATE | JMod.FINAL, adapterType, uniqueName(property.field.name() + "Adapter", usedNames));
+            adapterConstructor.body().assign(JExpr._this().ref(delegate), moshi.invoke("adapter").arg(type.getValue()));
+            delegates.put(property, delegate);
+        }
+
+        addToJson(jclass, adapter, properties, delegates);
+        addFromJson(jclass, adapter, properties, delegates, optionsField, constructor);
+        register(jclass, adapter);
+
+        return jclass;
+    }
+
+    /**
+     * Adds an adapter to an enum that has a {@link String} value, selecting
+     * constants using options built from their values. Enums that aren't
+     * shaped like this are left to Moshi's enum adapter.
+     */
+    private void addEnumAdapter(JDefinedClass _enum) {
+        JFieldVar valueField = _enum.fields().get("value");
+        if (valueField == null || !valueField.type().fullName().equals(String.class.getName())) {
+            return;
+        }
+
+        JDefinedClass adapter;
+        try {
+            adapter = _enum._class(JMod.PUBLIC | JMod.STATIC, ADAPTER_CLASS_NAME);
+        } catch (JClassAlreadyExistsException e) {
+            return;
+        }
+
+        JCodeModel owner = _enum.owner();
+        adapter._extends(moshiClass(owner, "JsonAdapter").narrow(_enum));
+
+        int mods = JMod.PRIVATE | JMod.STATIC | JMod.FINAL;
+        JFieldVar constants = adapter.field(mods, _enum.array(), "CONSTANTS", _enum.staticInvoke("values"));
+        JFieldVar values = adapter.field(mods, owner.ref(String.class).array(), "VALUES", JExpr.newArray(owner.ref(String.class), constants.ref("length")));
+        JFieldVar options = adapter.field(mods, moshiClass(owner, "JsonReader.Options"), "OPTIONS");
+
+        JForLoop forLoop = adapter.init()._for();
+        JVar i = forLoop.init(owner.INT, "i", JExpr.lit(0));
+        forLoop.test(i.lt(constants.ref("length")));
+        forLoop.update(i.incr());
+        forLoop.body().assign(values.component(i), JExpr.ref(constants.component(i), valueField));
+        adapter.init().assign(options, moshiClass(owner, "JsonReader.Options").staticInvoke("of").arg(values));
+
+        JMethod toJson = adapter.method(JMod.PUBLIC, void.class, "toJson");
+        toJson.annotate(Override.class);
+        toJson._throws(IOException.class);
+        JVar writer = toJson.param(moshiClass(owner, "JsonWriter"), "writer");
+        JVar constant = toJson.param(_enum, "constant");
+        toJson.body().invoke(writer, "value").arg(JOp.cond(constant.eq(JExpr._null()), JExpr._null(), constant.ref(valueField)));
+
+        JMethod fromJson = adapter.method(JMod.PUBLIC, _enum, "fromJson");
+        fromJson.annotate(Override.class);
+        fromJson._throws(IOException.class);
+        JVar reader = fromJson.param(moshiClass(owner, "JsonReader"), "reader");
+        JBlock body = fromJson.body();
+        JBlock isNull = body._if(reader.invoke("peek").eq(moshiClass(owner, "JsonReader.Token").staticRef("NULL")))._then();
+        isNull.invoke(reader, "nextNull");
+        isNull._return(JExpr._null());
+        JVar index = body.decl(owner.INT, "index", reader.invoke("selectString").arg(options));
+        body._if(index.ne(JExpr.lit(-1)))._then()._return(constants.component(index));
+
+        // the same failure as Moshi's enum adapter
+        JVar path = body.decl(owner.ref(String.class), "path", reader.invoke("getPath"));
+        JVar value = body.decl(owner.ref(String.class), "value", reader.invoke("nextString"));
+        body._throw(JExpr._new(moshiClass(owner, "JsonDataException")).arg(JExpr.lit("Expected one of ")
+                .plus(owner.ref(Arrays.class).staticInvoke("asList").arg(values)).plus(JExpr.lit(" but was ")).plus(value)
+                .plus(JExpr.lit(" at path ")).plus(path)));
+
+        register(_enum, adapter);
+    }
+
+    private void addToJson(JDefinedClass jclass, JDefinedClass adapter, List<Property> properties, Map<Property, JFieldVar> delegates) {
+        JMethod toJson = adapter.method(JMod.PUBLIC, void.class, "toJson");
+        toJson.annotate(Override.class);
+        toJson._throws(IOException.class);
+        JVar writer = toJson.param(moshiClass(jclass.owner(), "JsonWriter"), "writer");
+        JVar value = toJson.param(jclass, "value");
+
+        JBlock body = toJson.body();
+        JBlock isNull = body._if(value.eq(JExpr._null()))._then();
+        isNull.invoke(writer, "nullValue");
+        isNull._return();
+
+        // like Moshi's reflective adapter, properties are written in order of their names
+        List<Property> sortedProperties = new ArrayList<>(properties);
+        Collections.sort(sortedProperties, new Comparator<Property>() {
+            @Override
+            public int compare(Property property, Property other) {
+                return property.jsonName.compareTo(other.jsonName);
+            }
+        });
+
+        body.invoke(writer, "beginObject");
+        for (Property property : sortedProperties) {
+            JExpression propertyValue = read(jclass, value, property);
+
+            // the name is dropped by the writer when the value is null and nulls aren't serialized
+            body.invoke(writer, "name").arg(property.jsonName);
+            if (property.field.type().isPrimitive() || getToken(property.field.type()) != null) {
+                body.invoke(writer, "value").arg(propertyValue);
+            } else {
+                body.invoke(delegates.get(property), "toJson").arg(writer).arg(propertyValue);
+            }
+        }
+        body.invoke(writer, "endObject");
+    }
+
+    private void addFromJson(JDefinedClass jclass, JDefinedClass adapter, List<Property> properties, Map<Property, JFieldVar> delegates,
+            JFieldVar options, JMethod canonicalConstructor) {
+        JCodeModel owner = jclass.owner();
+        JClass token = moshiClass(owner, "JsonReader.Token");
+
+        JMethod fromJson = adapter.method(JMod.PUBLIC, jclass, "fromJson");
+        fromJson.annotate(Override.class);
+        fromJson._throws(IOException.class);
+        JVar reader = fromJson.param(moshiClass(owner, "JsonReader"), "reader");
+
+        JBlock body = fromJson.body();
+        JBlock isNull = body._if(reader.invoke("peek").eq(token.staticRef("NULL")))._then();
+        isNull.invoke(reader, "nextNull");
+        isNull._return(JExpr._null());
+
+        // mutable types are populated as properties are read, immutable types are constructed once all have been read
+        JVar instance = null;
+        Map<Property, JVar> values = new LinkedHashMap<>();
+        if (canonicalConstructor == null) {
+            instance = body.decl(jclass, "instance", JExpr._new(jclass));
+        } else {
+            Set<String> usedNames = new HashSet<>(Arrays.asList(reader.name()));
+            for (Property property : properties) {
+                JType type = property.field.type();
+                JExpression initialValue = type.isPrimitive() ? (type == owner.BOOLEAN ? JExpr.FALSE : JExpr.lit(0)) : JExpr._null();
+                values.put(property, body.decl(type, uniqueName(property.field.name(), usedNames), initialValue));
+            }
+        }
+
+        body.invoke(reader, "beginObject");
+        JWhileLoop loop = body._while(reader.invoke("hasNext"));
+        JSwitch propertySwitch = loop.body()._switch(reader.invoke("selectName").arg(options));
+
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            JBlock caseBody = propertySwitch._case(JExpr.lit(i)).body();
+
+            JType type = property.field.type();
+            JExpression value;
+            if (type.isPrimitive()) {
+                // like Moshi, a null is rejected by the reader
+                value = readDirectly(type, reader);
+            } else if (getToken(type) != null) {
+                JExpression directValue = type.fullName().equals(String.class.getName()) ? readDirectly(type, reader)
+                        : ((JClass) type).staticInvoke("valueOf").arg(readDirectly(type, reader));
+                value = JOp.cond(reader.invoke("peek").eq(token.staticRef(getToken(type))), directValue,
+                        delegates.get(property).invoke("fromJson").arg(reader));
+            } else {
+                value = delegates.get(property).invoke("fromJson").arg(reader);
+            }
+
+            if (instance == null) {
+                caseBody.assign(values.get(property), value);
+            } else {
+                write(caseBody, jclass, instance, property, value);
+            }
+            caseBody._break();
+        }
+
+        // like Moshi, unknown properties are skipped (unless the reader is set to fail on them)
+        JBlock defaultBody = propertySwitch._default().body();
+        defaultBody.invoke(reader, "skipName");
+        defaultBody.invoke(reader, "skipValue");
+        defaultBody._break();
+        body.invoke(reader, "endObject");
+
+        if (instance == null) {
+            JInvocation newInstance = JExpr._new(jclass);
+            for (JVar param : canonicalConstructor.params()) {
+                for (Map.Entry<Property, JVar> value : values.entrySet()) {
+                    if (value.getKey().field.name().equals(param.name())) {
+                        newInstance.arg(value.getValue());
+                    }
+                }
+            }
+            body._return(newInstance);
+        } else {
+            body._return(instance);
+        }
+    }
+
+    /**
+     * @return the reader token for values of the given type that are read
+     *         directly from the reader, or <code>null</code> for values that
+     *         are read by Moshi
+     */
+    private static String getToken(JType type) {
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                return "STRING";
+            case "boolean":
+                return "BOOLEAN";
+            case "int":
+            case "long":
+            case "double":
+                return "NUMBER";
+            default:
+                return null;
+        }
+    }
+
+    private static JExpression readDirectly(JType type, JVar reader) {
+        switch (type.unboxify().fullName()) {
+            case "java.lang.String":
+                return reader.invoke("nextString");
+            case "boolean":
+                return reader.invoke("nextBoolean");
+            case "int":
+                return reader.invoke("nextInt");
+            case "long":
+                return reader.invoke("nextLong");
+            case "double":
+                return reader.invoke("nextDouble");
+            default:
+                // other primitives have no reader method of their own
+                return JExpr.cast(type, reader.invoke("nextDouble"));
+        }
+    }
+
+    /**
+     * @return an expression for the given type, as a class literal or (for a
+     *         generic type) a parameterized type, or <code>null</code> if the
+     *         type contains a wildcard
+     */
+    private JExpression getTypeExpression(JCodeModel owner, JClass type) {
+        if (type.fullName().startsWith("?")) {
+            return null;
+        }
+        if (type.getTypeParameters().isEmpty()) {
+            return JExpr.dotclass(type);
+        }
+
+        JInvocation parameterizedType = moshiClass(owner, "Types").staticInvoke("newParameterizedType").arg(JExpr.dotclass(type.erasure()));
+        for (JClass typeParameter : type.getTypeParameters()) {
+            JExpression typeArgument = getTypeExpression(owner, typeParameter);
+            if (typeArgument == null) {
+                return null;
+            }
+            parameterizedType.arg(typeArgument);
+        }
+        return parameterizedType;
+    }
+
+    @Override
+    protected void addRegistration(JDefinedClass factory, JDefinedClass jclass, List<JDefinedClass> adapters) {
+        JMethod create = null;
+        for (JMethod method : factory.methods()) {
+            if (method.name().equals("create")) {
+                create = method;
+            }
+        }
+        JBlock body = create.body();
+
+        // keep the trailing 'return null' last
+        body.pos(body.getContents().size() - 1);
+        JInvocation newAdapter = JExpr._new(adapters.get(0));
+        if (jclass.getClassType() != ClassType.ENUM) {
+            newAdapter.arg(create.params().get(2));
+        }
+        body._if(create.params().get(0).eq(JExpr.dotclass(jclass)))._then()._return(newAdapter);
+        body.pos(body.getContents().size());
+    }
+
+    @Override
+    protected JDefinedClass getRegistryClass(JCodeModel owner) {
+        return getRegistryClass(owner, "Creates the Moshi JSON adapters generated for each type.", factory -> {
+            factory._implements(moshiClass(owner, "JsonAdapter.Factory"));
+
+            JMethod create = factory.method(JMod.PUBLIC, moshiClass(owner, "JsonAdapter").narrow(owner.wildcard()), "create");
+            create.annotate(Override.class);
+            create.param(Type.class, "type");
+            JVar annotations = create.param(owner.ref(Set.class).narrow(owner.ref(Annotation.class).wildcard()), "annotations");
+            create.param(moshiClass(owner, "Moshi"), "moshi");
+
+            // like Moshi's reflective adapters, the generated adapters don't apply to qualified types
+            create.body()._if(annotations.invoke("isEmpty").not())._then()._return(JExpr._null());
+            create.body()._return(JExpr._null());
+        });
+    }
+
+    /**
+     * Moshi isn't a dependency of this library, so its classes are referred to
+     * by name. Each is created once per code model, so that it is imported
+     * rather than written out in full.
+     */
+    private JClass moshiClass(JCodeModel owner, String name) {
+        return moshiClasses.computeIfAbsent(owner, o -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, n -> owner.directClass(MOSHI_PACKAGE + n));
+    }
+
+}
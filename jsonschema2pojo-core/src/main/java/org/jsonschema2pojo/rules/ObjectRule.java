@@ -18,17 +18,19 @@ package org.jsonschema2pojo.rules;
 
 import static org.apache.commons.lang3.StringUtils.*;
 import static org.jsonschema2pojo.rules.PrimitiveTypes.*;
-import static org.jsonschema2pojo.util.TypeUtil.*;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.jsonschema2pojo.AnnotationStyle;
 import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.Schema;
 import org.jsonschema2pojo.exception.ClassAlreadyExistsException;
 import org.jsonschema2pojo.exception.GenerationException;
@@ -64,6 +66,8 @@ import com.sun.codemodel.JVar;
  */
 public class ObjectRule implements Rule<JPackage, JType> {
 
+    private static final String CACHED_HASH_CODE_FIELD = "cachedHashCode";
+
     private final RuleFactory ruleFactory;
     private final ReflectionHelper reflectionHelper;
     private final ParcelableHelper parcelableHelper;
@@ -96,6 +100,14 @@ public class ObjectRule implements Rule<JPackage, JType> {
             return e.getExistingClass();
         }
 
+        if (ruleFactory.getGenerationConfig().isImmutable()) {
+            jclass.mods().setFinal(true);
+            if (superType instanceof JDefinedClass) {
+                // a generated supertype can't be final once it has subtypes
+                ((JDefinedClass) superType).mods().setFinal(false);
+            }
+        }
+
         jclass._extends((JClass) superType);
 
         schema.setJavaTypeIfEmpty(jclass);
@@ -113,7 +125,7 @@ public class ObjectRule implements Rule<JPackage, JType> {
         }
 
         // Creates the class definition for the builder
-        if(ruleFactory.getGenerationConfig().isGenerateBuilders() && ruleFactory.getGenerationConfig().isUseInnerClassBuilders()){
+        if(ruleFactory.getGenerationConfig().isGenerateBuilders() && ruleFactory.getGenerationConfig().isUseInnerClassBuilders() && !ruleFactory.getGenerationConfig().isImmutable()){
             ruleFactory.getBuilderRule().apply(nodeName, node, parent, jclass, schema);
         }
 
@@ -130,6 +142,10 @@ public class ObjectRule implements Rule<JPackage, JType> {
         if (node.has("required")) {
             ruleFactory.getRequiredArrayRule().apply(nodeName, node.get("required"), node, jclass, schema);
         }
+
+        if (ruleFactory.getGenerationConfig().isIncludeValidateMethod()) {
+            ruleFactory.getValidateMethodRule().apply(nodeName, node, parent, jclass, schema);
+        }
        
         if (ruleFactory.getGenerationConfig().isIncludeGeneratedAnnotation()) {
             AnnotationHelper.addGeneratedAnnotation(ruleFactory.getGenerationConfig(), jclass);
@@ -139,15 +155,15 @@ public class ObjectRule implements Rule<JPackage, JType> {
         }
 
         if (ruleFactory.getGenerationConfig().isIncludeHashcodeAndEquals()) {
-            addHashCode(jclass, node);
-            addEquals(jclass, node);
+            JFieldVar cachedHashCode = addHashCode(jclass, node, isCacheHashCode(jclass, node));
+            addEquals(jclass, node, cachedHashCode);
         }
 
         if (ruleFactory.getGenerationConfig().isParcelable()) {
             addParcelSupport(jclass);
         }
 
-        if (ruleFactory.getGenerationConfig().isIncludeConstructors()) {
+        if (ruleFactory.getGenerationConfig().isIncludeConstructors() || ruleFactory.getGenerationConfig().isImmutable()) {
             ruleFactory.getConstructorRule().apply(nodeName, node, parent, jclass, schema);
 
         }
@@ -156,6 +172,18 @@ public class ObjectRule implements Rule<JPackage, JType> {
             SerializableHelper.addSerializableSupport(jclass);
         }
 
+        if (ruleFactory.getGenerationConfig().isGenerateJacksonSerializers()) {
+            ruleFactory.getJacksonSerializersRule().apply(nodeName, node, parent, jclass, schema);
+        }
+
+        if (ruleFactory.getGenerationConfig().isGenerateGsonTypeAdapters()) {
+            ruleFactory.getGsonTypeAdaptersRule().apply(nodeName, node, parent, jclass, schema);
+        }
+
+        if (ruleFactory.getGenerationConfig().isGenerateMoshiAdapters()) {
+            ruleFactory.getMoshiAdaptersRule().apply(nodeName, node, parent, jclass, schema);
+        }
+
         return jclass;
 
     }
@@ -168,7 +196,7 @@ public class ObjectRule implements Rule<JPackage, JType> {
         parcelableHelper.addCreator(jclass);
         parcelableHelper.addConstructorFromParcel(jclass);
         // #742 : includeConstructors will include the default constructor
-        if (!ruleFactory.getGenerationConfig().isIncludeConstructors()) {
+        if (!ruleFactory.getGenerationConfig().isIncludeConstructors() && !ruleFactory.getGenerationConfig().isImmutable()) {
             // Add empty constructor
             jclass.constructor(JMod.PUBLIC);
         }
@@ -209,8 +237,8 @@ public class ObjectRule implements Rule<JPackage, JType> {
                     throw new ClassAlreadyExistsException(primitiveType(fqn, _package.owner()));
                 }
 
-                JClass existingClass = resolveType(_package, fqn + (node.get("existingJavaType").asText().contains("<") ? "<" + substringAfter(node.get("existingJavaType").asText(), "<") : ""));
-                throw new ClassAlreadyExistsException(existingClass);
+                JClass existingClass = ruleFactory.getTypeResolutionCache().resolveType(_package, fqn + (node.get("existingJavaType").asText().contains("<") ? "<" + substringAfter(node.get("existingJavaType").asText(), "<") : ""));
+                throw new ClassAlreadyExistsException(EnumCollections.toEnumMap(existingClass, ruleFactory));
             }
 
             boolean usePolymorphicDeserialization = annotator.isPolymorphicDeserializationSupported(node);
@@ -341,6 +369,8 @@ public class ObjectRule implements Rule<JPackage, JType> {
                                 .invoke("replace").arg(JExpr.lit('[')).arg(JExpr.lit('{'))
                                 .invoke("replace").arg(JExpr.lit(']')).arg(JExpr.lit('}'))
                                 .invoke("replace").arg(JExpr.lit(", ")).arg(JExpr.lit(",")))));
+            } else if (getEmptyValue(jclass, fieldVar) != null) {
+                body.add(sb.invoke("append").arg(getLazyFieldValue(jclass, fieldVar, JExpr.refthis(fieldVar.name()))));
             } else {
                 body.add(sb.invoke("append")
                         .arg(JOp.cond(
@@ -371,13 +401,66 @@ public class ObjectRule implements Rule<JPackage, JType> {
         toString.annotate(Override.class);
     }
 
-    private void addHashCode(JDefinedClass jclass, JsonNode node) {
+    /**
+     * Whether the hash code of the given type should be cached, either because
+     * cacheHashCode is enabled or because the schema has
+     * <code>"cacheHashCode" : true</code>. Only immutable types cache their
+     * hash code, and only when every property (including those of generated
+     * supertypes) is frozen by the canonical constructor (see
+     * {@link ConstructorRule#isFrozen(JType)}), since a change to a mutable
+     * collection or array would leave the cache stale.
+     */
+    private boolean isCacheHashCode(JDefinedClass jclass, JsonNode node) {
+        boolean cacheHashCode = node.has("cacheHashCode") ? node.get("cacheHashCode").asBoolean() : ruleFactory.getGenerationConfig().isCacheHashCode();
+        if (!cacheHashCode || !ruleFactory.getGenerationConfig().isImmutable()) {
+            return false;
+        }
+        JClass type = jclass;
+        for (; type instanceof JDefinedClass; type = type._extends()) {
+            for (JFieldVar fieldVar : ((JDefinedClass) type).fields().values()) {
+                if ((fieldVar.mods().getValue() & JMod.STATIC) == 0 && !ConstructorRule.isFrozen(fieldVar.type())) {
+                    return false;
+                }
+            }
+        }
+        return type.fullName().equals(Object.class.getName());
+    }
+
+    /**
+     * @return the field holding the cached hash code, or <code>null</code> if
+     *         the hash code isn't cached
+     */
+    private JFieldVar addHashCode(JDefinedClass jclass, JsonNode node, boolean cacheHashCode) {
         Map<String, JFieldVar> fields = removeFieldsExcludedFromEqualsAndHashCode(jclass.fields(), node);
 
         JMethod hashCode = jclass.method(JMod.PUBLIC, int.class, "hashCode");
         JBlock body = hashCode.body();
-        JVar result = body.decl(jclass.owner().INT, "result", JExpr.lit(1));
+        JVar result;
+        JFieldVar cachedHashCode = null;
+
+        if (cacheHashCode) {
+            // racy single-check: the hash is idempotent, so threads that see a stale zero just compute it again
+            String cachedHashCodeName = CACHED_HASH_CODE_FIELD;
+            while (jclass.fields().containsKey(cachedHashCodeName)) {
+                cachedHashCodeName = cachedHashCodeName + "_";
+            }
+            cachedHashCode = jclass.field(JMod.PRIVATE | JMod.TRANSIENT, int.class, cachedHashCodeName);
+            result = body.decl(jclass.owner().INT, "result", JExpr.refthis(cachedHashCode.name()));
+            JBlock notCached = body._if(result.eq(JExpr.lit(0)))._then();
+            notCached.assign(result, JExpr.lit(1));
+            addHashCodeCalculation(jclass, fields, notCached, result);
+            notCached.assign(JExpr.refthis(cachedHashCode.name()), result);
+        } else {
+            result = body.decl(jclass.owner().INT, "result", JExpr.lit(1));
+            addHashCodeCalculation(jclass, fields, body, result);
+        }
+
+        body._return(result);
+        hashCode.annotate(Override.class);
+        return cachedHashCode;
+    }
 
+    private void addHashCodeCalculation(JDefinedClass jclass, Map<String, JFieldVar> fields, JBlock body, JVar result) {
         // Incorporate each non-excluded field in the hashCode calculation
         for (JFieldVar fieldVar : fields.values()) {
             if ((fieldVar.mods().getValue() & JMod.STATIC) == JMod.STATIC) {
@@ -410,6 +493,8 @@ public class ObjectRule implements Rule<JPackage, JType> {
                 }
 
                 fieldHash = jclass.owner().ref(Arrays.class).staticInvoke("hashCode").arg(fieldRef);
+            } else if (getEmptyValue(jclass, fieldVar) != null) {
+                fieldHash = getLazyFieldValue(jclass, fieldVar, fieldRef).invoke("hashCode");
             } else {
                 fieldHash = JOp.cond(fieldRef.eq(JExpr._null()), JExpr.lit(0), fieldRef.invoke("hashCode"));
             }
@@ -421,9 +506,6 @@ public class ObjectRule implements Rule<JPackage, JType> {
         if (!jclass._extends().fullName().equals(Object.class.getName())) {
             body.assign(result, result.mul(JExpr.lit(31)).plus(JExpr._super().invoke("hashCode")));
         }
-
-        body._return(result);
-        hashCode.annotate(Override.class);
     }
 
     private Map<String, JFieldVar> removeFieldsExcludedFromEqualsAndHashCode(Map<String, JFieldVar> fields, JsonNode node) {
@@ -457,8 +539,11 @@ public class ObjectRule implements Rule<JPackage, JType> {
         return filteredFields;
     }
 
-    private void addEquals(JDefinedClass jclass, JsonNode node) {
+    private void addEquals(JDefinedClass jclass, JsonNode node, JFieldVar cachedHashCode) {
         Map<String, JFieldVar> fields = removeFieldsExcludedFromEqualsAndHashCode(jclass.fields(), node);
+        if (cachedHashCode != null) {
+            fields.remove(cachedHashCode.name());
+        }
 
         JMethod equals = jclass.method(JMod.PUBLIC, boolean.class, "equals");
         JVar otherObject = equals.param(Object.class, "other");
@@ -470,6 +555,13 @@ public class ObjectRule implements Rule<JPackage, JType> {
 
         JVar rhsVar = body.decl(jclass, "rhs").init(JExpr.cast(jclass, otherObject));
 
+        if (cachedHashCode != null) {
+            // objects with different hash codes can't be equal, so compare hash codes that have already been computed first
+            JFieldRef thisHashCode = JExpr.refthis(cachedHashCode.name());
+            JFieldRef otherHashCode = JExpr.ref(rhsVar, cachedHashCode.name());
+            body._if(thisHashCode.ne(JExpr.lit(0)).cand(otherHashCode.ne(JExpr.lit(0))).cand(thisHashCode.ne(otherHashCode)))._then()._return(JExpr.FALSE);
+        }
+
         JExpression result = JExpr.lit(true);
 
         // First, check super.equals(other)
@@ -505,6 +597,8 @@ public class ObjectRule implements Rule<JPackage, JType> {
                 }
 
                 fieldEquals = jclass.owner().ref(Arrays.class).staticInvoke("equals").arg(thisFieldRef).arg(otherFieldRef);
+            } else if (getEmptyValue(jclass, fieldVar) != null) {
+                fieldEquals = getLazyFieldValue(jclass, fieldVar, thisFieldRef).invoke("equals").arg(getLazyFieldValue(jclass, fieldVar, otherFieldRef));
             } else {
                 fieldEquals = thisFieldRef.eq(otherFieldRef).cor(
                         thisFieldRef.ne(JExpr._null())
@@ -520,9 +614,42 @@ public class ObjectRule implements Rule<JPackage, JType> {
         equals.annotate(Override.class);
     }
 
+    /**
+     * @return the empty value that the getter of the given field returns while
+     *         the field is lazily left null (see lazyCollections and
+     *         lazyAdditionalProperties), or <code>null</code> if the field is
+     *         not lazily allocated
+     */
+    private JExpression getEmptyValue(JDefinedClass jclass, JFieldVar fieldVar) {
+        GenerationConfig config = ruleFactory.getGenerationConfig();
+        String erasure = fieldVar.type().erasure().fullName();
+        JClass collections = jclass.owner().ref(Collections.class);
+
+        if (config.isInitializeCollections() && config.isLazyCollections()) {
+            if (erasure.equals(List.class.getName())) {
+                return collections.staticInvoke("emptyList");
+            } else if (erasure.equals(Set.class.getName())) {
+                return collections.staticInvoke("emptySet");
+            }
+        }
+        if (config.isLazyAdditionalProperties() && erasure.equals(Map.class.getName()) && fieldVar.name().equals("additionalProperties")) {
+            return collections.staticInvoke("emptyMap");
+        }
+        return null;
+    }
+
+    /**
+     * @return the value of a lazily allocated field as seen through its getter,
+     *         so that an instance whose field is still null and one holding an
+     *         empty collection or map are treated alike
+     */
+    private JExpression getLazyFieldValue(JDefinedClass jclass, JFieldVar fieldVar, JFieldRef fieldRef) {
+        return JOp.cond(fieldRef.eq(JExpr._null()), getEmptyValue(jclass, fieldVar), fieldRef);
+    }
+
     private void addInterfaces(JDefinedClass jclass, JsonNode javaInterfaces) {
         for (JsonNode i : javaInterfaces) {
-            jclass._implements(resolveType(jclass._package(), i.asText()));
+            jclass._implements(ruleFactory.getTypeResolutionCache().resolveType(jclass._package(), i.asText()));
         }
     }
 
@@ -16,6 +16,10 @@
 
 package org.jsonschema2pojo.rules;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
 import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.JsonPointerUtils;
 import org.jsonschema2pojo.Schema;
@@ -58,6 +62,10 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
      * (see {@link GenerationConfig#isGenerateBuilders()} ),
      * then a builder method of the form <code>withFoo(Foo foo);</code> is also
      * added.
+     * <p>
+     * When generating immutable types (see
+     * {@link GenerationConfig#isImmutable()}), the field is final and no
+     * setter or builder method is added.
      *
      * @param nodeName the name of the property to be applied
      * @param node     the node describing the characteristics of this property
@@ -87,10 +95,14 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
 
         boolean isIncludeGetters = ruleFactory.getGenerationConfig().isIncludeGetters();
         boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters();
+        boolean isImmutable = ruleFactory.getGenerationConfig().isImmutable();
 
         node = resolveRefs(node, schema);
 
         int accessModifier = isIncludeGetters || isIncludeSetters ? JMod.PRIVATE : JMod.PUBLIC;
+        if (isImmutable) {
+            accessModifier |= JMod.FINAL;
+        }
         JFieldVar field = jclass.field(accessModifier, propertyType, propertyName);
 
         propertyAnnotations(nodeName, node, schema, field);
@@ -105,13 +117,13 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
             propertyAnnotations(nodeName, node, schema, getter);
         }
 
-        if (isIncludeSetters) {
+        if (isIncludeSetters && !isImmutable) {
             JMethod setter = addSetter(jclass, field, nodeName, node);
             ruleFactory.getAnnotator().propertySetter(setter, jclass, nodeName);
             propertyAnnotations(nodeName, node, schema, setter);
         }
 
-        if (ruleFactory.getGenerationConfig().isGenerateBuilders()) {
+        if (ruleFactory.getGenerationConfig().isGenerateBuilders() && !isImmutable) {
             addBuilderMethod(jclass, field, nodeName, node);
         }
 
@@ -229,10 +241,10 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
     }
 
     private JType getReturnType(final JDefinedClass c, final JFieldVar field, final boolean required, final boolean usesOptional) {
-        JType returnType = field.type();
+        JType returnType = EnumCollections.toPropertyType(field.type());
         if (ruleFactory.getGenerationConfig().isUseOptionalForGetters() || usesOptional) {
             if (!required && field.type().isReference()) {
-                returnType = c.owner().ref("java.util.Optional").narrow(field.type());
+                returnType = c.owner().ref("java.util.Optional").narrow(returnType);
             }
         }
 
@@ -249,6 +261,11 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
         if ((ruleFactory.getGenerationConfig().isUseOptionalForGetters() || usesOptional) && !isRequired
                 && field.type().isReference()) {
             body._return(c.owner().ref("java.util.Optional").staticInvoke("ofNullable").arg(field));
+        } else if (isLazyCollection(field)) {
+            // collections are only allocated when set, until then share an immutable empty collection
+            String emptyCollection = field.type().erasure().fullName().equals(List.class.getName()) ? "emptyList" : "emptySet";
+            body._if(field.eq(JExpr._null()))._then()._return(c.owner().ref(Collections.class).staticInvoke(emptyCollection));
+            body._return(field);
         } else {
             body._return(field);
         }
@@ -256,12 +273,20 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
         return getter;
     }
 
+    private boolean isLazyCollection(JFieldVar field) {
+        if (!ruleFactory.getGenerationConfig().isLazyCollections() || !ruleFactory.getGenerationConfig().isInitializeCollections()) {
+            return false;
+        }
+        String erasure = field.type().erasure().fullName();
+        return erasure.equals(List.class.getName()) || erasure.equals(Set.class.getName());
+    }
+
     private JMethod addSetter(JDefinedClass c, JFieldVar field, String jsonPropertyName, JsonNode node) {
         JMethod setter = c.method(JMod.PUBLIC, void.class, getSetterName(jsonPropertyName, node));
 
-        JVar param = setter.param(field.type(), field.name());
+        JVar param = setter.param(EnumCollections.toPropertyType(field.type()), field.name());
         JBlock body = setter.body();
-        body.assign(JExpr._this().ref(field), param);
+        body.assign(JExpr._this().ref(field), EnumCollections.toFieldValue(field.type(), param, null));
 
         return setter;
     }
@@ -279,9 +304,9 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
     private JMethod addLegacyBuilder(JDefinedClass c, JFieldVar field, String jsonPropertyName, JsonNode node) {
         JMethod builder = c.method(JMod.PUBLIC, c, getBuilderName(jsonPropertyName, node));
 
-        JVar param = builder.param(field.type(), field.name());
+        JVar param = builder.param(EnumCollections.toPropertyType(field.type()), field.name());
         JBlock body = builder.body();
-        body.assign(JExpr._this().ref(field), param);
+        body.assign(JExpr._this().ref(field), EnumCollections.toFieldValue(field.type(), param, null));
         body._return(JExpr._this());
 
         return builder;
@@ -292,9 +317,9 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
 
         JMethod builderMethod = builderClass.method(JMod.PUBLIC, builderClass.narrow(builderClass.typeParams()), getBuilderName(jsonPropertyName, node));
 
-        JVar param = builderMethod.param(field.type(), field.name());
+        JVar param = builderMethod.param(EnumCollections.toPropertyType(field.type()), field.name());
         JBlock body = builderMethod.body();
-        body.assign(JExpr.ref(JExpr.cast(c, JExpr._this().ref("instance")), field), param);
+        body.assign(JExpr.ref(JExpr.cast(c, JExpr._this().ref("instance")), field), EnumCollections.toFieldValue(field.type(), param, null));
         body._return(JExpr._this());
 
         return builderMethod;
@@ -0,0 +1,131 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import java.util.Objects;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+
+/**
+ * Records that a generated type was registered with a registry class (the
+ * Jackson module, or the Gson or Moshi adapter factory) that lists the
+ * serialization code generated for every type.
+ * <p>
+ * A registry generated from only some of the sources (by one of several
+ * parallel workers, or by an incremental run) is incomplete, so registrations
+ * are kept in a form that outlives the code model they were made in. This
+ * allows a complete registry to be generated from the registrations made for
+ * all sources.
+ */
+public final class Registration {
+
+    private final String registryName;
+    private final String typeName;
+    private final boolean enumType;
+
+    /**
+     * @param registryName
+     *            the fully qualified name of the registry class
+     * @param typeName
+     *            the binary name of the registered type (e.g.
+     *            <code>com.example.Foo$Status</code>)
+     * @param enumType
+     *            whether the registered type is an enum
+     */
+    public Registration(String registryName, String typeName, boolean enumType) {
+        this.registryName = registryName;
+        this.typeName = typeName;
+        this.enumType = enumType;
+    }
+
+    Registration(JDefinedClass registry, JDefinedClass type) {
+        this(registry.fullName(), type.binaryName(), type.getClassType() == ClassType.ENUM);
+    }
+
+    public String getRegistryName() {
+        return registryName;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public boolean isEnumType() {
+        return enumType;
+    }
+
+    /**
+     * Finds or creates, in the given code model, a hidden class standing in
+     * for the registered type, so that it can be referred to without
+     * generating it again.
+     */
+    JDefinedClass getType(JCodeModel owner) {
+        String[] names = typeName.split("\\$");
+        JDefinedClass type = owner._getClass(names[0]);
+        try {
+            if (type == null) {
+                type = owner._class(JMod.PUBLIC, names[0], names.length == 1 && enumType ? ClassType.ENUM : ClassType.CLASS);
+                type.hide();
+            }
+            for (int i = 1; i < names.length; i++) {
+                type = getNestedClass(type, names[i], i == names.length - 1 && enumType ? ClassType.ENUM : ClassType.CLASS);
+            }
+        } catch (JClassAlreadyExistsException e) {
+            throw new IllegalStateException(e);
+        }
+        return type;
+    }
+
+    /**
+     * @return the nested class with the given name, created if it doesn't
+     *         exist yet
+     */
+    static JDefinedClass getNestedClass(JDefinedClass outer, String name, ClassType classType) {
+        try {
+            return outer._class(JMod.PUBLIC | JMod.STATIC, name, classType);
+        } catch (JClassAlreadyExistsException e) {
+            return e.getExistingClass();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Registration)) {
+            return false;
+        }
+        Registration registration = (Registration) other;
+        return registryName.equals(registration.registryName) && typeName.equals(registration.typeName) && enumType == registration.enumType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(registryName, typeName, enumType);
+    }
+
+    @Override
+    public String toString() {
+        return typeName + " in " + registryName;
+    }
+
+}
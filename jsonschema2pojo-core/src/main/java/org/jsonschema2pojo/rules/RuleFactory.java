@@ -16,6 +16,16 @@
 
 package org.jsonschema2pojo.rules;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 import org.jsonschema2pojo.Annotator;
 import org.jsonschema2pojo.DefaultGenerationConfig;
 import org.jsonschema2pojo.GenerationConfig;
@@ -26,9 +36,11 @@ import org.jsonschema2pojo.SchemaStore;
 import org.jsonschema2pojo.util.NameHelper;
 import org.jsonschema2pojo.util.ParcelableHelper;
 import org.jsonschema2pojo.util.ReflectionHelper;
+import org.jsonschema2pojo.util.TypeResolutionCache;
 
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JClassContainer;
+import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JDocComment;
 import com.sun.codemodel.JDocCommentable;
@@ -47,6 +59,10 @@ public class RuleFactory {
     private GenerationConfig generationConfig;
     private Annotator annotator;
     private SchemaStore schemaStore;
+    private boolean cacheRules;
+    private final TypeResolutionCache typeResolutionCache = new TypeResolutionCache();
+    private final Map<Class<?>, Rule<?, ?>> rules = new ConcurrentHashMap<>();
+    private final Map<JCodeModel, Set<Registration>> registrations = Collections.synchronizedMap(new WeakHashMap<>());
 
     /**
      * Create a new rule factory with the given generation config options.
@@ -86,7 +102,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "array" declaration.
      */
     public Rule<JPackage, JClass> getArrayRule() {
-        return new ArrayRule(this);
+        return cached(ArrayRule.class, () -> new ArrayRule(this));
     }
 
     /**
@@ -96,7 +112,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "description" declaration.
      */
     public Rule<JDocCommentable, JDocComment> getDescriptionRule() {
-        return new DescriptionRule();
+        return cached(DescriptionRule.class, () -> new DescriptionRule());
     }
 
     /**
@@ -106,7 +122,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "$comment" declaration.
      */
     public Rule<JDocCommentable, JDocComment> getCommentRule() {
-        return new CommentRule();
+        return cached(CommentRule.class, () -> new CommentRule());
     }
 
     /**
@@ -116,7 +132,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "enum" declaration.
      */
     public Rule<JClassContainer, JType> getEnumRule() {
-        return new EnumRule(this);
+        return cached(EnumRule.class, () -> new EnumRule(this));
     }
 
     /**
@@ -126,7 +142,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "format" declaration.
      */
     public Rule<JType, JType> getFormatRule() {
-        return new FormatRule(this);
+        return cached(FormatRule.class, () -> new FormatRule(this));
     }
 
     /**
@@ -136,7 +152,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "object" declaration.
      */
     public Rule<JPackage, JType> getObjectRule() {
-        return new ObjectRule(this, new ParcelableHelper(), reflectionHelper);
+        return cached(ObjectRule.class, () -> new ObjectRule(this, new ParcelableHelper(), reflectionHelper));
     }
 
     /**
@@ -146,7 +162,41 @@ public class RuleFactory {
      */
     public Rule<JDefinedClass, JDefinedClass> getConstructorRule()
     {
-        return new ConstructorRule(this, reflectionHelper);
+        return cached(ConstructorRule.class, () -> new ConstructorRule(this, reflectionHelper));
+    }
+
+    /**
+     * Provides a rule instance that should be applied to add Jackson
+     * serializers and deserializers to a generated type
+     *
+     * @return a rule that adds a nested serializer and deserializer to a
+     *         generated type, and registers them with a Jackson module
+     *         generated alongside the types.
+     */
+    public Rule<JDefinedClass, JDefinedClass> getJacksonSerializersRule() {
+        return cached(JacksonSerializersRule.class, () -> new JacksonSerializersRule(this, reflectionHelper));
+    }
+
+    /**
+     * Provides a rule instance that should be applied to add a Gson type
+     * adapter to a generated type or enum
+     *
+     * @return a schema rule that can handle the "object" and "enum"
+     *         declarations.
+     */
+    public Rule<JDefinedClass, JDefinedClass> getGsonTypeAdaptersRule() {
+        return cached(GsonTypeAdaptersRule.class, () -> new GsonTypeAdaptersRule(this, reflectionHelper));
+    }
+
+    /**
+     * Provides a rule instance that should be applied to add a Moshi JSON
+     * adapter to a generated type or enum
+     *
+     * @return a schema rule that can handle the "object" and "enum"
+     *         declarations.
+     */
+    public Rule<JDefinedClass, JDefinedClass> getMoshiAdaptersRule() {
+        return cached(MoshiAdaptersRule.class, () -> new MoshiAdaptersRule(this, reflectionHelper));
     }
 
     /**
@@ -155,7 +205,7 @@ public class RuleFactory {
      *
      * @return a schema rule that can handle the "required" declaration.
      */
-    public Rule<JDefinedClass, JDefinedClass> getRequiredArrayRule() { return new RequiredArrayRule(this); }
+    public Rule<JDefinedClass, JDefinedClass> getRequiredArrayRule() { return cached(RequiredArrayRule.class, () -> new RequiredArrayRule(this)); }
 
     /**
      * Provides a rule instance that should be applied when a "properties"
@@ -164,7 +214,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "properties" declaration.
      */
     public Rule<JDefinedClass, JDefinedClass> getPropertiesRule() {
-        return new PropertiesRule(this);
+        return cached(PropertiesRule.class, () -> new PropertiesRule(this));
     }
 
     /**
@@ -175,7 +225,7 @@ public class RuleFactory {
      * @return a schema rule that can handle a property declaration.
      */
     public Rule<JDefinedClass, JDefinedClass> getPropertyRule() {
-        return new PropertyRule(this);
+        return cached(PropertyRule.class, () -> new PropertyRule(this));
     }
 
     /**
@@ -185,7 +235,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "required" declaration.
      */
     public Rule<JDocCommentable, JDocCommentable> getRequiredRule() {
-        return new RequiredRule(this);
+        return cached(RequiredRule.class, () -> new RequiredRule(this));
     }
 
     /**
@@ -195,7 +245,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "required" declaration.
      */
     public Rule<JDocCommentable, JDocCommentable> getNotRequiredRule() {
-        return new NotRequiredRule(this);
+        return cached(NotRequiredRule.class, () -> new NotRequiredRule(this));
     }
 
     /**
@@ -207,7 +257,7 @@ public class RuleFactory {
      *         given schema node.
      */
     public Rule<JClassContainer, JType> getTypeRule() {
-        return new TypeRule(this);
+        return cached(TypeRule.class, () -> new TypeRule(this));
     }
 
     /**
@@ -218,7 +268,7 @@ public class RuleFactory {
      *         declaration.
      */
     public Rule<JDefinedClass, JDefinedClass> getAdditionalPropertiesRule() {
-        return new AdditionalPropertiesRule(this);
+        return cached(AdditionalPropertiesRule.class, () -> new AdditionalPropertiesRule(this));
     }
 
     /**
@@ -228,7 +278,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "title" declaration.
      */
     public Rule<JDocCommentable, JDocComment> getTitleRule() {
-        return new TitleRule();
+        return cached(TitleRule.class, () -> new TitleRule());
     }
 
     /**
@@ -238,7 +288,7 @@ public class RuleFactory {
      * @return a schema rule that can handle a schema declaration.
      */
     public Rule<JClassContainer, JType> getSchemaRule() {
-        return new SchemaRule(this);
+        return cached(SchemaRule.class, () -> new SchemaRule(this));
     }
 
     /**
@@ -249,7 +299,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getDefaultRule() {
-        return new DefaultRule(this);
+        return cached(DefaultRule.class, () -> new DefaultRule(this));
     }
 
     /**
@@ -260,7 +310,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getMinimumMaximumRule() {
-        return new MinimumMaximumRule(this);
+        return cached(MinimumMaximumRule.class, () -> new MinimumMaximumRule(this));
     }
 
     /**
@@ -271,7 +321,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getMinItemsMaxItemsRule() {
-        return new MinItemsMaxItemsRule(this);
+        return cached(MinItemsMaxItemsRule.class, () -> new MinItemsMaxItemsRule(this));
     }
 
     /**
@@ -282,7 +332,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getMinLengthMaxLengthRule() {
-        return new MinLengthMaxLengthRule(this);
+        return cached(MinLengthMaxLengthRule.class, () -> new MinLengthMaxLengthRule(this));
     }
 
     /**
@@ -293,7 +343,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "digits" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getDigitsRule() {
-        return new DigitsRule(this);
+        return cached(DigitsRule.class, () -> new DigitsRule(this));
     }
 
     /**
@@ -303,7 +353,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "pattern" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getPatternRule() {
-        return new PatternRule(this);
+        return cached(PatternRule.class, () -> new PatternRule(this));
     }
 
     /**
@@ -314,7 +364,18 @@ public class RuleFactory {
      * @return a schema rule that can handle the "default" declaration.
      */
     public Rule<JFieldVar, JFieldVar> getValidRule() {
-        return new ValidRule(this);
+        return cached(ValidRule.class, () -> new ValidRule(this));
+    }
+
+    /**
+     * Provides a rule instance that should be applied to add a reflection-free
+     * <code>validate()</code> method to a generated type
+     *
+     * @return a rule that adds <code>validate()</code> methods checking the
+     *         constraints of the properties of a generated type.
+     */
+    public Rule<JDefinedClass, JDefinedClass> getValidateMethodRule() {
+        return cached(ValidateMethodRule.class, () -> new ValidateMethodRule(this));
     }
 
     /**
@@ -338,6 +399,7 @@ public class RuleFactory {
     public void setGenerationConfig(final GenerationConfig generationConfig) {
         this.generationConfig = generationConfig;
         this.nameHelper = new NameHelper(generationConfig);
+        this.rules.clear();
     }
 
     /**
@@ -361,6 +423,7 @@ public class RuleFactory {
      */
     public void setAnnotator(final Annotator annotator) {
         this.annotator = annotator;
+        this.rules.clear();
     }
 
     /**
@@ -380,6 +443,7 @@ public class RuleFactory {
      */
     public void setLogger(RuleLogger logger) {
         this.logger = logger;
+        this.rules.clear();
     }
 
     /**
@@ -400,6 +464,7 @@ public class RuleFactory {
      */
     public void setSchemaStore(final SchemaStore schemaStore) {
         this.schemaStore = schemaStore;
+        this.rules.clear();
     }
 
     /**
@@ -417,6 +482,51 @@ public class RuleFactory {
         return reflectionHelper;
     }
 
+    /**
+     * Gets the cache used to resolve Java types (and look up Java classes)
+     * while generating types with this factory.
+     *
+     * @return a cache of resolved types and loaded classes
+     */
+    public TypeResolutionCache getTypeResolutionCache() {
+        return typeResolutionCache;
+    }
+
+
+    /**
+     * Gets the types registered, so far, with the registry classes (e.g. the
+     * Jackson module generated when serializers are included) in the given
+     * code model.
+     *
+     * @param codeModel
+     *            the code model the registrations were made in
+     * @return the registrations, in the order they were made
+     */
+    public Set<Registration> getRegistrations(JCodeModel codeModel) {
+        return registrations.computeIfAbsent(codeModel, k -> new LinkedHashSet<>());
+    }
+
+    /**
+     * Generates the registry classes holding the given registrations (which
+     * may have been made in other code models) in the given code model. The
+     * registered types themselves aren't generated.
+     *
+     * @param codeModel
+     *            the code model to generate the registry classes in
+     * @param registrations
+     *            the registrations, in the order they should be made
+     */
+    public void generateRegistries(JCodeModel codeModel, Collection<Registration> registrations) {
+        for (Rule<?, ?> rule : Arrays.asList(getJacksonSerializersRule(), getGsonTypeAdaptersRule(), getMoshiAdaptersRule())) {
+            if (rule instanceof AbstractSerializersRule) {
+                for (Registration registration : registrations) {
+                    if (((AbstractSerializersRule) rule).isRegistry(registration)) {
+                        ((AbstractSerializersRule) rule).register(codeModel, registration);
+                    }
+                }
+            }
+        }
+    }
 
     /**
      * Provides a rule instance that should be applied when a "media"
@@ -425,7 +535,7 @@ public class RuleFactory {
      * @return a schema rule that can handle the "media" declaration.
      */
     public Rule<JType, JType> getMediaRule() {
-        return new MediaRule();
+        return cached(MediaRule.class, () -> new MediaRule());
     }
 
     /**
@@ -435,15 +545,53 @@ public class RuleFactory {
      * @return a schema rule that adds 'dynamic' get and set methods to classes, to get and set by string property names.
      */
     public Rule<JDefinedClass, JDefinedClass> getDynamicPropertiesRule() {
-        return new DynamicPropertiesRule(this);
+        return cached(DynamicPropertiesRule.class, () -> new DynamicPropertiesRule(this));
     }
 
     public Rule<JDefinedClass, JDefinedClass> getBuilderRule(){
-        return new BuilderRule(this, reflectionHelper);
+        return cached(BuilderRule.class, () -> new BuilderRule(this, reflectionHelper));
     }
 
     public Rule<JDocCommentable, JDocComment> getJavaNameRule() {
-        return new JavaNameRule();
+        return cached(JavaNameRule.class, () -> new JavaNameRule());
+    }
+
+    /**
+     * Whether rule instances are created once and then reused by every call
+     * to the factory methods of this factory.
+     *
+     * @return <code>true</code> if rules are cached
+     */
+    public boolean isCacheRules() {
+        return cacheRules;
+    }
+
+    /**
+     * Sets whether rule instances should be created once and then reused by
+     * every call to the factory methods of this factory (rather than created
+     * on each call). The rules provided by this class hold no state of their
+     * own between applications, so reusing them is safe; any lookup tables
+     * they derive from the generation config (e.g. the types that formats map
+     * to) are then also built only once. Cached rules are discarded when the
+     * generation config, annotator, logger or schema store changes.
+     * <p>
+     * Subclasses that override factory methods are unaffected: whatever their
+     * overrides return is used as before.
+     *
+     * @param cacheRules
+     *            whether rules should be cached
+     */
+    public void setCacheRules(boolean cacheRules) {
+        this.cacheRules = cacheRules;
+        this.rules.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, R> Rule<T, R> cached(Class<?> ruleType, Supplier<Rule<T, R>> factory) {
+        if (!cacheRules) {
+            return factory.get();
+        }
+        return (Rule<T, R>) rules.computeIfAbsent(ruleType, k -> factory.get());
     }
 
 }
@@ -17,10 +17,10 @@
 package org.jsonschema2pojo.rules;
 
 import static org.jsonschema2pojo.rules.PrimitiveTypes.*;
-import static org.jsonschema2pojo.util.TypeUtil.*;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -67,6 +67,13 @@ public class TypeRule implements Rule<JClassContainer, JType> {
    * <li>"type":"string" =&gt; {@link java.lang.String} (or alternative based
    * on presence of "format", see {@link FormatRule})
    * </ul>
+   * <p>
+   * When {@link GenerationConfig#isUseNarrowIntegers()} is set, an integer
+   * with both a lower and an upper bound becomes the smallest of
+   * <code>byte</code>, <code>short</code>, <code>int</code> and
+   * <code>long</code> that can hold every value in range (or
+   * {@link java.math.BigInteger} if none can). A number with an integral
+   * "multipleOf" can only hold whole values, so it is narrowed in the same way.
    *
    * @param nodeName the name of the node for which this "type" rule applies
    * @param node the node for which this "type" rule applies
@@ -90,14 +97,14 @@ public class TypeRule implements Rule<JClassContainer, JType> {
       if (isPrimitive(typeName, jClassContainer.owner())) {
         type = primitiveType(typeName, jClassContainer.owner());
       } else {
-        type = resolveType(jClassContainer, typeName);
+        type = EnumCollections.toEnumMap(ruleFactory.getTypeResolutionCache().resolveType(jClassContainer, typeName), ruleFactory);
       }
     } else if (propertyTypeName.equals("string")) {
 
       type = jClassContainer.owner().ref(String.class);
     } else if (propertyTypeName.equals("number")) {
 
-      type = getNumberType(jClassContainer.owner(), ruleFactory.getGenerationConfig());
+      type = getNumberType(jClassContainer.owner(), node, ruleFactory.getGenerationConfig());
     } else if (propertyTypeName.equals("integer")) {
 
       type = getIntegerType(jClassContainer.owner(), node, ruleFactory.getGenerationConfig());
@@ -156,6 +163,8 @@ public class TypeRule implements Rule<JClassContainer, JType> {
 
     if (config.isUseBigIntegers()) {
       return unboxIfNecessary(owner.ref(BigInteger.class), config);
+    } else if (config.isUseNarrowIntegers() && hasBounds(node)) {
+      return getNarrowedIntegerType(owner, node, config);
     } else if (config.isUseLongIntegers() || node.has("minimum") && node.get("minimum").isLong() || node.has("maximum") && node.get("maximum")
         .isLong()) {
       return unboxIfNecessary(owner.ref(Long.class), config);
@@ -168,10 +177,12 @@ public class TypeRule implements Rule<JClassContainer, JType> {
   /**
    * Returns the JType for a number field. Handles type lookup and unboxing.
    */
-  private JType getNumberType(JCodeModel owner, GenerationConfig config) {
+  private JType getNumberType(JCodeModel owner, JsonNode node, GenerationConfig config) {
 
     if (config.isUseBigDecimals()) {
       return unboxIfNecessary(owner.ref(BigDecimal.class), config);
+    } else if (config.isUseNarrowIntegers() && !config.isUseBigIntegers() && isWholeNumber(node) && hasBounds(node)) {
+      return getNarrowedIntegerType(owner, node, config);
     } else if (config.isUseDoubleNumbers()) {
       return unboxIfNecessary(owner.ref(Double.class), config);
     } else {
@@ -180,4 +191,85 @@ public class TypeRule implements Rule<JClassContainer, JType> {
 
   }
 
+  /**
+   * Returns the smallest integral type that holds every value between the
+   * lower and upper bounds of the given node (which must both be present).
+   */
+  private JType getNarrowedIntegerType(JCodeModel owner, JsonNode node, GenerationConfig config) {
+
+    BigInteger lower = getLowerBound(node);
+    BigInteger upper = getUpperBound(node);
+
+    if (fits(lower, upper, Byte.MIN_VALUE, Byte.MAX_VALUE)) {
+      return unboxIfNecessary(owner.ref(Byte.class), config);
+    } else if (fits(lower, upper, Short.MIN_VALUE, Short.MAX_VALUE)) {
+      return unboxIfNecessary(owner.ref(Short.class), config);
+    } else if (fits(lower, upper, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+      return unboxIfNecessary(owner.ref(Integer.class), config);
+    } else if (fits(lower, upper, Long.MIN_VALUE, Long.MAX_VALUE)) {
+      return unboxIfNecessary(owner.ref(Long.class), config);
+    } else {
+      return unboxIfNecessary(owner.ref(BigInteger.class), config);
+    }
+
+  }
+
+  private static boolean fits(BigInteger lower, BigInteger upper, long min, long max) {
+    return lower.compareTo(BigInteger.valueOf(min)) >= 0 && upper.compareTo(BigInteger.valueOf(max)) <= 0;
+  }
+
+  private static boolean hasBounds(JsonNode node) {
+    return getLowerBound(node) != null && getUpperBound(node) != null;
+  }
+
+  private static boolean isWholeNumber(JsonNode node) {
+    JsonNode multipleOf = node.path("multipleOf");
+    return multipleOf.isNumber() && multipleOf.decimalValue().signum() > 0
+        && multipleOf.decimalValue().stripTrailingZeros().scale() <= 0;
+  }
+
+  /**
+   * Returns the smallest whole value allowed by "minimum" and
+   * "exclusiveMinimum" (either the draft 4 boolean or the draft 6 number), or
+   * <code>null</code> if there is no lower bound.
+   */
+  static BigInteger getLowerBound(JsonNode node) {
+    BigInteger bound = null;
+
+    if (node.path("minimum").isNumber()) {
+      BigDecimal minimum = node.get("minimum").decimalValue();
+      bound = node.path("exclusiveMinimum").isBoolean() && node.get("exclusiveMinimum").booleanValue()
+          ? minimum.setScale(0, RoundingMode.FLOOR).toBigInteger().add(BigInteger.ONE)
+          : minimum.setScale(0, RoundingMode.CEILING).toBigInteger();
+    }
+    if (node.path("exclusiveMinimum").isNumber()) {
+      BigInteger exclusive = node.get("exclusiveMinimum").decimalValue().setScale(0, RoundingMode.FLOOR).toBigInteger().add(BigInteger.ONE);
+      bound = bound == null ? exclusive : bound.max(exclusive);
+    }
+
+    return bound;
+  }
+
+  /**
+   * Returns the largest whole value allowed by "maximum" and
+   * "exclusiveMaximum" (either the draft 4 boolean or the draft 6 number), or
+   * <code>null</code> if there is no upper bound.
+   */
+  static BigInteger getUpperBound(JsonNode node) {
+    BigInteger bound = null;
+
+    if (node.path("maximum").isNumber()) {
+      BigDecimal maximum = node.get("maximum").decimalValue();
+      bound = node.path("exclusiveMaximum").isBoolean() && node.get("exclusiveMaximum").booleanValue()
+          ? maximum.setScale(0, RoundingMode.CEILING).toBigInteger().subtract(BigInteger.ONE)
+          : maximum.setScale(0, RoundingMode.FLOOR).toBigInteger();
+    }
+    if (node.path("exclusiveMaximum").isNumber()) {
+      BigInteger exclusive = node.get("exclusiveMaximum").decimalValue().setScale(0, RoundingMode.CEILING).toBigInteger().subtract(BigInteger.ONE);
+      bound = bound == null ? exclusive : bound.min(exclusive);
+    }
+
+    return bound;
+  }
+
 }
@@ -0,0 +1,315 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.jsonschema2pojo.Schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JForLoop;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+
+/**
+ * Adds a <code>validate()</code> method to a generated type, which checks the
+ * "required", "pattern", "minLength", "maxLength", "minItems", "maxItems",
+ * "minimum", "maximum", "exclusiveMinimum" and "exclusiveMaximum" constraints
+ * of its properties with plain Java code, rather than through the reflection
+ * of a Bean Validation provider.
+ * <p>
+ * Patterns are compiled once, into static constants, and are matched against
+ * the whole value (as <code>@Pattern</code> does). Properties holding
+ * generated types, or lists and sets of them, are validated in turn, and the
+ * checks of a generated supertype are run first. Each violation is described
+ * by the JSON path of the property followed by the constraint it breaks.
+ */
+public class ValidateMethodRule implements Rule<JDefinedClass, JDefinedClass> {
+
+    static final String METHOD_NAME = "validate";
+
+    private final RuleFactory ruleFactory;
+
+    protected ValidateMethodRule(RuleFactory ruleFactory) {
+        this.ruleFactory = ruleFactory;
+    }
+
+    @Override
+    public JDefinedClass apply(String nodeName, JsonNode node, JsonNode parent, JDefinedClass jclass, Schema currentSchema) {
+        JCodeModel owner = jclass.owner();
+        JClass violationsType = owner.ref(List.class).narrow(String.class);
+
+        JMethod validate = jclass.method(JMod.PUBLIC, violationsType, METHOD_NAME);
+        validate.javadoc().add("Checks this instance against the constraints of its schema.");
+        validate.javadoc().addReturn().add("a description of each constraint that is violated, empty when the instance is valid");
+
+        JMethod validateInto = jclass.method(JMod.PUBLIC, owner.VOID, METHOD_NAME);
+        validateInto.javadoc().add("Checks this instance against the constraints of its schema, adding a description of each constraint that is violated to the given list.");
+        JVar path = validateInto.param(String.class, "path");
+        JVar violations = validateInto.param(violationsType, "violations");
+        validateInto.javadoc().addParam(path).add("the JSON path of this instance, prefixed to each description");
+        validateInto.javadoc().addParam(violations).add("the list to add descriptions to");
+
+        JVar result = validate.body().decl(violationsType, "violations", JExpr._new(owner.ref(ArrayList.class).narrow(String.class)));
+        validate.body().invoke(JExpr._this(), validateInto).arg(JExpr.lit("")).arg(result);
+        validate.body()._return(result);
+
+        if (isValidatable(jclass._extends())) {
+            validateInto.body().invoke(JExpr._super(), METHOD_NAME).arg(path).arg(violations);
+        }
+
+        if (node.has("properties")) {
+            for (Iterator<Map.Entry<String, JsonNode>> properties = node.get("properties").fields(); properties.hasNext(); ) {
+                Map.Entry<String, JsonNode> property = properties.next();
+                JFieldVar field = jclass.fields().get(ruleFactory.getNameHelper().getPropertyName(property.getKey(), property.getValue()));
+                if (field != null && (field.mods().getValue() & JMod.STATIC) == 0) {
+                    JsonNode propertyNode = resolveRefs(property.getValue(), currentSchema);
+                    addChecks(jclass, validateInto.body(), path, violations, property.getKey(), propertyNode, field,
+                            isRequired(node, property.getKey(), propertyNode));
+                }
+            }
+        }
+
+        return jclass;
+    }
+
+    private void addChecks(JDefinedClass jclass, JBlock body, JVar path, JVar violations, String jsonName, JsonNode node,
+            JFieldVar field, boolean required) {
+        JFieldRef value = JExpr.refthis(field.name());
+        JType type = field.type();
+
+        // built detached, so that a property without constraints doesn't leave an empty null check behind
+        JBlock checks = new JBlock(false, false);
+
+        if (isString(type)) {
+            if (node.has("pattern")) {
+                JFieldVar pattern = jclass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, Pattern.class,
+                        ruleFactory.getNameHelper().getConstantName(jclass, field.name() + "Pattern"),
+                        jclass.owner().ref(Pattern.class).staticInvoke("compile").arg(JExpr.lit(node.get("pattern").asText())));
+                addViolation(checks._if(pattern.invoke("matcher").arg(value).invoke("matches").not())._then(),
+                        path, violations, jsonName, "must match \"" + node.get("pattern").asText() + "\"");
+            }
+            addSizeChecks(checks, path, violations, jsonName, value.invoke("length"), node, "minLength", "maxLength", "length");
+        } else if (type.isArray()) {
+            addSizeChecks(checks, path, violations, jsonName, value.ref("length"), node, "minItems", "maxItems", "size");
+        } else if (isAssignableTo(type, Collection.class)) {
+            addSizeChecks(checks, path, violations, jsonName, value.invoke("size"), node, "minItems", "maxItems", "size");
+            addNestedChecks(checks, path, violations, jsonName, value, type);
+        } else if (isValidatable(type)) {
+            checks.invoke(value, METHOD_NAME).arg(path.plus(JExpr.lit(jsonName + "."))).arg(violations);
+        } else {
+            addRangeChecks(jclass, checks, path, violations, jsonName, field, node);
+        }
+
+        if (type.isPrimitive()) {
+            body.add(checks);
+        } else if (required) {
+            JConditional isNull = body._if(value.eq(JExpr._null()));
+            addViolation(isNull._then(), path, violations, jsonName, "must not be null");
+            if (!checks.isEmpty()) {
+                isNull._else().add(checks);
+            }
+        } else if (!checks.isEmpty()) {
+            body._if(value.ne(JExpr._null()))._then().add(checks);
+        }
+    }
+
+    private void addSizeChecks(JBlock block, JVar path, JVar violations, String jsonName, JExpression size, JsonNode node,
+            String minName, String maxName, String measure) {
+        if (node.path(minName).canConvertToInt()) {
+            int min = node.get(minName).asInt();
+            addViolation(block._if(size.lt(JExpr.lit(min)))._then(), path, violations, jsonName,
+                    measure + " must be at least " + min);
+        }
+        if (node.path(maxName).canConvertToInt()) {
+            int max = node.get(maxName).asInt();
+            addViolation(block._if(size.gt(JExpr.lit(max)))._then(), path, violations, jsonName,
+                    measure + " must be at most " + max);
+        }
+    }
+
+    /**
+     * Validates each generated type held in a list (with its index in the
+     * path) or another collection.
+     */
+    private void addNestedChecks(JBlock block, JVar path, JVar violations, String jsonName, JFieldRef value, JType type) {
+        if (!(type instanceof JClass) || ((JClass) type).getTypeParameters().size() != 1
+                || !isValidatable(((JClass) type).getTypeParameters().get(0))) {
+            return;
+        }
+        JClass itemType = ((JClass) type).getTypeParameters().get(0);
+
+        if (isAssignableTo(type, List.class)) {
+            JForLoop loop = block._for();
+            JVar i = loop.init(type.owner().INT, "i", JExpr.lit(0));
+            loop.test(i.lt(value.invoke("size")));
+            loop.update(i.incr());
+            JVar item = loop.body().decl(itemType, "item", value.invoke("get").arg(i));
+            loop.body()._if(item.ne(JExpr._null()))._then().invoke(item, METHOD_NAME)
+                    .arg(path.plus(JExpr.lit(jsonName + "[")).plus(i).plus(JExpr.lit("].")))
+                    .arg(violations);
+        } else if (isAssignableTo(type, Collection.class)) {
+            JForEach loop = block.forEach(itemType, "item", value);
+            loop.body()._if(loop.var().ne(JExpr._null()))._then().invoke(loop.var(), METHOD_NAME)
+                    .arg(path.plus(JExpr.lit(jsonName + "[]."))).arg(violations);
+        }
+    }
+
+    /**
+     * Compares whole numbers with the whole bounds they can take (so a
+     * "minimum" of 0.5 is checked as 1), and other numbers with the bounds as
+     * given.
+     */
+    private void addRangeChecks(JDefinedClass jclass, JBlock block, JVar path, JVar violations, String jsonName, JFieldVar field,
+            JsonNode node) {
+        JFieldRef value = JExpr.refthis(field.name());
+        JType type = field.type();
+        String typeName = type.unboxify().fullName();
+
+        if (typeName.equals("byte") || typeName.equals("short") || typeName.equals("int") || typeName.equals("long")) {
+            BigInteger lower = TypeRule.getLowerBound(node);
+            BigInteger upper = TypeRule.getUpperBound(node);
+            if (lower != null && lower.bitLength() < Long.SIZE) {
+                addViolation(block._if(value.lt(JExpr.lit(lower.longValue())))._then(), path, violations, jsonName,
+                        "must be greater than or equal to " + lower);
+            }
+            if (upper != null && upper.bitLength() < Long.SIZE) {
+                addViolation(block._if(value.gt(JExpr.lit(upper.longValue())))._then(), path, violations, jsonName,
+                        "must be less than or equal to " + upper);
+            }
+        } else if (typeName.equals(BigInteger.class.getName())) {
+            BigInteger lower = TypeRule.getLowerBound(node);
+            BigInteger upper = TypeRule.getUpperBound(node);
+            if (lower != null) {
+                JFieldVar minimum = addBoundConstant(jclass, type, field.name(), "Minimum", lower.toString());
+                addViolation(block._if(value.invoke("compareTo").arg(minimum).lt(JExpr.lit(0)))._then(), path, violations, jsonName,
+                        "must be greater than or equal to " + lower);
+            }
+            if (upper != null) {
+                JFieldVar maximum = addBoundConstant(jclass, type, field.name(), "Maximum", upper.toString());
+                addViolation(block._if(value.invoke("compareTo").arg(maximum).gt(JExpr.lit(0)))._then(), path, violations, jsonName,
+                        "must be less than or equal to " + upper);
+            }
+        } else if (typeName.equals("float") || typeName.equals("double") || typeName.equals(BigDecimal.class.getName())) {
+            addDecimalCheck(jclass, block, path, violations, jsonName, field, node, "minimum", "exclusiveMinimum", true);
+            addDecimalCheck(jclass, block, path, violations, jsonName, field, node, "maximum", "exclusiveMaximum", false);
+        }
+    }
+
+    private void addDecimalCheck(JDefinedClass jclass, JBlock block, JVar path, JVar violations, String jsonName, JFieldVar field,
+            JsonNode node, String boundName, String exclusiveName, boolean lower) {
+        JFieldRef value = JExpr.refthis(field.name());
+        JType type = field.type();
+        BigDecimal bound;
+        boolean exclusive;
+        if (node.path(boundName).isNumber()) {
+            bound = node.get(boundName).decimalValue();
+            exclusive = node.path(exclusiveName).isBoolean() && node.get(exclusiveName).booleanValue();
+        } else if (node.path(exclusiveName).isNumber()) {
+            bound = node.get(exclusiveName).decimalValue();
+            exclusive = true;
+        } else {
+            return;
+        }
+
+        JExpression comparison;
+        JExpression zero = JExpr.lit(0);
+        if (type.fullName().equals(BigDecimal.class.getName())) {
+            JFieldVar constant = addBoundConstant(jclass, type, field.name(), lower ? "Minimum" : "Maximum", bound.toPlainString());
+            JExpression compared = value.invoke("compareTo").arg(constant);
+            comparison = lower ? (exclusive ? compared.lte(zero) : compared.lt(zero)) : (exclusive ? compared.gte(zero) : compared.gt(zero));
+        } else {
+            JExpression literal = JExpr.lit(bound.doubleValue());
+            comparison = lower ? (exclusive ? value.lte(literal) : value.lt(literal)) : (exclusive ? value.gte(literal) : value.gt(literal));
+        }
+
+        String description = lower ? (exclusive ? "must be greater than " : "must be greater than or equal to ")
+                : (exclusive ? "must be less than " : "must be less than or equal to ");
+        addViolation(block._if(comparison)._then(), path, violations, jsonName, description + bound.toPlainString());
+    }
+
+    private JFieldVar addBoundConstant(JDefinedClass jclass, JType type, String fieldName, String suffix, String bound) {
+        return jclass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, type,
+                ruleFactory.getNameHelper().getConstantName(jclass, fieldName + suffix), JExpr._new(type).arg(JExpr.lit(bound)));
+    }
+
+    private static void addViolation(JBlock block, JVar path, JVar violations, String jsonName, String description) {
+        block.invoke(violations, "add").arg(path.plus(JExpr.lit(jsonName + ": " + description)));
+    }
+
+    private JsonNode resolveRefs(JsonNode node, Schema parent) {
+        if (node.has("$ref")) {
+            Schema refSchema = ruleFactory.getSchemaStore().create(parent, node.get("$ref").asText(), ruleFactory.getGenerationConfig().getRefFragmentPathDelimiters());
+            return resolveRefs(refSchema.getContent(), refSchema);
+        } else {
+            return node;
+        }
+    }
+
+    private static boolean isRequired(JsonNode node, String jsonName, JsonNode propertyNode) {
+        if (propertyNode.path("required").isBoolean() && propertyNode.get("required").booleanValue()) {
+            return true;
+        }
+        for (JsonNode required : node.path("required")) {
+            if (jsonName.equals(required.asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the type is generated with a <code>validate</code>
+     *         method (every generated class is, when this rule is in use)
+     */
+    private static boolean isValidatable(JType type) {
+        return type instanceof JDefinedClass && ((JDefinedClass) type).getClassType() == ClassType.CLASS;
+    }
+
+    private static boolean isString(JType type) {
+        return type.fullName().equals(String.class.getName());
+    }
+
+    private static boolean isAssignableTo(JType type, Class<?> superType) {
+        try {
+            return superType.isAssignableFrom(Class.forName(type.erasure().fullName()));
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+}
@@ -21,7 +21,9 @@ package org.jsonschema2pojo.util;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -35,14 +37,14 @@ public class Inflector {
 
     private final List<RuleAndReplacement> plurals;
     private final List<RuleAndReplacement> singulars;
-    private final List<String> uncountables;
+    private final Set<String> uncountables;
 
     private static Inflector instance  = createDefaultBuilder().build();
 
     private Inflector(Builder builder) {
         plurals = Collections.unmodifiableList(builder.plurals);
         singulars = Collections.unmodifiableList(builder.singulars);
-        uncountables = Collections.unmodifiableList(builder.uncountables);
+        uncountables = Collections.unmodifiableSet(new HashSet<>(builder.uncountables));
     }
 
     public static Inflector.Builder createDefaultBuilder()
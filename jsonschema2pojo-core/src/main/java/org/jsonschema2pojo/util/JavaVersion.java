@@ -38,6 +38,15 @@ public class JavaVersion {
         }
     }
 
+    public static boolean is7OrLater(final String targetVersion) {
+        if (isNotBlank(targetVersion)) {
+            final Double v = Double.valueOf(targetVersion);
+            return (v >= 7) || (v < 2 && v >= 1.7);
+        } else {
+            return false;
+        }
+    }
+
     public static boolean is9OrLater(final String targetVersion) {
         if (isNotBlank(targetVersion)) {
             final Double v = Double.valueOf(targetVersion);
@@ -20,13 +20,23 @@ import static java.lang.Character.*;
 import static javax.lang.model.SourceVersion.*;
 import static org.apache.commons.lang3.StringUtils.*;
 
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.WordUtils;
 import org.jsonschema2pojo.GenerationConfig;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.codemodel.JClass;
-import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JPackage;
 import com.sun.codemodel.JType;
@@ -35,18 +45,45 @@ public class NameHelper {
 
     public static final String ILLEGAL_CHARACTER_REGEX = "[^0-9a-zA-Z_$]";
 
+    private static final Pattern ILLEGAL_CHARACTER_PATTERN = Pattern.compile(ILLEGAL_CHARACTER_REGEX);
+
     private final GenerationConfig generationConfig;
 
+    // matches the check codemodel makes when deciding whether class names that differ only in case clash
+    private static final boolean CASE_SENSITIVE_FILE_SYSTEM = System.getProperty("com.sun.codemodel.FileSystemCaseSensitive") != null
+            || File.separatorChar == '/';
+
+    private final Map<JPackage, Map<String, String>> uniqueClassNames = new HashMap<>();
+
+    // the names of the classes in each package, as compared by the file system
+    private final Map<JPackage, Set<String>> takenClassNames = new HashMap<>();
+
+    // names derived from a JSON property name (or javaName), which depend only on that name and the config
+    private final Map<String, String> propertyNames = new ConcurrentHashMap<>();
+    private final Map<String, String> accessorNames = new ConcurrentHashMap<>();
+
+    // singular forms of array property names, cached per generation rather than in the shared Inflector
+    private final Map<String, String> singularNames = new ConcurrentHashMap<>();
+
     public NameHelper(GenerationConfig generationConfig) {
         this.generationConfig = generationConfig;
     }
 
+    /**
+     * @return the singular form of the given word (e.g. the name of an array
+     *         property), as given by {@link Inflector}
+     */
+    public String singularize(String word) {
+        return singularNames.computeIfAbsent(word, Inflector.getInstance()::singularize);
+    }
+
     public String getBuilderTypeParameterName(JDefinedClass instanceClass) {
         return "T";
     }
 
     public String replaceIllegalCharacters(String name) {
-        return name.replaceAll(ILLEGAL_CHARACTER_REGEX, "_");
+        Matcher matcher = ILLEGAL_CHARACTER_PATTERN.matcher(name);
+        return matcher.find() ? matcher.replaceAll("_") : name;
     }
 
     public String normalizeName(String name) {
@@ -109,8 +146,10 @@ public class NameHelper {
      * @return a safe, appropriate Java field name
      */
     public String getPropertyName(String jsonFieldName, JsonNode node) {
-        jsonFieldName = getFieldName(jsonFieldName, node);
+        return propertyNames.computeIfAbsent(getFieldName(jsonFieldName, node), this::toPropertyName);
+    }
 
+    private String toPropertyName(String jsonFieldName) {
         jsonFieldName = replaceIllegalCharacters(jsonFieldName);
         jsonFieldName = normalizeName(jsonFieldName);
         jsonFieldName = makeLowerCamelCase(jsonFieldName);
@@ -200,7 +239,7 @@ public class NameHelper {
                 propertyName = node.get("javaName").textValue();
             } else if (generationConfig.isUseTitleAsClassname() && node.has("title")) {
                 String title = node.get("title").textValue();
-                propertyName = WordUtils.capitalize(title).replaceAll(" ", "");
+                propertyName = remove(WordUtils.capitalize(title), ' ');
             }
         }
 
@@ -236,10 +275,8 @@ public class NameHelper {
     }
 
     private String getPropertyNameForAccessor(String jsonPropertyName, JsonNode node) {
-        jsonPropertyName = getFieldName(jsonPropertyName, node);
-        jsonPropertyName = replaceIllegalCharacters(jsonPropertyName);
-        jsonPropertyName = capitalizeTrailingWords(jsonPropertyName);
-        return jsonPropertyName;
+        return accessorNames.computeIfAbsent(getFieldName(jsonPropertyName, node),
+                name -> capitalizeTrailingWords(replaceIllegalCharacters(name)));
     }
 
     public String getBaseBuilderClassName(JClass outerClass) {
@@ -258,6 +295,19 @@ public class NameHelper {
         return "Builder";
     }
 
+    /**
+     * @return the name of a new constant in the given class, e.g.
+     *         <code>FOO_BAR</code> for <code>fooBar</code>, with underscores
+     *         appended until it doesn't clash with a field of the class
+     */
+    public String getConstantName(JDefinedClass jclass, String name) {
+        String constantName = name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+        while (jclass.fields().containsKey(constantName)) {
+            constantName = constantName + "_";
+        }
+        return constantName;
+    }
+
     public String getUniqueClassName(String nodeName, JsonNode node, JPackage _package) {
         return makeUnique(getClassName(nodeName, node, _package), _package);
     }
@@ -287,12 +337,34 @@ public class NameHelper {
     }
 
     private String makeUnique(String className, JPackage _package) {
-        try {
-            JDefinedClass _class = _package._class(className);
-            _package.remove(_class);
-            return className;
-        } catch (JClassAlreadyExistsException e) {
-            return makeUnique(MakeUniqueClassName.makeUnique(className), _package);
+        Map<String, String> uniqueNames = uniqueClassNames.computeIfAbsent(_package, k -> new HashMap<>());
+        Set<String> takenNames = takenClassNames.computeIfAbsent(_package, NameHelper::getClassNames);
+
+        // every name up to the one last handed out for this class name is known to be taken
+        String uniqueName = uniqueNames.getOrDefault(className, className);
+        while (_package._getClass(uniqueName) != null || takenNames.contains(toFileSystemName(uniqueName))) {
+            uniqueName = MakeUniqueClassName.makeUnique(uniqueName);
         }
+
+        uniqueNames.put(className, uniqueName);
+        takenNames.add(toFileSystemName(uniqueName));
+        return uniqueName;
+    }
+
+    private static Set<String> getClassNames(JPackage _package) {
+        Set<String> classNames = new HashSet<>();
+        for (Iterator<JDefinedClass> classes = _package.classes(); classes.hasNext();) {
+            classNames.add(toFileSystemName(classes.next().name()));
+        }
+        return classNames;
+    }
+
+    /**
+     * @return the class name as the file system compares it: on a
+     *         case-insensitive file system, names that differ only in case
+     *         clash
+     */
+    private static String toFileSystemName(String className) {
+        return CASE_SENSITIVE_FILE_SYSTEM ? className : className.toUpperCase(Locale.ROOT);
     }
 }
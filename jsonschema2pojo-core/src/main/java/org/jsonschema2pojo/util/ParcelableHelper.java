@@ -19,35 +19,120 @@ package org.jsonschema2pojo.util;
 import static org.apache.commons.lang3.StringUtils.*;
 import static org.jsonschema2pojo.util.Models.*;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
 import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
 import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JMod;
+import com.sun.codemodel.JOp;
 import com.sun.codemodel.JType;
 import com.sun.codemodel.JVar;
 
 public class ParcelableHelper {
 
+    private static final String HAS_DECLARED_TYPE_METHOD_NAME = "hasDeclaredType";
+
     public void addWriteToParcel(JDefinedClass jclass) {
         JMethod method = jclass.method(JMod.PUBLIC, void.class, "writeToParcel");
         JVar dest = method.param(jclass.owner().directClass("android.os.Parcel"), "dest");
-        method.param(int.class, "flags");
+        JVar flags = method.param(int.class, "flags");
 
         // Call super.writeToParcel
         if (extendsParcelable(jclass)) {
             method.body().directStatement("super.writeToParcel(dest, flags);");
         }
         for (JFieldVar f : jclass.fields().values()) {
-            if( (f.mods().getValue() & JMod.STATIC) == JMod.STATIC ) {
+            if( (f.mods().getValue() & (JMod.STATIC | JMod.TRANSIENT)) != 0 ) {
                 continue;
             }
-            if (f.type().erasure().name().equals("List")) {
-                method.body().invoke(dest, "writeList").arg(f);
+            writeField(jclass, method.body(), dest, flags, f);
+        }
+    }
+
+    /**
+     * Writes a field with the {@link #readField read} counterpart that matches
+     * its type, so that primitives aren't boxed and no type tags or class
+     * loader lookups are needed. Boxed types and enums are preceded by a byte
+     * that flags a null value. Generated types (and lists of them) are
+     * preceded by a byte that flags whether they are written without a class
+     * name, which is only possible when they are exactly of the declared type.
+     * Fields of other types are written as values.
+     */
+    private void writeField(JDefinedClass jclass, JBlock body, JVar dest, JVar flags, JFieldVar f) {
+        JType type = f.type();
+        if (type.isPrimitive()) {
+            writePrimitive(body, dest, type, f);
+        } else if (isBoxedPrimitive(type) || isEnum(type)) {
+            JConditional isNull = body._if(f.eq(JExpr._null()));
+            isNull._then().invoke(dest, "writeByte").arg(JExpr.cast(type.owner().BYTE, JExpr.lit(0)));
+            isNull._else().invoke(dest, "writeByte").arg(JExpr.cast(type.owner().BYTE, JExpr.lit(1)));
+            if (isEnum(type)) {
+                isNull._else().invoke(dest, "writeInt").arg(f.invoke("ordinal"));
+            } else {
+                writePrimitive(isNull._else(), dest, type.unboxify(), f);
+            }
+        } else if (isPrimitiveArray(type)) {
+            body.invoke(dest, "write" + capitalize(type.elementType().name()) + "Array").arg(f);
+        } else if (type.fullName().equals(String.class.getName())) {
+            body.invoke(dest, "writeString").arg(f);
+        } else if (type.erasure().name().equals("List")) {
+            JType itemType = getListItemType(type);
+            if (itemType != null && itemType.fullName().equals(String.class.getName())) {
+                body.invoke(dest, "writeStringList").arg(f);
+            } else if (isParcelable(itemType)) {
+                JConditional isTyped = body._if(JExpr.invoke(getHasDeclaredTypeMethod(jclass)).arg(f).arg(JExpr.dotclass((JClass) itemType)));
+                isTyped._then().invoke(dest, "writeByte").arg(JExpr.cast(type.owner().BYTE, JExpr.lit(1)));
+                isTyped._then().invoke(dest, "writeTypedList").arg(f);
+                isTyped._else().invoke(dest, "writeByte").arg(JExpr.cast(type.owner().BYTE, JExpr.lit(0)));
+                isTyped._else().invoke(dest, "writeList").arg(f);
             } else {
-                method.body().invoke(dest, "writeValue").arg(f);
+                body.invoke(dest, "writeList").arg(f);
             }
+        } else if (isParcelable(type)) {
+            JConditional isTyped = body._if(f.ne(JExpr._null()).cand(f.invoke("getClass").eq(JExpr.dotclass((JClass) type))));
+            isTyped._then().invoke(dest, "writeByte").arg(JExpr.cast(type.owner().BYTE, JExpr.lit(1)));
+            isTyped._then().invoke(f, "writeToParcel").arg(dest).arg(flags);
+            isTyped._else().invoke(dest, "writeByte").arg(JExpr.cast(type.owner().BYTE, JExpr.lit(0)));
+            isTyped._else().invoke(dest, "writeParcelable").arg(f).arg(flags);
+        } else {
+            body.invoke(dest, "writeValue").arg(f);
+        }
+    }
+
+    private void writePrimitive(JBlock body, JVar dest, JType type, JExpression value) {
+        switch (type.name()) {
+            case "boolean":
+                body.invoke(dest, "writeByte").arg(JExpr.cast(type.owner().BYTE, JOp.cond(value, JExpr.lit(1), JExpr.lit(0))));
+                break;
+            case "byte":
+                body.invoke(dest, "writeByte").arg(value);
+                break;
+            case "long":
+                body.invoke(dest, "writeLong").arg(value);
+                break;
+            case "float":
+                body.invoke(dest, "writeFloat").arg(value);
+                break;
+            case "double":
+                body.invoke(dest, "writeDouble").arg(value);
+                break;
+            default:
+                // char and short are written as ints
+                body.invoke(dest, "writeInt").arg(value);
+                break;
         }
     }
 
@@ -77,25 +162,151 @@ public class ParcelableHelper {
             ctorFromParcel.body().directStatement("super(in);");
         }
         for (JFieldVar f : jclass.fields().values()) {
-            if( (f.mods().getValue() & JMod.STATIC) == JMod.STATIC ) {
+            if( (f.mods().getValue() & (JMod.STATIC | JMod.TRANSIENT)) != 0 ) {
                 continue;
             }
-            if (f.type().erasure().name().equals("List")) {
-                ctorFromParcel.body()
-                .invoke(in, "readList")
-                .arg(JExpr._this().ref(f))
-                .arg(JExpr.direct(getListType(f.type()) + ".class.getClassLoader()"));
+            readField(ctorFromParcel.body(), in, f);
+        }
+    }
+
+    /**
+     * Reads a field written by {@link #writeField}. Lists are always read
+     * into a new list, as the field may not hold one yet (with lazy
+     * collections) or may hold a default that must be replaced. Final fields
+     * (of immutable types) are assigned exactly once, and lists, sets and maps
+     * held by them are assigned as unmodifiable collections (as the
+     * constructors do).
+     */
+    private void readField(JBlock body, JVar in, JFieldVar f) {
+        JType type = f.type();
+        JFieldRef field = JExpr._this().ref(f);
+        boolean isFinal = (f.mods().getValue() & JMod.FINAL) != 0;
+
+        JExpression value = readValue(in, type);
+        String unmodifiableMethod = getUnmodifiableMethodName(type);
+        if (isFinal && unmodifiableMethod != null) {
+            JVar local = body.decl(type, f.name().equals(in.name()) ? f.name() + "_" : f.name(), value);
+            value = JOp.cond(local.eq(JExpr._null()), JExpr._null(), type.owner().ref(Collections.class).staticInvoke(unmodifiableMethod).arg(local));
+        }
+        body.assign(field, value);
+    }
+
+    private JExpression readValue(JVar in, JType type) {
+        JExpression isNull = in.invoke("readByte").eq(JExpr.lit(0));
+        JExpression isTyped = in.invoke("readByte").ne(JExpr.lit(0));
+        if (type.isPrimitive()) {
+            return readPrimitive(in, type);
+        } else if (isEnum(type)) {
+            return JOp.cond(isNull, JExpr._null(), ((JClass) type).staticInvoke("values").component(in.invoke("readInt")));
+        } else if (isBoxedPrimitive(type)) {
+            return JOp.cond(isNull, JExpr._null(), ((JClass) type).staticInvoke("valueOf").arg(readPrimitive(in, type.unboxify())));
+        } else if (isPrimitiveArray(type)) {
+            return in.invoke("create" + capitalize(type.elementType().name()) + "Array");
+        } else if (type.fullName().equals(String.class.getName())) {
+            return in.invoke("readString");
+        } else if (type.erasure().name().equals("List")) {
+            JType itemType = getListItemType(type);
+            if (itemType != null && itemType.fullName().equals(String.class.getName())) {
+                return in.invoke("createStringArrayList");
+            } else if (isParcelable(itemType)) {
+                return JOp.cond(isTyped,
+                        in.invoke("createTypedArrayList").arg(((JClass) itemType).staticRef("CREATOR")),
+                        JExpr.cast(type, in.invoke("readArrayList").arg(JExpr.dotclass((JClass) itemType).invoke("getClassLoader"))));
             } else {
-                ctorFromParcel.body().assign(
-                        JExpr._this().ref(f),
-                        JExpr.cast(
-                                f.type(),
-                                in.invoke("readValue").arg(JExpr.direct(f.type().erasure().name() + ".class.getClassLoader()"))
-                                )
-                        );
+                return JExpr.cast(type, in.invoke("readArrayList").arg(JExpr.direct(getListType(type) + ".class.getClassLoader()")));
             }
+        } else if (isParcelable(type)) {
+            return JOp.cond(isTyped,
+                    ((JClass) type).staticRef("CREATOR").invoke("createFromParcel").arg(in),
+                    JExpr.cast(type, in.invoke("readParcelable").arg(JExpr.dotclass((JClass) type).invoke("getClassLoader"))));
+        } else {
+            return JExpr.cast(type, in.invoke("readValue").arg(JExpr.direct(type.erasure().name() + ".class.getClassLoader()")));
+        }
+    }
 
+    /**
+     * @return the name of the {@link Collections} method that makes a list,
+     *         set or map of the given type unmodifiable, or <code>null</code>
+     *         for other types
+     */
+    private static String getUnmodifiableMethodName(JType type) {
+        String typeName = type.erasure().fullName();
+        if (typeName.equals(List.class.getName()) || typeName.equals(Set.class.getName()) || typeName.equals(Map.class.getName())) {
+            return "unmodifiable" + type.erasure().name();
         }
+        return null;
+    }
+
+    private JExpression readPrimitive(JVar in, JType type) {
+        switch (type.name()) {
+            case "boolean":
+                return in.invoke("readByte").ne(JExpr.lit(0));
+            case "byte":
+                return in.invoke("readByte");
+            case "char":
+            case "short":
+                return JExpr.cast(type, in.invoke("readInt"));
+            case "long":
+                return in.invoke("readLong");
+            case "float":
+                return in.invoke("readFloat");
+            case "double":
+                return in.invoke("readDouble");
+            default:
+                return in.invoke("readInt");
+        }
+    }
+
+    private static boolean isBoxedPrimitive(JType type) {
+        return type.unboxify().isPrimitive();
+    }
+
+    private static boolean isPrimitiveArray(JType type) {
+        // Parcel has no methods for arrays of shorts
+        return type.isArray() && type.elementType().isPrimitive() && !type.elementType().name().equals("short");
+    }
+
+    private static boolean isEnum(JType type) {
+        return type instanceof JDefinedClass && ((JDefinedClass) type).getClassType() == ClassType.ENUM;
+    }
+
+    /**
+     * Generated classes are all made parcelable (and given a <code>CREATOR</code>),
+     * so they can be written and read without the class name Parcel would
+     * otherwise write for them. An instance of a subclass (which may be
+     * generated from another schema) must still be written with its class
+     * name, or it would be read back as an instance of the declared type.
+     */
+    private static boolean isParcelable(JType type) {
+        return type instanceof JDefinedClass && ((JDefinedClass) type).getClassType() == ClassType.CLASS;
+    }
+
+    /**
+     * @return the method that checks whether every (non-null) value in a list
+     *         is exactly of the given type, added to the class if it doesn't
+     *         have it yet
+     */
+    private static JMethod getHasDeclaredTypeMethod(JDefinedClass jclass) {
+        for (JMethod method : jclass.methods()) {
+            if (method.name().equals(HAS_DECLARED_TYPE_METHOD_NAME)) {
+                return method;
+            }
+        }
+
+        JCodeModel owner = jclass.owner();
+        JMethod method = jclass.method(JMod.PRIVATE | JMod.STATIC, boolean.class, HAS_DECLARED_TYPE_METHOD_NAME);
+        JVar values = method.param(owner.ref(List.class).narrow(owner.wildcard()), "values");
+        JVar type = method.param(owner.ref(Class.class).narrow(owner.wildcard()), "type");
+
+        JForEach forEach = method.body()._if(values.ne(JExpr._null()))._then().forEach(owner.ref(Object.class), "value", values);
+        forEach.body()._if(forEach.var().ne(JExpr._null()).cand(forEach.var().invoke("getClass").ne(type)))._then()._return(JExpr.FALSE);
+        method.body()._return(JExpr.TRUE);
+        return method;
+    }
+
+    private static JType getListItemType(JType listType) {
+        List<JClass> typeParameters = ((JClass) listType).getTypeParameters();
+        return typeParameters.size() == 1 ? typeParameters.get(0) : null;
     }
 
 
@@ -16,11 +16,10 @@
 
 package org.jsonschema2pojo.util;
 
-import static org.jsonschema2pojo.util.TypeUtil.*;
 
 import java.lang.reflect.Modifier;
-import java.util.Collection;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Spliterator;
@@ -41,6 +40,8 @@ public class ReflectionHelper {
 
   private RuleFactory ruleFactory;
 
+  private final Map<JPackage, PackageClassIndex> packageClassIndexes = new HashMap<>();
+
   public ReflectionHelper(RuleFactory ruleFactory) {
     this.ruleFactory = ruleFactory;
   }
@@ -55,7 +56,7 @@ public class ReflectionHelper {
     if (superTypeSchema != null) {
       superType = ruleFactory.getSchemaRule().apply(nodeName + "Parent", node.get("extends"), node, jPackage, superTypeSchema);
     } else if (node.has("extendsJavaClass")) {
-      superType = resolveType(jPackage, node.get("extendsJavaClass").asText());
+      superType = ruleFactory.getTypeResolutionCache().resolveType(jPackage, node.get("extendsJavaClass").asText());
     }
 
     return superType;
@@ -102,8 +103,7 @@ public class ReflectionHelper {
 
   public JDefinedClass getConcreteBuilderClass(JClass target) {
     String builderClassname = ruleFactory.getNameHelper().getBuilderClassName(target);
-    return getAllPackageClasses(target._package()).stream().filter(definedClass -> definedClass.name().equals(builderClassname)).findFirst()
-            .orElse(null);
+    return getPackageClass(builderClassname, target._package());
   }
 
   public JDefinedClass getBaseBuilderClass(JDefinedClass target) {
@@ -115,17 +115,12 @@ public class ReflectionHelper {
 
   public JDefinedClass getBaseBuilderClass(JClass target) {
     String builderClassname = ruleFactory.getNameHelper().getBaseBuilderClassName(target);
-    return getAllPackageClasses(target._package()).stream().filter(definedClass -> definedClass.name().equals(builderClassname)).findFirst()
-        .orElse(null);
+    return getPackageClass(builderClassname, target._package());
   }
 
   public boolean isFinal(JType superType) {
-    try {
-      Class<?> javaClass = Class.forName(superType.fullName());
-      return Modifier.isFinal(javaClass.getModifiers());
-    } catch (ClassNotFoundException e) {
-      return false;
-    }
+    Class<?> javaClass = ruleFactory.getTypeResolutionCache().forName(superType.fullName());
+    return javaClass != null && Modifier.isFinal(javaClass.getModifiers());
   }
 
   /**
@@ -163,23 +158,103 @@ public class ReflectionHelper {
   }
 
   private JDefinedClass _getClass(String name, JPackage _package) {
-    return getAllPackageClasses(_package).stream().filter(definedClass -> definedClass.name().equals(name)).findFirst()
-        .orElseThrow(() -> new NoClassDefFoundError(name));
+    JDefinedClass definedClass = getPackageClass(name, _package);
+    if (definedClass == null) {
+      throw new NoClassDefFoundError(name);
+    }
+    return definedClass;
   }
 
-  private Collection<JDefinedClass> getAllPackageClasses(JPackage _package) {
-    LinkedList<JDefinedClass> result = new LinkedList<>();
-    StreamSupport.stream(Spliterators.spliteratorUnknownSize(_package.classes(), Spliterator.ORDERED), false)
-        .forEach(_class -> result.addAll(getAllClassClasses(_class)));
-    return result;
+  /**
+   * Finds a class declared in the given package, or nested (directly) in a
+   * class declared in the given package. Where classes share a name, the
+   * first in package order wins.
+   */
+  private JDefinedClass getPackageClass(String name, JPackage _package) {
+    return packageClassIndexes.computeIfAbsent(_package, PackageClassIndex::new).get(name);
   }
 
-  private Collection<JDefinedClass> getAllClassClasses(JDefinedClass _class) {
-    LinkedList<JDefinedClass> result = new LinkedList<>();
-    result.add(_class);
+  /**
+   * An index, by name, of the classes declared in a package and the classes
+   * nested (directly) in them. The index is brought up to date with classes
+   * added to the package since it was last updated whenever a name can't be
+   * found, so each class is only visited once as the package grows. A class
+   * found in the index that has since been removed from the package causes
+   * the index to be rebuilt.
+   */
+  private static class PackageClassIndex {
+
+    private final JPackage _package;
+    private final Map<String, JDefinedClass> classesByName = new HashMap<>();
+    private final Map<JDefinedClass, Integer> indexedNestedClassCounts = new HashMap<>();
+
+    PackageClassIndex(JPackage _package) {
+      this._package = _package;
+    }
+
+    JDefinedClass get(String name) {
+      JDefinedClass definedClass = classesByName.get(name);
+      if (definedClass != null && !isInPackage(definedClass)) {
+        classesByName.clear();
+        indexedNestedClassCounts.clear();
+        definedClass = null;
+      }
+      if (definedClass == null) {
+        update();
+        definedClass = classesByName.get(name);
+      }
+      return definedClass;
+    }
+
+    private boolean isInPackage(JDefinedClass definedClass) {
+      JDefinedClass topLevelClass = definedClass.outer() instanceof JDefinedClass ? (JDefinedClass) definedClass.outer() : definedClass;
+      return _package._getClass(topLevelClass.name()) == topLevelClass;
+    }
+
+    private void update() {
+      for (Iterator<JDefinedClass> classes = _package.classes(); classes.hasNext();) {
+        JDefinedClass _class = classes.next();
+        Integer indexedNestedClassCount = indexedNestedClassCounts.get(_class);
+        if (indexedNestedClassCount == null) {
+          add(_class, _class);
+          indexedNestedClassCount = 0;
+        }
+
+        int nestedClassCount = 0;
+        for (Iterator<JDefinedClass> nestedClasses = _class.classes(); nestedClasses.hasNext(); nestedClasses.next()) {
+          nestedClassCount++;
+        }
+        if (nestedClassCount != indexedNestedClassCount) {
+          // nested classes are kept in name order, so new ones may be anywhere among them
+          _class.classes().forEachRemaining(nestedClass -> add(nestedClass, _class));
+          indexedNestedClassCounts.put(_class, nestedClassCount);
+        }
+      }
+    }
+
+    private void add(JDefinedClass definedClass, JDefinedClass topLevelClass) {
+      JDefinedClass existing = classesByName.get(definedClass.name());
+      if (existing == null || comesBefore(definedClass, topLevelClass, existing)) {
+        classesByName.put(definedClass.name(), definedClass);
+      }
+    }
+
+    /**
+     * Whether a class comes before another in package order: each class
+     * declared in the package, followed by the classes nested in it.
+     */
+    private static boolean comesBefore(JDefinedClass definedClass, JDefinedClass topLevelClass, JDefinedClass other) {
+      if (definedClass == other) {
+        return false;
+      }
+      JDefinedClass otherTopLevelClass = other.outer() instanceof JDefinedClass ? (JDefinedClass) other.outer() : other;
+      int order = topLevelClass.name().compareTo(otherTopLevelClass.name());
+      if (order != 0) {
+        return order < 0;
+      }
+      return definedClass == topLevelClass || (other != otherTopLevelClass && definedClass.name().compareTo(other.name()) < 0);
+    }
 
-    _class.classes().forEachRemaining(result::add);
-    return result;
   }
 
   private Schema resolveSchemaRefsRecursive(Schema schema) {
@@ -0,0 +1,108 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassContainer;
+import com.sun.codemodel.JCodeModel;
+
+import japa.parser.ast.type.ClassOrInterfaceType;
+
+/**
+ * Remembers the outcome of resolving Java types during a generation run, so
+ * that the same type expression (e.g. a shared <code>existingJavaType</code>)
+ * is only parsed once, and the same class name is only looked up once per
+ * class loader (whether or not the class is found).
+ * <p>
+ * Classes that can't be loaded are remembered as missing, so an instance
+ * should not outlive the run it was created for (classes generated by one run
+ * may be on the classpath of the next).
+ */
+public class TypeResolutionCache {
+
+    private final Map<String, ClassOrInterfaceType> parsedTypes = new ConcurrentHashMap<>();
+    private final Map<JCodeModel, Map<String, JClass>> resolvedTypes = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<ClassLoader, Map<String, Optional<Class<?>>>> loadedClasses = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Resolves a type expression (e.g. <code>java.util.List&lt;com.example.Foo&gt;</code>)
+     * in the same way as {@link TypeUtil#resolveType(JClassContainer, String)}.
+     *
+     * @param container
+     *            a container belonging to the code model the type should be
+     *            resolved in
+     * @param typeDefinition
+     *            the type expression
+     * @return a reference to the type
+     */
+    public JClass resolveType(JClassContainer container, String typeDefinition) {
+        Map<String, JClass> types = resolvedTypes.computeIfAbsent(container.owner(), k -> new ConcurrentHashMap<>());
+
+        JClass type = types.get(typeDefinition);
+        if (type == null) {
+            ClassOrInterfaceType parsedType = parsedTypes.computeIfAbsent(typeDefinition, TypeUtil::parseType);
+            type = TypeUtil.buildClass(container, parsedType, 0);
+            types.putIfAbsent(typeDefinition, type);
+        }
+        return type;
+    }
+
+    /**
+     * Finds a class using the class loader that loaded this library (as
+     * {@link Class#forName(String)} would, if called from within this
+     * library). The class is not initialized.
+     *
+     * @param className
+     *            the binary name of the class
+     * @return the class, or <code>null</code> if it can't be found
+     */
+    public Class<?> forName(String className) {
+        return loadClass(className, TypeResolutionCache.class.getClassLoader());
+    }
+
+    /**
+     * Finds a class using the given class loader. The class is not
+     * initialized.
+     *
+     * @param className
+     *            the binary name of the class
+     * @param classLoader
+     *            the loader that should load the class
+     * @return the class, or <code>null</code> if it can't be found
+     */
+    public Class<?> loadClass(String className, ClassLoader classLoader) {
+        Map<String, Optional<Class<?>>> classes = loadedClasses.computeIfAbsent(classLoader, k -> new ConcurrentHashMap<>());
+
+        Optional<Class<?>> loadedClass = classes.get(className);
+        if (loadedClass == null) {
+            try {
+                loadedClass = Optional.of(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                loadedClass = Optional.empty();
+            }
+            classes.putIfAbsent(className, loadedClass);
+        }
+        return loadedClass.orElse(null);
+    }
+
+}
@@ -35,17 +35,20 @@ public class TypeUtil {
 
     public static JClass resolveType(JClassContainer _package, String typeDefinition) {
 
+        return buildClass(_package, parseType(typeDefinition), 0);
+    }
+
+    static ClassOrInterfaceType parseType(String typeDefinition) {
+
         try {
             FieldDeclaration fieldDeclaration = (FieldDeclaration) JavaParser.parseBodyDeclaration(typeDefinition + " foo;");
-            ClassOrInterfaceType c = (ClassOrInterfaceType) ((ReferenceType) fieldDeclaration.getType()).getType();
-
-            return buildClass(_package, c, 0);
+            return (ClassOrInterfaceType) ((ReferenceType) fieldDeclaration.getType()).getType();
         } catch (ParseException e) {
             throw new GenerationException("Couldn't parse type: " + typeDefinition, e);
         }
     }
 
-    private static JClass buildClass(JClassContainer _package, ClassOrInterfaceType c, int arrayCount) {
+    static JClass buildClass(JClassContainer _package, ClassOrInterfaceType c, int arrayCount) {
         final String packagePrefix = (c.getScope() != null) ? c.getScope().toString() + "." : "";
 
         JClass _class = _package.owner().ref(packagePrefix + c.getName());
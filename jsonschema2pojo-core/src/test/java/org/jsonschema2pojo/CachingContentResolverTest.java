@@ -0,0 +1,156 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+
+public class CachingContentResolverTest {
+
+    private static final String ADDRESS = "localhost";
+    private static final long EARLIER = 1000000000000L;
+
+    @RegisterExtension
+    public final WireMockExtension server = WireMockExtension.newInstance()
+            .options(options().dynamicPort().bindAddress(ADDRESS))
+            .build();
+
+    @TempDir
+    public File cacheDirectory;
+
+    private final RuleLogger logger = mock(RuleLogger.class);
+
+    @Test
+    public void cachedCopyIsRevalidatedUsingETag() {
+        server.stubFor(get("/schema.json").willReturn(okJson("{\"type\" : \"string\"}").withHeader("ETag", "\"v1\"")));
+        server.stubFor(get("/schema.json").withHeader("If-None-Match", equalTo("\"v1\"")).willReturn(aResponse().withStatus(304)));
+
+        assertThat(resolver(false).resolve(uri("/schema.json")).path("type").asText(), is("string"));
+        assertThat(resolver(false).resolve(uri("/schema.json")).path("type").asText(), is("string"));
+
+        server.verify(1, getRequestedFor(urlEqualTo("/schema.json")).withoutHeader("If-None-Match"));
+        server.verify(1, getRequestedFor(urlEqualTo("/schema.json")).withHeader("If-None-Match", equalTo("\"v1\"")));
+    }
+
+    @Test
+    public void cachedCopyIsRevalidatedUsingLastModified() {
+        String lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+        server.stubFor(get("/schema.json").willReturn(okJson("{\"type\" : \"string\"}").withHeader("Last-Modified", lastModified)));
+        server.stubFor(get("/schema.json").withHeader("If-Modified-Since", equalTo(lastModified)).willReturn(aResponse().withStatus(304)));
+
+        resolver(false).resolve(uri("/schema.json"));
+        assertThat(resolver(false).resolve(uri("/schema.json")).path("type").asText(), is("string"));
+
+        server.verify(1, getRequestedFor(urlEqualTo("/schema.json")).withHeader("If-Modified-Since", equalTo(lastModified)));
+    }
+
+    @Test
+    public void changedDocumentReplacesCachedCopy() {
+        server.stubFor(get("/schema.json").willReturn(okJson("{\"type\" : \"string\"}").withHeader("ETag", "\"v1\"")));
+        resolver(false).resolve(uri("/schema.json"));
+
+        server.stubFor(get("/schema.json").willReturn(okJson("{\"type\" : \"integer\"}").withHeader("ETag", "\"v2\"")));
+        assertThat(resolver(false).resolve(uri("/schema.json")).path("type").asText(), is("integer"));
+
+        server.resetAll();
+        assertThat(resolver(true).resolve(uri("/schema.json")).path("type").asText(), is("integer"));
+    }
+
+    @Test
+    public void offlineResolverReadsOnlyFromCache() {
+        server.stubFor(get("/schema.json").willReturn(okJson("{\"type\" : \"string\"}")));
+        resolver(false).resolve(uri("/schema.json"));
+        server.resetRequests();
+
+        assertThat(resolver(true).resolve(uri("/schema.json")).path("type").asText(), is("string"));
+        assertThrows(IllegalArgumentException.class, () -> resolver(true).resolve(uri("/other.json")));
+
+        server.verify(0, anyRequestedFor(anyUrl()));
+    }
+
+    @Test
+    public void cachedCopyIsUsedWhenServerFails() {
+        server.stubFor(get("/schema.json").willReturn(okJson("{\"type\" : \"string\"}")));
+        URI uri = uri("/schema.json");
+        resolver(false).resolve(uri);
+
+        server.stubFor(get("/schema.json").willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        assertThat(resolver(false).resolve(uri).path("type").asText(), is("string"));
+    }
+
+    @Test
+    public void leastRecentlyUsedDocumentsAreEvicted() {
+        server.stubFor(get(urlMatching("/.*")).willReturn(okJson("{\"description\" : \"" + repeat('x', 200) + "\"}")));
+        CachingContentResolver resolver = new CachingContentResolver(null, cacheDirectory, 700, false, logger);
+
+        URI a = uri("/a.json");
+        URI b = uri("/b.json");
+        URI c = uri("/c.json");
+
+        resolver.resolve(a);
+        for (File file : cacheDirectory.listFiles()) {
+            assertThat(file.setLastModified(EARLIER), is(true));
+        }
+        resolver.resolve(b);
+        resolver.resolve(c);
+
+        CachingContentResolver offlineResolver = resolver(true);
+        assertThrows(IllegalArgumentException.class, () -> offlineResolver.resolve(a));
+        assertThat(offlineResolver.resolve(b).has("description"), is(true));
+        assertThat(offlineResolver.resolve(c).has("description"), is(true));
+    }
+
+    @Test
+    public void nonHttpDocumentsAreNotCached() throws Exception {
+        URI uri = getClass().getResource("/schema/address.json").toURI();
+
+        assertThat(resolver(false).resolve(uri).has("properties"), is(true));
+        assertThat(cacheDirectory.list(), is(emptyArray()));
+    }
+
+    private CachingContentResolver resolver(boolean offline) {
+        return new CachingContentResolver(null, cacheDirectory, CachingContentResolver.DEFAULT_MAX_CACHE_SIZE, offline, 5000, logger);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://" + ADDRESS + ":" + server.getPort() + path);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+}
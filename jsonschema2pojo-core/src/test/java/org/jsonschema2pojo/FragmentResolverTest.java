@@ -135,4 +135,55 @@ public class FragmentResolverTest {
         assertThrows(IllegalArgumentException.class, () -> resolver.resolve(root, "#/a/b", "#/."));
     }
 
+    @Test
+    public void encodedTokensAreDecoded() {
+        ObjectNode root = new ObjectMapper().createObjectNode();
+
+        ObjectNode a = root.objectNode();
+        root.set("a/b.c", a);
+
+        assertThat(resolver.resolve(root, "#/a~1b~3c", "#/."), is(sameInstance(a)));
+        assertThat(resolver.resolve(root, "#/a~1b~3c", "#/."), is(sameInstance(a)));
+    }
+
+    @Test
+    public void samePathIsResolvedWithinEachDocument() {
+        ObjectNode first = new ObjectMapper().createObjectNode();
+        ObjectNode second = new ObjectMapper().createObjectNode();
+
+        ObjectNode a1 = first.putObject("a");
+        ObjectNode a2 = second.putObject("a");
+        ObjectNode b1 = a1.putObject("b");
+        ObjectNode b2 = a2.putObject("b");
+
+        assertThat(resolver.resolve(first, "#/a", "#/."), is(sameInstance(a1)));
+        assertThat(resolver.resolve(second, "#/a", "#/."), is(sameInstance(a2)));
+        assertThat(resolver.resolve(first, "#/a/b", "#/."), is(sameInstance(b1)));
+        assertThat(resolver.resolve(second, "#/a/b", "#/."), is(sameInstance(b2)));
+    }
+
+    @Test
+    public void pathsSharingAPrefixResolveIndependently() {
+        ObjectNode root = new ObjectMapper().createObjectNode();
+
+        ObjectNode x = root.putObject("properties").putObject("a").putObject("properties").putObject("x");
+        ObjectNode y = ((ObjectNode) root.get("properties").get("a").get("properties")).putObject("y");
+
+        assertThat(resolver.resolve(root, "#/properties/a/properties/x", "#/."), is(sameInstance(x)));
+        assertThat(resolver.resolve(root, "#/properties/a/properties/y", "#/."), is(sameInstance(y)));
+        assertThat(resolver.resolve(root, "#/properties/a", "#/."), is(sameInstance(root.get("properties").get("a"))));
+        assertThrows(IllegalArgumentException.class, () -> resolver.resolve(root, "#/properties/a/properties/z", "#/."));
+    }
+
+    @Test
+    public void delimitersDetermineHowPathIsSplit() {
+        ObjectNode root = new ObjectMapper().createObjectNode();
+
+        ObjectNode dotted = root.putObject("a.b");
+        ObjectNode nested = root.putObject("a").putObject("b");
+
+        assertThat(resolver.resolve(root, "#/a.b", "#/"), is(sameInstance(dotted)));
+        assertThat(resolver.resolve(root, "#/a.b", "#/."), is(sameInstance(nested)));
+    }
+
 }
@@ -0,0 +1,85 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+
+public class ParallelGeneratorTest {
+
+    @TempDir
+    public File directory;
+
+    private final RuleLogger logger = mock(RuleLogger.class);
+
+    @Test
+    public void registriesOfWorkersAreMerged() throws IOException {
+        File sourceDirectory = new File(directory, "schemas");
+        File targetDirectory = new File(directory, "generated");
+        for (String name : new String[] { "a", "b", "c", "d" }) {
+            FileUtils.writeStringToFile(new File(sourceDirectory, name + ".json"),
+                    "{ \"type\" : \"object\", \"properties\" : { \"" + name + "\" : { \"type\" : \"string\" } } }", StandardCharsets.UTF_8);
+        }
+
+        URL source = sourceDirectory.toURI().toURL();
+        Jsonschema2Pojo.generate(new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return Collections.singleton(source).iterator();
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return targetDirectory;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return "com.example";
+            }
+
+            @Override
+            public int getParallelism() {
+                return 2;
+            }
+
+            @Override
+            public boolean isGenerateJacksonSerializers() {
+                return true;
+            }
+        }, logger);
+
+        verify(logger, never()).info(ArgumentMatchers.startsWith("Parallel generation produced conflicting types"));
+
+        String module = FileUtils.readFileToString(new File(targetDirectory, "com/example/GeneratedSerializersModule.java"), StandardCharsets.UTF_8);
+        assertThat(module, stringContainsInOrder("addSerializer(A.class", "addSerializer(B.class", "addSerializer(C.class", "addSerializer(D.class"));
+    }
+
+}
@@ -26,9 +26,18 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JType;
 
@@ -65,6 +74,72 @@ public class SchemaStoreTest {
 
     }
 
+    @Test
+    public void reachedDocumentsIncludeCachedDocumentsUntilCleared() throws URISyntaxException {
+
+        URI addressSchemaUri = getClass().getResource("/schema/address.json").toURI();
+        URI enumSchemaUri = addressSchemaUri.resolve("enum.json");
+
+        SchemaStore schemaStore = new SchemaStore();
+        Schema addressSchema = schemaStore.create(addressSchemaUri, "#/.");
+        schemaStore.create(addressSchema, "enum.json#/enum", "#/.");
+
+        assertThat(schemaStore.getReachedDocuments(), contains(addressSchemaUri, enumSchemaUri));
+
+        schemaStore.clearReachedDocuments();
+        schemaStore.create(addressSchemaUri, "#/.");
+
+        assertThat(schemaStore.getReachedDocuments(), contains(addressSchemaUri));
+
+    }
+
+    @Test
+    public void concurrentRequestsForSameDocumentReadItOnce() throws Exception {
+
+        URI schemaUri = getClass().getResource("/schema/address.json").toURI();
+
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch readReleased = new CountDownLatch(1);
+        ContentResolver contentResolver = new ContentResolver() {
+            @Override
+            public JsonNode resolve(URI uri) {
+                reads.incrementAndGet();
+                readStarted.countDown();
+                try {
+                    readReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.resolve(uri);
+            }
+        };
+
+        SchemaStore schemaStore = new SchemaStore(contentResolver, new NoopRuleLogger());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Schema>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                URI id = i % 2 == 0 ? schemaUri : URI.create(schemaUri + "#/properties/locality");
+                results.add(executor.submit(() -> schemaStore.create(id, "#/.")));
+            }
+
+            assertThat(readStarted.await(5, TimeUnit.SECONDS), is(true));
+            readReleased.countDown();
+
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get(), is(sameInstance(results.get(i % 2).get())));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(reads.get(), is(1));
+        assertThat(schemaStore.getMissCount(), is(1L));
+        assertThat(schemaStore.getHitCount(), is(7L));
+
+    }
+
     @Test
     public void createWithRelativeSegmentsInPath() throws URISyntaxException {
 
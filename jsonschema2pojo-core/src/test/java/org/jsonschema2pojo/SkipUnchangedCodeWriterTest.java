@@ -0,0 +1,115 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JPackage;
+
+public class SkipUnchangedCodeWriterTest {
+
+    private static final long EARLIER = 1000000000000L;
+
+    @TempDir
+    public File targetDirectory;
+
+    private final RuleLogger logger = mock(RuleLogger.class);
+
+    @Test
+    public void unchangedFilesAreNotRewritten() throws IOException {
+        File unchanged = write("com/example/Unchanged.java", "class Unchanged {}");
+        File changed = write("com/example/Changed.java", "class Changed {}");
+
+        SkipUnchangedCodeWriter writer = new SkipUnchangedCodeWriter(targetDirectory, "UTF-8", logger, false);
+        generate(writer, "com.example", "Unchanged.java", "class Unchanged {}");
+        generate(writer, "com.example", "Changed.java", "class Changed { int i; }");
+        generate(writer, "com.example", "Added.java", "class Added {}");
+        writer.close();
+
+        assertThat(unchanged.lastModified(), is(EARLIER));
+        assertThat(changed.lastModified(), is(not(EARLIER)));
+        assertThat(FileUtils.readFileToString(changed, StandardCharsets.UTF_8), is("class Changed { int i; }"));
+        assertThat(new File(targetDirectory, "com/example/Added.java").isFile(), is(true));
+
+        assertThat(writer.getWrittenCount(), is(2));
+        assertThat(writer.getUnchangedCount(), is(1));
+        verify(logger).info("Generated 3 files in " + targetDirectory + ": 2 written, 1 unchanged, 0 deleted");
+    }
+
+    @Test
+    public void staleFilesAreDeletedOnlyWhenRequested() throws IOException {
+        File stale = write("com/example/old/Stale.java", "class Stale {}");
+
+        SkipUnchangedCodeWriter writer = new SkipUnchangedCodeWriter(targetDirectory, "UTF-8", logger, false);
+        generate(writer, "com.example", "Current.java", "class Current {}");
+        writer.close();
+
+        assertThat(stale.isFile(), is(true));
+
+        writer = new SkipUnchangedCodeWriter(targetDirectory, "UTF-8", logger, true);
+        generate(writer, "com.example", "Current.java", "class Current {}");
+        writer.close();
+
+        assertThat(stale.exists(), is(false));
+        assertThat(stale.getParentFile().exists(), is(false));
+        assertThat(new File(targetDirectory, "com/example/Current.java").isFile(), is(true));
+        verify(logger).info("Generated 1 files in " + targetDirectory + ": 0 written, 1 unchanged, 1 deleted");
+    }
+
+    @Test
+    public void obsoleteFilesAreDeletedAndCounted() throws IOException {
+        File obsolete = write("com/example/Obsolete.java", "class Obsolete {}");
+        File regenerated = write("com/example/Current.java", "class Current {}");
+
+        SkipUnchangedCodeWriter writer = new SkipUnchangedCodeWriter(targetDirectory, "UTF-8", logger, false);
+        writer.deleteOnClose(asList("com/example/Obsolete.java", "com/example/Current.java", "com/example/Missing.java"));
+        generate(writer, "com.example", "Current.java", "class Current {}");
+        writer.close();
+
+        assertThat(obsolete.exists(), is(false));
+        assertThat(regenerated.isFile(), is(true));
+        verify(logger).info("Generated 1 files in " + targetDirectory + ": 0 written, 1 unchanged, 1 deleted");
+    }
+
+    private File write(String path, String content) throws IOException {
+        File file = new File(targetDirectory, path);
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+        assertThat(file.setLastModified(EARLIER), is(true));
+        return file;
+    }
+
+    private static void generate(SkipUnchangedCodeWriter writer, String packageName, String fileName, String content) throws IOException {
+        JPackage pkg = new JCodeModel()._package(packageName);
+        try (Writer source = writer.openSource(pkg, fileName)) {
+            source.write(content);
+        }
+    }
+
+}
@@ -22,6 +22,7 @@ import java.util.Set;
 
 import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.NoopAnnotator;
+import org.jsonschema2pojo.Schema;
 import org.jsonschema2pojo.SchemaStore;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedClass;
@@ -29,6 +30,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
@@ -37,6 +39,7 @@ import com.sun.codemodel.JFormatter;
 import com.sun.codemodel.JMod;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.mock;
@@ -81,4 +84,61 @@ public class DefaultRuleTest {
         rule.apply("fooBar", node, null, field, null).bind(new JFormatter(sw));
         assertThat(sw.toString(), startsWith(String.format("%s<%s> value = ", fieldTypeClass.getName(), Object.class.getName())));
     }
+
+    @Test
+    public void whenIsLazyCollections_true_applyDoesNotInitializeField() throws JClassAlreadyExistsException {
+        when(config.isInitializeCollections()).thenReturn(true);
+        when(config.isLazyCollections()).thenReturn(true);
+
+        JDefinedClass jclass = new JCodeModel()._class("org.jsonschema2pojo.rules.ExampleClass");
+        JFieldVar field = jclass.field(JMod.NONE, jclass.owner().ref(fieldTypeClass).narrow(Object.class), "value");
+
+        StringWriter sw = new StringWriter();
+        rule.apply("fooBar", null, null, field, null).bind(new JFormatter(sw));
+        assertThat(sw.toString(), is(String.format("%s<%s> value", fieldTypeClass.getName(), Object.class.getName())));
+    }
+
+    @Test
+    public void whenDefaultIsPresent_applyInitializesFieldFromConstant() throws JClassAlreadyExistsException {
+        when(config.isInitializeCollections()).thenReturn(true);
+
+        JDefinedClass jclass = new JCodeModel()._class("org.jsonschema2pojo.rules.ExampleClass");
+        JFieldVar field = jclass.field(JMod.NONE, jclass.owner().ref(fieldTypeClass).narrow(Integer.class), "someValues");
+        ArrayNode node = new ObjectMapper().createArrayNode().add(1).add(2);
+        Schema schema = new Schema(null, new ObjectMapper().createObjectNode(), null);
+        schema.setJavaType(jclass);
+
+        StringWriter sw = new StringWriter();
+        rule.apply("fooBar", node, null, field, schema).bind(new JFormatter(sw));
+
+        JFieldVar constant = jclass.fields().get("DEFAULT_SOME_VALUES");
+        assertThat(constant.mods().getValue(), is(JMod.PRIVATE | JMod.STATIC | JMod.FINAL));
+        assertThat(sw.toString(), endsWith("(DEFAULT_SOME_VALUES)"));
+    }
+
+    @Test
+    public void whenMinItemsIsPresent_applyPresizesCollection() throws JClassAlreadyExistsException {
+        when(config.isInitializeCollections()).thenReturn(true);
+
+        JDefinedClass jclass = new JCodeModel()._class("org.jsonschema2pojo.rules.ExampleClass");
+        JFieldVar field = jclass.field(JMod.NONE, jclass.owner().ref(fieldTypeClass).narrow(Object.class), "value");
+        ObjectNode propertyNode = new ObjectMapper().createObjectNode().put("minItems", 4);
+
+        StringWriter sw = new StringWriter();
+        rule.apply("fooBar", null, propertyNode, field, null).bind(new JFormatter(sw));
+        assertThat(sw.toString(), endsWith(fieldTypeClass == List.class ? "(4)" : "(6)"));
+    }
+
+    @Test
+    public void whenMinItemsIsLarge_applyDoesNotPresizeCollection() throws JClassAlreadyExistsException {
+        when(config.isInitializeCollections()).thenReturn(true);
+
+        JDefinedClass jclass = new JCodeModel()._class("org.jsonschema2pojo.rules.ExampleClass");
+        JFieldVar field = jclass.field(JMod.NONE, jclass.owner().ref(fieldTypeClass).narrow(Object.class), "value");
+        ObjectNode propertyNode = new ObjectMapper().createObjectNode().put("minItems", 1000000);
+
+        StringWriter sw = new StringWriter();
+        rule.apply("fooBar", null, propertyNode, field, null).bind(new JFormatter(sw));
+        assertThat(sw.toString(), endsWith("()"));
+    }
 }
@@ -24,6 +24,7 @@ import org.jsonschema2pojo.Annotator;
 import org.jsonschema2pojo.RuleLogger;
 import org.jsonschema2pojo.Schema;
 import org.jsonschema2pojo.util.NameHelper;
+import org.jsonschema2pojo.util.TypeResolutionCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -54,6 +55,7 @@ public class EnumRuleTest {
         when(ruleFactory.getLogger()).thenReturn(logger);
         when(ruleFactory.getAnnotator()).thenReturn(annotator);
         when(ruleFactory.getTypeRule()).thenReturn(typeRule);
+        when(ruleFactory.getTypeResolutionCache()).thenReturn(new TypeResolutionCache());
     }
 
     @Test
@@ -27,6 +27,8 @@ import org.jsonschema2pojo.RuleLogger;
 import org.jsonschema2pojo.SchemaStore;
 import org.junit.jupiter.api.Test;
 
+import com.sun.codemodel.JType;
+
 public class RuleFactoryImplTest {
 
     @Test
@@ -108,4 +110,88 @@ public class RuleFactoryImplTest {
 
         assertThat(ruleFactory.getSchemaStore(), is(sameInstance(mockSchemaStore)));
     }
+
+    @Test
+    public void rulesAreCreatedOnEachCallByDefault() {
+
+        RuleFactory ruleFactory = new RuleFactory();
+
+        assertThat(ruleFactory.isCacheRules(), is(false));
+        assertThat(ruleFactory.getFormatRule(), is(not(sameInstance(ruleFactory.getFormatRule()))));
+        assertThat(ruleFactory.getPropertyRule(), is(not(sameInstance(ruleFactory.getPropertyRule()))));
+    }
+
+    @Test
+    public void cachedRulesAreReused() {
+
+        RuleFactory ruleFactory = new RuleFactory();
+        ruleFactory.setCacheRules(true);
+
+        assertThat(ruleFactory.getFormatRule(), is(sameInstance(ruleFactory.getFormatRule())));
+        assertThat(ruleFactory.getPropertyRule(), is(sameInstance(ruleFactory.getPropertyRule())));
+        assertThat(ruleFactory.getTypeRule(), is(sameInstance(ruleFactory.getTypeRule())));
+        assertThat(ruleFactory.getPropertyRule(), is(not(sameInstance(ruleFactory.getPropertiesRule()))));
+    }
+
+    @Test
+    public void cachedFormatRuleLoadsConfiguredTypesOnce() {
+
+        GenerationConfig config = spy(new DefaultGenerationConfig());
+        when(config.getDateTimeType()).thenReturn("java.time.OffsetDateTime");
+
+        RuleFactory ruleFactory = new RuleFactory(config, new NoopAnnotator(), new SchemaStore());
+        ruleFactory.setCacheRules(true);
+
+        ruleFactory.getFormatRule();
+        ruleFactory.getFormatRule();
+
+        verify(config, times(1)).getDateTimeType();
+    }
+
+    @Test
+    public void cachedRulesAreDiscardedWhenGenerationConfigChanges() {
+
+        RuleFactory ruleFactory = new RuleFactory();
+        ruleFactory.setCacheRules(true);
+
+        Rule<?, ?> formatRule = ruleFactory.getFormatRule();
+        ruleFactory.setGenerationConfig(new DefaultGenerationConfig());
+
+        assertThat(ruleFactory.getFormatRule(), is(not(sameInstance(formatRule))));
+    }
+
+    @Test
+    public void cachedRulesAreDiscardedWhenCollaboratorsChange() {
+
+        RuleFactory ruleFactory = new RuleFactory();
+        ruleFactory.setCacheRules(true);
+
+        Rule<?, ?> propertyRule = ruleFactory.getPropertyRule();
+        ruleFactory.setAnnotator(new NoopAnnotator());
+        assertThat(ruleFactory.getPropertyRule(), is(not(sameInstance(propertyRule))));
+
+        propertyRule = ruleFactory.getPropertyRule();
+        ruleFactory.setLogger(mock(RuleLogger.class));
+        assertThat(ruleFactory.getPropertyRule(), is(not(sameInstance(propertyRule))));
+
+        propertyRule = ruleFactory.getPropertyRule();
+        ruleFactory.setSchemaStore(new SchemaStore());
+        assertThat(ruleFactory.getPropertyRule(), is(not(sameInstance(propertyRule))));
+    }
+
+    @Test
+    public void overriddenFactoryMethodsAreUsedWhenCachingRules() {
+
+        Rule<JType, JType> customFormatRule = mock(Rule.class);
+        RuleFactory ruleFactory = new RuleFactory() {
+            @Override
+            public Rule<JType, JType> getFormatRule() {
+                return customFormatRule;
+            }
+        };
+        ruleFactory.setCacheRules(true);
+
+        assertThat(ruleFactory.getFormatRule(), is(sameInstance(customFormatRule)));
+        assertThat(ruleFactory.getTypeRule(), is(sameInstance(ruleFactory.getTypeRule())));
+    }
 }
@@ -24,6 +24,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 
 import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.util.TypeResolutionCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -47,6 +48,7 @@ public class TypeRuleTest {
     @BeforeEach
     public void wireUpConfig() {
         when(ruleFactory.getGenerationConfig()).thenReturn(config);
+        when(ruleFactory.getTypeResolutionCache()).thenReturn(new TypeResolutionCache());
     }
 
     @Test
@@ -336,6 +338,107 @@ public class TypeRuleTest {
         assertThat(result.fullName(), is(Long.class.getName()));
     }
 
+    @Test
+    public void applyGeneratesNarrowedIntegerPrimitiveWhenBoundsFitByteOrShort() {
+
+        JPackage jpackage = new JCodeModel()._package(getClass().getPackage().getName());
+
+        ObjectNode objectNode = new ObjectMapper().createObjectNode();
+        objectNode.put("type", "integer");
+        objectNode.put("minimum", 0);
+        objectNode.put("maximum", 100);
+
+        when(config.isUsePrimitives()).thenReturn(true);
+        when(config.isUseNarrowIntegers()).thenReturn(true);
+
+        assertThat(rule.apply("fooBar", objectNode, null, jpackage, null).fullName(), is("byte"));
+
+        objectNode.put("maximum", 1000);
+
+        assertThat(rule.apply("fooBar", objectNode, null, jpackage, null).fullName(), is("short"));
+    }
+
+    @Test
+    public void applyGeneratesNarrowedIntegerUsingExclusiveBounds() {
+
+        JPackage jpackage = new JCodeModel()._package(getClass().getPackage().getName());
+
+        ObjectNode objectNode = new ObjectMapper().createObjectNode();
+        objectNode.put("type", "integer");
+        objectNode.put("exclusiveMinimum", -129);
+        objectNode.put("exclusiveMaximum", 128);
+
+        when(config.isUsePrimitives()).thenReturn(false);
+        when(config.isUseNarrowIntegers()).thenReturn(true);
+
+        assertThat(rule.apply("fooBar", objectNode, null, jpackage, null).fullName(), is(Byte.class.getName()));
+
+        objectNode.remove("exclusiveMinimum");
+        objectNode.remove("exclusiveMaximum");
+        objectNode.put("minimum", -129);
+        objectNode.put("exclusiveMinimum", true);
+        objectNode.put("maximum", 128);
+
+        assertThat(rule.apply("fooBar", objectNode, null, jpackage, null).fullName(), is(Short.class.getName()));
+    }
+
+    @Test
+    public void applyGeneratesNarrowedIntegerAsLongOrBigIntegerForWideBounds() {
+
+        JPackage jpackage = new JCodeModel()._package(getClass().getPackage().getName());
+
+        ObjectNode objectNode = new ObjectMapper().createObjectNode();
+        objectNode.put("type", "integer");
+        objectNode.put("minimum", 0);
+        objectNode.put("maximum", Integer.MAX_VALUE + 1L);
+
+        when(config.isUsePrimitives()).thenReturn(true);
+        when(config.isUseNarrowIntegers()).thenReturn(true);
+
+        assertThat(rule.apply("fooBar", objectNode, null, jpackage, null).fullName(), is("long"));
+
+        objectNode.put("maximum", new BigInteger("100000000000000000000"));
+
+        assertThat(rule.apply("fooBar", objectNode, null, jpackage, null).fullName(), is(BigInteger.class.getName()));
+    }
+
+    @Test
+    public void applyDoesNotNarrowIntegerWithoutBothBounds() {
+
+        JPackage jpackage = new JCodeModel()._package(getClass().getPackage().getName());
+
+        ObjectNode objectNode = new ObjectMapper().createObjectNode();
+        objectNode.put("type", "integer");
+        objectNode.put("minimum", 0);
+
+        when(config.isUsePrimitives()).thenReturn(true);
+        when(config.isUseNarrowIntegers()).thenReturn(true);
+
+        assertThat(rule.apply("fooBar", objectNode, null, jpackage, null).fullName(), is("int"));
+    }
+
+    @Test
+    public void applyGeneratesNarrowedIntegerForNumberWithIntegralMultipleOf() {
+
+        JPackage jpackage = new JCodeModel()._package(getClass().getPackage().getName());
+
+        ObjectNode objectNode = new ObjectMapper().createObjectNode();
+        objectNode.put("type", "number");
+        objectNode.put("minimum", 0);
+        objectNode.put("maximum", 1000);
+        objectNode.put("multipleOf", 10);
+
+        when(config.isUsePrimitives()).thenReturn(true);
+        when(config.isUseNarrowIntegers()).thenReturn(true);
+        when(config.isUseDoubleNumbers()).thenReturn(true);
+
+        assertThat(rule.apply("fooBar", objectNode, null, jpackage, null).fullName(), is("short"));
+
+        objectNode.put("multipleOf", 0.5);
+
+        assertThat(rule.apply("fooBar", objectNode, null, jpackage, null).fullName(), is("double"));
+    }
+
     @Test
     public void applyGeneratesIntegerUsingJavaTypeLongPrimitiveWhenMinimumGreaterThanIntegerMax() {
 
@@ -31,6 +31,21 @@ public class JavaVersionTest {
         assertThat(JavaVersion.parse("10.0.1"), is("10"));
     }
 
+    @Test
+    public void testIs7OrLater() {
+        assertThat(JavaVersion.is7OrLater(null), is(false));
+        assertThat(JavaVersion.is7OrLater(""), is(false));
+        assertThat(JavaVersion.is7OrLater("1.5"), is(false));
+        assertThat(JavaVersion.is7OrLater("5"), is(false));
+        assertThat(JavaVersion.is7OrLater("1.6"), is(false));
+        assertThat(JavaVersion.is7OrLater("6"), is(false));
+        assertThat(JavaVersion.is7OrLater("1.7"), is(true));
+        assertThat(JavaVersion.is7OrLater("7"), is(true));
+        assertThat(JavaVersion.is7OrLater("1.8"), is(true));
+        assertThat(JavaVersion.is7OrLater("8"), is(true));
+        assertThat(JavaVersion.is7OrLater("11"), is(true));
+    }
+
     @Test
     public void testIs9OrLater() {
         assertThat(JavaVersion.is9OrLater(null), is(false));
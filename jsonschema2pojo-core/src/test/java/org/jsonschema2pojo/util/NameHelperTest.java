@@ -26,7 +26,9 @@ import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JPackage;
 
 public class NameHelperTest {
 
@@ -77,6 +79,67 @@ public class NameHelperTest {
         return new NameHelper(config);
     }
 
+    @Test
+    public void illegalCharactersAreReplaced() {
+        assertThat(nameHelper.replaceIllegalCharacters("foo-bar.baz"), is("foo_bar_baz"));
+        assertThat(nameHelper.replaceIllegalCharacters("foo_$Bar1"), is("foo_$Bar1"));
+    }
+
+    @Test
+    public void namesFollowJavaNameWhenPresent() {
+        assertThat(nameHelper.getPropertyName("foo-bar", NODE), is("fooBar"));
+        assertThat(nameHelper.getPropertyName("foo-bar", node("javaName", "baz")), is("baz"));
+        assertThat(nameHelper.getPropertyName("foo-bar", NODE), is("fooBar"));
+
+        assertThat(nameHelper.getSetterName("foo-bar", NODE), is("setFooBar"));
+        assertThat(nameHelper.getSetterName("foo-bar", node("javaName", "baz")), is("setBaz"));
+        assertThat(nameHelper.getGetterName("foo-bar", new JCodeModel().INT, node("javaName", "baz")), is("getBaz"));
+        assertThat(nameHelper.getGetterName("foo-bar", new JCodeModel().BOOLEAN, NODE), is("isFooBar"));
+    }
+
+    @Test
+    public void uniqueClassNamesAreNumberedInOrder() throws JClassAlreadyExistsException {
+        JPackage _package = new JCodeModel()._package("com.example");
+
+        for (String expected : new String[] { "Foo", "Foo__1", "Foo__2", "Foo__3" }) {
+            String className = nameHelper.getUniqueClassName("foo", NODE, _package);
+            assertThat(className, is(expected));
+            _package._class(className);
+        }
+    }
+
+    @Test
+    public void uniqueClassNameIsReservedWhenHandedOut() throws JClassAlreadyExistsException {
+        JPackage _package = new JCodeModel()._package("com.example");
+        _package._class("Foo");
+
+        assertThat(nameHelper.getUniqueClassName("foo", NODE, _package), is("Foo__1"));
+        assertThat(nameHelper.getUniqueClassName("foo", NODE, _package), is("Foo__2"));
+        assertThat(_package.isDefined("Foo__1"), is(false));
+    }
+
+    @Test
+    public void uniqueClassNamesSkipNamesTakenElsewhere() throws JClassAlreadyExistsException {
+        JPackage _package = new JCodeModel()._package("com.example");
+        _package._class("Foo");
+        _package._class("Foo__1");
+
+        assertThat(nameHelper.getUniqueClassName("foo", NODE, _package), is("Foo__2"));
+        _package._class("Foo__2");
+        _package._class("Foo__3");
+
+        assertThat(nameHelper.getUniqueClassName("foo", NODE, _package), is("Foo__4"));
+        assertThat(nameHelper.getUniqueClassName("bar", NODE, _package), is("Bar"));
+    }
+
+    @Test
+    public void repeatedSingularizationsGiveSameResult() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(nameHelper.singularize("Species"), is("Species"));
+            assertThat(nameHelper.singularize("addresses"), is("address"));
+        }
+    }
+
     private ObjectNode node(String key, String value) {
         return JsonNodeFactory.instance.objectNode()
                 .put(key, value);
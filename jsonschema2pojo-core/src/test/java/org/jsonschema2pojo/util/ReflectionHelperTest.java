@@ -0,0 +1,90 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.junit.jupiter.api.Test;
+
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+
+public class ReflectionHelperTest {
+
+    private final ReflectionHelper reflectionHelper = new ReflectionHelper(new RuleFactory());
+    private final JPackage _package = new JCodeModel()._package("com.example");
+
+    @Test
+    public void builderClassesAreFoundInPackage() throws JClassAlreadyExistsException {
+        JDefinedClass target = _package._class("Target");
+        JDefinedClass baseBuilder = target._class(JMod.PUBLIC | JMod.STATIC, "TargetBuilderBase");
+        JDefinedClass builder = target._class(JMod.PUBLIC | JMod.STATIC, "TargetBuilder");
+
+        assertThat(reflectionHelper.getConcreteBuilderClass((JClass) target), is(sameInstance(builder)));
+        assertThat(reflectionHelper.getBaseBuilderClass((JClass) target), is(sameInstance(baseBuilder)));
+    }
+
+    @Test
+    public void classesAddedAfterALookupAreFound() throws JClassAlreadyExistsException {
+        JDefinedClass first = _package._class("First");
+        assertThat(reflectionHelper.getConcreteBuilderClass((JClass) first), is(nullValue()));
+
+        JDefinedClass firstBuilder = first._class(JMod.PUBLIC | JMod.STATIC, "FirstBuilder");
+        JDefinedClass second = _package._class("Second");
+        JDefinedClass secondBuilder = second._class(JMod.PUBLIC | JMod.STATIC, "SecondBuilder");
+
+        assertThat(reflectionHelper.getConcreteBuilderClass((JClass) first), is(sameInstance(firstBuilder)));
+        assertThat(reflectionHelper.getConcreteBuilderClass((JClass) second), is(sameInstance(secondBuilder)));
+    }
+
+    @Test
+    public void classesRemovedFromThePackageAreNotFound() throws JClassAlreadyExistsException {
+        JDefinedClass target = _package._class("Target");
+        JDefinedClass removed = _package._class("TargetBuilder");
+        assertThat(reflectionHelper.getConcreteBuilderClass((JClass) target), is(sameInstance(removed)));
+
+        _package.remove(removed);
+        assertThat(reflectionHelper.getConcreteBuilderClass((JClass) target), is(nullValue()));
+
+        JDefinedClass builder = target._class(JMod.PUBLIC | JMod.STATIC, "TargetBuilder");
+        assertThat(reflectionHelper.getConcreteBuilderClass((JClass) target), is(sameInstance(builder)));
+    }
+
+    @Test
+    public void classesInOtherPackagesAreNotFound() throws JClassAlreadyExistsException {
+        JDefinedClass target = _package._class("Target");
+        _package.owner()._package("com.example.other")._class("TargetBuilder");
+
+        assertThat(reflectionHelper.getConcreteBuilderClass((JClass) target), is(nullValue()));
+    }
+
+    @Test
+    public void fieldsAreFoundInGeneratedSuperClasses() throws JClassAlreadyExistsException {
+        JDefinedClass parent = _package._class("Parent");
+        parent.field(JMod.PRIVATE, String.class, "name");
+        JDefinedClass child = _package._class("Child")._extends(parent);
+
+        assertThat(reflectionHelper.searchClassAndSuperClassesForField("name", child), is(sameInstance(parent.fields().get("name"))));
+    }
+
+}
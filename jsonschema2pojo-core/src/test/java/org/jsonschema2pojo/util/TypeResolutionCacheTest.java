@@ -0,0 +1,98 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jsonschema2pojo.exception.GenerationException;
+import org.junit.jupiter.api.Test;
+
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JPackage;
+
+public class TypeResolutionCacheTest {
+
+    private final TypeResolutionCache cache = new TypeResolutionCache();
+
+    @Test
+    public void typeIsResolvedOncePerCodeModel() {
+        JPackage _package = new JCodeModel()._package("com.example");
+        JPackage otherPackage = new JCodeModel()._package("com.example");
+
+        JClass type = cache.resolveType(_package, "java.util.Map<java.lang.String, java.util.List<com.example.Foo>>");
+
+        assertThat(type.fullName(), is("java.util.Map<java.lang.String,java.util.List<com.example.Foo>>"));
+        assertThat(cache.resolveType(_package, "java.util.Map<java.lang.String, java.util.List<com.example.Foo>>"), is(sameInstance(type)));
+        assertThat(cache.resolveType(_package.subPackage("other"), "java.util.Map<java.lang.String, java.util.List<com.example.Foo>>"), is(sameInstance(type)));
+
+        JClass otherType = cache.resolveType(otherPackage, "java.util.Map<java.lang.String, java.util.List<com.example.Foo>>");
+        assertThat(otherType, is(not(sameInstance(type))));
+        assertThat(otherType.owner(), is(sameInstance(otherPackage.owner())));
+    }
+
+    @Test
+    public void invalidTypeIsReportedEachTime() {
+        JPackage _package = new JCodeModel()._package("com.example");
+
+        assertThrows(GenerationException.class, () -> cache.resolveType(_package, "java.util.List<"));
+        assertThrows(GenerationException.class, () -> cache.resolveType(_package, "java.util.List<"));
+    }
+
+    @Test
+    public void classLookupsAreRememberedPerClassLoader() {
+        RecordingClassLoader classLoader = new RecordingClassLoader();
+        RecordingClassLoader otherClassLoader = new RecordingClassLoader();
+
+        assertThat(cache.loadClass("java.lang.String", classLoader), is(equalTo(String.class)));
+        assertThat(cache.loadClass("java.lang.String", classLoader), is(equalTo(String.class)));
+        assertThat(cache.loadClass("com.example.Missing", classLoader), is(nullValue()));
+        assertThat(cache.loadClass("com.example.Missing", classLoader), is(nullValue()));
+        assertThat(cache.loadClass("com.example.Missing", otherClassLoader), is(nullValue()));
+
+        assertThat(classLoader.requested, contains("java.lang.String", "com.example.Missing"));
+        assertThat(otherClassLoader.requested, contains("com.example.Missing"));
+    }
+
+    @Test
+    public void forNameUsesLibraryClassLoader() {
+        assertThat(cache.forName(TypeResolutionCache.class.getName()), is(equalTo(TypeResolutionCache.class)));
+        assertThat(cache.forName("com.example.Missing"), is(nullValue()));
+    }
+
+    private static class RecordingClassLoader extends ClassLoader {
+
+        private final List<String> requested = new ArrayList<>();
+
+        RecordingClassLoader() {
+            super(TypeResolutionCacheTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            requested.add(name);
+            return super.loadClass(name, resolve);
+        }
+
+    }
+
+}
@@ -98,6 +98,23 @@ public class JsonSchemaExtension implements GenerationConfig {
   Map<String, String> formatTypeMapping
   boolean includeGeneratedAnnotation
   boolean useJakartaValidation
+  int parallelism
+  boolean incremental
+  File remoteSchemaCacheDirectory
+  long remoteSchemaCacheMaxSize
+  boolean offline
+  boolean lazyAdditionalProperties
+  String additionalPropertiesMapType
+  boolean lazyCollections
+  boolean cacheHashCode
+  boolean immutable
+  boolean generateJacksonSerializers
+  boolean generateGsonTypeAdapters
+  boolean generateMoshiAdapters
+  boolean useEnumCollections
+  boolean usePrimitiveArrays
+  boolean useNarrowIntegers
+  boolean includeValidateMethod
 
   public JsonSchemaExtension() {
     // See DefaultGenerationConfig
@@ -158,6 +175,22 @@ public class JsonSchemaExtension implements GenerationConfig {
     formatTypeMapping = Collections.emptyMap()
     includeGeneratedAnnotation = true
     useJakartaValidation = false
+    parallelism = 1
+    incremental = false
+    remoteSchemaCacheMaxSize = 52428800L
+    offline = false
+    lazyAdditionalProperties = false
+    additionalPropertiesMapType = "java.util.LinkedHashMap"
+    lazyCollections = false
+    cacheHashCode = false
+    immutable = false
+    generateJacksonSerializers = false
+    generateGsonTypeAdapters = false
+    generateMoshiAdapters = false
+    useEnumCollections = false
+    usePrimitiveArrays = false
+    useNarrowIntegers = false
+    includeValidateMethod = false
   }
 
   @Override
@@ -292,6 +325,23 @@ public class JsonSchemaExtension implements GenerationConfig {
        |includeConstructorPropertiesAnnotation = ${includeConstructorPropertiesAnnotation}
        |includeGeneratedAnnotation = ${includeGeneratedAnnotation}
        |useJakartaValidation = ${useJakartaValidation}
+       |parallelism = ${parallelism}
+       |incremental = ${incremental}
+       |remoteSchemaCacheDirectory = ${remoteSchemaCacheDirectory}
+       |remoteSchemaCacheMaxSize = ${remoteSchemaCacheMaxSize}
+       |offline = ${offline}
+       |lazyAdditionalProperties = ${lazyAdditionalProperties}
+       |additionalPropertiesMapType = ${additionalPropertiesMapType}
+       |lazyCollections = ${lazyCollections}
+       |cacheHashCode = ${cacheHashCode}
+       |immutable = ${immutable}
+       |generateJacksonSerializers = ${generateJacksonSerializers}
+       |generateGsonTypeAdapters = ${generateGsonTypeAdapters}
+       |generateMoshiAdapters = ${generateMoshiAdapters}
+       |useEnumCollections = ${useEnumCollections}
+       |usePrimitiveArrays = ${usePrimitiveArrays}
+       |useNarrowIntegers = ${useNarrowIntegers}
+       |includeValidateMethod = ${includeValidateMethod}
      """.stripMargin()
   }
 
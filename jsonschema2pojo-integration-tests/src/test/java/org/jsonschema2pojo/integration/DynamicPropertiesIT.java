@@ -21,9 +21,12 @@ import static org.hamcrest.Matchers.*;
 import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
+import org.apache.commons.io.FileUtils;
 import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -157,6 +160,42 @@ public class DynamicPropertiesIT {
                 "value");
     }
 
+    @Test
+    public void shouldSwitchOnPropertyNameWhenTargetingJava7() throws IOException {
+        schemaRule.generate("/schema/dynamic/parentType.json", "com.example", config("includeDynamicAccessors", true, "includeDynamicGetters", true,
+                "includeDynamicSetters", true, "targetVersion", "1.7"));
+
+        String source = FileUtils.readFileToString(schemaRule.generated("com/example/ParentType.java"), StandardCharsets.UTF_8);
+        assertThat(source, containsString("switch (name)"));
+        assertThat(source, not(containsString("\"stringValue\".equals(name)")));
+    }
+
+    @Test
+    public void shouldCompareEachPropertyNameWhenTargetingJava6() throws IOException {
+        schemaRule.generate("/schema/dynamic/parentType.json", "com.example", config("includeDynamicAccessors", true, "includeDynamicGetters", true,
+                "includeDynamicSetters", true, "targetVersion", "1.6"));
+
+        String source = FileUtils.readFileToString(schemaRule.generated("com/example/ParentType.java"), StandardCharsets.UTF_8);
+        assertThat(source, not(containsString("switch (name)")));
+        assertThat(source, containsString("\"stringValue\".equals(name)"));
+    }
+
+    @Test
+    public void shouldGetAdditionalPropertyForNullName() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/dynamic/parentType.json", "com.example", config("includeDynamicAccessors", true, "includeDynamicGetters", true, "includeDynamicSetters", true, "includeDynamicBuilders", true));
+
+        Class<?> parentType = resultsClassLoader.loadClass("com.example.ParentType");
+        Object instance = parentType.newInstance();
+
+        parentType.getMethod("set", String.class, Object.class)
+                .invoke(instance, null, "value");
+
+        assertThat("the null-named value was set",
+                (String) parentType.getMethod("get", String.class)
+                        .invoke(instance, (Object) null),
+                equalTo("value"));
+    }
+
     @Test
     public void shouldBuildStringField() throws Throwable {
         withDeclaredPropertyTest(
@@ -27,7 +27,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hamcrest.core.IsInstanceOf;
 import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
@@ -115,6 +117,44 @@ public class EnumIT {
         assertThat(exception.getCause(), is(instanceOf(IllegalArgumentException.class)));
     }
 
+    @Test
+    public void stringEnumIsFoundWithSwitch() throws IOException {
+
+        schemaRule.generate("/schema/enum/typeWithEnumProperty.json", "com.example", config("propertyWordDelimiters", "_", "targetVersion", "1.8"));
+        String content = FileUtils.readFileToString(schemaRule.generated("com/example/TypeWithEnumProperty.java"), StandardCharsets.UTF_8);
+
+        assertThat(content, containsString("switch (value)"));
+        assertThat(content, not(containsString("CONSTANTS")));
+    }
+
+    @Test
+    public void intEnumValuesAreFoundWithoutBoxing() throws Exception {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/enum/integerEnumLookups.json", "com.example");
+
+        for (String enumName : new String[] {"DenseEnum", "SparseEnum"}) {
+            Class<?> enumType = resultsClassLoader.loadClass("com.example.IntegerEnumLookups$" + enumName);
+            Method fromValue = enumType.getMethod("fromValue", Integer.class);
+            Method fromIntValue = enumType.getMethod("fromValue", int.class);
+            Method value = enumType.getMethod("value");
+
+            assertThat(fromValue.isAnnotationPresent(JsonCreator.class), is(true));
+            for (Object constant : enumType.getEnumConstants()) {
+                assertThat(fromValue.invoke(null, value.invoke(constant)), is(sameInstance(constant)));
+                assertThat(fromIntValue.invoke(null, value.invoke(constant)), is(sameInstance(constant)));
+            }
+
+            for (int invalidValue : new int[] {1, -3, 4, 99, 10001, Integer.MAX_VALUE - 1, Integer.MIN_VALUE + 1}) {
+                if (invalidValue != 1 || enumName.equals("DenseEnum")) {
+                    InvocationTargetException exception = assertThrows(InvocationTargetException.class, () -> fromIntValue.invoke(null, invalidValue));
+                    assertThat(exception.getCause(), is(instanceOf(IllegalArgumentException.class)));
+                }
+            }
+            InvocationTargetException exception = assertThrows(InvocationTargetException.class, () -> fromValue.invoke(null, (Object) null));
+            assertThat(exception.getCause(), is(instanceOf(IllegalArgumentException.class)));
+        }
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void enumAtRootCreatesATopLevelType() throws ClassNotFoundException {
@@ -0,0 +1,210 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class CacheHashCodeIT {
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void hashCodeIsCachedForImmutableTypes() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("cacheHashCode", true, "immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.CachedHashCode");
+        Object instance = mapper.readValue("{\"name\":\"a\",\"tags\":[\"b\"]}", generatedType);
+
+        int hashCode = instance.hashCode();
+        assertThat(cachedHashCode(instance), is(hashCode));
+        assertThat(instance.hashCode(), is(hashCode));
+    }
+
+    @Test
+    public void collectionsOfCachingTypesCantBeModified() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("cacheHashCode", true, "immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.CachedHashCode");
+        Object instance = mapper.readValue("{\"tags\":[\"b\"]}", generatedType);
+        List<?> tags = (List<?>) generatedType.getMethod("getTags").invoke(instance);
+
+        assertThrows(UnsupportedOperationException.class, () -> tags.clear());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void absentAndDefaultCollectionsOfCachingTypesCantBeModified() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("cacheHashCode", true, "immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.CachedHashCode");
+        assertThat(hasCachedHashCode(generatedType), is(true));
+
+        Object instance = mapper.readValue("{\"name\":\"a\"}", generatedType);
+        int hashCode = instance.hashCode();
+
+        for (String getter : new String[] { "getTags", "getDefaultTags" }) {
+            List<Object> values = (List<Object>) generatedType.getMethod(getter).invoke(instance);
+            assertThrows(UnsupportedOperationException.class, () -> values.add("z"), getter);
+        }
+        assertThat(instance.hashCode(), is(hashCode));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void hashCodeIsNotCachedForMutableTypes() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("cacheHashCode", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.CachedHashCode");
+        assertThat(hasCachedHashCode(generatedType), is(false));
+
+        Object instance = generatedType.newInstance();
+        Object other = generatedType.newInstance();
+        instance.hashCode();
+        ((List<Object>) generatedType.getMethod("getTags").invoke(instance)).add("a");
+
+        assertThat(instance, is(not(equalTo(other))));
+        assertThat(instance.hashCode(), is(not(other.hashCode())));
+    }
+
+    @Test
+    public void propertyNamedCachedHashCodeIsCompared() throws Exception {
+        for (boolean immutable : new boolean[] { false, true }) {
+            ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                    config("cacheHashCode", true, "immutable", immutable));
+
+            Class<?> generatedType = resultsClassLoader.loadClass("com.example.CachedHashCode");
+            Object a = mapper.readValue("{\"cachedHashCode\":\"a\"}", generatedType);
+            Object b = mapper.readValue("{\"cachedHashCode\":\"b\"}", generatedType);
+
+            assertThat(a, is(not(equalTo(b))));
+            assertThat(generatedType.getMethod("getCachedHashCode").invoke(a), is("a"));
+        }
+    }
+
+    @Test
+    public void equalsComparesCachedHashCodes() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("cacheHashCode", true, "immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.CachedHashCode");
+        Object a = mapper.readValue("{\"name\":\"a\"}", generatedType);
+        Object sameAsA = mapper.readValue("{\"name\":\"a\"}", generatedType);
+        Object b = mapper.readValue("{\"name\":\"b\"}", generatedType);
+
+        assertThat(a, is(equalTo(sameAsA)));
+        assertThat(a, is(not(equalTo(b))));
+
+        a.hashCode();
+        sameAsA.hashCode();
+        b.hashCode();
+
+        assertThat(a, is(equalTo(sameAsA)));
+        assertThat(a, is(not(equalTo(b))));
+    }
+
+    @Test
+    public void cacheIsNotSerialized() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("cacheHashCode", true, "immutable", true));
+
+        String json = "{\"name\":\"a\",\"tags\":[],\"defaultTags\":[\"a\"],\"cachedHashCode\":\"b\"}";
+        Object instance = mapper.readValue(json, resultsClassLoader.loadClass("com.example.CachedHashCode"));
+        instance.hashCode();
+
+        assertThat(mapper.readTree(mapper.writeValueAsString(instance)), is(mapper.readTree(json)));
+    }
+
+    @Test
+    public void cacheHashCodeCanBeSetPerSchema() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("immutable", true));
+
+        assertThat(hasCachedHashCode(resultsClassLoader.loadClass("com.example.CachedHashCode")), is(false));
+        assertThat(hasCachedHashCode(resultsClassLoader.loadClass("com.example.Cached")), is(true));
+    }
+
+    @Test
+    public void cacheHashCodeCanBeDisabledPerSchema() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("cacheHashCode", true, "immutable", true));
+
+        assertThat(hasCachedHashCode(resultsClassLoader.loadClass("com.example.CachedHashCode")), is(true));
+        assertThat(hasCachedHashCode(resultsClassLoader.loadClass("com.example.NotCached")), is(false));
+    }
+
+    @Test
+    public void typesWithMutableCollectionsDoNotCacheHashCode() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("cacheHashCode", true, "immutable", true));
+
+        assertThat(hasCachedHashCode(resultsClassLoader.loadClass("com.example.MutableCollection")), is(false));
+    }
+
+    @Test
+    public void immutableSubtypesCacheHashCode() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/hashCodeAndEquals/cachedHashCode.json", "com.example",
+                config("cacheHashCode", true, "immutable", true));
+
+        Class<?> supertype = resultsClassLoader.loadClass("com.example.Supertype");
+        Class<?> subtype = resultsClassLoader.loadClass("com.example.Subtype");
+        assertThat(hasCachedHashCode(supertype), is(true));
+        assertThat(hasCachedHashCode(subtype), is(true));
+
+        Object a = mapper.readValue("{\"value\":\"a\",\"other\":\"b\"}", subtype);
+        Object b = mapper.readValue("{\"value\":\"c\",\"other\":\"b\"}", subtype);
+        a.hashCode();
+        b.hashCode();
+        assertThat(a, is(not(equalTo(b))));
+    }
+
+    private static Field cachedHashCodeField(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields())
+                .filter(f -> Modifier.isTransient(f.getModifiers()) && f.getType() == int.class)
+                .findFirst().orElse(null);
+    }
+
+    private static boolean hasCachedHashCode(Class<?> type) {
+        return cachedHashCodeField(type) != null;
+    }
+
+    private static int cachedHashCode(Object instance) throws ReflectiveOperationException {
+        Field field = cachedHashCodeField(instance.getClass());
+        field.setAccessible(true);
+        return field.getInt(instance);
+    }
+
+}
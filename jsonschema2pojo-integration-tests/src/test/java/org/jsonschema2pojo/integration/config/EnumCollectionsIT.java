@@ -0,0 +1,144 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+public class EnumCollectionsIT {
+
+    private static final String JSON = "{\"permissions\":[\"read\",\"admin\"],\"flags\":[\"dark_mode\"],\"tags\":[\"a\"],\"limits\":{\"SECONDS\":10}}";
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void setsAndMapsOfEnumsUseEnumCollections() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/enumCollections/enumCollections.json", "com.example",
+                config("useEnumCollections", true))
+                .loadClass("com.example.EnumCollections");
+
+        assertThat(generatedType.getDeclaredField("permissions").getType(), is(equalTo((Object) EnumSet.class)));
+        assertThat(generatedType.getDeclaredField("flags").getType(), is(equalTo((Object) EnumSet.class)));
+        assertThat(generatedType.getDeclaredField("tags").getType(), is(equalTo((Object) Set.class)));
+        assertThat(generatedType.getDeclaredField("limits").getType(), is(equalTo((Object) EnumMap.class)));
+    }
+
+    @Test
+    public void accessorsOfEnumCollectionsUseSetsAndMaps() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/enumCollections/enumCollections.json", "com.example",
+                config("useEnumCollections", true))
+                .loadClass("com.example.EnumCollections");
+
+        assertThat(generatedType.getMethod("getPermissions").getReturnType(), is(equalTo((Object) Set.class)));
+        assertThat(generatedType.getMethod("getLimits").getReturnType(), is(equalTo((Object) Map.class)));
+
+        Object instance = generatedType.newInstance();
+        Map<TimeUnit, Integer> limits = new HashMap<>();
+        limits.put(TimeUnit.SECONDS, 10);
+        generatedType.getMethod("setLimits", Map.class).invoke(instance, limits);
+        generatedType.getMethod("setPermissions", Set.class).invoke(instance, new HashSet<>());
+
+        assertThat(generatedType.getMethod("getLimits").invoke(instance), is(instanceOf(EnumMap.class)));
+        assertThat(generatedType.getMethod("getLimits").invoke(instance), is(equalTo((Object) limits)));
+        assertThat(generatedType.getMethod("getPermissions").invoke(instance), is(instanceOf(EnumSet.class)));
+    }
+
+    @Test
+    public void enumCollectionsAreNotUsedForMoshiOrJsonb() throws Exception {
+        for (String annotationStyle : new String[] { "moshi1", "jsonb2" }) {
+            Class<?> generatedType = schemaRule.generateAndCompile("/schema/enumCollections/enumCollections.json", "com.example",
+                    config("useEnumCollections", true, "annotationStyle", annotationStyle))
+                    .loadClass("com.example.EnumCollections");
+
+            assertThat(generatedType.getDeclaredField("permissions").getType(), is(equalTo((Object) Set.class)));
+            assertThat(generatedType.getDeclaredField("limits").getType(), is(equalTo((Object) Map.class)));
+        }
+    }
+
+    @Test
+    public void setsAndMapsOfEnumsAreUnchangedByDefault() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/enumCollections/enumCollections.json", "com.example")
+                .loadClass("com.example.EnumCollections");
+
+        assertThat(generatedType.getDeclaredField("permissions").getType(), is(equalTo((Object) Set.class)));
+        assertThat(generatedType.getDeclaredField("limits").getType(), is(equalTo((Object) Map.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void enumSetsAreInitialized() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/enumCollections/enumCollections.json", "com.example",
+                config("useEnumCollections", true));
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.EnumCollections");
+        Class<?> flagType = resultsClassLoader.loadClass("com.example.Flag");
+
+        Object instance = generatedType.newInstance();
+
+        assertThat((Set<Object>) generatedType.getMethod("getPermissions").invoke(instance), is(empty()));
+        assertThat((Set<Object>) generatedType.getMethod("getFlags").invoke(instance), contains((Object) flagType.getEnumConstants()[0]));
+    }
+
+    @Test
+    public void jacksonDeserializesEnumCollections() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/enumCollections/enumCollections.json", "com.example",
+                config("useEnumCollections", true))
+                .loadClass("com.example.EnumCollections");
+
+        ObjectMapper mapper = new ObjectMapper();
+        Object instance = mapper.readValue(JSON, generatedType);
+
+        assertThat(generatedType.getMethod("getPermissions").invoke(instance), is(instanceOf(EnumSet.class)));
+        assertThat(generatedType.getMethod("getPermissions").invoke(instance).toString(), is("[read, admin]"));
+        assertThat(generatedType.getMethod("getLimits").invoke(instance), is(instanceOf(EnumMap.class)));
+        assertThat(((Map<?, ?>) generatedType.getMethod("getLimits").invoke(instance)).get(TimeUnit.SECONDS), is(10));
+        assertThat(mapper.readTree(mapper.writeValueAsString(instance)), is(mapper.readTree(JSON)));
+    }
+
+    @Test
+    public void gsonDeserializesEnumCollections() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/enumCollections/enumCollections.json", "com.example",
+                config("useEnumCollections", true, "annotationStyle", "gson"))
+                .loadClass("com.example.EnumCollections");
+
+        Gson gson = new Gson();
+        Object instance = gson.fromJson(JSON, generatedType);
+
+        assertThat(generatedType.getMethod("getPermissions").invoke(instance), is(instanceOf(EnumSet.class)));
+        assertThat(generatedType.getMethod("getPermissions").invoke(instance).toString(), is("[read, admin]"));
+        assertThat(generatedType.getMethod("getLimits").invoke(instance), is(instanceOf(EnumMap.class)));
+        assertThat(((Map<?, ?>) generatedType.getMethod("getLimits").invoke(instance)).get(TimeUnit.SECONDS), is(10));
+        assertThat(gson.toJsonTree(instance), is(gson.fromJson(JSON, JsonElement.class)));
+    }
+
+}
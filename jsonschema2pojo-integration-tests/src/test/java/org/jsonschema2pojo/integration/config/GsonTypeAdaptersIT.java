@@ -0,0 +1,137 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapterFactory;
+
+public class GsonTypeAdaptersIT {
+
+    private static final String JSON = "{\"string\":\"a\",\"integer\":1,\"number\":2.5,\"boolean\":true,"
+            + "\"list\":[\"b\",\"c\"],\"set\":[3,2,3],\"enum\":\"two\",\"child\":{\"value\":\"d\"},"
+            + "\"subtype\":{\"value\":\"e\",\"other\":4},\"unknown\":{\"f\":[1]}}";
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void generatedTypeAdaptersAreCreatedByFactory() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/gsonTypeAdapters/typeAdapters.json", "com.example",
+                config("annotationStyle", "gson", "generateGsonTypeAdapters", true));
+
+        Gson gson = gsonWithFactory(resultsClassLoader, new GsonBuilder());
+
+        for (String type : new String[] { "TypeAdapters", "TypeAdapters$Enum", "Child", "Supertype", "Subtype" }) {
+            Class<?> generatedType = resultsClassLoader.loadClass("com.example." + type);
+            assertThat(gson.getAdapter(generatedType).getClass(),
+                    is(equalTo(resultsClassLoader.loadClass("com.example." + type + "$GsonTypeAdapter"))));
+        }
+    }
+
+    @Test
+    public void generatedTypeAdaptersMatchReflectiveTypeAdapters() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/gsonTypeAdapters/typeAdapters.json", "com.example",
+                config("annotationStyle", "gson", "generateGsonTypeAdapters", true));
+
+        assertMatchesReflectiveTypeAdapters(resultsClassLoader, new GsonBuilder(), JSON);
+        assertMatchesReflectiveTypeAdapters(resultsClassLoader, new GsonBuilder(), "{\"integer\":null,\"boolean\":\"true\",\"string\":7,\"enum\":\"three\"}");
+    }
+
+    @Test
+    public void generatedTypeAdaptersWriteNullsWhenGsonSerializesNulls() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/gsonTypeAdapters/typeAdapters.json", "com.example",
+                config("annotationStyle", "gson", "generateGsonTypeAdapters", true));
+
+        JsonElement json = assertMatchesReflectiveTypeAdapters(resultsClassLoader, new GsonBuilder().serializeNulls(), "{\"string\":\"a\"}");
+
+        assertThat(json.getAsJsonObject().get("child").isJsonNull(), is(true));
+    }
+
+    @Test
+    public void generatedTypeAdaptersWriteSubtypesWithSubtypeAdapters() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/gsonTypeAdapters/typeAdapters.json", "com.example",
+                config("annotationStyle", "gson", "generateGsonTypeAdapters", true));
+
+        Class<?> typeAdapters = resultsClassLoader.loadClass("com.example.TypeAdapters");
+        Class<?> supertype = resultsClassLoader.loadClass("com.example.Supertype");
+        Class<?> subtype = resultsClassLoader.loadClass("com.example.Subtype");
+        Object instance = typeAdapters.newInstance();
+        Object value = subtype.newInstance();
+        subtype.getMethod("setOther", Integer.class).invoke(value, 5);
+        typeAdapters.getMethod("setSupertype", supertype).invoke(instance, value);
+
+        Gson gson = gsonWithFactory(resultsClassLoader, new GsonBuilder());
+        assertThat(gson.toJson(instance), is("{\"list\":[],\"set\":[],\"supertype\":{\"other\":5}}"));
+    }
+
+    @Test
+    public void generatedTypeAdaptersSupportPrimitivesAndImmutableTypes() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/gsonTypeAdapters/typeAdapters.json", "com.example",
+                config("annotationStyle", "gson", "generateGsonTypeAdapters", true, "usePrimitives", true, "immutable", true));
+
+        assertThat(resultsClassLoader.loadClass("com.example.TypeAdapters$GsonTypeAdapter"), is(notNullValue()));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.TypeAdapters");
+        Gson gson = gsonWithFactory(resultsClassLoader, new GsonBuilder());
+        Object instance = gson.fromJson(JSON.replace("\"integer\":1", "\"integer\":null"), generatedType);
+
+        assertThat(generatedType.getMethod("getInteger").invoke(instance), is(0));
+        assertThat(generatedType.getMethod("getString").invoke(instance), is("a"));
+        assertThat(JsonParser.parseString(gson.toJson(instance)), is(equalTo(JsonParser.parseString(JSON
+                .replace("\"integer\":1", "\"integer\":0").replace("[3,2,3]", "[3,2]").replace(",\"unknown\":{\"f\":[1]}", "")))));
+    }
+
+    @Test
+    public void generatedTypeAdaptersAreOnlyAddedForGson() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/gsonTypeAdapters/typeAdapters.json", "com.example",
+                config("generateGsonTypeAdapters", true));
+
+        assertThat(schemaRule.generated("com/example/GeneratedTypeAdapterFactory.java").exists(), is(false));
+        assertThrows(ClassNotFoundException.class, () -> resultsClassLoader.loadClass("com.example.TypeAdapters$GsonTypeAdapter"));
+    }
+
+    private static Gson gsonWithFactory(ClassLoader resultsClassLoader, GsonBuilder builder) throws ReflectiveOperationException {
+        TypeAdapterFactory factory = (TypeAdapterFactory) resultsClassLoader.loadClass("com.example.GeneratedTypeAdapterFactory").newInstance();
+        return builder.registerTypeAdapterFactory(factory).create();
+    }
+
+    private static JsonElement assertMatchesReflectiveTypeAdapters(ClassLoader resultsClassLoader, GsonBuilder builder, String json) throws Exception {
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.TypeAdapters");
+        Gson reflectiveGson = builder.create();
+        Gson gson = gsonWithFactory(resultsClassLoader, builder);
+
+        Object expected = reflectiveGson.fromJson(json, generatedType);
+        Object actual = gson.fromJson(json, generatedType);
+        assertThat(actual, is(equalTo(expected)));
+
+        JsonElement actualJson = JsonParser.parseString(gson.toJson(actual));
+        assertThat(actualJson, is(equalTo(JsonParser.parseString(reflectiveGson.toJson(expected)))));
+        return actualJson;
+    }
+
+}
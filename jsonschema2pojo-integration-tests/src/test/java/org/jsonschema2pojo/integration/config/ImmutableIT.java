@@ -0,0 +1,192 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static java.util.Arrays.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.annotation.JsonbCreator;
+
+public class ImmutableIT {
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void immutableTypesAreFinalWithFinalFields() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutable.json", "com.example",
+                config("immutable", true, "generateBuilders", true, "includeDynamicAccessors", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Immutable");
+
+        assertThat(Modifier.isFinal(generatedType.getModifiers()), is(true));
+        for (Field field : generatedType.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                assertThat(field.getName(), Modifier.isFinal(field.getModifiers()), is(true));
+            }
+        }
+        for (Method method : generatedType.getDeclaredMethods()) {
+            assertThat(method.getName(), not(anyOf(startsWith("set"), startsWith("with"))));
+        }
+        assertThat(generatedType.getConstructors().length, is(1));
+        assertThat(asList(generatedType.getConstructors()[0].getParameterTypes()), contains(
+                String.class, Integer.class, List.class, resultsClassLoader.loadClass("com.example.Child"), resultsClassLoader.loadClass("com.example.Subtype")));
+    }
+
+    @Test
+    public void constructorAppliesDefaultValues() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutable.json", "com.example",
+                config("immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Immutable");
+        Object instance = generatedType.getConstructors()[0].newInstance(null, null, null, null, null);
+
+        assertThat(generatedType.getMethod("getName").invoke(instance), is("anonymous"));
+        assertThat(generatedType.getMethod("getCount").invoke(instance), is(nullValue()));
+        assertThat((List<?>) generatedType.getMethod("getTags").invoke(instance), is(empty()));
+
+        instance = generatedType.getConstructors()[0].newInstance("a", 1, asList("b"), null, null);
+
+        assertThat(generatedType.getMethod("getName").invoke(instance), is("a"));
+        assertThat(generatedType.getMethod("getCount").invoke(instance), is(1));
+        assertThat((List<?>) generatedType.getMethod("getTags").invoke(instance), contains("b"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void absentAndDefaultCollectionsCantBeModified() throws Exception {
+        for (boolean useEnumCollections : new boolean[] { false, true }) {
+            ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutableCollections.json", "com.example",
+                    config("immutable", true, "useEnumCollections", useEnumCollections));
+
+            Class<?> generatedType = resultsClassLoader.loadClass("com.example.ImmutableCollections");
+            Object instance = generatedType.getConstructors()[0].newInstance(null, null, null, null);
+
+            assertThat((List<Object>) generatedType.getMethod("getTags").invoke(instance), is(empty()));
+            assertThat((List<Object>) generatedType.getMethod("getDefaultTags").invoke(instance), contains("a", "b"));
+            assertThat((Set<Object>) generatedType.getMethod("getUniqueTags").invoke(instance), is(empty()));
+            assertThat((Set<Object>) generatedType.getMethod("getColors").invoke(instance), hasSize(1));
+
+            for (String getter : asList("getTags", "getDefaultTags", "getUniqueTags", "getColors")) {
+                Collection<Object> value = (Collection<Object>) generatedType.getMethod(getter).invoke(instance);
+                assertThrows(UnsupportedOperationException.class, () -> value.add(null), getter);
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void enumSetsOfImmutableTypesAreCopied() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutableCollections.json", "com.example",
+                config("immutable", true, "useEnumCollections", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.ImmutableCollections");
+        Class<Enum> enumType = (Class<Enum>) resultsClassLoader.loadClass("com.example.Color");
+        assertThat(generatedType.getMethod("getColors").getReturnType(), is(equalTo((Object) Set.class)));
+
+        Set<Object> colors = new HashSet<>(asList(Enum.valueOf(enumType, "BLUE")));
+        Object instance = generatedType.getConstructors()[0].newInstance(null, null, null, colors);
+        colors.clear();
+
+        Set<Object> copy = (Set<Object>) generatedType.getMethod("getColors").invoke(instance);
+        assertThat(copy, contains((Object) Enum.valueOf(enumType, "BLUE")));
+        assertThrows(UnsupportedOperationException.class, copy::clear);
+
+        instance = generatedType.getConstructors()[0].newInstance(null, null, null, new HashSet<>());
+        assertThat((Set<Object>) generatedType.getMethod("getColors").invoke(instance), is(empty()));
+    }
+
+    @Test
+    public void subtypesPassSupertypePropertiesToSupertypeConstructor() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutable.json", "com.example",
+                config("immutable", true));
+
+        Class<?> supertype = resultsClassLoader.loadClass("com.example.Supertype");
+        Class<?> subtype = resultsClassLoader.loadClass("com.example.Subtype");
+
+        assertThat(Modifier.isFinal(supertype.getModifiers()), is(false));
+        assertThat(Modifier.isFinal(subtype.getModifiers()), is(true));
+
+        Constructor<?> constructor = subtype.getConstructor(String.class, String.class);
+        Object instance = constructor.newInstance("a", null);
+        assertThat(subtype.getMethod("getOther").invoke(instance), is("a"));
+        assertThat(subtype.getMethod("getValue").invoke(instance), is("none"));
+    }
+
+    @Test
+    public void jacksonDeserializesUsingConstructor() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutable.json", "com.example",
+                config("immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Immutable");
+        assertThat(generatedType.getConstructors()[0].getAnnotation(JsonCreator.class), is(notNullValue()));
+
+        String json = "{\"name\":\"a\",\"count\":2,\"tags\":[\"b\",\"c\"],\"child\":{\"value\":\"d\"},\"subtype\":{\"other\":\"e\"}}";
+        ObjectMapper mapper = new ObjectMapper();
+        Object instance = mapper.readValue(json, generatedType);
+
+        assertThat(generatedType.getMethod("getName").invoke(instance), is("a"));
+        assertThat(generatedType.getMethod("getCount").invoke(instance), is(2));
+        assertThat((List<?>) generatedType.getMethod("getTags").invoke(instance), contains("b", "c"));
+
+        Object child = generatedType.getMethod("getChild").invoke(instance);
+        assertThat(child.getClass().getMethod("getValue").invoke(child), is("d"));
+
+        Object subtype = generatedType.getMethod("getSubtype").invoke(instance);
+        assertThat(subtype.getClass().getMethod("getOther").invoke(subtype), is("e"));
+        assertThat(subtype.getClass().getMethod("getValue").invoke(subtype), is("none"));
+
+        assertThat(mapper.readValue(mapper.writeValueAsString(instance), generatedType), is(equalTo(instance)));
+    }
+
+    @Test
+    public void jsonbDeserializesUsingConstructor() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutable.json", "com.example",
+                config("immutable", true, "annotationStyle", "jsonb2"));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Immutable");
+        assertThat(generatedType.getConstructors()[0].getAnnotation(JsonbCreator.class), is(notNullValue()));
+
+        // JSON-B requires every creator parameter to be present
+        String json = "{\"name\":\"a\",\"count\":2,\"tags\":[\"b\"],\"child\":{\"value\":\"d\"},\"subtype\":{\"other\":\"e\",\"value\":\"f\"}}";
+        Object instance = JsonbBuilder.create().fromJson(json, generatedType);
+
+        assertThat(generatedType.getMethod("getName").invoke(instance), is("a"));
+        assertThat(generatedType.getMethod("getCount").invoke(instance), is(2));
+        assertThat((List<?>) generatedType.getMethod("getTags").invoke(instance), contains("b"));
+    }
+
+}
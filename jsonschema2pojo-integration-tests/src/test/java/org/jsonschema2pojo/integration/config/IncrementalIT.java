@@ -0,0 +1,180 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IncrementalIT {
+
+    private static final long EARLIER = 1000000000000L;
+
+    private File schemas;
+    private File output;
+
+    @BeforeEach
+    public void generateAllTypes() throws IOException, URISyntaxException {
+        schemas = createTemporaryOutputFolder();
+        FileUtils.copyDirectory(new File(getClass().getResource("/schema/parallelism/").toURI()), schemas);
+
+        output = createTemporaryOutputFolder();
+        generate(schemas.toURI().toURL(), "com.example", config("incremental", true, "sourceSortOrder", "FILES_FIRST"), output);
+
+        for (File file : FileUtils.listFiles(output, new String[] { "java" }, true)) {
+            assertThat(file.setLastModified(EARLIER), is(true));
+        }
+    }
+
+    @Test
+    public void unchangedSourcesAreNotRegenerated() throws IOException {
+        regenerate();
+
+        assertThat(modified(), is(empty()));
+    }
+
+    @Test
+    public void onlyChangedSourceIsRegenerated() throws IOException {
+        edit("a.json", "\"a\" : {\n                    \"type\" : \"string\"", "\"a\" : {\n                    \"type\" : \"integer\"");
+
+        regenerate();
+
+        assertThat(modified(), contains("com/example/Child.java"));
+        assertThat(contents(output), is(equalTo(contents(generateFromScratch()))));
+    }
+
+    @Test
+    public void sourcesReachingChangedDocumentAreRegenerated() throws IOException {
+        edit("shared.json", "\"name\"", "\"title\"");
+
+        regenerate();
+
+        assertThat(modified(), contains("com/example/Shared.java"));
+        assertThat(contents(output), is(equalTo(contents(generateFromScratch()))));
+    }
+
+    @Test
+    public void typesNoLongerGeneratedAreDeleted() throws IOException {
+        assertThat(contents(output), hasKey("com/example/Child__2.java"));
+        FileUtils.writeStringToFile(new File(schemas, "c.json"), "{ \"type\" : \"object\", \"properties\" : { \"c\" : { \"type\" : \"boolean\" } } }", "UTF-8");
+
+        regenerate();
+
+        assertThat(contents(output), not(hasKey("com/example/Child__2.java")));
+        assertThat(modified(), contains("com/example/C.java"));
+        assertThat(contents(output), is(equalTo(contents(generateFromScratch()))));
+    }
+
+    @Test
+    public void typesOfRemovedSourceAreDeleted() throws IOException {
+        assertThat(new File(schemas, "c.json").delete(), is(true));
+
+        regenerate();
+
+        assertThat(contents(output), not(hasKey("com/example/C.java")));
+        assertThat(contents(output), is(equalTo(contents(generateFromScratch()))));
+    }
+
+    @Test
+    public void allTypesAreRegeneratedWhenTypeNamesWouldDiffer() throws IOException {
+        // on its own, c.json would name its child type "Child" (taken by a.json)
+        edit("c.json", "\"c\"", "\"d\"");
+
+        regenerate();
+
+        assertThat(modified(), contains("com/example/Child__2.java"));
+        assertThat(contents(output), is(equalTo(contents(generateFromScratch()))));
+    }
+
+    @Test
+    public void allTypesAreRegeneratedWhenSharedTypeWouldMove() throws IOException {
+        // on its own, nested/d.json would generate the type for shared.json in its own package
+        edit("nested/d.json", "\"d\"", "\"e\"");
+
+        regenerate();
+
+        assertThat(modified(), contains("com/example/nested/Item.java"));
+        assertThat(contents(output), not(hasKey("com/example/nested/Shared.java")));
+        assertThat(contents(output), is(equalTo(contents(generateFromScratch()))));
+    }
+
+    @Test
+    public void registryOfSerializersListsTypesOfUnchangedSources() throws IOException {
+        Map<String, Object> config = config("incremental", true, "sourceSortOrder", "FILES_FIRST", "generateJacksonSerializers", true);
+        generate(schemas.toURI().toURL(), "com.example", config, output);
+        for (File file : FileUtils.listFiles(output, new String[] { "java" }, true)) {
+            assertThat(file.setLastModified(EARLIER), is(true));
+        }
+        edit("a.json", "\"a\" : {\n                    \"type\" : \"string\"", "\"a\" : {\n                    \"type\" : \"integer\"");
+
+        generate(schemas.toURI().toURL(), "com.example", config, output);
+
+        assertThat(modified(), contains("com/example/Child.java"));
+        assertThat(contents(output).get("com/example/GeneratedSerializersModule.java"), containsString("addSerializer(D.class"));
+        assertThat(contents(output), is(equalTo(contents(generate(schemas.toURI().toURL(), "com.example",
+                config("sourceSortOrder", "FILES_FIRST", "generateJacksonSerializers", true))))));
+    }
+
+    private void edit(String schema, String target, String replacement) throws IOException {
+        File file = new File(schemas, schema);
+        String content = FileUtils.readFileToString(file, "UTF-8");
+        assertThat(content, containsString(target));
+        FileUtils.writeStringToFile(file, content.replace(target, replacement), "UTF-8");
+    }
+
+    private void regenerate() throws IOException {
+        generate(schemas.toURI().toURL(), "com.example", config("incremental", true, "sourceSortOrder", "FILES_FIRST"), output);
+    }
+
+    private File generateFromScratch() throws IOException {
+        return generate(schemas.toURI().toURL(), "com.example", config("sourceSortOrder", "FILES_FIRST"));
+    }
+
+    private Set<String> modified() {
+        Map<String, Long> modified = new TreeMap<>();
+        for (File file : FileUtils.listFiles(output, new String[] { "java" }, true)) {
+            if (file.lastModified() != EARLIER) {
+                modified.put(relativePath(output, file), file.lastModified());
+            }
+        }
+        return modified.keySet();
+    }
+
+    private static Map<String, String> contents(File directory) throws IOException {
+        Map<String, String> contents = new TreeMap<>();
+        for (File file : FileUtils.listFiles(directory, new String[] { "java" }, true)) {
+            contents.put(relativePath(directory, file), FileUtils.readFileToString(file, "UTF-8"));
+        }
+        return contents;
+    }
+
+    private static String relativePath(File directory, File file) {
+        return directory.toURI().relativize(file.toURI()).getPath();
+    }
+
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+public class JacksonSerializersIT {
+
+    private static final String JSON = "{\"string\":\"a\",\"integer\":1,\"number\":2.5,\"smallInteger\":-3,\"tinyInteger\":7,\"boolean\":true,\"dateTime\":1000,"
+            + "\"list\":[\"b\",\"c\"],\"set\":[3,2,3],\"enum\":\"two\",\"child\":{\"value\":\"d\"},"
+            + "\"subtype\":{\"value\":\"e\",\"other\":4,\"extra\":[5]},\"extra\":{\"f\":null}}";
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void generatedSerializersAreRegisteredByModule() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/jacksonSerializers/serializers.json", "com.example",
+                config("generateJacksonSerializers", true));
+
+        ObjectMapper mapper = mapperWithModule(resultsClassLoader);
+
+        for (String type : new String[] { "Serializers", "Child", "Supertype", "Subtype" }) {
+            Class<?> generatedType = resultsClassLoader.loadClass("com.example." + type);
+            assertThat(mapper.getSerializerProviderInstance().findValueSerializer(generatedType).getClass(),
+                    is(equalTo(resultsClassLoader.loadClass("com.example." + type + "$JacksonSerializer"))));
+        }
+    }
+
+    @Test
+    public void generatedSerializersMatchBeanSerializers() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/jacksonSerializers/serializers.json", "com.example",
+                config("generateJacksonSerializers", true));
+
+        assertMatchesBeanSerializers(resultsClassLoader, "com.example.Serializers", JSON);
+    }
+
+    @Test
+    public void generatedSerializersIncludeNullsWhenInclusionLevelIsAlways() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/jacksonSerializers/serializers.json", "com.example",
+                config("generateJacksonSerializers", true, "inclusionLevel", "ALWAYS"));
+
+        JsonNode json = assertMatchesBeanSerializers(resultsClassLoader, "com.example.Serializers", "{\"string\":\"a\"}");
+
+        assertThat(json.has("integer"), is(true));
+        assertThat(json.get("integer").isNull(), is(true));
+    }
+
+    @Test
+    public void generatedSerializersOmitEmptyValuesWhenInclusionLevelIsNonEmpty() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/jacksonSerializers/serializers.json", "com.example",
+                config("generateJacksonSerializers", true, "inclusionLevel", "NON_EMPTY"));
+
+        JsonNode json = assertMatchesBeanSerializers(resultsClassLoader, "com.example.Serializers", "{\"string\":\"\",\"list\":[],\"integer\":0}");
+
+        assertThat(json.has("string"), is(false));
+        assertThat(json.has("list"), is(false));
+        assertThat(json.get("integer").asInt(), is(0));
+    }
+
+    @Test
+    public void generatedSerializersSupportPrimitivesAndImmutableTypes() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/jacksonSerializers/serializers.json", "com.example",
+                config("generateJacksonSerializers", true, "usePrimitives", true, "immutable", true));
+
+        String json = JSON.replace(",\"extra\":[5]", "").replace(",\"extra\":{\"f\":null}", "");
+        assertMatchesBeanSerializers(resultsClassLoader, "com.example.Serializers", json);
+        assertThat(resultsClassLoader.loadClass("com.example.Serializers$JacksonDeserializer"), is(notNullValue()));
+    }
+
+    @Test
+    public void byteAndShortValuesAreReadAndWrittenDirectly() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/jacksonSerializers/serializers.json", "com.example",
+                config("generateJacksonSerializers", true));
+
+        assertMatchesBeanSerializers(resultsClassLoader, "com.example.Serializers", "{\"smallInteger\":32767,\"tinyInteger\":-128}");
+
+        String source = FileUtils.readFileToString(schemaRule.generated("com/example/Serializers.java"), StandardCharsets.UTF_8);
+        assertThat(source, containsString("getShortValue()"));
+        assertThat(source, containsString("getByteValue()"));
+        assertThat(source, containsString("generator.writeNumber(instance.smallInteger)"));
+        assertThat(source, containsString("generator.writeNumber(instance.tinyInteger)"));
+    }
+
+    @Test
+    public void unknownPropertiesAreHandledLikeBeanDeserializers() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/jacksonSerializers/serializers.json", "com.example",
+                config("generateJacksonSerializers", true));
+
+        Class<?> child = resultsClassLoader.loadClass("com.example.Child");
+        ObjectMapper mapper = mapperWithModule(resultsClassLoader);
+
+        assertThrows(UnrecognizedPropertyException.class, () -> mapper.readValue("{\"value\":\"a\",\"unknown\":{\"b\":1}}", child));
+
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Object instance = mapper.readValue("{\"unknown\":{\"b\":1},\"value\":\"a\"}", child);
+        assertThat(child.getMethod("getValue").invoke(instance), is("a"));
+    }
+
+    @Test
+    public void typesWithUnsupportedFeaturesUseBeanSerializers() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/jacksonSerializers/serializers.json", "com.example",
+                config("generateJacksonSerializers", true, "formatDateTimes", true));
+
+        assertThat(schemaRule.generated("com/example/Serializers.java").exists(), is(true));
+        assertThrows(ClassNotFoundException.class, () -> resultsClassLoader.loadClass("com.example.Serializers$JacksonSerializer"));
+        assertThat(resultsClassLoader.loadClass("com.example.Child$JacksonSerializer"), is(notNullValue()));
+    }
+
+    @Test
+    public void generatedSerializersAreOnlyAddedForJackson() throws Exception {
+        schemaRule.generateAndCompile("/schema/jacksonSerializers/serializers.json", "com.example",
+                config("generateJacksonSerializers", true, "annotationStyle", "gson"));
+
+        assertThat(schemaRule.generated("com/example/GeneratedSerializersModule.java").exists(), is(false));
+    }
+
+    private static ObjectMapper mapperWithModule(ClassLoader resultsClassLoader) throws ReflectiveOperationException {
+        Module module = (Module) resultsClassLoader.loadClass("com.example.GeneratedSerializersModule").newInstance();
+        return new ObjectMapper().registerModule(module);
+    }
+
+    private static JsonNode assertMatchesBeanSerializers(ClassLoader resultsClassLoader, String typeName, String json) throws Exception {
+        Class<?> generatedType = resultsClassLoader.loadClass(typeName);
+        ObjectMapper beanMapper = new ObjectMapper();
+        ObjectMapper mapper = mapperWithModule(resultsClassLoader);
+
+        Object expected = beanMapper.readValue(json, generatedType);
+        Object actual = mapper.readValue(json, generatedType);
+        assertThat(actual, is(equalTo(expected)));
+
+        JsonNode expectedJson = beanMapper.readTree(beanMapper.writeValueAsString(expected));
+        JsonNode actualJson = mapper.readTree(mapper.writeValueAsString(actual));
+        assertThat(actualJson, is(equalTo(expectedJson)));
+        return actualJson;
+    }
+
+
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class LazyAdditionalPropertiesIT {
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void additionalPropertiesAreAllocatedOnFirstSet() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("lazyAdditionalProperties", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+        Object instance = generatedType.newInstance();
+
+        assertThat(additionalPropertiesField(instance), is(nullValue()));
+        assertThat((Map<String, Object>) generatedType.getMethod("getAdditionalProperties").invoke(instance), is(anEmptyMap()));
+        assertThat(generatedType.getMethod("getAdditionalProperties").invoke(instance),
+                is(sameInstance(generatedType.getMethod("getAdditionalProperties").invoke(generatedType.newInstance()))));
+
+        generatedType.getMethod("setAdditionalProperty", String.class, Object.class).invoke(instance, "a", "1");
+
+        assertThat(additionalPropertiesField(instance), is(instanceOf(LinkedHashMap.class)));
+        assertThat((Map<String, Object>) generatedType.getMethod("getAdditionalProperties").invoke(instance), hasEntry("a", (Object) "1"));
+    }
+
+    @Test
+    public void emptyAdditionalPropertiesAreEqualToUnsetAdditionalProperties() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("lazyAdditionalProperties", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+        Object unset = generatedType.newInstance();
+        Object empty = generatedType.newInstance();
+        generatedType.getMethod("setAdditionalProperty", String.class, Object.class).invoke(empty, "a", "1");
+        ((Map<?, ?>) generatedType.getMethod("getAdditionalProperties").invoke(empty)).clear();
+
+        assertThat(additionalPropertiesField(unset), is(nullValue()));
+        assertThat(additionalPropertiesField(empty), is(notNullValue()));
+        assertThat(empty, is(equalTo(unset)));
+        assertThat(unset, is(equalTo(empty)));
+        assertThat(empty.hashCode(), is(unset.hashCode()));
+        assertThat(fields(empty.toString()), is(fields(unset.toString())));
+    }
+
+    @Test
+    public void jacksonCanRoundTripLazyAdditionalProperties() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("lazyAdditionalProperties", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+
+        Object withoutAdditionalProperties = mapper.readValue("{}", generatedType);
+        assertThat(additionalPropertiesField(withoutAdditionalProperties), is(nullValue()));
+        assertThat(mapper.writeValueAsString(withoutAdditionalProperties), is("{}"));
+
+        Object withAdditionalProperties = mapper.readValue("{\"a\":\"1\", \"b\":2}", generatedType);
+        JsonNode jsonNode = mapper.readTree(mapper.writeValueAsString(withAdditionalProperties));
+        assertThat(jsonNode.path("a").asText(), is("1"));
+        assertThat(jsonNode.path("b").asInt(), is(2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void dynamicAccessorsAndBuildersSetLazyAdditionalProperties() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("lazyAdditionalProperties", true, "includeDynamicAccessors", true, "includeDynamicGetters", true,
+                        "includeDynamicSetters", true, "includeDynamicBuilders", true, "generateBuilders", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+
+        Object instance = generatedType.newInstance();
+        generatedType.getMethod("set", String.class, Object.class).invoke(instance, "a", "1");
+        generatedType.getMethod("with", String.class, Object.class).invoke(instance, "b", "2");
+        generatedType.getMethod("withAdditionalProperty", String.class, Object.class).invoke(instance, "c", "3");
+
+        Map<String, Object> additionalProperties = (Map<String, Object>) generatedType.getMethod("getAdditionalProperties").invoke(instance);
+        assertThat(additionalProperties, hasEntry("a", (Object) "1"));
+        assertThat(additionalProperties, hasEntry("b", (Object) "2"));
+        assertThat(additionalProperties, hasEntry("c", (Object) "3"));
+    }
+
+    @Test
+    public void innerClassBuildersSetLazyAdditionalProperties() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("lazyAdditionalProperties", true, "generateBuilders", true, "useInnerClassBuilders", true));
+
+        Class<?> builderType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties$DefaultAdditionalPropertiesBuilder");
+        Object builder = builderType.newInstance();
+        builderType.getMethod("withAdditionalProperty", String.class, Object.class).invoke(builder, "a", "1");
+        Object instance = builderType.getMethod("build").invoke(builder);
+
+        assertThat(instance.getClass().getMethod("getAdditionalProperties").invoke(instance), is(equalTo((Object) singletonMap("a", "1"))));
+    }
+
+    @Test
+    public void additionalPropertiesMapTypeIsUsed() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("additionalPropertiesMapType", "java.util.HashMap"));
+
+        Object instance = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties").newInstance();
+
+        assertThat(additionalPropertiesField(instance), is(instanceOf(HashMap.class)));
+        assertThat(additionalPropertiesField(instance), is(not(instanceOf(LinkedHashMap.class))));
+    }
+
+    @Test
+    public void javaAdditionalPropertiesMapTypeOverridesConfiguredType() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/additionalPropertiesMapType.json", "com.example",
+                config("additionalPropertiesMapType", "java.util.HashMap"));
+
+        Object instance = resultsClassLoader.loadClass("com.example.AdditionalPropertiesMapType").newInstance();
+
+        assertThat(additionalPropertiesField(instance), is(instanceOf(TreeMap.class)));
+    }
+
+    private static Map<String, Object> singletonMap(String key, Object value) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(key, value);
+        return map;
+    }
+
+    private static String fields(String toString) {
+        return toString.substring(toString.indexOf('['));
+    }
+
+    private static Object additionalPropertiesField(Object instance) throws ReflectiveOperationException {
+        Field field = instance.getClass().getDeclaredField("additionalProperties");
+        field.setAccessible(true);
+        return field.get(instance);
+    }
+
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class LazyCollectionsIT {
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void unsetCollectionsShareAnImmutableEmptyCollection() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/properties/lazyCollectionProperties.json", "com.example",
+                config("lazyCollections", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.LazyCollectionProperties");
+        Object instance = generatedType.newInstance();
+        Object otherInstance = generatedType.newInstance();
+
+        for (String property : Arrays.asList("list", "set")) {
+            String getter = "get" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+
+            assertThat(fieldValue(instance, property), is(nullValue()));
+            Collection<Object> value = (Collection<Object>) generatedType.getMethod(getter).invoke(instance);
+            assertThat(value, is(empty()));
+            assertThat(value, is(sameInstance(generatedType.getMethod(getter).invoke(otherInstance))));
+            assertThrows(UnsupportedOperationException.class, () -> value.add("a"));
+        }
+    }
+
+    @Test
+    public void collectionsAreAllocatedWhenSet() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/properties/lazyCollectionProperties.json", "com.example",
+                config("lazyCollections", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.LazyCollectionProperties");
+        Object instance = mapper.readValue("{\"list\" : [\"a\", \"b\"]}", generatedType);
+
+        assertThat(generatedType.getMethod("getList").invoke(instance), is(equalTo((Object) asList("a", "b"))));
+        assertThat(fieldValue(instance, "set"), is(nullValue()));
+        assertThat(mapper.readTree(mapper.writeValueAsString(instance)).path("set").isArray(), is(true));
+    }
+
+    @Test
+    public void emptyCollectionsAreEqualToUnsetCollections() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/properties/lazyCollectionProperties.json", "com.example",
+                config("lazyCollections", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.LazyCollectionProperties");
+        Object unset = generatedType.newInstance();
+        Object empty = generatedType.newInstance();
+        generatedType.getMethod("setList", List.class).invoke(empty, new ArrayList<>());
+        generatedType.getMethod("setSet", Set.class).invoke(empty, new LinkedHashSet<>());
+
+        assertThat(fieldValue(unset, "list"), is(nullValue()));
+        assertThat(empty, is(equalTo(unset)));
+        assertThat(unset, is(equalTo(empty)));
+        assertThat(empty.hashCode(), is(unset.hashCode()));
+        assertThat(fields(empty.toString()), is(fields(unset.toString())));
+    }
+
+    @Test
+    public void defaultValuesAreSharedWhenLazy() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/properties/lazyCollectionProperties.json", "com.example",
+                config("lazyCollections", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.LazyCollectionProperties");
+        Object instance = generatedType.newInstance();
+        Object otherInstance = generatedType.newInstance();
+
+        assertThat(generatedType.getMethod("getListWithValues").invoke(instance), is(equalTo((Object) asList(100, 200, 300))));
+        assertThat(generatedType.getMethod("getListWithValues").invoke(instance), is(sameInstance(generatedType.getMethod("getListWithValues").invoke(otherInstance))));
+        assertThat(generatedType.getMethod("getSetWithValues").invoke(instance), is(sameInstance(generatedType.getMethod("getSetWithValues").invoke(otherInstance))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void defaultValuesAreCopiedFromAConstantWhenEager() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/properties/lazyCollectionProperties.json", "com.example");
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.LazyCollectionProperties");
+        Object instance = generatedType.newInstance();
+        Object otherInstance = generatedType.newInstance();
+
+        List<Object> listWithValues = (List<Object>) generatedType.getMethod("getListWithValues").invoke(instance);
+        assertThat(listWithValues, is(equalTo((Object) asList(100, 200, 300))));
+        assertThat(listWithValues, is(not(sameInstance(generatedType.getMethod("getListWithValues").invoke(otherInstance)))));
+        listWithValues.add(400);
+        assertThat(generatedType.getMethod("getListWithValues").invoke(otherInstance), is(equalTo((Object) asList(100, 200, 300))));
+
+        String source = FileUtils.readFileToString(schemaRule.generated("com/example/LazyCollectionProperties.java"), UTF_8);
+        assertThat(source, containsString("DEFAULT_LIST_WITH_VALUES"));
+        assertThat(source, containsString("DEFAULT_SET_WITH_VALUES"));
+    }
+
+    @Test
+    public void collectionsArePresizedFromTheirBounds() throws Exception {
+        schemaRule.generateAndCompile("/schema/properties/lazyCollectionProperties.json", "com.example");
+
+        File generated = schemaRule.generated("com/example/LazyCollectionProperties.java");
+        String source = FileUtils.readFileToString(generated, UTF_8);
+
+        assertThat(source, containsString("listWithMinItems = new ArrayList<Object>(3);"));
+        assertThat(source, containsString("setWithMaxItems = new LinkedHashSet<Object>(3);"));
+        assertThat(source, containsString("listWithLargeMaxItems = new ArrayList<Object>();"));
+    }
+
+    private static List<Object> asList(Object... values) {
+        return Arrays.asList(values);
+    }
+
+    private static String fields(String toString) {
+        return toString.substring(toString.indexOf('['));
+    }
+
+    private static Object fieldValue(Object instance, String name) throws ReflectiveOperationException {
+        Field field = instance.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(instance);
+    }
+
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.JsonDataException;
+import com.squareup.moshi.Moshi;
+
+public class MoshiAdaptersIT {
+
+    private static final String JSON = "{\"string\":\"a\",\"integer\":1,\"number\":2.5,\"boolean\":true,"
+            + "\"list\":[\"b\",\"c\"],\"set\":[3,2,3],\"enum\":\"two\",\"child\":{\"value\":\"d\"},"
+            + "\"supertype\":{\"value\":\"e\"},\"subtype\":{\"value\":\"e\",\"other\":4},\"unknown\":{\"f\":[1]}}";
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void generatedAdaptersAreCreatedByFactory() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/moshiAdapters/adapters.json", "com.example",
+                config("annotationStyle", "moshi1", "generateMoshiAdapters", true));
+
+        Moshi moshi = moshiWithFactory(resultsClassLoader);
+
+        for (String type : new String[] { "Adapters", "Adapters$Enum", "Child", "Supertype", "Subtype" }) {
+            Class<?> generatedType = resultsClassLoader.loadClass("com.example." + type);
+            assertThat(moshi.adapter(generatedType).getClass(),
+                    is(equalTo(resultsClassLoader.loadClass("com.example." + type + "$MoshiJsonAdapter"))));
+        }
+    }
+
+    @Test
+    public void generatedAdaptersMatchReflectiveAdapters() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/moshiAdapters/adapters.json", "com.example",
+                config("annotationStyle", "moshi1", "generateMoshiAdapters", true));
+
+        JsonAdapter<Object> reflectiveAdapter = reflectiveAdapter(resultsClassLoader);
+        JsonAdapter<Object> adapter = generatedAdapter(resultsClassLoader);
+
+        for (String json : new String[] { JSON, "{\"integer\":null,\"string\":7,\"number\":\"1.5\"}" }) {
+            Object expected = reflectiveAdapter.fromJson(json);
+            Object actual = adapter.fromJson(json);
+
+            assertThat(actual, is(equalTo(expected)));
+            assertThat(adapter.toJson(actual), is(reflectiveAdapter.toJson(expected)));
+            assertThat(adapter.serializeNulls().toJson(actual), is(reflectiveAdapter.serializeNulls().toJson(expected)));
+        }
+    }
+
+    @Test
+    public void generatedAdaptersFailLikeReflectiveAdapters() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/moshiAdapters/adapters.json", "com.example",
+                config("annotationStyle", "moshi1", "generateMoshiAdapters", true));
+
+        JsonAdapter<Object> reflectiveAdapter = reflectiveAdapter(resultsClassLoader);
+        JsonAdapter<Object> adapter = generatedAdapter(resultsClassLoader);
+
+        String unknownValue = "{\"enum\":\"three\"}";
+        JsonDataException expected = assertThrows(JsonDataException.class, () -> reflectiveAdapter.fromJson(unknownValue));
+        JsonDataException actual = assertThrows(JsonDataException.class, () -> adapter.fromJson(unknownValue));
+        assertThat(actual.getMessage(), is(expected.getMessage()));
+
+        assertThrows(JsonDataException.class, () -> reflectiveAdapter.failOnUnknown().fromJson(JSON));
+        assertThrows(JsonDataException.class, () -> adapter.failOnUnknown().fromJson(JSON));
+    }
+
+    @Test
+    public void generatedAdaptersSupportPrimitivesAndImmutableTypes() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/moshiAdapters/adapters.json", "com.example",
+                config("annotationStyle", "moshi1", "generateMoshiAdapters", true, "usePrimitives", true, "immutable", true));
+
+        assertThat(resultsClassLoader.loadClass("com.example.Adapters$MoshiJsonAdapter"), is(notNullValue()));
+
+        JsonAdapter<Object> adapter = generatedAdapter(resultsClassLoader);
+        Object instance = adapter.fromJson(JSON);
+
+        assertThat(instance.getClass().getMethod("getInteger").invoke(instance), is(1));
+        assertThat(adapter.toJson(instance), is("{\"boolean\":true,\"child\":{\"value\":\"d\"},\"enum\":\"two\",\"integer\":1,"
+                + "\"list\":[\"b\",\"c\"],\"number\":2.5,\"set\":[3,2],\"string\":\"a\",\"subtype\":{\"other\":4,\"value\":\"e\"},"
+                + "\"supertype\":{\"value\":\"e\"}}"));
+        assertThrows(JsonDataException.class, () -> adapter.fromJson("{\"integer\":null}"));
+    }
+
+    @Test
+    public void generatedAdaptersAreOnlyAddedForMoshi() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/moshiAdapters/adapters.json", "com.example",
+                config("generateMoshiAdapters", true));
+
+        assertThat(schemaRule.generated("com/example/GeneratedJsonAdapterFactory.java").exists(), is(false));
+        assertThrows(ClassNotFoundException.class, () -> resultsClassLoader.loadClass("com.example.Adapters$MoshiJsonAdapter"));
+    }
+
+    private static Moshi moshiWithFactory(ClassLoader resultsClassLoader) throws ReflectiveOperationException {
+        JsonAdapter.Factory factory = (JsonAdapter.Factory) resultsClassLoader.loadClass("com.example.GeneratedJsonAdapterFactory").newInstance();
+        return new Moshi.Builder().add(factory).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonAdapter<Object> generatedAdapter(ClassLoader resultsClassLoader) throws ReflectiveOperationException {
+        return (JsonAdapter<Object>) moshiWithFactory(resultsClassLoader).adapter(resultsClassLoader.loadClass("com.example.Adapters"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonAdapter<Object> reflectiveAdapter(ClassLoader resultsClassLoader) throws ReflectiveOperationException {
+        return (JsonAdapter<Object>) new Moshi.Builder().build().adapter(resultsClassLoader.loadClass("com.example.Adapters"));
+    }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+public class NarrowIntegersIT {
+
+    private static final String JSON = "{\"percent\":99,\"signedByte\":-128,\"delta\":-1000,\"port\":65535,"
+            + "\"timestamp\":1099511627776,\"offset\":7,\"rating\":10,\"ratio\":0.5}";
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void boundedIntegersUseTheSmallestPrimitiveThatFits() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/narrowIntegers/narrowIntegers.json", "com.example",
+                config("useNarrowIntegers", true, "usePrimitives", true))
+                .loadClass("com.example.NarrowIntegers");
+
+        assertThat(generatedType.getMethod("getPercent").getReturnType(), is(equalTo((Object) byte.class)));
+        assertThat(generatedType.getMethod("getSignedByte").getReturnType(), is(equalTo((Object) byte.class)));
+        assertThat(generatedType.getMethod("getDelta").getReturnType(), is(equalTo((Object) short.class)));
+        assertThat(generatedType.getMethod("getPort").getReturnType(), is(equalTo((Object) int.class)));
+        assertThat(generatedType.getMethod("getTimestamp").getReturnType(), is(equalTo((Object) long.class)));
+        assertThat(generatedType.getMethod("getOffset").getReturnType(), is(equalTo((Object) int.class)));
+        assertThat(generatedType.getMethod("getRating").getReturnType(), is(equalTo((Object) byte.class)));
+        assertThat(generatedType.getMethod("getRatio").getReturnType(), is(equalTo((Object) double.class)));
+    }
+
+    @Test
+    public void boundedIntegersUseWrapperTypesWithoutPrimitives() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/narrowIntegers/narrowIntegers.json", "com.example",
+                config("useNarrowIntegers", true))
+                .loadClass("com.example.NarrowIntegers");
+
+        assertThat(generatedType.getMethod("getPercent").getReturnType(), is(equalTo((Object) Byte.class)));
+        assertThat(generatedType.getMethod("getDelta").getReturnType(), is(equalTo((Object) Short.class)));
+        assertThat(generatedType.getMethod("getOffset").getReturnType(), is(equalTo((Object) Integer.class)));
+    }
+
+    @Test
+    public void integersAreNotNarrowedByDefault() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/narrowIntegers/narrowIntegers.json", "com.example",
+                config("usePrimitives", true))
+                .loadClass("com.example.NarrowIntegers");
+
+        assertThat(generatedType.getMethod("getPercent").getReturnType(), is(equalTo((Object) int.class)));
+        assertThat(generatedType.getMethod("getRating").getReturnType(), is(equalTo((Object) double.class)));
+    }
+
+    @Test
+    public void narrowedIntegersHaveDefaultValues() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/narrowIntegers/narrowIntegers.json", "com.example",
+                config("useNarrowIntegers", true, "usePrimitives", true))
+                .loadClass("com.example.NarrowIntegers");
+
+        Object instance = generatedType.newInstance();
+
+        assertThat(generatedType.getMethod("getPercent").invoke(instance), is((Object) (byte) 50));
+        assertThat(generatedType.getMethod("getDelta").invoke(instance), is((Object) (short) -250));
+        assertThat(generatedType.getMethod("getRating").invoke(instance), is((Object) (byte) 5));
+    }
+
+    @Test
+    public void narrowedIntegersAreSerializedAndCompared() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/narrowIntegers/narrowIntegers.json", "com.example",
+                config("useNarrowIntegers", true, "usePrimitives", true, "includeJsr303Annotations", true))
+                .loadClass("com.example.NarrowIntegers");
+
+        ObjectMapper mapper = new ObjectMapper();
+        Object instance = mapper.readValue(JSON, generatedType);
+        Object otherInstance = mapper.readValue(JSON, generatedType);
+
+        assertThat(instance, is(equalTo(otherInstance)));
+        assertThat(instance.hashCode(), is(otherInstance.hashCode()));
+        assertThat(mapper.readTree(mapper.writeValueAsString(instance)), is(mapper.readTree(JSON)));
+    }
+
+    @Test
+    public void primitiveArraysOfNarrowedIntegersAreNotByteArrays() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/narrowIntegers/narrowIntegerArray.json", "com.example",
+                config("useNarrowIntegers", true, "usePrimitiveArrays", true))
+                .loadClass("com.example.NarrowIntegerArray");
+
+        assertThat(generatedType.getMethod("getLevels").getReturnType(), is(equalTo((Object) short[].class)));
+
+        // a byte[] would be written as a Base64 string
+        ObjectMapper mapper = new ObjectMapper();
+        String json = "{\"levels\":[0,50,100]}";
+        assertThat(mapper.readTree(mapper.writeValueAsString(mapper.readValue(json, generatedType))), is(mapper.readTree(json)));
+    }
+
+    @Test
+    public void gsonSerializesNarrowedIntegers() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/narrowIntegers/narrowIntegers.json", "com.example",
+                config("useNarrowIntegers", true, "usePrimitives", true, "annotationStyle", "gson"))
+                .loadClass("com.example.NarrowIntegers");
+
+        Gson gson = new Gson();
+        Object instance = gson.fromJson(JSON, generatedType);
+
+        assertThat(gson.toJsonTree(instance), is(gson.fromJson(JSON, JsonElement.class)));
+    }
+
+}
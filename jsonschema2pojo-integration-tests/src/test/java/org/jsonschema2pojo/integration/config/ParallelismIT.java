@@ -0,0 +1,121 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ParallelismIT {
+
+    @RegisterExtension
+    public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void parallelGenerationMatchesSequentialGeneration() throws IOException {
+        URL schemas = getClass().getResource("/schema/enum/");
+
+        File sequential = generate(schemas, "com.example", config());
+        File parallel = generate(schemas, "com.example", config("parallelism", 4));
+
+        assertThat(contents(parallel).keySet(), hasSize(greaterThan(10)));
+        assertThat(contents(parallel), is(equalTo(contents(sequential))));
+    }
+
+    @Test
+    public void parallelGenerationMatchesSequentialGenerationWhenNamesCollideAcrossWorkers() throws IOException {
+        URL schemas = getClass().getResource("/schema/parallelism/");
+
+        File sequential = generate(schemas, "com.example", config("sourceSortOrder", "FILES_FIRST"));
+        File parallel = generate(schemas, "com.example", config("sourceSortOrder", "FILES_FIRST", "parallelism", 5));
+
+        assertThat(contents(sequential), hasKey("com/example/Child__1.java"));
+        assertThat(contents(parallel), is(equalTo(contents(sequential))));
+    }
+
+    @Test
+    public void parallelGenerationMergesSerializerRegistries() throws IOException {
+        URL schemas = getClass().getResource("/schema/parallelismSerializers/");
+
+        for (Object[] options : new Object[][] {
+                { "sourceSortOrder", "FILES_FIRST", "generateJacksonSerializers", true },
+                { "sourceSortOrder", "FILES_FIRST", "annotationStyle", "gson", "generateGsonTypeAdapters", true },
+                { "sourceSortOrder", "FILES_FIRST", "annotationStyle", "moshi1", "generateMoshiAdapters", true } }) {
+            File sequential = generate(schemas, "com.example", config(options));
+            File parallel = generate(schemas, "com.example", config(append(options, "parallelism", 3)));
+
+            assertThat(contents(parallel), is(equalTo(contents(sequential))));
+        }
+    }
+
+    @Test
+    public void parallelGeneratedRegistryListsTypesOfAllWorkers() throws Exception {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/parallelismSerializers/", "com.example",
+                config("sourceSortOrder", "FILES_FIRST", "generateJacksonSerializers", true, "parallelism", 3));
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(
+                (Module) resultsClassLoader.loadClass("com.example.GeneratedSerializersModule").getConstructor().newInstance());
+
+        for (String type : new String[] { "com.example.A", "com.example.First", "com.example.B", "com.example.Second", "com.example.C",
+                "com.example.Shared", "com.example.nested.D" }) {
+            Class<?> generatedType = resultsClassLoader.loadClass(type);
+            assertThat(mapper.getSerializerProviderInstance().findValueSerializer(generatedType).getClass().getName(),
+                    is(equalTo(type + "$JacksonSerializer")));
+        }
+    }
+
+    @Test
+    public void parallelGeneratedTypesCompile() throws ClassNotFoundException, NoSuchMethodException {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/parallelism/", "com.example", config("parallelism", 2));
+
+        Class<?> shared = resultsClassLoader.loadClass("com.example.Shared");
+
+        assertThat(resultsClassLoader.loadClass("com.example.A").getMethod("getShared").getReturnType(), is(equalTo(shared)));
+        assertThat(resultsClassLoader.loadClass("com.example.nested.D").getMethod("getShared").getReturnType(), is(equalTo(shared)));
+    }
+
+    private static Object[] append(Object[] options, Object... moreOptions) {
+        Object[] appended = Arrays.copyOf(options, options.length + moreOptions.length);
+        System.arraycopy(moreOptions, 0, appended, options.length, moreOptions.length);
+        return appended;
+    }
+
+    private static Map<String, String> contents(File directory) throws IOException {
+        Map<String, String> contents = new TreeMap<>();
+        for (File file : FileUtils.listFiles(directory, new String[] { "java" }, true)) {
+            String path = directory.toURI().relativize(file.toURI()).getPath();
+            contents.put(path, FileUtils.readFileToString(file, "UTF-8"));
+        }
+        return contents;
+    }
+
+}
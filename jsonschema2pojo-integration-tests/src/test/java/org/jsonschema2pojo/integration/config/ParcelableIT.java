@@ -16,11 +16,13 @@
 
 package org.jsonschema2pojo.integration.config;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
 import static org.jsonschema2pojo.integration.util.ParcelUtils.*;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -29,6 +31,7 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.ServiceLoader;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -90,6 +93,90 @@ public class ParcelableIT {
         assertThat(instance, is(equalTo(unparceledInstance)));
     }
 
+    @Test
+    public void parcelableTreeWithPrimitivesIsParcelable() throws ClassNotFoundException, IOException {
+        Class<? extends Parcelable> parcelableType = schemaRule.generateAndCompile("/schema/parcelable/parcelable-schema.json", "com.example",
+                                                                config("parcelable", true, "usePrimitives", true))
+                .loadClass("com.example.ParcelableSchema")
+                .asSubclass(Parcelable.class);
+        Parcelable instance = new ObjectMapper().readValue(ParcelableIT.class.getResourceAsStream("/schema/parcelable/parcelable-data.json"), parcelableType);
+        Parcel parcel = parcelableWriteToParcel(instance);
+        Parcelable unparceledInstance = parcelableReadFromParcel(parcel, instance);
+
+        assertThat(instance, is(equalTo(unparceledInstance)));
+    }
+
+    @Test
+    public void parcelableTreeWithPrimitiveArraysIsParcelable() throws ClassNotFoundException, IOException {
+        Class<? extends Parcelable> parcelableType = schemaRule.generateAndCompile("/schema/parcelable/parcelable-schema.json", "com.example",
+                                                                config("parcelable", true, "usePrimitiveArrays", true))
+                .loadClass("com.example.ParcelableSchema")
+                .asSubclass(Parcelable.class);
+        Parcelable instance = new ObjectMapper().readValue(ParcelableIT.class.getResourceAsStream("/schema/parcelable/parcelable-data.json"), parcelableType);
+        Parcel parcel = parcelableWriteToParcel(instance);
+        Parcelable unparceledInstance = parcelableReadFromParcel(parcel, instance);
+
+        assertThat(instance, is(equalTo(unparceledInstance)));
+    }
+
+    @Test
+    public void parcelableTreeWithNullValuesIsParcelable() throws ClassNotFoundException, IOException {
+        Class<? extends Parcelable> parcelableType = schemaRule.generateAndCompile("/schema/parcelable/parcelable-schema.json", "com.example",
+                                                                config("parcelable", true, "initializeCollections", false))
+                .loadClass("com.example.ParcelableSchema")
+                .asSubclass(Parcelable.class);
+        Parcelable instance = new ObjectMapper().readValue("{}", parcelableType);
+        Parcel parcel = parcelableWriteToParcel(instance);
+        Parcelable unparceledInstance = parcelableReadFromParcel(parcel, instance);
+
+        assertThat(instance, is(equalTo(unparceledInstance)));
+    }
+
+    @Test
+    public void parcelableTreeWithLazyCollectionsIsParcelable() throws ReflectiveOperationException, IOException {
+        Class<? extends Parcelable> parcelableType = schemaRule.generateAndCompile("/schema/parcelable/parcelable-schema.json", "com.example",
+                                                                config("parcelable", true, "lazyCollections", true))
+                .loadClass("com.example.ParcelableSchema")
+                .asSubclass(Parcelable.class);
+        Parcelable instance = new ObjectMapper().readValue(ParcelableIT.class.getResourceAsStream("/schema/parcelable/parcelable-data.json"), parcelableType);
+        Parcel parcel = parcelableWriteToParcel(instance);
+        Parcelable unparceledInstance = parcelableReadFromParcel(parcel, instance);
+
+        assertThat(instance, is(equalTo(unparceledInstance)));
+        assertThat(parcelableType.getMethod("getNonUniqueArray").invoke(unparceledInstance), is(equalTo(asList(5, 5, 5))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void immutableParcelableTreeIsParcelable() throws ReflectiveOperationException, IOException {
+        Class<? extends Parcelable> parcelableType = schemaRule.generateAndCompile("/schema/parcelable/parcelable-schema.json", "com.example",
+                                                                config("parcelable", true, "immutable", true))
+                .loadClass("com.example.ParcelableSchema")
+                .asSubclass(Parcelable.class);
+        Parcelable instance = new ObjectMapper().readValue(ParcelableIT.class.getResourceAsStream("/schema/parcelable/parcelable-data.json"), parcelableType);
+        Parcel parcel = parcelableWriteToParcel(instance);
+        Parcelable unparceledInstance = parcelableReadFromParcel(parcel, instance);
+
+        assertThat(instance, is(equalTo(unparceledInstance)));
+        List<Object> nonUniqueArray = (List<Object>) parcelableType.getMethod("getNonUniqueArray").invoke(unparceledInstance);
+        assertThrows(UnsupportedOperationException.class, () -> nonUniqueArray.add(1));
+    }
+
+    @Test
+    public void parcelableTypeUsesTypeSpecificParcelMethods() throws IOException {
+        schemaRule.generate("/schema/parcelable/parcelable-schema.json", "com.example", config("parcelable", true));
+        String content = FileUtils.readFileToString(schemaRule.generated("com/example/ParcelableSchema.java"), StandardCharsets.UTF_8);
+
+        assertThat(content, containsString("dest.writeString(stringProperty);"));
+        assertThat(content, containsString("dest.writeStringList(stringArray);"));
+        assertThat(content, containsString("dest.writeTypedList(complexTypesArray);"));
+        assertThat(content, containsString("in.createTypedArrayList(ComplexTypesArray.CREATOR)"));
+        assertThat(content, containsString("ParcelableSchema.EnumProperty.values()[in.readInt()]"));
+        assertThat(content, containsString("Integer.valueOf(in.readInt())"));
+        assertThat(content, not(containsString("in.readValue((Integer.class")));
+        assertThat(content, not(containsString("in.readValue((String.class")));
+    }
+
     @Test
     public void parcelableTypeDoesNotHaveAnyDuplicateImports() throws IOException {
         schemaRule.generate("/schema/parcelable/parcelable-schema.json", "com.example", config("parcelable", true));
@@ -118,6 +205,28 @@ public class ParcelableIT {
         assertThat(instance, is(equalTo(unparceledInstance)));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void parcelableSubclassInFieldOfSupertypeIsUnparceled() throws ReflectiveOperationException, IOException {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/parcelable/subclass/", "com.example", config("parcelable", true));
+        Class<? extends Parcelable> holderType = resultsClassLoader.loadClass("com.example.Holder").asSubclass(Parcelable.class);
+        Class<?> baseType = resultsClassLoader.loadClass("com.example.Base");
+        Class<?> subType = resultsClassLoader.loadClass("com.example.Sub");
+
+        ObjectMapper mapper = new ObjectMapper();
+        Parcelable instance = mapper.readValue("{\"items\":[{\"name\":\"a\"}]}", holderType);
+        Object sub = mapper.readValue("{\"name\":\"b\",\"extra\":1}", subType);
+        holderType.getMethod("setItem", baseType).invoke(instance, sub);
+        ((List<Object>) holderType.getMethod("getItems").invoke(instance)).add(sub);
+
+        Parcel parcel = parcelableWriteToParcel(instance);
+        Parcelable unparceledInstance = parcelableReadFromParcel(parcel, instance);
+
+        assertThat(holderType.getMethod("getItem").invoke(unparceledInstance), is(instanceOf(subType)));
+        assertThat(instance, is(equalTo(unparceledInstance)));
+        assertThat(parcel.dataAvail(), is(0));
+    }
+
     @Test
     public void parcelableDefaultConstructorDoesNotConflict() {
         schemaRule.generate("/schema/parcelable/parcelable-superclass-schema.json", "com.example",
@@ -0,0 +1,130 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+
+public class PrimitiveArraysIT {
+
+    private static final String JSON = "{\"integers\":[1,2],\"numbers\":[1.5,2.5],\"booleans\":[true,false],\"defaults\":[4],"
+            + "\"uniqueIntegers\":[3],\"strings\":[\"a\"],\"optIn\":[0.5],\"optOut\":[0.25]}";
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void arraysOfPrimitiveItemsArePrimitiveArrays() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/primitiveArrays/primitiveArrays.json", "com.example",
+                config("usePrimitiveArrays", true))
+                .loadClass("com.example.PrimitiveArrays");
+
+        assertThat(generatedType.getMethod("getIntegers").getReturnType(), is(equalTo((Object) int[].class)));
+        assertThat(generatedType.getMethod("getNumbers").getReturnType(), is(equalTo((Object) double[].class)));
+        assertThat(generatedType.getMethod("getBooleans").getReturnType(), is(equalTo((Object) boolean[].class)));
+        assertThat(generatedType.getMethod("getUniqueIntegers").getReturnType(), is(equalTo((Object) Set.class)));
+        assertThat(generatedType.getMethod("getStrings").getReturnType(), is(equalTo((Object) List.class)));
+        assertThat(generatedType.getMethod("getOptIn").getReturnType(), is(equalTo((Object) double[].class)));
+        assertThat(generatedType.getMethod("getOptOut").getReturnType(), is(equalTo((Object) List.class)));
+    }
+
+    @Test
+    public void primitiveArraysFollowTheItemType() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/primitiveArrays/primitiveArrays.json", "com.example",
+                config("usePrimitiveArrays", true, "useLongIntegers", true, "useDoubleNumbers", false))
+                .loadClass("com.example.PrimitiveArrays");
+
+        assertThat(generatedType.getMethod("getIntegers").getReturnType(), is(equalTo((Object) long[].class)));
+        assertThat(generatedType.getMethod("getNumbers").getReturnType(), is(equalTo((Object) float[].class)));
+    }
+
+    @Test
+    public void extensionSelectsPrimitiveArraysForASingleArray() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/primitiveArrays/primitiveArrays.json", "com.example")
+                .loadClass("com.example.PrimitiveArrays");
+
+        assertThat(generatedType.getMethod("getIntegers").getReturnType(), is(equalTo((Object) List.class)));
+        assertThat(generatedType.getMethod("getOptIn").getReturnType(), is(equalTo((Object) double[].class)));
+    }
+
+    @Test
+    public void primitiveArraysAreInitialized() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/primitiveArrays/primitiveArrays.json", "com.example",
+                config("usePrimitiveArrays", true))
+                .loadClass("com.example.PrimitiveArrays");
+
+        Object instance = generatedType.newInstance();
+
+        assertThat((int[]) generatedType.getMethod("getIntegers").invoke(instance), is(new int[0]));
+        assertThat((int[]) generatedType.getMethod("getDefaults").invoke(instance), is(new int[] {1, 2, 3}));
+    }
+
+    @Test
+    public void emptyPrimitiveArraysAreShared() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/primitiveArrays/primitiveArrays.json", "com.example",
+                config("usePrimitiveArrays", true))
+                .loadClass("com.example.PrimitiveArrays");
+
+        Object instance = generatedType.newInstance();
+        Object otherInstance = generatedType.newInstance();
+
+        assertThat(generatedType.getMethod("getIntegers").invoke(instance), is(sameInstance(generatedType.getMethod("getIntegers").invoke(otherInstance))));
+        assertThat(generatedType.getMethod("getNumbers").invoke(instance), is(sameInstance(generatedType.getMethod("getOptIn").invoke(instance))));
+        assertThat(generatedType.getMethod("getDefaults").invoke(instance), is(not(sameInstance(generatedType.getMethod("getDefaults").invoke(otherInstance)))));
+    }
+
+    @Test
+    public void primitiveArraysAreSerializedAndCompared() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/primitiveArrays/primitiveArrays.json", "com.example",
+                config("usePrimitiveArrays", true))
+                .loadClass("com.example.PrimitiveArrays");
+
+        ObjectMapper mapper = new ObjectMapper();
+        Object instance = mapper.readValue(JSON, generatedType);
+        Object otherInstance = mapper.readValue(JSON, generatedType);
+
+        assertThat(instance, is(equalTo(otherInstance)));
+        assertThat(instance.hashCode(), is(otherInstance.hashCode()));
+        assertThat(instance.toString(), containsString("integers={1,2}"));
+        assertThat(mapper.readTree(mapper.writeValueAsString(instance)), is(mapper.readTree(JSON)));
+    }
+
+    @Test
+    public void gsonSerializesPrimitiveArrays() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/primitiveArrays/primitiveArrays.json", "com.example",
+                config("usePrimitiveArrays", true, "annotationStyle", "gson"))
+                .loadClass("com.example.PrimitiveArrays");
+
+        Gson gson = new Gson();
+        Object instance = gson.fromJson(JSON, generatedType);
+
+        assertThat((double[]) generatedType.getMethod("getNumbers").invoke(instance), is(new double[] {1.5, 2.5}));
+        assertThat(gson.toJsonTree(instance), is(gson.fromJson(JSON, JsonElement.class)));
+    }
+
+}
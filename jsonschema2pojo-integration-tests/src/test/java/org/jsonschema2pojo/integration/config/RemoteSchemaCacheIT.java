@@ -0,0 +1,62 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.net.URL;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+
+@WireMockTest
+public class RemoteSchemaCacheIT {
+
+    private static final String SCHEMA = "{ \"type\" : \"object\", \"properties\" : { \"field\" : { \"type\" : \"string\" } } }";
+
+    @Test
+    public void remoteSchemaIsReadFromCacheWhenOffline(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        stubFor(get("/schema.json").willReturn(okJson(SCHEMA).withHeader("ETag", "\"v1\"")));
+        URL schemaUrl = new URL(new URL(wmRuntimeInfo.getHttpBaseUrl()), "/schema.json");
+        File cacheDirectory = createTemporaryOutputFolder();
+
+        generate(schemaUrl, "com.example", config("remoteSchemaCacheDirectory", cacheDirectory));
+        resetAllRequests();
+
+        File outputDirectory = generate(schemaUrl, "com.example", config("remoteSchemaCacheDirectory", cacheDirectory, "offline", true));
+
+        assertThat(new File(outputDirectory, "com/example/Schema.java").isFile(), is(true));
+        verify(0, anyRequestedFor(anyUrl()));
+    }
+
+    @Test
+    public void offlineGenerationFailsWhenRemoteSchemaIsNotCached(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        stubFor(get("/schema.json").willReturn(okJson(SCHEMA)));
+        URL schemaUrl = new URL(new URL(wmRuntimeInfo.getHttpBaseUrl()), "/schema.json");
+
+        assertThrows(RuntimeException.class, () -> generate(schemaUrl, "com.example", config("remoteSchemaCacheDirectory", createTemporaryOutputFolder(), "offline", true)));
+        verify(0, anyRequestedFor(anyUrl()));
+    }
+
+}
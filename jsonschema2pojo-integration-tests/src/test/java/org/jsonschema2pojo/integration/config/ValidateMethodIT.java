@@ -0,0 +1,154 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+public class ValidateMethodIT {
+
+    private static final String VALID_JSON = "{\"name\":\"abc\",\"code\":\"42\",\"age\":30,\"score\":0.5,\"tags\":[\"a\"],"
+            + "\"address\":{\"city\":\"Espoo\"},\"contacts\":[{\"email\":\"a@example.com\"}]}";
+
+    private static final String INVALID_JSON = "{\"name\":\"A\",\"code\":\"x\",\"age\":151,\"score\":0,\"tags\":[\"a\",\"b\",\"c\",\"d\"],"
+            + "\"address\":{\"city\":\"\"},\"contacts\":[{\"email\":\"a@example.com\"},{}]}";
+
+    private static final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @RegisterExtension public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void validateMethodIsNotIncludedByDefault() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/validateMethod/validateMethod.json", "com.example")
+                .loadClass("com.example.ValidateMethod");
+
+        for (Method method : generatedType.getMethods()) {
+            assertThat(method.getName(), is(not("validate")));
+        }
+    }
+
+    @Test
+    public void validInstanceHasNoViolations() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/validateMethod/validateMethod.json", "com.example",
+                config("includeValidateMethod", true))
+                .loadClass("com.example.ValidateMethod");
+
+        assertThat(validate(mapper.readValue(VALID_JSON, generatedType)), is(empty()));
+    }
+
+    @Test
+    public void violationsAreDescribedByTheirPath() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/validateMethod/validateMethod.json", "com.example",
+                config("includeValidateMethod", true))
+                .loadClass("com.example.ValidateMethod");
+
+        assertThat(validate(mapper.readValue(INVALID_JSON, generatedType)), containsInAnyOrder(
+                "name: must match \"^[a-z]+$\"",
+                "name: length must be at least 2",
+                "code: must match \"[0-9]+\"",
+                "age: must be less than or equal to 150",
+                "score: must be greater than 0",
+                "tags: size must be at most 3",
+                "address.city: length must be at least 1",
+                "contacts[1].email: must not be null"));
+    }
+
+    @Test
+    public void requiredPropertiesMustNotBeNull() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/validateMethod/validateMethod.json", "com.example",
+                config("includeValidateMethod", true, "initializeCollections", false))
+                .loadClass("com.example.ValidateMethod");
+
+        assertThat(validate(generatedType.newInstance()), contains("name: must not be null"));
+    }
+
+    @Test
+    public void patternsAreCompiledIntoConstants() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/validateMethod/validateMethod.json", "com.example",
+                config("includeValidateMethod", true))
+                .loadClass("com.example.ValidateMethod");
+
+        Field pattern = generatedType.getDeclaredField("NAME_PATTERN");
+
+        assertThat(pattern.getType(), is(equalTo((Object) Pattern.class)));
+        assertThat(Modifier.isStatic(pattern.getModifiers()) && Modifier.isFinal(pattern.getModifiers()), is(true));
+    }
+
+    @Test
+    public void unconstrainedPropertiesAreNotChecked() throws Exception {
+        schemaRule.generate("/schema/validateMethod/validateMethod.json", "com.example", config("includeValidateMethod", true));
+        String content = FileUtils.readFileToString(schemaRule.generated("com/example/ValidateMethod.java"), StandardCharsets.UTF_8);
+
+        assertThat(content, not(containsString("if (this.nickname")));
+    }
+
+    @Test
+    public void supertypeConstraintsAreChecked() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/validateMethod/validateMethodChild.json", "com.example",
+                config("includeValidateMethod", true))
+                .loadClass("com.example.ValidateMethodChild");
+
+        Object instance = mapper.readValue("{\"name\":\"abc\",\"tags\":[\"a\"],\"level\":4}", generatedType);
+
+        assertThat(validate(instance), contains("level: must be less than or equal to 3"));
+
+        instance = mapper.readValue("{\"tags\":[\"a\"],\"level\":2}", generatedType);
+
+        assertThat(validate(instance), contains("name: must not be null"));
+    }
+
+    @Test
+    public void validateMethodCoexistsWithJsr303Annotations() throws Exception {
+        Class<?> generatedType = schemaRule.generateAndCompile("/schema/validateMethod/validateMethod.json", "com.example",
+                config("includeValidateMethod", true, "includeJsr303Annotations", true, "useJakartaValidation", true))
+                .loadClass("com.example.ValidateMethod");
+
+        Object valid = mapper.readValue(VALID_JSON, generatedType);
+        Object invalid = mapper.readValue("{\"name\":\"A1\",\"tags\":[\"a\"]}", generatedType);
+
+        assertThat(validate(valid), is(empty()));
+        assertThat(validator.validate(valid), is(empty()));
+        assertThat(validate(invalid), contains("name: must match \"^[a-z]+$\""));
+        assertThat(validator.validate(invalid), hasSize(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> validate(Object instance) throws Exception {
+        return (List<String>) instance.getClass().getMethod("validate").invoke(instance);
+    }
+
+}
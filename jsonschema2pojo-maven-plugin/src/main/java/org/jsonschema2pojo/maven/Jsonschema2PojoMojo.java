@@ -376,7 +376,9 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
      * <strong>Be warned</strong>, when activated this option will cause
      * jsonschema2pojo to <strong>indiscriminately delete the entire contents of
      * the target directory (all files and folders)</strong> before it begins
-     * generating sources.
+     * generating sources. Generated files whose content hasn't changed are the
+     * exception: these are kept in place, with their last-modified time
+     * preserved.
      *
      * @since 0.3.7
      */
@@ -778,6 +780,222 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
     @Parameter(property = "jsonschema2pojo.useJakartaValidation", defaultValue = "false")
     private boolean useJakartaValidation = false;
 
+    /**
+     * The number of worker threads used to generate types when there is more
+     * than one source file. Source files are split between the workers and their
+     * results are merged into a single output that is identical to the output of
+     * a sequential run. Values less than 2 generate all types on a single thread.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.parallelism", defaultValue = "1")
+    private int parallelism = 1;
+
+    /**
+     * Whether to regenerate only the types for source files that have changed
+     * since the last run. A manifest of the sources, the documents they reach
+     * (e.g. through $ref) and the files they produce is kept in the target
+     * directory. Sources that are unchanged, and reach no changed document, are
+     * not regenerated, and files that are no longer produced are deleted. When
+     * the changes could affect unchanged types (e.g. their names) all types are
+     * regenerated.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.incremental", defaultValue = "false")
+    private boolean incremental = false;
+
+    /**
+     * A directory in which copies of schemas read over http/https are cached. A
+     * cached copy is revalidated with the server (using ETag/Last-Modified)
+     * each time it is needed and only downloaded again if it has changed. If
+     * the server can't be reached, the cached copy is used. By default, remote
+     * schemas are not cached.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.remoteSchemaCacheDirectory")
+    private File remoteSchemaCacheDirectory;
+
+    /**
+     * The maximum size, in bytes, of the remote schema cache (see
+     * remoteSchemaCacheDirectory). When the cache grows beyond this size, the
+     * least recently used schemas are evicted.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.remoteSchemaCacheMaxSize", defaultValue = "52428800")
+    private long remoteSchemaCacheMaxSize = 52428800L;
+
+    /**
+     * Whether to work offline, reading schemas that would be fetched over
+     * http/https only from the remote schema cache (see
+     * remoteSchemaCacheDirectory). Generation fails if a remote schema has not
+     * been cached.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.offline", defaultValue = "false")
+    private boolean offline = false;
+
+    /**
+     * Whether the additional properties map of generated types should only be
+     * allocated when the first additional property is set. Until then,
+     * <code>getAdditionalProperties()</code> returns a shared, immutable, empty
+     * map.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.lazyAdditionalProperties", defaultValue = "false")
+    private boolean lazyAdditionalProperties = false;
+
+    /**
+     * The fully qualified name of the <code>java.util.Map</code> implementation
+     * used to hold additional properties. The class must have a public
+     * no-argument constructor. This can be overridden for a single schema using
+     * the <code>javaAdditionalPropertiesMapType</code> extension.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.additionalPropertiesMapType", defaultValue = "java.util.LinkedHashMap")
+    private String additionalPropertiesMapType = "java.util.LinkedHashMap";
+
+    /**
+     * Whether collection properties should be left unallocated until they are set,
+     * with getters returning a shared, immutable, empty collection in the
+     * meantime. Schema default values are assigned from a shared, immutable
+     * constant. Only has an effect when <code>initializeCollections</code> is
+     * enabled.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.lazyCollections", defaultValue = "false")
+    private boolean lazyCollections = false;
+
+    /**
+     * Whether generated types should compute their hash code once and cache it,
+     * with <code>equals</code> comparing cached hash codes before comparing
+     * properties. Only immutable types (see <code>immutable</code>) cache their
+     * hash code, and only when none of their properties is an array or a
+     * collection other than a list, set or map (which the constructor copies into
+     * an unmodifiable collection). This can be overridden for a single schema
+     * using the <code>cacheHashCode</code> extension.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.cacheHashCode", defaultValue = "false")
+    private boolean cacheHashCode = false;
+
+    /**
+     * Whether generated types should be immutable: final classes with final
+     * fields, assigned by a canonical constructor that takes every property
+     * (including those of the supertype). Setters, builders and additional
+     * properties are not generated, and schema default values are applied by the
+     * constructor when an argument is <code>null</code>. The constructor is
+     * annotated so that it can be used for deserialization.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.immutable", defaultValue = "false")
+    private boolean immutable = false;
+
+    /**
+     * Whether a Jackson serializer and deserializer should be generated for each
+     * type (as nested classes), along with a Jackson module named
+     * <code>GeneratedSerializersModule</code> (in the target package) that
+     * registers them. These write and read properties directly, rather than
+     * through Jackson's reflective bean serializers. Types that need Jackson
+     * features these classes don't support (e.g. polymorphic type information,
+     * views or custom formats) are left to Jackson's bean serializers. Only has an
+     * effect when the annotation style is Jackson 2.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.generateJacksonSerializers", defaultValue = "false")
+    private boolean generateJacksonSerializers = false;
+
+    /**
+     * Whether a Gson type adapter should be generated for each type and enum (as
+     * a nested class), along with a type adapter factory named
+     * <code>GeneratedTypeAdapterFactory</code> (in the target package) that
+     * creates them. These write and read properties directly, rather than through
+     * Gson's reflective type adapters. Types that need Gson features the adapters
+     * don't support are left to Gson's reflective type adapters. Only has an effect
+     * when the annotation style is Gson.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.generateGsonTypeAdapters", defaultValue = "false")
+    private boolean generateGsonTypeAdapters = false;
+
+    /**
+     * Whether a Moshi JSON adapter should be generated for each type and enum (as
+     * a nested class), along with a JSON adapter factory named
+     * <code>GeneratedJsonAdapterFactory</code> (in the target package) that
+     * creates them. These match property names using
+     * <code>JsonReader.Options</code> and write and read properties directly,
+     * rather than through Moshi's reflective adapters. Types that need Moshi
+     * features the adapters don't support are left to Moshi's reflective
+     * adapters. Only has an effect when the annotation style is Moshi 1.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.generateMoshiAdapters", defaultValue = "false")
+    private boolean generateMoshiAdapters = false;
+
+    /**
+     * Whether to use <code>EnumSet</code> (rather than <code>Set</code>) for arrays
+     * with unique items that are enums, and <code>EnumMap</code> (rather than
+     * <code>Map</code>) for existing Java types that are maps keyed by an enum.
+     * Only the fields change type: getters, setters, builders and constructors
+     * keep using <code>Set</code> and <code>Map</code>. Only applies to the
+     * Jackson and Gson annotation styles (and <code>none</code>), since Moshi
+     * and JSON-B can't deserialize these types.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.useEnumCollections", defaultValue = "false")
+    private boolean useEnumCollections = false;
+
+    /**
+     * Whether to use primitive arrays (e.g. <code>long[]</code>, <code>double[]</code>,
+     * <code>boolean[]</code>) rather than lists of wrapper types for arrays whose
+     * items are integers, numbers or booleans. Arrays with unique items, and
+     * items that have no primitive type (e.g. <code>BigDecimal</code>), are
+     * unchanged. Can be overridden for a single array with the
+     * <code>javaPrimitiveArray</code> schema extension.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.usePrimitiveArrays", defaultValue = "false")
+    private boolean usePrimitiveArrays = false;
+
+    /**
+     * Whether to choose the smallest integral type (<code>byte</code>,
+     * <code>short</code>, <code>int</code> or <code>long</code>) that can hold every
+     * value allowed by the <code>minimum</code>, <code>maximum</code>,
+     * <code>exclusiveMinimum</code> and <code>exclusiveMaximum</code> of an integer.
+     * A number with an integral <code>multipleOf</code> is narrowed in the same
+     * way. When either bound is absent the usual integer and number types are used.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.useNarrowIntegers", defaultValue = "false")
+    private boolean useNarrowIntegers = false;
+
+    /**
+     * Whether to add a <code>validate()</code> method to each generated type that
+     * checks "required", "pattern", "minLength"/"maxLength",
+     * "minItems"/"maxItems" and "minimum"/"maximum" without reflection, and
+     * validates any generated types it holds. Patterns are compiled once, into
+     * static constants. This is independent of
+     * <code>includeJsr303Annotations</code>.
+     *
+     * @since 1.2.3
+     */
+    @Parameter(property = "jsonschema2pojo.includeValidateMethod", defaultValue = "false")
+    private boolean includeValidateMethod = false;
+
     /**
      * Executes the plugin, to read the given source and behavioural properties
      * and generate POJOs. The current implementation acts as a wrapper around
@@ -1276,4 +1494,89 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
     public boolean isUseJakartaValidation() {
         return useJakartaValidation;
     }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    @Override
+    public File getRemoteSchemaCacheDirectory() {
+        return remoteSchemaCacheDirectory;
+    }
+
+    @Override
+    public long getRemoteSchemaCacheMaxSize() {
+        return remoteSchemaCacheMaxSize;
+    }
+
+    @Override
+    public boolean isOffline() {
+        return offline;
+    }
+
+    @Override
+    public boolean isLazyAdditionalProperties() {
+        return lazyAdditionalProperties;
+    }
+
+    @Override
+    public String getAdditionalPropertiesMapType() {
+        return additionalPropertiesMapType;
+    }
+
+    @Override
+    public boolean isLazyCollections() {
+        return lazyCollections;
+    }
+
+    @Override
+    public boolean isCacheHashCode() {
+        return cacheHashCode;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean isGenerateJacksonSerializers() {
+        return generateJacksonSerializers;
+    }
+
+    @Override
+    public boolean isGenerateGsonTypeAdapters() {
+        return generateGsonTypeAdapters;
+    }
+
+    @Override
+    public boolean isGenerateMoshiAdapters() {
+        return generateMoshiAdapters;
+    }
+
+    @Override
+    public boolean isUseEnumCollections() {
+        return useEnumCollections;
+    }
+
+    @Override
+    public boolean isUsePrimitiveArrays() {
+        return usePrimitiveArrays;
+    }
+
+    @Override
+    public boolean isUseNarrowIntegers() {
+        return useNarrowIntegers;
+    }
+
+    @Override
+    public boolean isIncludeValidateMethod() {
+        return includeValidateMethod;
+    }
 }